@@ -0,0 +1,834 @@
+package de.tomatengames.util;
+
+import java.util.Arrays;
+
+/**
+ * Finds optimal paths on 2D grids and 3D voxel grids using the A* algorithm.
+ * <p>
+ * In contrast to {@link PathfinderUtil#find(PathfinderUtil.PathNode, PathfinderUtil.World)},
+ * the nodes are not represented by objects. The costs, the parents and the heap positions of the cells
+ * are stored in primitive arrays that are indexed by the cell. These arrays are allocated by the first search
+ * and are reused by the following searches. Therefore, a search does not allocate any objects
+ * unless the open list has to grow.
+ * The arrays require about 20 bytes per cell of the grid.
+ * <p>
+ * A cell can be entered from its orthogonal neighbors. If diagonal moves are enabled, a cell can also be
+ * entered from its diagonal neighbors in the xy, xz and yz planes, but only if both orthogonal cells
+ * between them are passable. Corners are never cut.
+ * <p>
+ * On 2D grids, {@link #findJump(int, int, int, int)} uses Jump Point Search instead,
+ * which expands far fewer cells on open areas.
+ * Its jumps can be precomputed using {@link #precomputeJumps()} if the grid does not change (JPS+).
+ * <p>
+ * Cells outside of this class are represented by their coordinates,
+ * which can be packed into a single {@code long} using {@link #pack(int, int, int)}.
+ * <p>
+ * <b>This implementation is not synchronized.</b>
+ * A {@link GridPathfinder} should be reused by the same thread for many searches.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class GridPathfinder {
+	private static final int COORDINATE_BITS = 21;
+	private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+	private static final int NO_PARENT = -1;
+	private static final int MOVE_BITS = 5;
+	private static final int MOVE_MASK = (1 << MOVE_BITS) - 1;
+	private static final int CLOSED = -1;
+	
+	private final Grid grid;
+	private final int sizeX, sizeY, sizeZ;
+	private final int cellCount;
+	private final double straightCost, diagonalCost;
+	private final boolean diagonal;
+	
+	// The possible moves. The orthogonal moves come first.
+	private final int orthogonalCount;
+	private final int[] dirX, dirY, dirZ;
+	private final int[] dirOffset;
+	private final double[] dirCost;
+	private final int[] dirFirst, dirSecond; // The orthogonal components of a diagonal move.
+	
+	// The state of the cells. Only valid if the stamp of the cell is the current stamp.
+	private int[] stamps;
+	private double[] costs;
+	private int[] parents; // The move to the cell in the lower bits and the number of these moves in the upper bits.
+	private int[] heapIndices; // CLOSED if the cell has been expanded.
+	private int stamp;
+	
+	// The open list. A binary heap of cells ordered by their estimated full cost.
+	private int[] heapCells;
+	private double[] heapKeys;
+	private int heapSize;
+	
+	// The precomputed jump distances of all cells and moves or null.
+	private int[] jumps;
+	
+	private int goalX, goalY, goalZ;
+	private boolean searchAll; // If the last search has been performed by findAll
+	private long[] path;
+	private int pathLength;
+	private int expandedCount;
+	
+	/**
+	 * Creates a new {@link GridPathfinder} that allows diagonal moves.
+	 * An orthogonal move costs {@code 1} and a diagonal move costs {@code sqrt(2)}.
+	 * @param grid The grid. Not {@code null}.
+	 * @throws IllegalArgumentException If the grid is empty or too large.
+	 */
+	public GridPathfinder(Grid grid) {
+		this(grid, true, 1.0, Math.sqrt(2.0));
+	}
+	
+	/**
+	 * Creates a new {@link GridPathfinder}.
+	 * @param grid The grid. The size of the grid must not change. Not {@code null}.
+	 * @param diagonal If diagonal moves are allowed.
+	 * @param straightCost The cost of an orthogonal move. Must be positive.
+	 * @param diagonalCost The cost of a diagonal move. Must be at least the straight cost
+	 * and at most twice the straight cost. Ignored if diagonal moves are not allowed.
+	 * @throws IllegalArgumentException If the grid is empty or too large or the costs are invalid.
+	 */
+	public GridPathfinder(Grid grid, boolean diagonal, double straightCost, double diagonalCost) {
+		this.grid = grid;
+		this.sizeX = grid.sizeX();
+		this.sizeY = grid.sizeY();
+		this.sizeZ = grid.sizeZ();
+		if (this.sizeX <= 0 || this.sizeY <= 0 || this.sizeZ <= 0) {
+			throw new IllegalArgumentException("The grid must not be empty!");
+		}
+		if (this.sizeX > COORDINATE_MASK + 1 || this.sizeY > COORDINATE_MASK + 1 || this.sizeZ > COORDINATE_MASK + 1 ||
+				(long) this.sizeX * this.sizeY * this.sizeZ > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("The grid is too large!");
+		}
+		if (!(straightCost > 0.0) || straightCost == Double.POSITIVE_INFINITY) {
+			throw new IllegalArgumentException("The straight cost must be positive (was " + straightCost + ")");
+		}
+		// The heuristic is only admissible if a diagonal move is not cheaper than a straight move
+		// and not more expensive than two straight moves.
+		if (diagonal && !(diagonalCost >= straightCost && diagonalCost <= 2.0 * straightCost)) {
+			throw new IllegalArgumentException("The diagonal cost must be between the straight cost and twice the straight cost (was " +
+					diagonalCost + ")");
+		}
+		this.cellCount = this.sizeX * this.sizeY * this.sizeZ;
+		this.straightCost = straightCost;
+		this.diagonalCost = diagonalCost;
+		this.diagonal = diagonal;
+		
+		// Creates the moves. Moves along the z axis are only possible in 3D grids.
+		int axes = this.sizeZ > 1 ? 3 : 2;
+		this.orthogonalCount = 2 * axes;
+		int count = this.orthogonalCount + (diagonal ? (axes == 3 ? 12 : 4) : 0);
+		this.dirX = new int[count];
+		this.dirY = new int[count];
+		this.dirZ = new int[count];
+		this.dirOffset = new int[count];
+		this.dirCost = new double[count];
+		this.dirFirst = new int[count];
+		this.dirSecond = new int[count];
+		int[][] units = { { 1, 0, 0 }, { -1, 0, 0 }, { 0, 1, 0 }, { 0, -1, 0 }, { 0, 0, 1 }, { 0, 0, -1 } };
+		int d = 0;
+		for (; d < this.orthogonalCount; d++) {
+			this.setMove(d, units[d], -1, -1, straightCost);
+		}
+		if (diagonal) {
+			// Combines two orthogonal moves along different axes.
+			for (int first = 0; first < this.orthogonalCount; first++) {
+				for (int second = (first | 1) + 1; second < this.orthogonalCount; second++) {
+					int[] move = new int[3];
+					for (int i = 0; i < 3; i++) {
+						move[i] = units[first][i] + units[second][i];
+					}
+					this.setMove(d++, move, first, second, diagonalCost);
+				}
+			}
+		}
+		
+		this.stamp = 0;
+		this.heapSize = 0;
+		this.path = new long[16];
+		this.pathLength = 0;
+		this.expandedCount = 0;
+	}
+	
+	private void setMove(int d, int[] move, int first, int second, double cost) {
+		this.dirX[d] = move[0];
+		this.dirY[d] = move[1];
+		this.dirZ[d] = move[2];
+		this.dirOffset[d] = move[0] + this.sizeX * (move[1] + this.sizeY * move[2]);
+		this.dirFirst[d] = first;
+		this.dirSecond[d] = second;
+		this.dirCost[d] = cost;
+	}
+	
+	
+	/**
+	 * Packs the specified coordinates into a {@code long}.
+	 * Each coordinate must be between {@code 0} and {@code 2^21-1}.
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @param z The z coordinate.
+	 * @return The packed coordinates.
+	 */
+	public static long pack(int x, int y, int z) {
+		return (x & COORDINATE_MASK) | ((long) (y & COORDINATE_MASK) << COORDINATE_BITS) |
+				((long) (z & COORDINATE_MASK) << (2 * COORDINATE_BITS));
+	}
+	
+	/**
+	 * Returns the x coordinate of the specified packed coordinates.
+	 * @param packed The packed coordinates.
+	 * @return The x coordinate.
+	 * @see #pack(int, int, int)
+	 */
+	public static int unpackX(long packed) {
+		return (int) packed & COORDINATE_MASK;
+	}
+	
+	/**
+	 * Returns the y coordinate of the specified packed coordinates.
+	 * @param packed The packed coordinates.
+	 * @return The y coordinate.
+	 * @see #pack(int, int, int)
+	 */
+	public static int unpackY(long packed) {
+		return (int) (packed >>> COORDINATE_BITS) & COORDINATE_MASK;
+	}
+	
+	/**
+	 * Returns the z coordinate of the specified packed coordinates.
+	 * @param packed The packed coordinates.
+	 * @return The z coordinate.
+	 * @see #pack(int, int, int)
+	 */
+	public static int unpackZ(long packed) {
+		return (int) (packed >>> (2 * COORDINATE_BITS)) & COORDINATE_MASK;
+	}
+	
+	
+	/**
+	 * Finds an optimal path between the specified cells of a 2D grid.
+	 * Equivalent to {@code find(startX, startY, 0, goalX, goalY, 0)}.
+	 * @param startX The x coordinate of the start.
+	 * @param startY The y coordinate of the start.
+	 * @param goalX The x coordinate of the goal.
+	 * @param goalY The y coordinate of the goal.
+	 * @return The cost of the path. If there is no path, {@link Double#POSITIVE_INFINITY} is returned.
+	 * @throws IllegalArgumentException If the start or the goal is outside of the grid.
+	 * @see #find(int, int, int, int, int, int)
+	 */
+	public double find(int startX, int startY, int goalX, int goalY) {
+		return this.find(startX, startY, 0, goalX, goalY, 0);
+	}
+	
+	/**
+	 * Finds an optimal path between the specified cells.
+	 * The path can be obtained using {@link #pathLength()} and {@link #pathNode(int)}.
+	 * If the start or the goal is not passable, there is no path.
+	 * @param startX The x coordinate of the start.
+	 * @param startY The y coordinate of the start.
+	 * @param startZ The z coordinate of the start.
+	 * @param goalX The x coordinate of the goal.
+	 * @param goalY The y coordinate of the goal.
+	 * @param goalZ The z coordinate of the goal.
+	 * @return The cost of the path. If there is no path, {@link Double#POSITIVE_INFINITY} is returned.
+	 * @throws IllegalArgumentException If the start or the goal is outside of the grid.
+	 */
+	public double find(int startX, int startY, int startZ, int goalX, int goalY, int goalZ) {
+		return this.search(startX, startY, startZ, goalX, goalY, goalZ, false);
+	}
+	
+	/**
+	 * Finds an optimal path between the specified cells of a 2D grid using Jump Point Search.
+	 * <p>
+	 * Jump Point Search finds paths with the same cost as {@link #find(int, int, int, int)}
+	 * but only expands the cells at which the direction of an optimal path may change.
+	 * The cells between these jump points are scanned without inserting them into the open list.
+	 * This reduces the number of expanded cells considerably on large open areas.
+	 * <p>
+	 * If the jumps have been precomputed using {@link #precomputeJumps()}, the scans are replaced by table lookups (JPS+).
+	 * The path can be obtained using {@link #pathLength()} and {@link #pathNode(int)}.
+	 * It contains all cells between the jump points.
+	 * @param startX The x coordinate of the start.
+	 * @param startY The y coordinate of the start.
+	 * @param goalX The x coordinate of the goal.
+	 * @param goalY The y coordinate of the goal.
+	 * @return The cost of the path. If there is no path, {@link Double#POSITIVE_INFINITY} is returned.
+	 * @throws IllegalArgumentException If the start or the goal is outside of the grid.
+	 * @throws IllegalStateException If the grid is not a 2D grid.
+	 */
+	public double findJump(int startX, int startY, int goalX, int goalY) {
+		if (this.sizeZ != 1) {
+			throw new IllegalStateException("Jump point search requires a 2D grid");
+		}
+		return this.search(startX, startY, 0, goalX, goalY, 0, true);
+	}
+	
+	/**
+	 * Precomputes the jump distances of all cells for {@link #findJump(int, int, int, int)}.
+	 * Afterwards, the jump point search does not scan the grid anymore (JPS+).
+	 * <p>
+	 * The table requires {@code 4} bytes per cell and possible move.
+	 * The precomputed jumps are only valid as long as the grid does not change.
+	 * If the passability of a cell changes, this method must be called again
+	 * or the table must be discarded using {@link #discardJumps()}.
+	 * @throws IllegalStateException If the grid is not a 2D grid or too large.
+	 */
+	public void precomputeJumps() {
+		if (this.sizeZ != 1) {
+			throw new IllegalStateException("Jump point search requires a 2D grid");
+		}
+		int dirCount = this.dirCost.length;
+		if ((long) this.cellCount * dirCount > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("The grid is too large to precompute the jumps");
+		}
+		int[] jumps = new int[this.cellCount * dirCount];
+		// The straight jumps come first, because the other jumps depend on them.
+		for (int d = 0; d < dirCount; d++) {
+			int dx = this.dirX[d];
+			int dy = this.dirY[d];
+			// The next cell in the direction of the move is computed first.
+			for (int i = 0; i < this.sizeY; i++) {
+				int y = dy > 0 ? this.sizeY - 1 - i : i;
+				for (int j = 0; j < this.sizeX; j++) {
+					int x = dx > 0 ? this.sizeX - 1 - j : j;
+					// Same rules as scan(x, y, d), but the result of the next cell is reused.
+					int jump;
+					if ((d >= this.orthogonalCount && (!this.isPassable(x + dx, y) || !this.isPassable(x, y + dy))) ||
+							!this.isPassable(x + dx, y + dy)) {
+						jump = 0;
+					}
+					else {
+						int next = (x + dx + this.sizeX * (y + dy)) * dirCount;
+						boolean jumpPoint;
+						if (d < this.orthogonalCount) {
+							jumpPoint = this.isForced(x + dx, y + dy, dx, dy) ||
+									(!this.diagonal && dy != 0 && (jumps[next] > 0 || jumps[next + 1] > 0));
+						}
+						else {
+							jumpPoint = jumps[next + this.dirFirst[d]] > 0 || jumps[next + this.dirSecond[d]] > 0;
+						}
+						if (jumpPoint) {
+							jump = 1;
+						}
+						else {
+							jump = jumps[next + d];
+							jump = jump > 0 ? jump + 1 : jump - 1;
+						}
+					}
+					jumps[(x + this.sizeX * y) * dirCount + d] = jump;
+				}
+			}
+		}
+		this.jumps = jumps;
+	}
+	
+	/**
+	 * Discards the jumps that have been precomputed by {@link #precomputeJumps()}.
+	 * Afterwards, {@link #findJump(int, int, int, int)} scans the grid again.
+	 */
+	public void discardJumps() {
+		this.jumps = null;
+	}
+	
+	/**
+	 * Computes the optimal paths from the specified cell to all reachable cells (Dijkstra's algorithm).
+	 * Afterwards, the path to any cell can be obtained using {@link #pathTo(int, int, int)}.
+	 * @param startX The x coordinate of the start.
+	 * @param startY The y coordinate of the start.
+	 * @param startZ The z coordinate of the start.
+	 * @return The number of reachable cells including the start.
+	 * If the start is not passable, {@code 0} is returned.
+	 * @throws IllegalArgumentException If the start is outside of the grid.
+	 */
+	public int findAll(int startX, int startY, int startZ) {
+		int start = this.cellIndex(startX, startY, startZ);
+		this.searchAll = true;
+		this.search(start, startX, startY, startZ, -1, false);
+		return this.expandedCount;
+	}
+	
+	/**
+	 * Returns the cost of the optimal path from the start of the last {@link #findAll(int, int, int)} to the specified cell.
+	 * @param x The x coordinate of the cell.
+	 * @param y The y coordinate of the cell.
+	 * @param z The z coordinate of the cell.
+	 * @return The cost of the path. If the cell is not reachable, {@link Double#POSITIVE_INFINITY} is returned.
+	 * @throws IllegalArgumentException If the cell is outside of the grid.
+	 * @throws IllegalStateException If the last search has not been performed by {@link #findAll(int, int, int)}.
+	 */
+	public double costTo(int x, int y, int z) {
+		int cell = this.reachedCell(x, y, z);
+		return cell >= 0 ? this.costs[cell] : Double.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * Builds the path from the start of the last {@link #findAll(int, int, int)} to the specified cell.
+	 * The path can be obtained using {@link #pathLength()} and {@link #pathNode(int)}.
+	 * @param x The x coordinate of the cell.
+	 * @param y The y coordinate of the cell.
+	 * @param z The z coordinate of the cell.
+	 * @return The cost of the path. If the cell is not reachable, {@link Double#POSITIVE_INFINITY} is returned.
+	 * @throws IllegalArgumentException If the cell is outside of the grid.
+	 * @throws IllegalStateException If the last search has not been performed by {@link #findAll(int, int, int)}.
+	 */
+	public double pathTo(int x, int y, int z) {
+		int cell = this.reachedCell(x, y, z);
+		if (cell < 0) {
+			this.pathLength = 0;
+			return Double.POSITIVE_INFINITY;
+		}
+		this.buildPath(cell);
+		return this.costs[cell];
+	}
+	
+	/**
+	 * Returns the specified cell if it has been reached by the last findAll. Otherwise, -1 is returned.
+	 */
+	private int reachedCell(int x, int y, int z) {
+		int cell = this.cellIndex(x, y, z);
+		if (!this.searchAll) {
+			throw new IllegalStateException("The last search did not find all paths");
+		}
+		if (this.stamps == null || this.stamps[cell] != this.stamp || this.heapIndices[cell] != CLOSED) {
+			return -1;
+		}
+		return cell;
+	}
+	
+	private double search(int startX, int startY, int startZ, int goalX, int goalY, int goalZ, boolean jump) {
+		int start = this.cellIndex(startX, startY, startZ);
+		int goal = this.cellIndex(goalX, goalY, goalZ);
+		this.searchAll = false;
+		if (!this.grid.isPassable(goalX, goalY, goalZ)) {
+			this.pathLength = 0;
+			this.expandedCount = 0;
+			return Double.POSITIVE_INFINITY;
+		}
+		this.goalX = goalX;
+		this.goalY = goalY;
+		this.goalZ = goalZ;
+		return this.search(start, startX, startY, startZ, goal, jump);
+	}
+	
+	/**
+	 * Searches the path from the start to the goal. If the goal is {@code -1}, all reachable cells are expanded.
+	 */
+	private double search(int start, int startX, int startY, int startZ, int goal, boolean jump) {
+		this.pathLength = 0;
+		this.expandedCount = 0;
+		this.reset();
+		if (!this.grid.isPassable(startX, startY, startZ)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		this.open(start, 0.0, NO_PARENT, this.estimate(startX, startY, startZ));
+		
+		while (this.heapSize > 0) {
+			int cell = this.removeFirst();
+			this.heapIndices[cell] = CLOSED;
+			if (cell == goal) {
+				this.buildPath(goal);
+				return this.costs[goal];
+			}
+			this.expandedCount++;
+			
+			int x = cell % this.sizeX;
+			int yz = cell / this.sizeX;
+			if (jump) {
+				this.expandJumps(cell, x, yz);
+			}
+			else {
+				this.expand(cell, x, yz % this.sizeY, yz / this.sizeY);
+			}
+		}
+		return Double.POSITIVE_INFINITY;
+	}
+	
+	private void expand(int cell, int x, int y, int z) {
+		final Grid grid = this.grid;
+		final int dirCount = this.dirCost.length;
+		double cost = this.costs[cell];
+		int passableMask = 0; // The passable orthogonal neighbors
+		for (int d = 0; d < dirCount; d++) {
+			int nx = x + this.dirX[d];
+			int ny = y + this.dirY[d];
+			int nz = z + this.dirZ[d];
+			if (d < this.orthogonalCount) {
+				if (nx < 0 || ny < 0 || nz < 0 || nx >= this.sizeX || ny >= this.sizeY || nz >= this.sizeZ) {
+					continue;
+				}
+				if (!grid.isPassable(nx, ny, nz)) {
+					continue;
+				}
+				passableMask |= 1 << d;
+			}
+			else {
+				// Corners must not be cut. This also guarantees that the neighbor is inside of the grid.
+				if ((passableMask & (1 << this.dirFirst[d])) == 0 || (passableMask & (1 << this.dirSecond[d])) == 0) {
+					continue;
+				}
+				if (!grid.isPassable(nx, ny, nz)) {
+					continue;
+				}
+			}
+			this.relax(cell + this.dirOffset[d], nx, ny, nz, cost + this.dirCost[d], d, 1);
+		}
+	}
+	
+	private void expandJumps(int cell, int x, int y) {
+		final int dirCount = this.dirCost.length;
+		double cost = this.costs[cell];
+		int parent = this.parents[cell];
+		int px = parent != NO_PARENT ? this.dirX[parent & MOVE_MASK] : 0;
+		int py = parent != NO_PARENT ? this.dirY[parent & MOVE_MASK] : 0;
+		int goalDX = this.goalX - x;
+		int goalDY = this.goalY - y;
+		for (int d = 0; d < dirCount; d++) {
+			int dx = this.dirX[d];
+			int dy = this.dirY[d];
+			// Moves that lead back are pruned. An optimal path to these cells does not need this cell.
+			if ((px != 0 && dx == -px) || (py != 0 && dy == -py)) {
+				continue;
+			}
+			int jump = this.jumps != null ? this.jumps[cell * dirCount + d] : this.scan(x, y, d);
+			int reach = Math.abs(jump);
+			
+			// The jump must stop at the goal or at the cell from which the goal can be reached by a straight jump.
+			int target;
+			if (d < this.orthogonalCount) {
+				int along = dx != 0 ? goalDX * dx : goalDY * dy;
+				int across = dx != 0 ? goalDY : goalDX;
+				target = along > 0 && (across == 0 || (!this.diagonal && dy != 0)) ? along : 0;
+			}
+			else {
+				target = goalDX * dx > 0 && goalDY * dy > 0 ? Math.min(goalDX * dx, goalDY * dy) : 0;
+			}
+			int steps = target > 0 && target <= reach ? target : jump;
+			if (steps <= 0) {
+				continue;
+			}
+			int nx = x + steps * dx;
+			int ny = y + steps * dy;
+			this.relax(cell + steps * this.dirOffset[d], nx, ny, 0, cost + steps * this.dirCost[d], d, steps);
+		}
+	}
+	
+	/**
+	 * Updates the cost of the neighbor if the new cost is lower.
+	 * The neighbor is reached by the specified number of moves in the same direction.
+	 */
+	private void relax(int neighbor, int nx, int ny, int nz, double neighborCost, int d, int moves) {
+		int parent = d | (moves << MOVE_BITS);
+		if (this.stamps[neighbor] != this.stamp) {
+			this.open(neighbor, neighborCost, parent, neighborCost + this.estimate(nx, ny, nz));
+			return;
+		}
+		// The heuristic is consistent, so closed cells cannot be improved.
+		int heapIndex = this.heapIndices[neighbor];
+		if (heapIndex != CLOSED && neighborCost < this.costs[neighbor]) {
+			this.costs[neighbor] = neighborCost;
+			this.parents[neighbor] = parent;
+			this.heapKeys[heapIndex] = neighborCost + this.estimate(nx, ny, nz);
+			this.moveUp(heapIndex);
+		}
+	}
+	
+	/**
+	 * Scans the grid from the specified cell in the specified direction.
+	 * @return The number of moves to the next jump point if positive.
+	 * Otherwise, the negated number of moves that are possible in this direction.
+	 */
+	private int scan(int x, int y, int d) {
+		int dx = this.dirX[d];
+		int dy = this.dirY[d];
+		int moves = 0;
+		while (true) {
+			if (d >= this.orthogonalCount && (!this.isPassable(x + dx, y) || !this.isPassable(x, y + dy))) {
+				return -moves;
+			}
+			x += dx;
+			y += dy;
+			if (!this.isPassable(x, y)) {
+				return -moves;
+			}
+			moves++;
+			if (d < this.orthogonalCount) {
+				// In 4-connected grids, a vertical jump must stop where a horizontal jump finds a jump point.
+				if (this.isForced(x, y, dx, dy) || (!this.diagonal && dy != 0 && (this.scan(x, y, 0) > 0 || this.scan(x, y, 1) > 0))) {
+					return moves;
+				}
+			}
+			else if (this.scan(x, y, this.dirFirst[d]) > 0 || this.scan(x, y, this.dirSecond[d]) > 0) {
+				// A diagonal jump must stop where a straight jump finds a jump point.
+				return moves;
+			}
+		}
+	}
+	
+	/**
+	 * Determines whether the specified cell has a neighbor that can only be reached optimally through this cell
+	 * if the cell has been entered by the specified straight move.
+	 */
+	private boolean isForced(int x, int y, int dx, int dy) {
+		if (dx != 0) {
+			return (this.isPassable(x, y - 1) && !this.isPassable(x - dx, y - 1)) ||
+					(this.isPassable(x, y + 1) && !this.isPassable(x - dx, y + 1));
+		}
+		return (this.isPassable(x - 1, y) && !this.isPassable(x - 1, y - dy)) ||
+				(this.isPassable(x + 1, y) && !this.isPassable(x + 1, y - dy));
+	}
+	
+	private boolean isPassable(int x, int y) {
+		return x >= 0 && y >= 0 && x < this.sizeX && y < this.sizeY && this.grid.isPassable(x, y, 0);
+	}
+	
+	/**
+	 * Returns the number of cells of the path that has been found by the last search.
+	 * @return The number of cells including the start and the goal.
+	 * If no path has been found, {@code 0} is returned.
+	 */
+	public int pathLength() {
+		return this.pathLength;
+	}
+	
+	/**
+	 * Returns a cell of the path that has been found by the last search.
+	 * @param index The index of the cell in the path. {@code 0} is the start.
+	 * @return The packed coordinates of the cell.
+	 * @throws IndexOutOfBoundsException If the index is negative or not less than the {@link #pathLength()}.
+	 * @see #unpackX(long)
+	 * @see #unpackY(long)
+	 * @see #unpackZ(long)
+	 */
+	public long pathNode(int index) {
+		if (index < 0 || index >= this.pathLength) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for path length " + this.pathLength);
+		}
+		return this.path[index];
+	}
+	
+	/**
+	 * Returns the path that has been found by the last search as a new array.
+	 * @return The packed coordinates of the cells from the start to the goal.
+	 * If no path has been found, an empty array is returned.
+	 */
+	public long[] getPath() {
+		return Arrays.copyOf(this.path, this.pathLength);
+	}
+	
+	/**
+	 * Returns the number of cells whose neighbors have been visited by the last search.
+	 * @return The number of expanded cells.
+	 */
+	public int expandedCount() {
+		return this.expandedCount;
+	}
+	
+	/**
+	 * Returns the grid of this pathfinder.
+	 * @return The grid.
+	 */
+	public Grid grid() {
+		return this.grid;
+	}
+	
+	
+	private int cellIndex(int x, int y, int z) {
+		if (x < 0 || y < 0 || z < 0 || x >= this.sizeX || y >= this.sizeY || z >= this.sizeZ) {
+			throw new IllegalArgumentException("The cell (" + x + ", " + y + ", " + z + ") is outside of the grid");
+		}
+		return x + this.sizeX * (y + this.sizeY * z);
+	}
+	
+	/**
+	 * Returns a lower bound of the cost from the specified cell to the goal.
+	 */
+	private double estimate(int x, int y, int z) {
+		if (this.searchAll) {
+			return 0.0;
+		}
+		return this.distance(Math.abs(x - this.goalX), Math.abs(y - this.goalY), Math.abs(z - this.goalZ));
+	}
+	
+	/**
+	 * Returns the cost of a path without obstacles that covers the specified distances along the axes.
+	 */
+	double distance(int dx, int dy, int dz) {
+		int sum = dx + dy + dz;
+		if (!this.diagonal) {
+			return sum * this.straightCost;
+		}
+		// Each diagonal move covers two axes. The longest axis can only be combined with the other axes.
+		int max = Math.max(dx, Math.max(dy, dz));
+		int diagonalMoves = Math.min(sum >> 1, sum - max);
+		return diagonalMoves * this.diagonalCost + (sum - 2 * diagonalMoves) * this.straightCost;
+	}
+	
+	/**
+	 * Starts a new search. The state of all cells becomes invalid.
+	 */
+	private void reset() {
+		if (this.stamps == null) {
+			// Allocated on the first search.
+			this.stamps = new int[this.cellCount];
+			this.costs = new double[this.cellCount];
+			this.parents = new int[this.cellCount];
+			this.heapIndices = new int[this.cellCount];
+			this.heapCells = new int[64];
+			this.heapKeys = new double[64];
+		}
+		if (this.stamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.stamps, 0);
+			this.stamp = 0;
+		}
+		this.stamp++;
+		this.heapSize = 0;
+	}
+	
+	private void open(int cell, double cost, int parent, double key) {
+		this.stamps[cell] = this.stamp;
+		this.costs[cell] = cost;
+		this.parents[cell] = parent;
+		
+		int index = this.heapSize++;
+		if (index >= this.heapCells.length) {
+			this.heapCells = Arrays.copyOf(this.heapCells, index * 2);
+			this.heapKeys = Arrays.copyOf(this.heapKeys, index * 2);
+		}
+		this.heapCells[index] = cell;
+		this.heapKeys[index] = key;
+		this.moveUp(index);
+	}
+	
+	private void moveUp(int index) {
+		int[] heapCells = this.heapCells;
+		double[] heapKeys = this.heapKeys;
+		int cell = heapCells[index];
+		double key = heapKeys[index];
+		while (index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			double parentKey = heapKeys[parentIndex];
+			if (parentKey <= key) {
+				break;
+			}
+			int parentCell = heapCells[parentIndex];
+			heapCells[index] = parentCell;
+			heapKeys[index] = parentKey;
+			this.heapIndices[parentCell] = index;
+			index = parentIndex;
+		}
+		heapCells[index] = cell;
+		heapKeys[index] = key;
+		this.heapIndices[cell] = index;
+	}
+	
+	private int removeFirst() {
+		int[] heapCells = this.heapCells;
+		double[] heapKeys = this.heapKeys;
+		int first = heapCells[0];
+		int size = --this.heapSize;
+		if (size == 0) {
+			return first;
+		}
+		
+		// Moves the last entry down from the root.
+		int cell = heapCells[size];
+		double key = heapKeys[size];
+		int index = 0;
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && heapKeys[child + 1] < heapKeys[child]) {
+				child++;
+			}
+			if (heapKeys[child] >= key) {
+				break;
+			}
+			heapCells[index] = heapCells[child];
+			heapKeys[index] = heapKeys[child];
+			this.heapIndices[heapCells[index]] = index;
+			index = child;
+		}
+		heapCells[index] = cell;
+		heapKeys[index] = key;
+		this.heapIndices[cell] = index;
+		return first;
+	}
+	
+	private void buildPath(int goal) {
+		// Counts the cells of the path. A jump leads over cells that have not been expanded.
+		int length = 1;
+		for (int cell = goal; this.parents[cell] != NO_PARENT; cell = this.parentCell(cell)) {
+			length += this.parents[cell] >>> MOVE_BITS;
+		}
+		if (this.path.length < length) {
+			this.path = new long[Math.max(length, this.path.length * 2)];
+		}
+		
+		int cell = goal;
+		int i = length - 1;
+		this.path[i] = this.packCell(cell);
+		while (i > 0) {
+			int parent = this.parents[cell];
+			int offset = this.dirOffset[parent & MOVE_MASK];
+			for (int moves = parent >>> MOVE_BITS; moves > 0; moves--) {
+				cell -= offset;
+				this.path[--i] = this.packCell(cell);
+			}
+		}
+		this.pathLength = length;
+	}
+	
+	private int parentCell(int cell) {
+		int parent = this.parents[cell];
+		return cell - (parent >>> MOVE_BITS) * this.dirOffset[parent & MOVE_MASK];
+	}
+	
+	private long packCell(int cell) {
+		int x = cell % this.sizeX;
+		int yz = cell / this.sizeX;
+		return pack(x, yz % this.sizeY, yz / this.sizeY);
+	}
+	
+	
+	/**
+	 * A grid of cells that are either passable or blocked.
+	 * A 2D grid has a z size of {@code 1}.
+	 */
+	public static interface Grid {
+		/**
+		 * Returns the number of cells along the x axis.
+		 * @return The size along the x axis. Must be positive.
+		 */
+		int sizeX();
+		
+		/**
+		 * Returns the number of cells along the y axis.
+		 * @return The size along the y axis. Must be positive.
+		 */
+		int sizeY();
+		
+		/**
+		 * Returns the number of cells along the z axis.
+		 * @return The size along the z axis. Must be positive. Defaults to {@code 1}.
+		 */
+		default int sizeZ() {
+			return 1;
+		}
+		
+		/**
+		 * Determines whether the specified cell can be entered.
+		 * The coordinates are always inside of the grid.
+		 * @param x The x coordinate of the cell.
+		 * @param y The y coordinate of the cell.
+		 * @param z The z coordinate of the cell. Always {@code 0} for 2D grids.
+		 * @return If the cell is passable.
+		 */
+		boolean isPassable(int x, int y, int z);
+	}
+	
+}
@@ -17,6 +17,7 @@ import javax.crypto.spec.SecretKeySpec;
  * 
  * @author Basic7x7
  * @version
+ * 2026-10-18 modified<br>
  * 2023-11-10 modified<br>
  * 2023-02-13 created
  * @since 1.0
@@ -386,4 +387,45 @@ public class HashUtil {
 		updateUTF8(alg, chars);
 		return alg.digest();
 	}
+	
+	
+	/**
+	 * Mixes the bits of the specified hash code, so that each input bit affects all output bits.
+	 * This is the finalizer ({@code fmix32}) of the MurmurHash3 algorithm.
+	 * <p>
+	 * The function is a bijection, so different hash codes never result in the same mixed hash code.
+	 * It should be applied before a hash table selects a bucket by the lower bits of a hash code.
+	 * Otherwise, sequential or grid-aligned keys might collide in a few buckets.
+	 * @param h The hash code.
+	 * @return The mixed hash code.
+	 * @since 1.9
+	 */
+	public static int fmix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h;
+	}
+	
+	/**
+	 * Mixes the bits of the specified 64 bit hash code, so that each input bit affects all output bits.
+	 * This is the finalizer ({@code fmix64}) of the MurmurHash3 algorithm.
+	 * <p>
+	 * The function is a bijection, so different hash codes never result in the same mixed hash code.
+	 * All bits of the result are well distributed, so it can be truncated to an {@code int}.
+	 * @param h The hash code.
+	 * @return The mixed hash code.
+	 * @see #fmix(int)
+	 * @since 1.9
+	 */
+	public static long fmix(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
 }
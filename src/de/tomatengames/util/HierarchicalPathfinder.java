@@ -0,0 +1,687 @@
+package de.tomatengames.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import de.tomatengames.util.GridPathfinder.Grid;
+
+/**
+ * Finds paths on large 2D grids using hierarchical pathfinding (HPA*).
+ * <p>
+ * The grid is partitioned into square clusters. The passable cells on both sides of the border between two clusters
+ * are grouped into entrances. Each entrance is represented by one or two pairs of abstract nodes.
+ * The costs of the optimal paths between the abstract nodes of a cluster are computed once and cached.
+ * A search only has to connect the start and the goal to the abstract nodes of their clusters
+ * and to search the abstract graph using A*.
+ * Afterwards, the path is refined by searching the path inside of each passed cluster.
+ * The refined paths are cached as well, so that frequently used paths are only searched once.
+ * Therefore, the cost of a search mainly depends on the number of abstract nodes between the start and the goal
+ * instead of the number of cells.
+ * <p>
+ * The found paths are not always optimal, because they have to cross the borders of the clusters at the abstract nodes.
+ * They are usually only a few percent longer than the optimal paths.
+ * If a path exists, it is always found.
+ * <p>
+ * The abstraction is built by the first search. If the passability of a cell changes,
+ * {@link #invalidate(int, int)} must be called. The abstraction of the affected clusters is rebuilt by the next search.
+ * <p>
+ * <b>This implementation is not synchronized.</b>
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ * @see GridPathfinder
+ */
+public class HierarchicalPathfinder {
+	// Entrances that are at least that long are represented by two transitions at both ends.
+	private static final int LONG_ENTRANCE = 6;
+	private static final int CLOSED = -1;
+	
+	private final Grid grid;
+	private final int sizeX, sizeY;
+	private final int clusterSize;
+	private final int clustersX, clustersY;
+	private final double straightCost;
+	
+	// Searches the paths inside of a single cluster.
+	private final ClusterGrid clusterGrid;
+	private final GridPathfinder local;
+	
+	// The abstract nodes on the border to the next cluster along the x and y axis.
+	private final ArrayList<Node>[] bordersX, bordersY;
+	// The abstract nodes inside of each cluster.
+	private final ArrayList<Node>[] clusterNodes;
+	private final boolean[] invalid;
+	private boolean anyInvalid;
+	
+	// The open list of the abstract search. A binary heap ordered by the estimated full cost of the nodes.
+	private Node[] heap;
+	private int heapSize;
+	private int stamp;
+	
+	private long[] path;
+	private int pathLength;
+	
+	/**
+	 * Creates a new {@link HierarchicalPathfinder} that allows diagonal moves.
+	 * An orthogonal move costs {@code 1} and a diagonal move costs {@code sqrt(2)}.
+	 * @param grid The 2D grid. Not {@code null}.
+	 * @param clusterSize The width and height of the clusters. Must be at least {@code 2}.
+	 * @throws IllegalArgumentException If the grid is not a 2D grid or the cluster size is invalid.
+	 */
+	public HierarchicalPathfinder(Grid grid, int clusterSize) {
+		this(grid, clusterSize, true, 1.0, Math.sqrt(2.0));
+	}
+	
+	/**
+	 * Creates a new {@link HierarchicalPathfinder}.
+	 * The moves are the same as in {@link GridPathfinder#GridPathfinder(Grid, boolean, double, double)}.
+	 * @param grid The 2D grid. The size of the grid must not change. Not {@code null}.
+	 * @param clusterSize The width and height of the clusters. Must be at least {@code 2}.
+	 * @param diagonal If diagonal moves are allowed.
+	 * @param straightCost The cost of an orthogonal move. Must be positive.
+	 * @param diagonalCost The cost of a diagonal move. Must be at least the straight cost
+	 * and at most twice the straight cost. Ignored if diagonal moves are not allowed.
+	 * @throws IllegalArgumentException If the grid is not a 2D grid, the cluster size is invalid or the costs are invalid.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public HierarchicalPathfinder(Grid grid, int clusterSize, boolean diagonal, double straightCost, double diagonalCost) {
+		this.grid = grid;
+		this.sizeX = grid.sizeX();
+		this.sizeY = grid.sizeY();
+		if (grid.sizeZ() != 1) {
+			throw new IllegalArgumentException("Hierarchical pathfinding requires a 2D grid");
+		}
+		if (clusterSize < 2) {
+			throw new IllegalArgumentException("The cluster size must be at least 2 (was " + clusterSize + ")");
+		}
+		this.clusterSize = clusterSize;
+		this.clusterGrid = new ClusterGrid(grid, Math.min(clusterSize, this.sizeX), Math.min(clusterSize, this.sizeY));
+		this.local = new GridPathfinder(this.clusterGrid, diagonal, straightCost, diagonalCost);
+		this.straightCost = straightCost;
+		
+		this.clustersX = (this.sizeX - 1) / clusterSize + 1;
+		this.clustersY = (this.sizeY - 1) / clusterSize + 1;
+		int clusterCount = this.clustersX * this.clustersY;
+		this.bordersX = new ArrayList[clusterCount];
+		this.bordersY = new ArrayList[clusterCount];
+		this.clusterNodes = new ArrayList[clusterCount];
+		for (int i = 0; i < clusterCount; i++) {
+			this.bordersX[i] = new ArrayList<>();
+			this.bordersY[i] = new ArrayList<>();
+			this.clusterNodes[i] = new ArrayList<>();
+		}
+		this.invalid = new boolean[clusterCount];
+		this.invalidateAll();
+		
+		this.heap = new Node[64];
+		this.heapSize = 0;
+		this.stamp = 0;
+		this.path = new long[16];
+		this.pathLength = 0;
+	}
+	
+	
+	/**
+	 * Finds a path between the specified cells.
+	 * The path can be obtained using {@link #pathLength()} and {@link #pathNode(int)}.
+	 * If the start or the goal is not passable, there is no path.
+	 * <p>
+	 * The abstraction of invalidated clusters is rebuilt before the search.
+	 * @param startX The x coordinate of the start.
+	 * @param startY The y coordinate of the start.
+	 * @param goalX The x coordinate of the goal.
+	 * @param goalY The y coordinate of the goal.
+	 * @return The cost of the path. If there is no path, {@link Double#POSITIVE_INFINITY} is returned.
+	 * @throws IllegalArgumentException If the start or the goal is outside of the grid.
+	 */
+	public double find(int startX, int startY, int goalX, int goalY) {
+		this.checkCell(startX, startY);
+		this.checkCell(goalX, goalY);
+		this.pathLength = 0;
+		if (!this.grid.isPassable(startX, startY, 0) || !this.grid.isPassable(goalX, goalY, 0)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		this.update();
+		
+		// Connects the start and the goal to the abstract nodes of their clusters.
+		Node start = new Node(startX, startY, this.clusterOf(startX, startY));
+		Node goal = new Node(goalX, goalY, this.clusterOf(goalX, goalY));
+		this.connect(start, this.clusterNodes[start.cluster], false);
+		Edge[] goalEdges = this.connect(goal, this.clusterNodes[goal.cluster], true);
+		if (start.cluster == goal.cluster) {
+			// The direct path inside of the cluster may be the best one.
+			this.findAll(start);
+			double cost = this.local.costTo(goal.x - this.clusterGrid.originX, goal.y - this.clusterGrid.originY, 0);
+			if (cost != Double.POSITIVE_INFINITY) {
+				start.addEdge(new Edge(goal, cost));
+			}
+		}
+		
+		double cost = this.search(start, goal, goalEdges);
+		if (cost != Double.POSITIVE_INFINITY) {
+			this.buildPath(start, goal);
+		}
+		return cost;
+	}
+	
+	/**
+	 * Returns the number of cells of the path that has been found by the last search.
+	 * @return The number of cells including the start and the goal.
+	 * If no path has been found, {@code 0} is returned.
+	 */
+	public int pathLength() {
+		return this.pathLength;
+	}
+	
+	/**
+	 * Returns a cell of the path that has been found by the last search.
+	 * @param index The index of the cell in the path. {@code 0} is the start.
+	 * @return The packed coordinates of the cell.
+	 * @throws IndexOutOfBoundsException If the index is negative or not less than the {@link #pathLength()}.
+	 * @see GridPathfinder#unpackX(long)
+	 * @see GridPathfinder#unpackY(long)
+	 */
+	public long pathNode(int index) {
+		if (index < 0 || index >= this.pathLength) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for path length " + this.pathLength);
+		}
+		return this.path[index];
+	}
+	
+	/**
+	 * Returns the path that has been found by the last search as a new array.
+	 * @return The packed coordinates of the cells from the start to the goal.
+	 * If no path has been found, an empty array is returned.
+	 */
+	public long[] getPath() {
+		return Arrays.copyOf(this.path, this.pathLength);
+	}
+	
+	/**
+	 * Marks the cluster that contains the specified cell as changed.
+	 * This method must be called if the passability of the cell changes.
+	 * The abstraction of the cluster and its neighbors is rebuilt by the next search or by {@link #update()}.
+	 * @param x The x coordinate of the cell.
+	 * @param y The y coordinate of the cell.
+	 * @throws IllegalArgumentException If the cell is outside of the grid.
+	 */
+	public void invalidate(int x, int y) {
+		this.checkCell(x, y);
+		this.invalid[this.clusterOf(x, y)] = true;
+		this.anyInvalid = true;
+	}
+	
+	/**
+	 * Marks all clusters as changed.
+	 * The whole abstraction is rebuilt by the next search or by {@link #update()}.
+	 */
+	public void invalidateAll() {
+		Arrays.fill(this.invalid, true);
+		this.anyInvalid = true;
+	}
+	
+	/**
+	 * Rebuilds the abstraction of all invalidated clusters.
+	 * This is done automatically by {@link #find(int, int, int, int)}.
+	 */
+	public void update() {
+		if (!this.anyInvalid) {
+			return;
+		}
+		int clusterCount = this.invalid.length;
+		boolean[] affected = new boolean[clusterCount];
+		for (int cluster = 0; cluster < clusterCount; cluster++) {
+			if (!this.invalid[cluster]) {
+				continue;
+			}
+			// The entrances on all borders of the cluster may have changed. This affects the neighbors too.
+			int cx = cluster % this.clustersX;
+			int cy = cluster / this.clustersX;
+			affected[cluster] = true;
+			if (cx > 0 && !this.invalid[cluster - 1]) {
+				this.buildBorder(cluster - 1, true);
+				affected[cluster - 1] = true;
+			}
+			if (cx + 1 < this.clustersX) {
+				this.buildBorder(cluster, true);
+				affected[cluster + 1] = true;
+			}
+			if (cy > 0 && !this.invalid[cluster - this.clustersX]) {
+				this.buildBorder(cluster - this.clustersX, false);
+				affected[cluster - this.clustersX] = true;
+			}
+			if (cy + 1 < this.clustersY) {
+				this.buildBorder(cluster, false);
+				affected[cluster + this.clustersX] = true;
+			}
+		}
+		for (int cluster = 0; cluster < clusterCount; cluster++) {
+			if (affected[cluster]) {
+				this.buildCluster(cluster);
+			}
+		}
+		Arrays.fill(this.invalid, false);
+		this.anyInvalid = false;
+	}
+	
+	/**
+	 * Returns the number of abstract nodes.
+	 * The abstraction is not rebuilt by this method.
+	 * @return The number of abstract nodes.
+	 */
+	public int abstractNodeCount() {
+		int count = 0;
+		for (ArrayList<Node> nodes : this.clusterNodes) {
+			count += nodes.size();
+		}
+		return count;
+	}
+	
+	
+	private void checkCell(int x, int y) {
+		if (x < 0 || y < 0 || x >= this.sizeX || y >= this.sizeY) {
+			throw new IllegalArgumentException("The cell (" + x + ", " + y + ") is outside of the grid");
+		}
+	}
+	
+	private int clusterOf(int x, int y) {
+		return x / this.clusterSize + this.clustersX * (y / this.clusterSize);
+	}
+	
+	/**
+	 * Creates the transitions on the border between the specified cluster and the next cluster along the x or y axis.
+	 */
+	private void buildBorder(int cluster, boolean alongX) {
+		ArrayList<Node> border = alongX ? this.bordersX[cluster] : this.bordersY[cluster];
+		border.clear();
+		int cx = cluster % this.clustersX;
+		int cy = cluster / this.clustersX;
+		int next = alongX ? cluster + 1 : cluster + this.clustersX;
+		// The border is a line of cell pairs. Position i of the line is the cell (lineX + i * stepX, lineY + i * stepY).
+		int lineX = alongX ? (cx + 1) * this.clusterSize - 1 : cx * this.clusterSize;
+		int lineY = alongX ? cy * this.clusterSize : (cy + 1) * this.clusterSize - 1;
+		int length = alongX ? Math.min(this.clusterSize, this.sizeY - lineY) : Math.min(this.clusterSize, this.sizeX - lineX);
+		int acrossX = alongX ? 1 : 0;
+		int acrossY = alongX ? 0 : 1;
+		
+		int runStart = -1;
+		for (int i = 0; i <= length; i++) {
+			int x = lineX + i * acrossY;
+			int y = lineY + i * acrossX;
+			boolean open = i < length && this.grid.isPassable(x, y, 0) && this.grid.isPassable(x + acrossX, y + acrossY, 0);
+			if (open && runStart < 0) {
+				runStart = i;
+			}
+			else if (!open && runStart >= 0) {
+				// An entrance from runStart to i-1
+				int runEnd = i - 1;
+				if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+					this.addTransition(border, lineX + runStart * acrossY, lineY + runStart * acrossX, acrossX, acrossY, cluster, next);
+					this.addTransition(border, lineX + runEnd * acrossY, lineY + runEnd * acrossX, acrossX, acrossY, cluster, next);
+				}
+				else {
+					int middle = (runStart + runEnd) >>> 1;
+					this.addTransition(border, lineX + middle * acrossY, lineY + middle * acrossX, acrossX, acrossY, cluster, next);
+				}
+				runStart = -1;
+			}
+		}
+	}
+	
+	private void addTransition(ArrayList<Node> border, int x, int y, int acrossX, int acrossY, int cluster, int next) {
+		Node node = new Node(x, y, cluster);
+		Node partner = new Node(x + acrossX, y + acrossY, next);
+		node.partner = partner;
+		partner.partner = node;
+		border.add(node);
+		border.add(partner);
+	}
+	
+	/**
+	 * Collects the abstract nodes of the specified cluster and computes the paths between them.
+	 */
+	private void buildCluster(int cluster) {
+		ArrayList<Node> nodes = this.clusterNodes[cluster];
+		nodes.clear();
+		int cx = cluster % this.clustersX;
+		int cy = cluster / this.clustersX;
+		this.collectNodes(nodes, this.bordersX[cluster], cluster);
+		this.collectNodes(nodes, this.bordersY[cluster], cluster);
+		if (cx > 0) {
+			this.collectNodes(nodes, this.bordersX[cluster - 1], cluster);
+		}
+		if (cy > 0) {
+			this.collectNodes(nodes, this.bordersY[cluster - this.clustersX], cluster);
+		}
+		
+		for (int i = 0; i < nodes.size(); i++) {
+			Node node = nodes.get(i);
+			node.index = i;
+			node.clearEdges();
+		}
+		for (int i = 0; i < nodes.size(); i++) {
+			// A single search from each node finds the paths to all other nodes.
+			Node node = nodes.get(i);
+			this.findAll(node);
+			for (int j = i + 1; j < nodes.size(); j++) {
+				Node other = nodes.get(j);
+				double cost = this.local.costTo(other.x - this.clusterGrid.originX, other.y - this.clusterGrid.originY, 0);
+				if (cost != Double.POSITIVE_INFINITY) {
+					node.addEdge(new Edge(other, cost));
+					other.addEdge(new Edge(node, cost));
+				}
+			}
+		}
+	}
+	
+	private void collectNodes(ArrayList<Node> nodes, ArrayList<Node> border, int cluster) {
+		for (Node node : border) {
+			if (node.cluster == cluster) {
+				nodes.add(node);
+			}
+		}
+	}
+	
+	/**
+	 * Connects the specified node to the abstract nodes of its cluster.
+	 * If {@code toNode} is {@code true}, the returned edges lead from the abstract nodes to the specified node.
+	 * Otherwise, the edges are added to the specified node.
+	 */
+	private Edge[] connect(Node node, ArrayList<Node> nodes, boolean toNode) {
+		this.findAll(node);
+		Edge[] edges = toNode ? new Edge[nodes.size()] : null;
+		for (int i = 0; i < nodes.size(); i++) {
+			Node other = nodes.get(i);
+			double cost = this.local.costTo(other.x - this.clusterGrid.originX, other.y - this.clusterGrid.originY, 0);
+			if (cost == Double.POSITIVE_INFINITY) {
+				continue;
+			}
+			if (toNode) {
+				edges[i] = new Edge(node, cost);
+			}
+			else {
+				node.addEdge(new Edge(other, cost));
+			}
+		}
+		return edges;
+	}
+	
+	/**
+	 * Finds the paths from the specified node to all cells of its cluster.
+	 */
+	private void findAll(Node node) {
+		this.setCluster(node.cluster);
+		this.local.findAll(node.x - this.clusterGrid.originX, node.y - this.clusterGrid.originY, 0);
+	}
+	
+	private void setCluster(int cluster) {
+		this.clusterGrid.originX = cluster % this.clustersX * this.clusterSize;
+		this.clusterGrid.originY = cluster / this.clustersX * this.clusterSize;
+	}
+	
+	/**
+	 * Searches the abstract graph using A*.
+	 * The edges from the nodes of the goal cluster to the goal are only used by this search.
+	 */
+	private double search(Node start, Node goal, Edge[] goalEdges) {
+		if (this.stamp == Integer.MAX_VALUE) {
+			for (ArrayList<Node> nodes : this.clusterNodes) {
+				for (Node node : nodes) {
+					node.stamp = 0;
+				}
+			}
+			this.stamp = 0;
+		}
+		this.stamp++;
+		this.heapSize = 0;
+		this.open(start, 0.0, null, null, goal);
+		
+		while (this.heapSize > 0) {
+			Node node = this.removeFirst();
+			node.heapIndex = CLOSED;
+			if (node == goal) {
+				Arrays.fill(this.heap, 0, this.heapSize, null);
+				return node.cost;
+			}
+			Edge[] edges = node.edges;
+			for (int i = 0, n = node.edgeCount; i < n; i++) {
+				Edge edge = edges[i];
+				this.relax(node, edge.target, edge, edge.cost, goal);
+			}
+			if (node.partner != null) {
+				this.relax(node, node.partner, null, this.straightCost, goal);
+			}
+			if (node.cluster == goal.cluster && node.index >= 0 && goalEdges[node.index] != null) {
+				Edge edge = goalEdges[node.index];
+				this.relax(node, goal, edge, edge.cost, goal);
+			}
+		}
+		return Double.POSITIVE_INFINITY;
+	}
+	
+	private void relax(Node from, Node to, Edge edge, double stepCost, Node goal) {
+		double cost = from.cost + stepCost;
+		if (to.stamp != this.stamp) {
+			this.open(to, cost, from, edge, goal);
+		}
+		else if (to.heapIndex != CLOSED && cost < to.cost) {
+			// The heuristic is consistent, so closed nodes cannot be improved.
+			to.cost = cost;
+			to.parent = from;
+			to.parentEdge = edge;
+			to.key = cost + this.estimate(to, goal);
+			this.moveUp(to, to.heapIndex);
+		}
+	}
+	
+	private double estimate(Node node, Node goal) {
+		return this.local.distance(Math.abs(node.x - goal.x), Math.abs(node.y - goal.y), 0);
+	}
+	
+	private void open(Node node, double cost, Node parent, Edge edge, Node goal) {
+		node.stamp = this.stamp;
+		node.cost = cost;
+		node.parent = parent;
+		node.parentEdge = edge;
+		node.key = cost + this.estimate(node, goal);
+		int index = this.heapSize++;
+		if (index >= this.heap.length) {
+			this.heap = Arrays.copyOf(this.heap, index * 2);
+		}
+		this.moveUp(node, index);
+	}
+	
+	private void moveUp(Node node, int index) {
+		Node[] heap = this.heap;
+		while (index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			Node parent = heap[parentIndex];
+			if (parent.key <= node.key) {
+				break;
+			}
+			heap[index] = parent;
+			parent.heapIndex = index;
+			index = parentIndex;
+		}
+		heap[index] = node;
+		node.heapIndex = index;
+	}
+	
+	private Node removeFirst() {
+		Node[] heap = this.heap;
+		Node first = heap[0];
+		int size = --this.heapSize;
+		Node node = heap[size];
+		heap[size] = null;
+		if (size == 0) {
+			return first;
+		}
+		
+		// Moves the last node down from the root.
+		int index = 0;
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && heap[child + 1].key < heap[child].key) {
+				child++;
+			}
+			if (heap[child].key >= node.key) {
+				break;
+			}
+			heap[index] = heap[child];
+			heap[index].heapIndex = index;
+			index = child;
+		}
+		heap[index] = node;
+		node.heapIndex = index;
+		return first;
+	}
+	
+	/**
+	 * Assembles the path of the cells from the abstract path. The paths of the used edges are cached.
+	 */
+	private void buildPath(Node start, Node goal) {
+		int count = 0;
+		for (Node node = goal; node != null; node = node.parent) {
+			count++;
+		}
+		Node[] nodes = new Node[count];
+		for (Node node = goal; node != null; node = node.parent) {
+			nodes[--count] = node;
+		}
+		
+		int length = 0;
+		this.appendPath(length++, GridPathfinder.pack(start.x, start.y, 0));
+		for (int i = 1; i < nodes.length; i++) {
+			Node node = nodes[i];
+			Edge edge = node.parentEdge;
+			if (edge == null) {
+				// A transition to the next cluster
+				this.appendPath(length++, GridPathfinder.pack(node.x, node.y, 0));
+				continue;
+			}
+			if (edge.path == null) {
+				edge.path = this.refine(nodes[i - 1], node);
+			}
+			// The first cell of the edge is the last cell of the previous edge.
+			for (int j = 1; j < edge.path.length; j++) {
+				this.appendPath(length++, edge.path[j]);
+			}
+		}
+		this.pathLength = length;
+	}
+	
+	/**
+	 * Searches the path between two nodes of the same cluster.
+	 */
+	private long[] refine(Node from, Node to) {
+		this.setCluster(to.cluster);
+		int originX = this.clusterGrid.originX;
+		int originY = this.clusterGrid.originY;
+		this.local.find(from.x - originX, from.y - originY, to.x - originX, to.y - originY);
+		long[] path = new long[this.local.pathLength()];
+		for (int i = 0; i < path.length; i++) {
+			long cell = this.local.pathNode(i);
+			path[i] = GridPathfinder.pack(GridPathfinder.unpackX(cell) + originX, GridPathfinder.unpackY(cell) + originY, 0);
+		}
+		return path;
+	}
+	
+	private void appendPath(int index, long cell) {
+		if (index >= this.path.length) {
+			this.path = Arrays.copyOf(this.path, this.path.length * 2);
+		}
+		this.path[index] = cell;
+	}
+	
+	
+	/**
+	 * A view of a single cluster. The cells outside of the grid are not passable.
+	 */
+	private static class ClusterGrid implements Grid {
+		private final Grid grid;
+		private final int gridSizeX, gridSizeY;
+		private final int sizeX, sizeY;
+		private int originX, originY;
+		
+		public ClusterGrid(Grid grid, int sizeX, int sizeY) {
+			this.grid = grid;
+			this.gridSizeX = grid.sizeX();
+			this.gridSizeY = grid.sizeY();
+			this.sizeX = sizeX;
+			this.sizeY = sizeY;
+		}
+		
+		@Override
+		public int sizeX() {
+			return this.sizeX;
+		}
+		
+		@Override
+		public int sizeY() {
+			return this.sizeY;
+		}
+		
+		@Override
+		public boolean isPassable(int x, int y, int z) {
+			x += this.originX;
+			y += this.originY;
+			return x < this.gridSizeX && y < this.gridSizeY && this.grid.isPassable(x, y, 0);
+		}
+	}
+	
+	/**
+	 * An abstract node. Either a transition between two clusters or a temporary start or goal node.
+	 */
+	private static class Node {
+		private final int x, y;
+		private final int cluster;
+		private int index = -1; // The index in the nodes of the cluster
+		private Node partner; // The node on the other side of the border
+		private Edge[] edges = new Edge[4]; // The paths to the other nodes of the cluster
+		private int edgeCount;
+		
+		// The state of the abstract search. Only valid if the stamp is the current stamp.
+		private int stamp;
+		private double cost, key;
+		private Node parent;
+		private Edge parentEdge; // null for a transition
+		private int heapIndex; // CLOSED if the node has been expanded.
+		
+		public Node(int x, int y, int cluster) {
+			this.x = x;
+			this.y = y;
+			this.cluster = cluster;
+		}
+		
+		private void addEdge(Edge edge) {
+			if (this.edgeCount == this.edges.length) {
+				this.edges = Arrays.copyOf(this.edges, 2 * this.edgeCount);
+			}
+			this.edges[this.edgeCount++] = edge;
+		}
+		
+		private void clearEdges() {
+			Arrays.fill(this.edges, 0, this.edgeCount, null);
+			this.edgeCount = 0;
+		}
+	}
+	
+	/**
+	 * A path inside of a cluster. The cells of the path are searched when the path is used for the first time.
+	 */
+	private static class Edge {
+		private final Node target;
+		private final double cost;
+		private long[] path; // From the source to the target or null if not searched yet
+		
+		public Edge(Node target, double cost) {
+			this.target = target;
+			this.cost = cost;
+		}
+	}
+	
+}
@@ -0,0 +1,248 @@
+package de.tomatengames.util;
+
+import java.util.ArrayList;
+
+import de.tomatengames.util.PathfinderUtil.LowestEstimateHeap;
+import de.tomatengames.util.PathfinderUtil.PathNode;
+import de.tomatengames.util.PathfinderUtil.PositionMap;
+import de.tomatengames.util.PathfinderUtil.SearchLimits;
+import de.tomatengames.util.PathfinderUtil.SearchResult;
+import de.tomatengames.util.PathfinderUtil.SearchStatus;
+import de.tomatengames.util.PathfinderUtil.World;
+
+/**
+ * Holds the structures that {@link PathfinderUtil#find(PathNode, World)} uses and reuses them for many searches.
+ * <p>
+ * {@link PathfinderUtil#find(PathNode, World)} allocates a new open list, a new {@link PositionMap}
+ * and a new neighbor buffer for every search.
+ * A context keeps these structures at the size that the previous searches required.
+ * The {@link PositionMap} is cleared using a stamp, so the time to prepare a search does not depend
+ * on the size of the previous searches.
+ * The structures of the backward search of {@link #findBidirectional(PathNode, PathNode, World, World, SearchLimits)}
+ * are created by its first call.
+ * <p>
+ * <b>This implementation is not synchronized.</b>
+ * A context should be reused by the same thread.
+ * {@link PathfinderUtil#findAll(java.util.List, java.util.List, java.util.concurrent.ForkJoinPool)}
+ * uses a context per worker thread.
+ * 
+ * @param <N> The specific type of {@link PathNode} used
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class PathfinderContext<N extends PathNode> {
+	private final PositionMap<N> positionMap;
+	private final LowestEstimateHeap open;
+	private final ArrayList<N> neighbors;
+	private PositionMap<N> backwardMap;
+	private LowestEstimateHeap backwardOpen;
+	
+	/**
+	 * Creates a new context. The structures grow with the searches.
+	 */
+	public PathfinderContext() {
+		this.positionMap = new PositionMap<>(null, 0.75f, 16);
+		this.open = new LowestEstimateHeap(10);
+		this.neighbors = new ArrayList<>();
+	}
+	
+	/**
+	 * Finds a goal from the provided startpoint like {@link PathfinderUtil#find(PathNode, World)},
+	 * but reuses the structures of this context.
+	 * @param start The startpoint
+	 * @param world The {@link World}
+	 * @return A goal PathNode or null if no goal has been found
+	 */
+	public N find(N start, World<N> world) {
+		return this.find(start, false, world);
+	}
+	
+	/**
+	 * Finds a goal from the provided startpoint like {@link PathfinderUtil#find(PathNode, boolean, PositionMap, World)},
+	 * but reuses the structures of this context.
+	 * The nodes that have been found by the search can be obtained from {@link #positionMap()}
+	 * until the next search.
+	 * @param start The startpoint
+	 * @param all whether to visit all optimal paths
+	 * @param world The {@link World}
+	 * @return A goal PathNode or null if no goal has been found
+	 */
+	public N find(N start, boolean all, World<N> world) {
+		this.positionMap.reset(world);
+		try {
+			return PathfinderUtil.find(start, all, this.positionMap, world, this.open, this.neighbors);
+		}
+		finally {
+			this.open.clear();
+			this.neighbors.clear();
+		}
+	}
+	
+	/**
+	 * Finds a goal from the provided startpoint like {@link PathfinderUtil#find(PathNode, World, SearchLimits)},
+	 * but reuses the structures of this context.
+	 * @param start The startpoint
+	 * @param world The {@link World}
+	 * @param limits The limits of the search
+	 * @return The result of the search
+	 */
+	@SuppressWarnings("unchecked")
+	public SearchResult<N> find(N start, World<N> world, SearchLimits limits) {
+		PositionMap<N> positionMap = this.positionMap;
+		LowestEstimateHeap open = this.open;
+		positionMap.reset(world);
+		try {
+			positionMap.put(start);
+			start.estimateFullCost = start.cost + world.estimateRemainingCost(start);
+			open.add(start);
+			N closest = start;
+			int expanded = 0;
+			while (open.size() > 0) {
+				if (open.peekMin().estimateFullCost > limits.maxCost()) {
+					return new SearchResult<>(SearchStatus.COST_LIMIT, closest, null, closest.cost, expanded);
+				}
+				SearchStatus status = limits.check(expanded);
+				if (status != null) {
+					return new SearchResult<>(status, closest, null, closest.cost, expanded);
+				}
+				
+				N node = (N) open.removeMin();
+				if (world.isGoal(node)) {
+					return new SearchResult<>(SearchStatus.FOUND, node, null, node.cost, expanded);
+				}
+				expanded++;
+				if (isCloser(node, closest)) {
+					closest = node;
+				}
+				PathfinderUtil.expand(node, positionMap, world, open, this.neighbors);
+				this.neighbors.clear();
+			}
+			return new SearchResult<>(SearchStatus.UNREACHABLE, closest, null, closest.cost, expanded);
+		}
+		finally {
+			open.clear();
+			this.neighbors.clear();
+		}
+	}
+	
+	/**
+	 * Finds an optimal path between the provided startpoint and goal by searching from both ends
+	 * like {@link PathfinderUtil#findBidirectional(PathNode, PathNode, World, World, SearchLimits)},
+	 * but reuses the structures of this context.
+	 * @param start The startpoint
+	 * @param goal The goal
+	 * @param forward The {@link World} that searches from the startpoint to the goal
+	 * @param backward The {@link World} that searches from the goal to the startpoint
+	 * @param limits The limits of the search
+	 * @return The result of the search
+	 */
+	@SuppressWarnings("unchecked")
+	public SearchResult<N> findBidirectional(N start, N goal, World<N> forward, World<N> backward, SearchLimits limits) {
+		if (this.backwardMap == null) {
+			this.backwardMap = new PositionMap<>(null, 0.75f, 16);
+			this.backwardOpen = new LowestEstimateHeap(10);
+		}
+		PositionMap<N> forwardMap = this.positionMap, backwardMap = this.backwardMap;
+		LowestEstimateHeap forwardOpen = this.open, backwardOpen = this.backwardOpen;
+		ArrayList<N> neighbors = this.neighbors;
+		forwardMap.reset(forward);
+		backwardMap.reset(backward);
+		try {
+			backwardMap.put(goal);
+			goal.estimateFullCost = goal.cost + backward.estimateRemainingCost(goal);
+			backwardOpen.add(goal);
+			forwardMap.put(start);
+			start.estimateFullCost = start.cost + forward.estimateRemainingCost(start);
+			forwardOpen.add(start);
+			
+			// The best path that has been found yet leads from meetForward to meetBackward.
+			N meetForward = null, meetBackward = null;
+			double best = Double.POSITIVE_INFINITY;
+			N startAtGoal = backwardMap.get(start);
+			if (startAtGoal != null && start.cost + startAtGoal.cost <= limits.maxCost()) {
+				meetForward = start;
+				meetBackward = startAtGoal;
+				best = start.cost + startAtGoal.cost;
+			}
+			
+			N closest = start;
+			int expanded = 0;
+			SearchStatus status = SearchStatus.UNREACHABLE;
+			while (forwardOpen.size() > 0 && backwardOpen.size() > 0) {
+				// Every path that has not been found yet is at least as expensive as the lowest estimate of each side.
+				double bound = Math.max(forwardOpen.peekMin().estimateFullCost, backwardOpen.peekMin().estimateFullCost);
+				if (bound >= best) {
+					status = SearchStatus.FOUND;
+					break;
+				}
+				if (bound > limits.maxCost()) {
+					status = SearchStatus.COST_LIMIT;
+					break;
+				}
+				status = limits.check(expanded);
+				if (status != null) {
+					break;
+				}
+				
+				boolean isForward = forwardOpen.size() <= backwardOpen.size();
+				PositionMap<N> map = isForward ? forwardMap : backwardMap;
+				PositionMap<N> otherMap = isForward ? backwardMap : forwardMap;
+				N node = (N) (isForward ? forwardOpen : backwardOpen).removeMin();
+				expanded++;
+				if (isForward && isCloser(node, closest)) {
+					closest = node;
+				}
+				PathfinderUtil.expand(node, map, isForward ? forward : backward, isForward ? forwardOpen : backwardOpen, neighbors);
+				for (int i = 0, size = neighbors.size(); i < size; i++) {
+					N neighbor = neighbors.get(i);
+					if (map.get(neighbor) != neighbor) {
+						continue; // Not better than the known node
+					}
+					N other = otherMap.get(neighbor);
+					if (other != null && neighbor.cost + other.cost < best && neighbor.cost + other.cost <= limits.maxCost()) {
+						best = neighbor.cost + other.cost;
+						meetForward = isForward ? neighbor : other;
+						meetBackward = isForward ? other : neighbor;
+					}
+				}
+				neighbors.clear();
+			}
+			if (status == null || status == SearchStatus.UNREACHABLE) {
+				// One side has no nodes left.
+				status = meetForward != null ? SearchStatus.FOUND : SearchStatus.UNREACHABLE;
+			}
+			if (meetForward != null) {
+				return new SearchResult<>(status, meetForward, meetBackward, best, expanded);
+			}
+			return new SearchResult<>(status, closest, null, closest.cost, expanded);
+		}
+		finally {
+			forwardOpen.clear();
+			backwardOpen.clear();
+			neighbors.clear();
+		}
+	}
+	
+	/**
+	 * Returns whether the node is closer to the goal than the other node.
+	 * The distance is the estimate of the remaining cost. If it is equal, the cheaper node is closer.
+	 */
+	private static boolean isCloser(PathNode node, PathNode other) {
+		double remaining = node.estimateFullCost - node.cost;
+		double otherRemaining = other.estimateFullCost - other.cost;
+		return remaining < otherRemaining || (remaining == otherRemaining && node.cost < other.cost);
+	}
+	
+	/**
+	 * Returns the {@link PositionMap} of the last search.
+	 * It maps the positions to the cheapest nodes that have been found.
+	 * The map is cleared by the next search.
+	 * @return The {@link PositionMap}
+	 */
+	public PositionMap<N> positionMap() {
+		return this.positionMap;
+	}
+	
+}
@@ -1,12 +1,16 @@
 package de.tomatengames.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -14,8 +18,12 @@ import java.util.function.Function;
  * Provides methods to find optimal paths on graphs using the A* algorithm.
  * 
  * @author LukasE7x7
- * @version 2024-01-14
+ * @version
+ * 2026-10-18 last modified<br>
+ * 2024-01-14 created
  * @since 1.5
+ * @see PathfinderContext
+ * @see GridPathfinder
  */
 public class PathfinderUtil {
 	
@@ -49,13 +57,21 @@ public class PathfinderUtil {
 	 * @param world The {@link World}
 	 * @return A goal PathNode
 	 */
-	@SuppressWarnings("unchecked")
 	public static <N extends PathNode> N find(N start, boolean all, PositionMap<N> positionMap, World<N> world) {
-		LowestEstimateHeap open = new LowestEstimateHeap(10);
+		return find(start, all, positionMap, world, new LowestEstimateHeap(10), new ArrayList<>());
+	}
+	
+	/**
+	 * Performs the search using the provided structures.
+	 * The open list must be empty. The neighbor buffer must be empty and is empty again when this method returns normally.
+	 * Nodes may remain in the open list.
+	 */
+	@SuppressWarnings("unchecked")
+	static <N extends PathNode> N find(N start, boolean all, PositionMap<N> positionMap, World<N> world,
+			LowestEstimateHeap open, ArrayList<N> neighborsBuf) {
 		positionMap.put(start);
 		start.estimateFullCost = start.cost + world.estimateRemainingCost(start);
 		open.add(start);
-		ArrayList<N> neighborsBuf = new ArrayList<>();
 		N goal = null;
 		while (open.size > 0) {
 			N node = (N)open.removeMin();
@@ -69,27 +85,97 @@ public class PathfinderUtil {
 			} else if (world.isGoal(node)) {
 				return node;
 			}
-			world.insertNeighbors(node, neighborsBuf);
-			for (int size = neighborsBuf.size(), i = 0; i < size; i++) {
-				N neighbor = neighborsBuf.get(i);
-				N knownNeighbor = positionMap.get(neighbor);
-				double neighborcost = node.cost + neighbor.cost;
-				if (knownNeighbor == null || neighborcost < knownNeighbor.cost ||
-						(neighborcost == knownNeighbor.cost && world.preferOrigin(knownNeighbor, neighbor))) {
-					neighbor.cost = neighborcost;
-					positionMap.put(neighbor);
-					neighbor.estimateFullCost = neighborcost + world.estimateRemainingCost(neighbor);
-					if (knownNeighbor == null || !open.contains(knownNeighbor))
-						open.add(neighbor);
-					else
-						open.decrease(knownNeighbor, neighbor);
-				}
-			}
+			expand(node, positionMap, world, open, neighborsBuf);
 			neighborsBuf.clear();
 		}
 		return goal;
 	}
 	
+	/**
+	 * Inserts the neighbors of the node into the neighbor buffer and adds the neighbors to the open list and the map
+	 * if they are better than the known nodes of their positions. The neighbor buffer is not cleared.
+	 */
+	static <N extends PathNode> void expand(N node, PositionMap<N> positionMap, World<N> world,
+			LowestEstimateHeap open, ArrayList<N> neighborsBuf) {
+		world.insertNeighbors(node, neighborsBuf);
+		for (int size = neighborsBuf.size(), i = 0; i < size; i++) {
+			N neighbor = neighborsBuf.get(i);
+			N knownNeighbor = positionMap.get(neighbor);
+			double neighborcost = node.cost + neighbor.cost;
+			if (knownNeighbor == null || neighborcost < knownNeighbor.cost ||
+					(neighborcost == knownNeighbor.cost && world.preferOrigin(knownNeighbor, neighbor))) {
+				neighbor.cost = neighborcost;
+				positionMap.put(neighbor);
+				neighbor.estimateFullCost = neighborcost + world.estimateRemainingCost(neighbor);
+				if (knownNeighbor == null || !open.contains(knownNeighbor))
+					open.add(neighbor);
+				else
+					open.decrease(knownNeighbor, neighbor);
+			}
+		}
+	}
+	
+	/**
+	 * Finds a goal from the provided startpoint, but stops the search if one of the provided limits is reached.
+	 * In contrast to {@link #find(PathNode, World)}, the result contains the node that is closest to a goal
+	 * if no goal has been found. This is the expanded node with the lowest {@link World#estimateRemainingCost(PathNode)}.
+	 * @param <N> The specific type of PathNode used
+	 * @param start The startpoint
+	 * @param world The {@link World}
+	 * @param limits The limits of the search
+	 * @return The result of the search
+	 * @see PathfinderContext#find(PathNode, World, SearchLimits)
+	 * @since 1.9
+	 */
+	public static <N extends PathNode> SearchResult<N> find(N start, World<N> world, SearchLimits limits) {
+		return new PathfinderContext<N>().find(start, world, limits);
+	}
+	
+	/**
+	 * Finds an optimal path between the provided startpoint and goal by searching from both ends.
+	 * @param <N> The specific type of PathNode used
+	 * @param start The startpoint
+	 * @param goal The goal
+	 * @param forward The {@link World} that searches from the startpoint to the goal
+	 * @param backward The {@link World} that searches from the goal to the startpoint
+	 * @return The result of the search
+	 * @see #findBidirectional(PathNode, PathNode, World, World, SearchLimits)
+	 * @since 1.9
+	 */
+	public static <N extends PathNode> SearchResult<N> findBidirectional(N start, N goal, World<N> forward, World<N> backward) {
+		return findBidirectional(start, goal, forward, backward, SearchLimits.NONE);
+	}
+	
+	/**
+	 * Finds an optimal path between the provided startpoint and goal by searching from both ends.
+	 * The search alternates between the side with the smaller open list.
+	 * If no path exists and one of the ends is enclosed by a small area, the search stops after that area has been visited,
+	 * while {@link #find(PathNode, World)} would visit all positions that can be reached from the startpoint.
+	 * <p>
+	 * The backward {@link World} must insert the predecessors of a node as its neighbors.
+	 * On undirected graphs, these are the same positions as the neighbors of the forward World.
+	 * Its {@link World#estimateRemainingCost(PathNode)} must estimate the cost to the startpoint
+	 * and {@link World#isGoal(PathNode)} is not used.
+	 * Both Worlds must use the same {@link World#positionHash(PathNode)} and {@link World#positionEqual(PathNode, PathNode)}.
+	 * The estimates must be consistent (monotone) to find an optimal path.
+	 * <p>
+	 * If a path has been found, {@link SearchResult#node()} is the node of the forward search
+	 * and {@link SearchResult#backwardNode()} is the node of the backward search at the same position where both searches met.
+	 * @param <N> The specific type of PathNode used
+	 * @param start The startpoint
+	 * @param goal The goal
+	 * @param forward The {@link World} that searches from the startpoint to the goal
+	 * @param backward The {@link World} that searches from the goal to the startpoint
+	 * @param limits The limits of the search
+	 * @return The result of the search
+	 * @see PathfinderContext#findBidirectional(PathNode, PathNode, World, World, SearchLimits)
+	 * @since 1.9
+	 */
+	public static <N extends PathNode> SearchResult<N> findBidirectional(N start, N goal, World<N> forward, World<N> backward,
+			SearchLimits limits) {
+		return new PathfinderContext<N>().findBidirectional(start, goal, forward, backward, limits);
+	}
+	
 	/**
 	 * Utility to list the PathNodes from the startpoint to the provided PathNode.
 	 * Typically, a PathNode knows their original PathNode (previous), which this method obtains using the provided function.
@@ -133,6 +219,303 @@ public class PathfinderUtil {
 		}
 	}
 	
+	/**
+	 * Finds a goal for each of the provided startpoints in parallel using the common {@link ForkJoinPool}.
+	 * @param <N> The specific type of PathNode used
+	 * @param starts The startpoints
+	 * @param worlds The {@link World} for each startpoint
+	 * @return A list that contains the goal PathNode of each startpoint at the index of the startpoint,
+	 * or null if no goal has been found from that startpoint
+	 * @throws IllegalArgumentException If the lists have different sizes
+	 * @see #findAll(List, List, ForkJoinPool)
+	 * @since 1.9
+	 */
+	public static <N extends PathNode> List<N> findAll(List<? extends N> starts, List<? extends World<N>> worlds) {
+		return findAll(starts, worlds, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Finds a goal for each of the provided startpoints in parallel using the provided {@link ForkJoinPool}.
+	 * The searches are split into tasks for the workers of the pool.
+	 * Each worker uses a {@link PathfinderContext} for all of its searches,
+	 * so the search structures are not allocated for every single search.
+	 * <p>
+	 * The searches run concurrently. The {@link World}s and the startpoints must not share mutable state.
+	 * Each startpoint must be a separate PathNode.
+	 * @param <N> The specific type of PathNode used
+	 * @param starts The startpoints
+	 * @param worlds The {@link World} for each startpoint. The same World may be provided multiple times if it is thread-safe.
+	 * @param pool The pool that executes the searches
+	 * @return A list that contains the goal PathNode of each startpoint at the index of the startpoint,
+	 * or null if no goal has been found from that startpoint
+	 * @throws IllegalArgumentException If the lists have different sizes
+	 * @since 1.9
+	 */
+	public static <N extends PathNode> List<N> findAll(List<? extends N> starts, List<? extends World<N>> worlds, ForkJoinPool pool) {
+		int size = starts.size();
+		if (worlds.size() != size) {
+			throw new IllegalArgumentException("The number of worlds (" + worlds.size() + ") does not match the number of starts (" + size + ")!");
+		}
+		@SuppressWarnings("unchecked")
+		N[] goals = (N[]) new PathNode[size];
+		if (size == 0) {
+			return Arrays.asList(goals);
+		}
+		// About 4 tasks per worker, so that idle workers can steal work from busy ones.
+		int threshold = Math.max(1, size / (4 * pool.getParallelism()));
+		pool.invoke(new FindAllTask<>(starts, worlds, goals, 0, size, threshold, new ConcurrentLinkedQueue<>()));
+		return Arrays.asList(goals);
+	}
+	
+	/**
+	 * Splits a range of the searches of {@link PathfinderUtil#findAll(List, List, ForkJoinPool)}.
+	 * The contexts are shared by all tasks of a batch. A task takes a context for its searches and returns it afterwards,
+	 * so there are at most as many contexts as workers.
+	 */
+	private static class FindAllTask<N extends PathNode> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final List<? extends N> starts;
+		private final List<? extends World<N>> worlds;
+		private final N[] goals;
+		private final int from, to, threshold;
+		private final ConcurrentLinkedQueue<PathfinderContext<N>> contexts;
+		
+		public FindAllTask(List<? extends N> starts, List<? extends World<N>> worlds, N[] goals,
+				int from, int to, int threshold, ConcurrentLinkedQueue<PathfinderContext<N>> contexts) {
+			this.starts = starts;
+			this.worlds = worlds;
+			this.goals = goals;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.contexts = contexts;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.to - this.from > this.threshold) {
+				int middle = (this.from + this.to) >>> 1;
+				invokeAll(new FindAllTask<>(this.starts, this.worlds, this.goals, this.from, middle, this.threshold, this.contexts),
+						new FindAllTask<>(this.starts, this.worlds, this.goals, middle, this.to, this.threshold, this.contexts));
+				return;
+			}
+			
+			PathfinderContext<N> context = this.contexts.poll();
+			if (context == null) {
+				context = new PathfinderContext<>();
+			}
+			try {
+				for (int i = this.from; i < this.to; i++) {
+					this.goals[i] = context.find(this.starts.get(i), this.worlds.get(i));
+				}
+			}
+			finally {
+				this.contexts.add(context);
+			}
+		}
+	}
+	
+	/**
+	 * The limits of a search. A search stops as soon as one of the limits is reached.
+	 * @since 1.9
+	 */
+	public static class SearchLimits {
+		/**
+		 * No limits.
+		 */
+		public static final SearchLimits NONE = new SearchLimits(Integer.MAX_VALUE, Double.POSITIVE_INFINITY);
+		
+		private final int maxExpanded;
+		private final double maxCost;
+		private final boolean hasDeadline;
+		private final long deadline;
+		
+		/**
+		 * Creates limits without a deadline.
+		 * @param maxExpanded The maximum amount of nodes that are expanded
+		 * @param maxCost The maximum cost of a path. Paths that are more expensive are not searched.
+		 * @throws IllegalArgumentException If a limit is negative
+		 */
+		public SearchLimits(int maxExpanded, double maxCost) {
+			this(maxExpanded, maxCost, false, 0L);
+		}
+		
+		/**
+		 * Creates limits with a deadline.
+		 * @param maxExpanded The maximum amount of nodes that are expanded
+		 * @param maxCost The maximum cost of a path. Paths that are more expensive are not searched.
+		 * @param deadline The {@link System#nanoTime()} at which the search stops.
+		 * The time is only checked every few expanded nodes.
+		 * @throws IllegalArgumentException If a limit is negative
+		 */
+		public SearchLimits(int maxExpanded, double maxCost, long deadline) {
+			this(maxExpanded, maxCost, true, deadline);
+		}
+		
+		private SearchLimits(int maxExpanded, double maxCost, boolean hasDeadline, long deadline) {
+			if (maxExpanded < 0) {
+				throw new IllegalArgumentException("The maximum amount of expanded nodes must not be negative!");
+			}
+			if (!(maxCost >= 0)) {
+				throw new IllegalArgumentException("The maximum cost must not be negative!");
+			}
+			this.maxExpanded = maxExpanded;
+			this.maxCost = maxCost;
+			this.hasDeadline = hasDeadline;
+			this.deadline = deadline;
+		}
+		
+		/**
+		 * Returns the status of a search that has expanded the specified amount of nodes,
+		 * or null if the search may continue.
+		 */
+		SearchStatus check(int expanded) {
+			if (expanded >= this.maxExpanded) {
+				return SearchStatus.EXPANDED_LIMIT;
+			}
+			// System.nanoTime() is too expensive to be called for every node.
+			if (this.hasDeadline && (expanded & 63) == 0 && System.nanoTime() - this.deadline >= 0) {
+				return SearchStatus.DEADLINE;
+			}
+			return null;
+		}
+		
+		/**
+		 * Returns the maximum amount of nodes that are expanded.
+		 * @return The maximum amount of expanded nodes
+		 */
+		public int maxExpanded() {
+			return this.maxExpanded;
+		}
+		
+		/**
+		 * Returns the maximum cost of a path. Paths that are more expensive are not searched.
+		 * @return The maximum cost
+		 */
+		public double maxCost() {
+			return this.maxCost;
+		}
+		
+		/**
+		 * Returns whether these limits contain a deadline.
+		 * @return whether these limits contain a deadline
+		 */
+		public boolean hasDeadline() {
+			return this.hasDeadline;
+		}
+		
+		/**
+		 * Returns the deadline in {@link System#nanoTime()}. Only valid if {@link #hasDeadline()} is {@code true}.
+		 * @return The deadline
+		 */
+		public long deadline() {
+			return this.deadline;
+		}
+	}
+	
+	/**
+	 * The reason why a search has stopped.
+	 * @since 1.9
+	 */
+	public static enum SearchStatus {
+		/**
+		 * An optimal path has been found.
+		 */
+		FOUND,
+		/**
+		 * No path exists.
+		 */
+		UNREACHABLE,
+		/**
+		 * The maximum amount of expanded nodes has been reached.
+		 */
+		EXPANDED_LIMIT,
+		/**
+		 * No path exists that is not more expensive than the maximum cost.
+		 */
+		COST_LIMIT,
+		/**
+		 * The deadline has passed.
+		 */
+		DEADLINE
+	}
+	
+	/**
+	 * The result of a search with {@link SearchLimits}.
+	 * If the search has not found a path, the result contains the partial path to the expanded node that is closest to the goal.
+	 * @param <N> The specific type of PathNode used
+	 * @since 1.9
+	 */
+	public static class SearchResult<N extends PathNode> {
+		private final SearchStatus status;
+		private final N node, backwardNode;
+		private final double cost;
+		private final int expandedCount;
+		
+		SearchResult(SearchStatus status, N node, N backwardNode, double cost, int expandedCount) {
+			this.status = status;
+			this.node = node;
+			this.backwardNode = backwardNode;
+			this.cost = cost;
+			this.expandedCount = expandedCount;
+		}
+		
+		/**
+		 * Returns the reason why the search has stopped.
+		 * @return The status
+		 */
+		public SearchStatus status() {
+			return this.status;
+		}
+		
+		/**
+		 * Returns whether the nodes of this result form a path from the startpoint to the goal.
+		 * This is the case if the search has found an optimal path.
+		 * A bidirectional search may also have found a path that is not proven to be optimal
+		 * when it reached a limit.
+		 * @return whether the path is complete
+		 */
+		public boolean isComplete() {
+			return this.status == SearchStatus.FOUND || this.backwardNode != null;
+		}
+		
+		/**
+		 * Returns the last node of the path from the startpoint.
+		 * This is either the goal, the node where a bidirectional search met the backward search,
+		 * or the node that is closest to the goal if the path is not complete.
+		 * @return The node
+		 */
+		public N node() {
+			return this.node;
+		}
+		
+		/**
+		 * Returns the node of the backward search at the position of {@link #node()} if a bidirectional search has found a path.
+		 * The path continues from this node to the goal. Otherwise, null is returned.
+		 * @return The node of the backward search or null
+		 */
+		public N backwardNode() {
+			return this.backwardNode;
+		}
+		
+		/**
+		 * Returns the cost of the path. If the path is not complete, this is the cost from the startpoint to {@link #node()}.
+		 * @return The cost
+		 */
+		public double cost() {
+			return this.cost;
+		}
+		
+		/**
+		 * Returns the amount of nodes that have been expanded by the search.
+		 * @return The amount of expanded nodes
+		 */
+		public int expandedCount() {
+			return this.expandedCount;
+		}
+	}
+	
 	/**
 	 * Provides several functions used by the <code>find</code> methods.
 	 * It should represent the graph and the goal to find.
@@ -237,12 +620,17 @@ public class PathfinderUtil {
 	 * They are compared using {@link World#positionHash(PathNode)} and {@link World#positionEqual(PathNode, PathNode)}.
 	 * Rather than wrapping with additional objects, the contained {@link PathNode}s are used for linking directly,
 	 * meaning that a {@link PathNode} must not be used in multiple {@link PositionMap}s.
+	 * <p>
+	 * A bucket is only valid if its stamp is the current stamp.
+	 * Therefore, {@link #clear()} does not depend on the capacity.
 	 * @param <N> The specific type of {@link PathNode} used
 	 */
 	public static class PositionMap<N extends PathNode> {
-		private final World<PathNode> world;
+		private World<PathNode> world;
 		private final float loadfactor;
 		private PathNode[] buckets;
+		private int[] stamps;
+		private int stamp;
 		private int size;
 		private int expansionSizeLimit;
 		
@@ -254,6 +642,8 @@ public class PathfinderUtil {
 			if (capacity < initialCapacity)
 				capacity <<= 1;
 			this.buckets = new PathNode[capacity];
+			this.stamps = new int[capacity];
+			this.stamp = 0;
 			this.size = 0;
 			this.expansionSizeLimit = (int)(capacity * this.loadfactor);
 		}
@@ -264,45 +654,67 @@ public class PathfinderUtil {
 		@SuppressWarnings("unchecked")
 		public void forEach(Consumer<N> out) {
 			PathNode[] buckets = this.buckets;
+			int[] stamps = this.stamps;
+			int stamp = this.stamp;
 			for (int i = 0; i < buckets.length; i++) {
-				PathNode bucketNode = buckets[i];
+				PathNode bucketNode = stamps[i] == stamp ? buckets[i] : null;
 				while (bucketNode != null) {
 					out.accept((N)bucketNode);
 					bucketNode = bucketNode.bucketNext;
 				}
 			}
 		}
+		/**
+		 * Removes all nodes. The buckets are not scanned, but the removed nodes are referenced
+		 * until their buckets are used again.
+		 */
 		public void clear() {
-			PathNode[] buckets = this.buckets;
-			for (int i = 0; i < buckets.length; i++)
-				buckets[i] = null;
+			if (this.stamp == Integer.MAX_VALUE) {
+				Arrays.fill(this.buckets, null);
+				Arrays.fill(this.stamps, 0);
+				this.stamp = 0;
+			}
+			this.stamp++;
 			this.size = 0;
 		}
+		/**
+		 * Clears this map and sets the {@link World} that compares the nodes.
+		 */
+		@SuppressWarnings("unchecked")
+		void reset(World<N> world) {
+			this.world = (World<PathNode>)world;
+			this.clear();
+		}
 		public void put(N node) {
 			World<PathNode> world = this.world;
 			PathNode[] buckets = this.buckets;
+			int[] stamps = this.stamps;
+			int stamp = this.stamp;
 			if (this.size >= this.expansionSizeLimit) {
 				int newcapacity = buckets.length << 1;
 				PathNode[] newbuckets = new PathNode[newcapacity];
+				int[] newstamps = new int[newcapacity];
 				for (int i = 0; i < buckets.length; i++) {
-					PathNode bucketNode = buckets[i];
+					PathNode bucketNode = stamps[i] == stamp ? buckets[i] : null;
 					while (bucketNode != null) {
 						PathNode bucketNext = bucketNode.bucketNext;
-						putDirect(world, bucketNode, newbuckets);
+						putDirect(world, bucketNode, newbuckets, newstamps, stamp);
 						bucketNode = bucketNext;
 					}
 				}
 				this.buckets = buckets = newbuckets;
+				this.stamps = stamps = newstamps;
 				this.expansionSizeLimit = (int)(newcapacity * this.loadfactor);
 			}
-			if (putDirect(world, node, buckets) == null)
+			if (putDirect(world, node, buckets, stamps, stamp) == null)
 				this.size++;
 		}
-		private static PathNode putDirect(World<PathNode> world, PathNode node, PathNode[] buckets) {
+		private static PathNode putDirect(World<PathNode> world, PathNode node, PathNode[] buckets, int[] stamps, int stamp) {
 			int idx = world.positionHash(node) & (buckets.length - 1);
 			PathNode bucketNode = buckets[idx];
-			if (bucketNode == null) {
+			if (bucketNode == null || stamps[idx] != stamp) {
 				buckets[idx] = node;
+				stamps[idx] = stamp;
 				node.bucketNext = null;
 				return null;
 			}
@@ -330,7 +742,10 @@ public class PathfinderUtil {
 		public N get(N node) {
 			World<PathNode> world = this.world;
 			PathNode[] buckets = this.buckets;
-			PathNode bucketNode = buckets[world.positionHash(node) & (buckets.length - 1)];
+			int idx = world.positionHash(node) & (buckets.length - 1);
+			if (this.stamps[idx] != this.stamp)
+				return null;
+			PathNode bucketNode = buckets[idx];
 			while (bucketNode != null) {
 				if (world.positionEqual(node, bucketNode))
 					return (N)bucketNode;
@@ -347,7 +762,7 @@ public class PathfinderUtil {
 	 * This mainly enables the {@link LowestEstimateHeap#decrease(PathNode, PathNode)} method to efficiently
 	 * replace a node with another node of lower {@link PathNode#estimateFullCost}.
 	 */
-	private static class LowestEstimateHeap {
+	static class LowestEstimateHeap {
 		private PathNode[] array;
 		private int size;
 		
@@ -359,6 +774,16 @@ public class PathfinderUtil {
 		public boolean contains(PathNode element) {
 			return element.heapPosition >= 0;
 		}
+		public int size() {
+			return this.size;
+		}
+		public PathNode peekMin() {
+			return this.array[0];
+		}
+		public void clear() {
+			Arrays.fill(this.array, 0, this.size, null);
+			this.size = 0;
+		}
 		public void add(PathNode element) {
 			int pos = this.size++;
 			if (this.array.length == pos)
@@ -0,0 +1,410 @@
+package de.tomatengames.util.data;
+
+import java.util.Arrays;
+
+/**
+ * A heap that allows to efficiently update and remove arbitrary elements.
+ * Unlike {@link TrackedHeap}, each element has a {@code long} priority that is stored in the heap.
+ * The priorities are compared directly instead of using a {@link java.util.Comparator}.
+ * <p>
+ * The <i>first</i> element is the element with the smallest priority.
+ * <p>
+ * The arity of the heap can be configured like the arity of a {@link TrackedHeap}.
+ * <p>
+ * An element must not be present in multiple heaps at the same time,
+ * including {@link TrackedHeap}, {@link IntTrackedHeap} and {@link DoubleTrackedHeap}.
+ * <p>
+ * <b>This implementation is not synchronized.</b>
+ * 
+ * @param <E> The type of the elements in the heap. Must extend {@link TrackedHeap.Element}.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+// !!! TextScript generated !!!
+public class LongTrackedHeap<E extends TrackedHeap.Element> {
+	private static final int MAX_SIZE = Integer.MAX_VALUE - 50;
+	
+	private final int arityShift;
+	private TrackedHeap.Element[] array;
+	private long[] priorities;
+	private int size;
+	
+	/**
+	 * Creates a new and empty {@link LongTrackedHeap}.
+	 */
+	public LongTrackedHeap() {
+		this(2);
+	}
+	
+	/**
+	 * Creates a new and empty {@link LongTrackedHeap} with the specified arity.
+	 * @param arity The maximum number of children of each element in the heap.
+	 * Must be a power of two from 2 to 64.
+	 * @throws IllegalArgumentException If the arity is not supported.
+	 * @see TrackedHeap#TrackedHeap(java.util.Comparator, int)
+	 */
+	public LongTrackedHeap(int arity) {
+		this.arityShift = TrackedHeap.arityShift(arity);
+		this.array = new TrackedHeap.Element[10]; // initial capacity = 10
+		this.priorities = new long[10];
+		this.size = 0;
+	}
+	
+	private void grow(int requiredIndex) {
+		int n = this.array.length;
+		while (n <= requiredIndex) {
+			n *= 2;
+			if (n > MAX_SIZE || n < 0) {
+				n = MAX_SIZE;
+				if (n <= requiredIndex) {
+					throw new OutOfMemoryError("LongTrackedHeap size exceeds limit");
+				}
+			}
+		}
+		this.array = Arrays.copyOf(this.array, n);
+		this.priorities = Arrays.copyOf(this.priorities, n);
+	}
+	
+	/**
+	 * Assumes that {@code thisElement} is at the specified index and tries to move the element up in the heap
+	 * until the heap condition is met. The element and its priority are always placed into this heap.
+	 * @param index The index of this element in the heap. Must be at least 0 and less than the size of this heap.
+	 * @param thisElement The element that should be moved. Not {@code null}.
+	 * @param priority The priority of {@code thisElement}.
+	 * @return If the element moved.
+	 */
+	private boolean heapifyUp(int index, final TrackedHeap.Element thisElement, final long priority) {
+		final int originalIndex = index;
+		
+		while (index > 0) {
+			int parentIndex = (index - 1) >>> this.arityShift;
+			long parentPriority = this.priorities[parentIndex];
+			
+			// If parent <= thisElement, the heap condition is met.
+			if (parentPriority <= priority) {
+				break;
+			}
+			
+			// Move the parent to the position of thisElement.
+			TrackedHeap.Element parentElement = this.array[parentIndex];
+			this.array[index] = parentElement;
+			this.priorities[index] = parentPriority;
+			parentElement.index = index;
+			// thisElement should be the new parent.
+			index = parentIndex;
+		}
+		
+		this.array[index] = thisElement;
+		this.priorities[index] = priority;
+		thisElement.index = index;
+		return index != originalIndex;
+	}
+	
+	/**
+	 * Assumes that {@code thisElement} is at the specified index and tries to move the element down in the heap
+	 * until the heap condition is met. The element and its priority are always placed into this heap.
+	 * @param index The index of this element in the heap. Must be at least 0 and less than the size of this heap.
+	 * @param thisElement The element that should be moved. Not {@code null}.
+	 * @param priority The priority of {@code thisElement}.
+	 * @return If the element moved.
+	 */
+	private boolean heapifyDown(int index, final TrackedHeap.Element thisElement, final long priority) {
+		final int originalIndex = index;
+		final int shift = this.arityShift;
+		// Elements after the parent of the last element have no children.
+		final int lastParentIndex = (this.size - 2) >> shift;
+		while (index <= lastParentIndex) {
+			// Detect the minimum priority and index of [thisElement, children...].
+			int childIndex = (index << shift) + 1;
+			int endIndex = Math.min(childIndex + (1 << shift), this.size);
+			int minIndex = index;
+			long minPriority = priority;
+			for (; childIndex < endIndex; childIndex++) {
+				long temp = this.priorities[childIndex];
+				if (temp < minPriority) {
+					minIndex = childIndex;
+					minPriority = temp;
+				}
+			}
+			
+			// If thisElement <= children, the heap condition is met.
+			if (minIndex == index) {
+				break;
+			}
+			
+			// Move the minimum child to the parent position (of thisElement).
+			TrackedHeap.Element minElement = this.array[minIndex];
+			this.array[index] = minElement;
+			this.priorities[index] = minPriority;
+			minElement.index = index;
+			// thisElement should be placed into the spot of the minimum child.
+			index = minIndex;
+		}
+		
+		// Place thisElement to its new index.
+		this.array[index] = thisElement;
+		this.priorities[index] = priority;
+		thisElement.index = index;
+		return index != originalIndex;
+	}
+	
+	/**
+	 * Inserts the specified element with the specified priority into this heap.
+	 * If the element is already in this heap, its priority is updated using {@link #move(TrackedHeap.Element, long)}.
+	 * @param element The element that should be inserted. If {@code null}, nothing happens.
+	 * @param priority The priority of the element.
+	 * @return If the element has been inserted. If {@code false}, it was already in the heap and may have been moved.
+	 * @throws IllegalArgumentException If the element is already in another heap.
+	 * @implNote O(log n)
+	 */
+	public boolean insert(E element, long priority) {
+		if (element == null) {
+			return false;
+		}
+		
+		TrackedHeap.Element e = element;
+		// Check that the element is not inside any heap.
+		if (e.heap != null) {
+			if (e.heap == this) { // If this heap already contains the element.
+				this.move(element, priority); // "reinsert"
+				return false;
+			}
+			throw new IllegalArgumentException("Element belongs to another heap");
+		}
+		
+		// Grow the arrays if necessary.
+		int index = this.size++;
+		if (index >= this.array.length) {
+			this.grow(index);
+		}
+		
+		// Insert the element.
+		e.heap = this;
+		this.heapifyUp(index, e, priority);
+		return true;
+	}
+	
+	/**
+	 * Removes the specified element from this heap.
+	 * If the element is not in this heap, nothing happens.
+	 * @param element The element that should be removed. If {@code null}, nothing happens.
+	 * @return If the element has been removed successfully. If {@code false}, nothing happened.
+	 * @implNote O(log n)
+	 */
+	public boolean remove(E element) {
+		TrackedHeap.Element e = element;
+		if (this.isInvalidElement(e)) {
+			return false;
+		}
+		
+		// Should not happen, because e.heap == this.
+		if (this.size <= 0) {
+			return false;
+		}
+		
+		int n = --this.size;
+		int index = e.index;
+		e.heap = null;
+		e.index = -1;
+		
+		// Place the last element to the index of the removed element
+		// and move it to a valid position.
+		// If n == 0, the heap is empty now.
+		// If index == n, the element to remove is already the last element.
+		if (n > 0 && index < n) {
+			TrackedHeap.Element last = this.array[n];
+			long lastPriority = this.priorities[n];
+			if (!this.heapifyDown(index, last, lastPriority)) {
+				this.heapifyUp(index, last, lastPriority);
+			}
+		}
+		this.array[n] = null;
+		return true;
+	}
+	
+	/**
+	 * Returns the <i>first</i> element of this heap.
+	 * The first element is the element with the smallest priority.
+	 * @return The first element of this heap. If this heap is empty, {@code null} is returned.
+	 * @implNote O(1)
+	 */
+	public E getFirst() {
+		if (this.size <= 0) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		E e = (E) this.array[0];
+		return e;
+	}
+	
+	/**
+	 * Returns the priority of the <i>first</i> element of this heap.
+	 * @return The smallest priority in this heap. If this heap is empty, {@link Long#MAX_VALUE} is returned.
+	 * @implNote O(1)
+	 */
+	public long getFirstPriority() {
+		return this.size <= 0 ? Long.MAX_VALUE : this.priorities[0];
+	}
+	
+	/**
+	 * Returns and removes the <i>first</i> element of this heap.
+	 * The first element is the element with the smallest priority.
+	 * @return The first element of this heap. If this heap is empty, {@code null} is returned and nothing happens.
+	 * @implNote O(log n)
+	 */
+	public E removeFirst() {
+		if (this.size <= 0) {
+			return null;
+		}
+		int n = --this.size;
+		
+		// Remove the first element.
+		TrackedHeap.Element first = this.array[0];
+		first.heap = null;
+		first.index = -1;
+		
+		// If other elements exist in the heap, place the last element to index 0
+		// and move it to its position with heapifyDown.
+		if (n > 0) {
+			this.heapifyDown(0, this.array[n], this.priorities[n]);
+		}
+		this.array[n] = null;
+		
+		@SuppressWarnings("unchecked")
+		E firstE = (E) first;
+		return firstE;
+	}
+	
+	/**
+	 * Returns the priority of the specified element.
+	 * @param element The element. If {@code null}, {@link Long#MAX_VALUE} is returned.
+	 * @return The priority of the element. If the element is not in this heap, {@link Long#MAX_VALUE} is returned.
+	 * @implNote O(1)
+	 */
+	public long getPriority(E element) {
+		TrackedHeap.Element e = element;
+		if (this.isInvalidElement(e)) {
+			return Long.MAX_VALUE;
+		}
+		return this.priorities[e.index];
+	}
+	
+	/**
+	 * Sets the priority of the specified element and moves it to its position in the heap.
+	 * <p>
+	 * If the element is not present in this heap, nothing happens.
+	 * @param element The element whose priority should be changed. If {@code null}, nothing happens.
+	 * @param priority The new priority of the element.
+	 * @implNote O(log n)
+	 */
+	public void move(E element, long priority) {
+		TrackedHeap.Element e = element;
+		if (this.isInvalidElement(e)) {
+			return;
+		}
+		
+		if (!this.heapifyUp(e.index, e, priority)) {
+			this.heapifyDown(e.index, e, priority);
+		}
+	}
+	
+	/**
+	 * Increases the priority of the specified element and moves it to its position in the heap.
+	 * Use {@link #move(TrackedHeap.Element, long)} instead if the priority may decrease.
+	 * <p>
+	 * If the element is not present in this heap, nothing happens.
+	 * If the new priority is less than the current priority, nothing happens.
+	 * @param element The element whose priority should be increased. If {@code null}, nothing happens.
+	 * @param priority The new priority of the element.
+	 * @implNote O(log n)
+	 * @see #move(TrackedHeap.Element, long)
+	 */
+	public void increase(E element, long priority) {
+		TrackedHeap.Element e = element;
+		if (this.isInvalidElement(e) || priority < this.priorities[e.index]) {
+			return;
+		}
+		this.heapifyDown(e.index, e, priority);
+	}
+	
+	/**
+	 * Decreases the priority of the specified element and moves it to its position in the heap.
+	 * Use {@link #move(TrackedHeap.Element, long)} instead if the priority may increase.
+	 * <p>
+	 * If the element is not present in this heap, nothing happens.
+	 * If the new priority is greater than the current priority, nothing happens.
+	 * @param element The element whose priority should be decreased. If {@code null}, nothing happens.
+	 * @param priority The new priority of the element.
+	 * @implNote O(log n)
+	 * @see #move(TrackedHeap.Element, long)
+	 */
+	public void decrease(E element, long priority) {
+		TrackedHeap.Element e = element;
+		if (this.isInvalidElement(e) || priority > this.priorities[e.index]) {
+			return;
+		}
+		this.heapifyUp(e.index, e, priority);
+	}
+	
+	/**
+	 * Removes all elements from this heap.
+	 * The heap will be empty after this operation.
+	 * @implNote O(n)
+	 */
+	public void clear() {
+		for (int i = 0, n = this.size; i < n; i++) {
+			TrackedHeap.Element e = this.array[i];
+			this.array[i] = null;
+			e.heap = null;
+			e.index = -1;
+		}
+		this.size = 0;
+	}
+	
+	/**
+	 * Returns the maximum number of children of each element in this heap.
+	 * @return The arity of this heap.
+	 */
+	public int arity() {
+		return 1 << this.arityShift;
+	}
+	
+	/**
+	 * Returns if this heap is empty.
+	 * @return If this heap is empty.
+	 */
+	public boolean isEmpty() {
+		return this.size <= 0;
+	}
+	
+	/**
+	 * Returns the number of elements in this heap.
+	 * @return The number of elements in this heap. Not negative.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Returns if this heap contains the specified element.
+	 * @param element The element that should be checked. If {@code null}, {@code false} is returned.
+	 * @return If this heap contains the specified element.
+	 * @implNote O(1)
+	 */
+	public boolean contains(E element) {
+		if (element == null) {
+			return false;
+		}
+		TrackedHeap.Element e = element;
+		return e.heap == this;
+	}
+	
+	private boolean isInvalidElement(TrackedHeap.Element element) {
+		if (element == null) {
+			return true;
+		}
+		return element.heap != this;
+	}
+}
@@ -23,6 +23,7 @@ import de.tomatengames.util.map.OrderedHashMap;
  * @param <E> The type of elements in this set.
  *
  * @author LukasE7x7
+ * @version 2026-10-18 last modified
  * @version 2025-02-19 created
  * @since 1.8
  */
@@ -41,6 +42,18 @@ public class OrderedHashSet<E> implements Set<E> {
 		this.map = new OrderedHashMap<>();
 	}
 	
+	/**
+	 * Creates an empty ordered hash set that can hold the specified number of
+	 * elements without resizing.
+	 *
+	 * @param expectedSize The number of elements that are expected to be added. Must not be negative.
+	 * @throws IllegalArgumentException If the expected size is negative.
+	 * @since 1.9
+	 */
+	public OrderedHashSet(long expectedSize) {
+		this.map = new OrderedHashMap<>(expectedSize);
+	}
+	
 	/**
 	 * Creates an ordered hash set containing all elements from the specified
 	 * collection. The elements are added in the order they appear in the
@@ -49,7 +62,7 @@ public class OrderedHashSet<E> implements Set<E> {
 	 * @param elements The collection of elements to add to this set.
 	 */
 	public OrderedHashSet(Collection<? extends E> elements) {
-		this();
+		this(elements.size());
 		addAll(elements);
 	}
 	
@@ -92,6 +105,28 @@ public class OrderedHashSet<E> implements Set<E> {
 		return this.map.isEmpty();
 	}
 	
+	/**
+	 * Enlarges the internal table, so that the specified number of elements can
+	 * be stored without resizing.
+	 *
+	 * @param capacity The number of elements. Must not be negative.
+	 * @throws IllegalArgumentException If the capacity is negative.
+	 * @since 1.9
+	 */
+	public void ensureCapacity(long capacity) {
+		this.map.ensureCapacity(capacity);
+	}
+	
+	/**
+	 * Shrinks the internal table to the smallest size that can hold the current
+	 * elements. This releases memory after many elements have been removed.
+	 *
+	 * @since 1.9
+	 */
+	public void trimToSize() {
+		this.map.trimToSize();
+	}
+	
 	/**
 	 * Returns the first element added to this set, or throws a
 	 * {@link NoSuchElementException} if this set is empty.
@@ -0,0 +1,431 @@
+package de.tomatengames.util.data;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel that fires elements when their deadline is reached.
+ * It can be used as a timeout queue, e.g. for the idle timeouts of many connections.
+ * <p>
+ * The time is an arbitrary {@code long} value, e.g. {@link System#currentTimeMillis()} or {@link System#nanoTime()}.
+ * It is divided into ticks of a fixed duration.
+ * The wheel only moves forward if {@link #advance(long, Consumer)} is called.
+ * An element is never fired before its deadline, but up to one tick after {@code advance} has reached its deadline.
+ * <p>
+ * Each level of the wheel has 64 slots. A slot of level {@code n} spans {@code 64^n} ticks.
+ * An element is placed into a slot of the lowest level that can hold its deadline.
+ * When the wheel reaches a slot of a higher level, the elements are moved to the lower levels.
+ * Therefore, scheduling and cancelling an element is O(1) independent of the number of elements.
+ * <p>
+ * This implementation is thread-safe.
+ * Elements can be scheduled, rescheduled and cancelled by any thread.
+ * These operations only lock the element itself.
+ * Postponing a scheduled element only stores the new deadline.
+ * The element is moved when the wheel reaches its previous slot.
+ * This makes resetting an idle timeout very cheap.
+ * A new element, an element that is moved to an earlier deadline and a cancelled element
+ * are passed to the wheel by a lock-free queue.
+ * Only one thread can {@link #advance(long, Consumer) advance} the wheel at the same time.
+ * 
+ * @param <E> The type of the elements in the wheel. Must extend {@link TimingWheel.Element}.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class TimingWheel<E extends TimingWheel.Element> {
+	private static final int SLOT_BITS = 6;
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	// Enough levels for every non-negative tick.
+	private static final int LEVELS = (63 + SLOT_BITS - 1) / SLOT_BITS;
+	
+	private final long tickDuration;
+	private final long startTime;
+	private final ConcurrentLinkedQueue<Element> queue;
+	private final LongAdder size;
+	
+	// Guarded by this.
+	private final Element[] slots;
+	private final long[] occupied; // A bit mask of the non-empty slots per level.
+	private long currentTick;
+	private boolean tickPending; // If the slots of the current tick have not been processed completely.
+	
+	/**
+	 * Creates a new and empty {@link TimingWheel}.
+	 * @param tickDuration The duration of a tick in the unit of the time values. Must be positive.
+	 * @param startTime The current time. Deadlines before the start time are reached by the first call to
+	 * {@link #advance(long, Consumer)}.
+	 * @throws IllegalArgumentException If the tick duration is not positive.
+	 */
+	public TimingWheel(long tickDuration, long startTime) {
+		if (tickDuration <= 0) {
+			throw new IllegalArgumentException("The tick duration must be positive!");
+		}
+		this.tickDuration = tickDuration;
+		this.startTime = startTime;
+		this.queue = new ConcurrentLinkedQueue<>();
+		this.size = new LongAdder();
+		this.slots = new Element[LEVELS << SLOT_BITS];
+		this.occupied = new long[LEVELS];
+		this.currentTick = 0L;
+		this.tickPending = false;
+	}
+	
+	/**
+	 * Returns the time relative to the start time. Saturates instead of overflowing.
+	 */
+	private long relative(long time) {
+		long r = time - this.startTime;
+		if (((time ^ this.startTime) & (time ^ r)) < 0) { // Overflow
+			return time < 0 ? Long.MIN_VALUE + 1 : Long.MAX_VALUE;
+		}
+		return Math.max(r, Long.MIN_VALUE + 1);
+	}
+	
+	/**
+	 * Returns the first tick that is not before the specified deadline.
+	 */
+	private long deadlineTick(long deadline) {
+		return -Math.floorDiv(-relative(deadline), this.tickDuration);
+	}
+	
+	/**
+	 * Schedules the specified element to fire at the specified deadline.
+	 * If the element is already scheduled in this wheel, its deadline is replaced.
+	 * @param element The element that should be scheduled. If {@code null}, nothing happens.
+	 * @param deadline The time when the element should fire.
+	 * @return If the element has been scheduled. If {@code false}, it was already scheduled and has been rescheduled.
+	 * @throws IllegalArgumentException If the element belongs to another wheel.
+	 * An element belongs to the first wheel it is scheduled in.
+	 * @implNote O(1)
+	 */
+	public boolean schedule(E element, long deadline) {
+		if (element == null) {
+			return false;
+		}
+		
+		Element e = element;
+		boolean wasScheduled;
+		boolean enqueue = false;
+		synchronized (e) {
+			if (e.wheel != this) {
+				if (e.wheel != null) {
+					throw new IllegalArgumentException("Element belongs to another wheel");
+				}
+				e.wheel = this;
+			}
+			
+			wasScheduled = e.scheduled;
+			// A postponed element is moved when its previous slot is reached.
+			// Otherwise, the wheel must place the element.
+			if ((!wasScheduled || deadline < e.deadline) && !e.queued) {
+				e.queued = true;
+				enqueue = true;
+			}
+			e.deadline = deadline;
+			e.scheduled = true;
+		}
+		
+		if (!wasScheduled) {
+			this.size.increment();
+		}
+		if (enqueue) {
+			this.queue.add(e);
+		}
+		return !wasScheduled;
+	}
+	
+	/**
+	 * Cancels the specified element. It will not fire unless it is scheduled again.
+	 * @param element The element that should be cancelled. If {@code null}, nothing happens.
+	 * @return If the element has been cancelled. If {@code false}, the element was not scheduled in this wheel.
+	 * @implNote O(1)
+	 */
+	public boolean cancel(E element) {
+		if (element == null) {
+			return false;
+		}
+		
+		Element e = element;
+		boolean enqueue = false;
+		synchronized (e) {
+			if (e.wheel != this || !e.scheduled) {
+				return false;
+			}
+			e.scheduled = false;
+			// Let the wheel remove the element from its slot.
+			if (!e.queued) {
+				e.queued = true;
+				enqueue = true;
+			}
+		}
+		
+		this.size.decrement();
+		if (enqueue) {
+			this.queue.add(e);
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the deadline of the specified element.
+	 * @param element The element. If {@code null}, {@link Long#MAX_VALUE} is returned.
+	 * @return The deadline of the element. If the element is not scheduled in this wheel,
+	 * {@link Long#MAX_VALUE} is returned.
+	 * @implNote O(1)
+	 */
+	public long getDeadline(E element) {
+		if (element == null) {
+			return Long.MAX_VALUE;
+		}
+		Element e = element;
+		synchronized (e) {
+			return e.wheel == this && e.scheduled ? e.deadline : Long.MAX_VALUE;
+		}
+	}
+	
+	/**
+	 * Returns if the specified element is scheduled in this wheel.
+	 * @param element The element. If {@code null}, {@code false} is returned.
+	 * @return If the element is scheduled in this wheel.
+	 * @implNote O(1)
+	 */
+	public boolean contains(E element) {
+		if (element == null) {
+			return false;
+		}
+		Element e = element;
+		synchronized (e) {
+			return e.wheel == this && e.scheduled;
+		}
+	}
+	
+	/**
+	 * Advances the wheel to the specified time and fires all elements whose deadline has been reached.
+	 * A fired element is no longer scheduled, so the action can schedule it again.
+	 * <p>
+	 * If another thread is advancing the wheel, this method blocks until it is finished.
+	 * The action must not call {@code advance}.
+	 * <p>
+	 * If the action throws an exception, the exception is passed to the caller and the wheel stops at the current tick.
+	 * The element for which the action has thrown is no longer scheduled.
+	 * All other elements stay scheduled and fire by the next call to {@code advance} when their deadline is reached.
+	 * @param now The current time. If the time is before a previous time, only the elements that are already due are fired.
+	 * @param action The action that is called for each fired element. Not {@code null}.
+	 * It is called by the current thread.
+	 * @return The number of fired elements.
+	 * @implNote O(l + k) where {@code l} is the number of levels and {@code k} is the number of elements that have
+	 * been scheduled or moved down a level since the last call.
+	 */
+	public synchronized int advance(long now, Consumer<? super E> action) {
+		final long targetTick = Math.floorDiv(relative(now), this.tickDuration);
+		int count = this.processQueue(action);
+		if (this.tickPending) {
+			// A previous action has thrown an exception while the current tick was processed.
+			count += this.processTick(action);
+		}
+		while (this.currentTick < targetTick) {
+			// Skip the ticks without any non-empty slot.
+			this.currentTick = Math.min(this.nextTick(), targetTick);
+			count += this.processTick(action);
+			// Fire the elements that have been scheduled concurrently or by the action.
+			count += this.processQueue(action);
+		}
+		return count;
+	}
+	
+	/**
+	 * Processes the slots of all levels that are reached at the current tick.
+	 * Can be repeated if the action throws an exception.
+	 */
+	private int processTick(Consumer<? super E> action) {
+		this.tickPending = true;
+		int count = 0;
+		// Move the elements of the reached slots of higher levels down.
+		for (int level = LEVELS - 1; level > 0; level--) {
+			int shift = level * SLOT_BITS;
+			if ((this.currentTick & ((1L << shift) - 1)) == 0) {
+				count += this.processSlot(level, (int) (this.currentTick >>> shift) & SLOT_MASK, action);
+			}
+		}
+		count += this.processSlot(0, (int) this.currentTick & SLOT_MASK, action);
+		this.tickPending = false;
+		return count;
+	}
+	
+	/**
+	 * Returns the next tick after the current tick that has a non-empty slot,
+	 * or {@link Long#MAX_VALUE} if the wheel is empty.
+	 */
+	private long nextTick() {
+		long next = Long.MAX_VALUE;
+		for (int level = 0; level < LEVELS; level++) {
+			int shift = level * SLOT_BITS;
+			int currentSlot = (int) (this.currentTick >>> shift) & SLOT_MASK;
+			// The slots of a level are always after the current slot.
+			long mask = this.occupied[level] & (-2L << currentSlot);
+			if (mask != 0L) {
+				int upperShift = shift + SLOT_BITS;
+				long upper = upperShift < 64 ? this.currentTick >>> upperShift << upperShift : 0L;
+				next = Math.min(next, upper | ((long) Long.numberOfTrailingZeros(mask) << shift));
+			}
+		}
+		return next;
+	}
+	
+	private int processQueue(Consumer<? super E> action) {
+		int count = 0;
+		Element e;
+		while ((e = this.queue.poll()) != null) {
+			synchronized (e) {
+				e.queued = false;
+			}
+			this.unlink(e);
+			count += this.process(e, action);
+		}
+		return count;
+	}
+	
+	private int processSlot(int level, int slot, Consumer<? super E> action) {
+		int index = (level << SLOT_BITS) | slot;
+		int count = 0;
+		// Each element is detached before the action is called, so the slot stays consistent if the action throws.
+		// An element is never placed back into the processed slot.
+		Element e;
+		while ((e = this.slots[index]) != null) {
+			this.unlink(e);
+			count += this.process(e, action);
+		}
+		return count;
+	}
+	
+	/**
+	 * Fires or places the specified element, which is not in any slot.
+	 * Returns 1 if the element has been fired.
+	 */
+	private int process(Element e, Consumer<? super E> action) {
+		long tick;
+		synchronized (e) {
+			if (!e.scheduled) {
+				return 0;
+			}
+			tick = this.deadlineTick(e.deadline);
+			if (tick <= this.currentTick) {
+				e.scheduled = false;
+			}
+		}
+		
+		if (tick > this.currentTick) {
+			this.link(e, tick);
+			return 0;
+		}
+		
+		this.size.decrement();
+		@SuppressWarnings("unchecked")
+		E element = (E) e;
+		action.accept(element);
+		return 1;
+	}
+	
+	/**
+	 * Places the element into the slot of the lowest level that contains the specified tick.
+	 * The tick must be after the current tick.
+	 */
+	private void link(Element e, long tick) {
+		// The level is determined by the highest slot bits that differ from the current tick.
+		int level = (63 - Long.numberOfLeadingZeros(tick ^ this.currentTick)) / SLOT_BITS;
+		int slot = (int) (tick >>> (level * SLOT_BITS)) & SLOT_MASK;
+		int index = (level << SLOT_BITS) | slot;
+		
+		Element head = this.slots[index];
+		e.next = head;
+		if (head != null) {
+			head.prev = e;
+		}
+		this.slots[index] = e;
+		this.occupied[level] |= 1L << slot;
+		e.slot = index;
+	}
+	
+	private void unlink(Element e) {
+		int index = e.slot;
+		if (index < 0) {
+			return;
+		}
+		
+		if (e.prev != null) {
+			e.prev.next = e.next;
+		}
+		else {
+			this.slots[index] = e.next;
+			if (e.next == null) {
+				this.occupied[index >>> SLOT_BITS] &= ~(1L << (index & SLOT_MASK));
+			}
+		}
+		if (e.next != null) {
+			e.next.prev = e.prev;
+		}
+		e.prev = null;
+		e.next = null;
+		e.slot = -1;
+	}
+	
+	/**
+	 * Returns the duration of a tick.
+	 * @return The duration of a tick in the unit of the time values.
+	 */
+	public long tickDuration() {
+		return this.tickDuration;
+	}
+	
+	/**
+	 * Returns if no element is scheduled in this wheel.
+	 * @return If no element is scheduled in this wheel.
+	 */
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+	
+	/**
+	 * Returns the number of elements that are scheduled in this wheel.
+	 * The size is only exact if no elements are scheduled, cancelled or fired concurrently.
+	 * @return The number of scheduled elements.
+	 */
+	public int size() {
+		return (int) Math.min(this.size.sum(), Integer.MAX_VALUE);
+	}
+	
+	
+	/**
+	 * An element of a {@link TimingWheel}.
+	 * This element stores additional information to be located efficiently by the wheel.
+	 * <p>
+	 * An element belongs to the first wheel it is scheduled in and must not be used with other wheels.
+	 */
+	public static abstract class Element {
+		// Guarded by the monitor of this element.
+		TimingWheel<?> wheel;
+		long deadline;
+		boolean scheduled;
+		boolean queued; // If this element is in the queue of the wheel.
+		
+		// Guarded by the wheel.
+		Element prev;
+		Element next;
+		int slot;
+		
+		/**
+		 * Creates a new {@link TimingWheel.Element}.
+		 */
+		public Element() {
+			this.wheel = null;
+			this.deadline = 0L;
+			this.scheduled = false;
+			this.queued = false;
+			this.prev = null;
+			this.next = null;
+			this.slot = -1;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package de.tomatengames.util.data;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 
 /**
@@ -8,12 +9,16 @@ import java.util.Comparator;
  * <p>
  * The <i>first</i> element is the smallest element according to the {@link Comparator} specified to the constructor.
  * <p>
+ * By default, the heap is a binary heap. A larger arity (e.g. 4 or 8) results in a flatter tree.
+ * Then {@link #removeFirst()} visits fewer levels, and the children of an element are adjacent in memory,
+ * but more children are compared per level. This is faster for large heaps.
+ * <p>
  * <b>This implementation is not synchronized.</b>
  * 
  * @param <E> The type of the elements in the heap. Must extend {@link TrackedHeap.Element}.
  * 
  * @author Basic7x7
- * @version 2024-03-22 last modified
+ * @version 2026-10-18 last modified
  * @version 2024-03-20 created
  * @since 1.5
  */
@@ -21,6 +26,7 @@ public class TrackedHeap<E extends TrackedHeap.Element> {
 	private static final int MAX_SIZE = Integer.MAX_VALUE - 50;
 	
 	private final Comparator<E> comparator;
+	private final int arityShift;
 	private Element[] array;
 	private int size;
 	
@@ -30,11 +36,36 @@ public class TrackedHeap<E extends TrackedHeap.Element> {
 	 * The smallest element is the first element.
 	 */
 	public TrackedHeap(Comparator<E> comparator) {
+		this(comparator, 2);
+	}
+	
+	/**
+	 * Creates a new and empty {@link TrackedHeap} with the specified arity.
+	 * @param comparator The comparator that will be used to compare elements. Not {@code null}.
+	 * The smallest element is the first element.
+	 * @param arity The maximum number of children of each element in the heap.
+	 * Must be a power of two from 2 to 64.
+	 * @throws IllegalArgumentException If the arity is not supported.
+	 * @since 1.9
+	 */
+	public TrackedHeap(Comparator<E> comparator, int arity) {
 		this.comparator = comparator;
+		this.arityShift = arityShift(arity);
 		this.array = new Element[10]; // initial capacity = 10
 		this.size = 0;
 	}
 	
+	/**
+	 * Returns the binary logarithm of the specified arity.
+	 * Also used by the primitive heaps, e.g. {@link IntTrackedHeap}.
+	 */
+	static int arityShift(int arity) {
+		if (arity < 2 || arity > 64 || (arity & (arity - 1)) != 0) {
+			throw new IllegalArgumentException("Unsupported heap arity " + arity);
+		}
+		return Integer.numberOfTrailingZeros(arity);
+	}
+	
 	private void grow(int requiredIndex) {
 		int n = this.array.length;
 		while (n <= requiredIndex) {
@@ -69,7 +100,7 @@ public class TrackedHeap<E extends TrackedHeap.Element> {
 				break;
 			}
 			
-			int parentIndex = (index - 1) >>> 1;
+			int parentIndex = (index - 1) >>> this.arityShift;
 			Element parentElement = this.array[parentIndex];
 			
 			// If parent < thisElement, the heap condition is met.
@@ -105,39 +136,41 @@ public class TrackedHeap<E extends TrackedHeap.Element> {
 	@SuppressWarnings("unchecked")
 	private boolean heapifyDown(int index, final Element thisElement, boolean forcePlace) {
 		final int originalIndex = index;
-		int size = this.size;
-		while (true) {
-			// Detect the minimum element and index of [thisElement, left, right].
-			int leftIndex = 2*index + 1;
-			int rightIndex = 2*index + 2;
+		final int shift = this.arityShift;
+		// Elements after the parent of the last element have no children.
+		final int lastParentIndex = (this.size - 2) >> shift;
+		while (index <= lastParentIndex) {
+			// Detect the minimum element and index of [thisElement, children...].
+			int childIndex = (index << shift) + 1;
+			int endIndex = Math.min(childIndex + (1 << shift), this.size);
 			int minIndex = index;
 			Element minElement = thisElement;
-			Element temp;
-			if (leftIndex < size && this.comparator.compare((E) (temp = this.array[leftIndex]), (E) thisElement) < 0) {
-				minIndex = leftIndex;
-				minElement = temp;
-			}
-			if (rightIndex < size && this.comparator.compare((E) (temp = this.array[rightIndex]), (E) minElement) < 0) {
-				minIndex = rightIndex;
-				minElement = temp;
+			for (; childIndex < endIndex; childIndex++) {
+				Element temp = this.array[childIndex];
+				if (this.comparator.compare((E) temp, (E) minElement) < 0) {
+					minIndex = childIndex;
+					minElement = temp;
+				}
 			}
 			
-			// If thisElement < left, right, the heap condition is met.
-			// Place thisElement to its new index if necessary.
+			// If thisElement <= children, the heap condition is met.
 			if (minIndex == index) {
-				if (forcePlace || index != originalIndex) {
-					this.array[index] = thisElement;
-					thisElement.index = index;
-				}
-				return index != originalIndex;
+				break;
 			}
 			
-			// Move the minimum element (left or right) to the parent position (of thisElement).
+			// Move the minimum child to the parent position (of thisElement).
 			this.array[index] = minElement;
 			minElement.index = index;
-			// thisElement should be placed into the spot of the minimum element (left or right).
+			// thisElement should be placed into the spot of the minimum child.
 			index = minIndex;
 		}
+		
+		// Place thisElement to its new index if necessary.
+		if (forcePlace || index != originalIndex) {
+			this.array[index] = thisElement;
+			thisElement.index = index;
+		}
+		return index != originalIndex;
 	}
 	
 	/**
@@ -175,6 +208,85 @@ public class TrackedHeap<E extends TrackedHeap.Element> {
 		return true;
 	}
 	
+	/**
+	 * Inserts all specified elements into this heap.
+	 * This is equivalent to calling {@link #insert(Element)} for each element,
+	 * but a large number of elements is inserted with Floyd's heap construction in O(n).
+	 * <p>
+	 * Elements that are already in this heap are moved to their positions.
+	 * If an element is in another heap, no element is inserted.
+	 * @param elements The elements that should be inserted. Not {@code null}.
+	 * {@code null} elements are ignored.
+	 * @return The number of elements that have been inserted.
+	 * Elements that were already in this heap are not counted.
+	 * @throws IllegalArgumentException If an element is already in another heap.
+	 * @implNote O(n + k) or O(k log n), whichever is smaller, where k is the number of specified elements.
+	 * @since 1.9
+	 */
+	public int insertAll(Collection<? extends E> elements) {
+		// Check all elements first, so that an exception does not leave the heap partially modified.
+		for (E element : elements) {
+			if (element != null && element.heap != null && element.heap != this) {
+				throw new IllegalArgumentException("Element belongs to another heap");
+			}
+		}
+		
+		int oldSize = this.size;
+		int requiredSize = oldSize + elements.size();
+		if (requiredSize < 0 || requiredSize > MAX_SIZE) {
+			throw new OutOfMemoryError("TrackedHeap size exceeds limit");
+		}
+		if (requiredSize > this.array.length) {
+			this.grow(requiredSize - 1);
+		}
+		
+		// Append the new elements. The heap condition is restored afterwards.
+		boolean containsExisting = false;
+		int index = oldSize;
+		for (E element : elements) {
+			Element e = element;
+			if (e == null) {
+				continue;
+			}
+			if (e.heap == this) {
+				containsExisting = true;
+				continue;
+			}
+			e.heap = this;
+			e.index = index;
+			this.array[index++] = e;
+		}
+		this.size = index;
+		
+		if (containsExisting || index - oldSize > oldSize) {
+			// Floyd: Move each parent down, starting with the parent of the last element.
+			for (int i = (index - 2) >> this.arityShift; i >= 0; i--) {
+				this.heapifyDown(i, this.array[i], false);
+			}
+		}
+		else {
+			for (int i = oldSize; i < index; i++) {
+				this.heapifyUp(i, this.array[i], false);
+			}
+		}
+		return index - oldSize;
+	}
+	
+	/**
+	 * Inserts all specified elements into this heap.
+	 * @param elements The elements that should be inserted. Not {@code null}.
+	 * {@code null} elements are ignored.
+	 * @return The number of elements that have been inserted.
+	 * Elements that were already in this heap are not counted.
+	 * @throws IllegalArgumentException If an element is already in another heap.
+	 * @implNote O(n + k) or O(k log n), whichever is smaller, where k is the number of specified elements.
+	 * @see #insertAll(Collection)
+	 * @since 1.9
+	 */
+	public int insertAll(E[] elements) {
+		return this.insertAll(Arrays.asList(elements));
+	}
+	
 	/**
 	 * Removes the specified element from this heap.
 	 * If the element is not in this heap, nothing happens.
@@ -343,6 +455,15 @@ public class TrackedHeap<E extends TrackedHeap.Element> {
 		this.size = 0;
 	}
 	
+	/**
+	 * Returns the maximum number of children of each element in this heap.
+	 * @return The arity of this heap.
+	 * @since 1.9
+	 */
+	public int arity() {
+		return 1 << this.arityShift;
+	}
+	
 	/**
 	 * Returns if this heap is empty.
 	 * @return If this heap is empty.
@@ -386,10 +507,12 @@ public class TrackedHeap<E extends TrackedHeap.Element> {
 	 * This element stores additional information to be located efficiently by the heap.
 	 * <p>
 	 * An element must not be present in multiple {@link TrackedHeap} at the same time.
+	 * It can also be used with {@link IntTrackedHeap}, {@link LongTrackedHeap} and {@link DoubleTrackedHeap}.
 	 */
 	public static abstract class Element {
-		private TrackedHeap<?> heap;
-		private int index;
+		// The heap that contains this element. Also used by the primitive heaps.
+		Object heap;
+		int index;
 		
 		/**
 		 * Creates a new {@link TrackedHeap.Element}.
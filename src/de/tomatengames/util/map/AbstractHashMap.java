@@ -1,7 +1,11 @@
 package de.tomatengames.util.map;
 
+import static de.tomatengames.util.HashUtil.fmix;
+import static de.tomatengames.util.RequirementUtil.requireNotNegative;
 import static de.tomatengames.util.RequirementUtil.requireNotNull;
+import static de.tomatengames.util.RequirementUtil.requirePositive;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -20,39 +24,74 @@ import java.util.function.Consumer;
  * @param <V> The type of the values.
  * 
  * @author Basic7x7
- * @version 2024-11-17 last modified
+ * @version 2026-10-18 last modified
  * @version 2024-01-06 created
  * @since 1.5
  */
 // !!! TextScript generated !!!
 public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K, V>> {
-	private static final double ENLARGE_LOAD_FACTOR = 0.75;
+	private static final double DEFAULT_LOAD_FACTOR = 0.75;
 	private static final int MIN_TABLE_SIZE = 16;
 	private static final int MAX_TABLE_SIZE = 1 << 30;
+	private static final int MIGRATE_STEP_BUCKETS = 16;
 	
+	private final double loadFactor;
 	private int mask;
 	private long enlargeThreshold;
 	private Node[] table;
 	private long size;
 	private int modcount;
+	private boolean incrementalResize;
+	private Node[] oldTable;
+	private int migrateIndex;
 	
 	/**
 	 * Creates a new and empty {@link AbstractHashMap}.
 	 */
 	public AbstractHashMap() {
+		this(0L, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link AbstractHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @throws IllegalArgumentException If the expected size is negative.
+	 */
+	public AbstractHashMap(long expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link AbstractHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @param loadFactor The maximum ratio of entries to buckets. If it is exceeded, the table is enlarged.
+	 * Must be positive. The default load factor is {@code 0.75}.
+	 * @throws IllegalArgumentException If the expected size is negative or the load factor is not positive.
+	 */
+	public AbstractHashMap(long expectedSize, double loadFactor) {
+		requireNotNegative(expectedSize, "The expected size ...");
+		requirePositive(loadFactor, "The load factor ...");
+		this.loadFactor = loadFactor;
 		this.size = 0L;
 		this.mask = 0;
 		this.enlargeThreshold = 0;
 		this.modcount = 0;
 		this.table = null;
+		this.incrementalResize = false;
+		this.oldTable = null;
+		this.migrateIndex = 0;
+		if (expectedSize > 0L) {
+			this.resize(this.tableSizeFor(expectedSize), false);
+		}
 	}
 	
 	/**
 	 * Creates a new {@link AbstractHashMap} that contains all the mappings of the specified map.
-	 * @param map The mappings that should be cloned.
+	 * The new map uses the load factor of the specified map.
+	 * @param map The mappings that should be cloned. May be {@code null}.
 	 */
 	public AbstractHashMap(AbstractHashMap<K, V> map) {
-		this();
+		this(map != null ? map.size : 0L, map != null ? map.loadFactor : DEFAULT_LOAD_FACTOR);
 		this.putAll(map);
 	}
 	
@@ -72,6 +111,114 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 		return this.size <= 0;
 	}
 	
+	/**
+	 * Sets if the table of this map should be resized incrementally.
+	 * <p>
+	 * By default, all entries are moved into the new table at once if the table is enlarged.
+	 * For large maps, this causes a single insertion to take considerably longer than the others.
+	 * If incremental resizing is enabled, only the new table is allocated at once.
+	 * The entries are moved in small steps by the following insertions and removals,
+	 * so the time of a single operation stays bounded.
+	 * Until all entries have been moved, the old table is kept and lookups might check both tables.
+	 * <p>
+	 * If incremental resizing is disabled while entries are being moved, the remaining entries are moved immediately.
+	 * @param incrementalResize If the table should be resized incrementally.
+	 */
+	public void setIncrementalResize(boolean incrementalResize) {
+		this.incrementalResize = incrementalResize;
+		if (!incrementalResize && this.oldTable != null) {
+			this.modcount++;
+			this.migrate(Integer.MAX_VALUE);
+		}
+	}
+	
+	/**
+	 * Returns if the table of this map is resized incrementally.
+	 * @return If the table is resized incrementally.
+	 * @see #setIncrementalResize(boolean)
+	 */
+	public boolean isIncrementalResize() {
+		return this.incrementalResize;
+	}
+	
+	/**
+	 * Enlarges the table of this map, so that it can hold the specified amount of entries without resizing.
+	 * If the table is already large enough, nothing happens.
+	 * <p>
+	 * This method should be called before many entries are put into this map.
+	 * @param capacity The amount of entries. Must not be negative.
+	 * @throws IllegalArgumentException If the capacity is negative.
+	 */
+	public void ensureCapacity(long capacity) {
+		requireNotNegative(capacity, "The capacity ...");
+		int tableSize = this.tableSizeFor(capacity);
+		Node[] table = this.table;
+		if (table == null || table.length < tableSize) {
+			this.rebuild(tableSize);
+		}
+	}
+	
+	/**
+	 * Shrinks the table of this map to the smallest size that can hold the current entries without resizing.
+	 * If this map is empty, the table is released.
+	 * <p>
+	 * This method can be used to release memory after many entries have been removed.
+	 */
+	public void trimToSize() {
+		Node[] table = this.table;
+		if (table == null) {
+			return; // No table to shrink
+		}
+		if (this.size <= 0L) {
+			this.modcount++;
+			this.table = null;
+			this.oldTable = null;
+			this.mask = 0;
+			this.enlargeThreshold = 0;
+			return;
+		}
+		int tableSize = this.tableSizeFor(this.size);
+		if (tableSize < table.length) {
+			this.rebuild(tableSize);
+		}
+	}
+	
+	/**
+	 * Returns the distribution of the entries over the buckets of this map.
+	 * The element at index {@code i} of the returned array is the amount of buckets
+	 * that contain exactly {@code i} entries.
+	 * The length of the array is the length of the longest chain plus one.
+	 * <p>
+	 * This method can be used to check whether the actual keys are spread well over the buckets.
+	 * It iterates over the whole table, so it should not be called frequently.
+	 * @return The histogram of the chain lengths. Not {@code null}.
+	 */
+	public int[] chainLengthHistogram() {
+		int[] histogram = countChainLengths(new int[1], this.table, 0);
+		if (this.oldTable != null) {
+			// The buckets before the migrate index have already been moved into the current table.
+			histogram = countChainLengths(histogram, this.oldTable, this.migrateIndex);
+		}
+		return histogram;
+	}
+	
+	private final int[] countChainLengths(int[] histogram, Node[] table, int start) {
+		if (table == null) {
+			return histogram;
+		}
+		for (int i = start; i < table.length; i++) {
+			int length = 0;
+			for (Node node = table[i]; node != null; node = node.next) {
+				length++;
+			}
+			if (length >= histogram.length) {
+				histogram = Arrays.copyOf(histogram, length+1);
+			}
+			histogram[length]++;
+		}
+		return histogram;
+	}
+	
 	/**
 	 * Associates the specified key with the specified value.
 	 * If the key is already present in this map, the previous value is replaced.
@@ -122,7 +269,7 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	 * If this map does not contain the key, {@code null} is returned.
 	 */
 	public V get(K key) {
-		Node node = findNode(key, this.table, this.mask);
+		Node node = this.find(key);
 		return node != null ? node.value : null;
 	}
 	
@@ -134,7 +281,7 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	 * @return If the specified key is present in this map.
 	 */
 	public boolean containsKey(K key) {
-		return findNode(key, this.table, this.mask) != null;
+		return this.find(key) != null;
 	}
 	
 	/**
@@ -145,35 +292,21 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	 * If no entry was removed, {@code null} is returned.
 	 */
 	public V remove(K key) {
-		Node[] table = this.table;
-		if (table == null) {
-			return null; // No elements in the map
+		Node node = removeNode(key, this.table, this.mask);
+		if (node == null && this.oldTable != null) {
+			// If the table is being resized, the node might still be in the old table.
+			node = removeNode(key, this.oldTable, this.oldTable.length-1);
 		}
-		
-		int index = indexOf(key, this.mask);
-		
-		// Search for the key.
-		Node node = table[index];
-		Node prev = null;
-		while (node != null) {
-			if (keyEquals(node.key, key)) {
-				// Unlink the found node.
-				this.modcount++;
-				if (prev != null) {
-					prev.next = node.next;
-				}
-				else {
-					table[index] = node.next;
-				}
-				this.size--;
-				return node.value;
-			}
-			prev = node;
-			node = node.next;
+		if (node == null) {
+			return null; // If the key was not found.
 		}
 		
-		// If the key was not found.
-		return null;
+		this.modcount++;
+		this.size--;
+		if (this.oldTable != null) {
+			this.migrate(MIGRATE_STEP_BUCKETS);
+		}
+		return node.value;
 	}
 	
 	/**
@@ -182,6 +315,7 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	public void clear() {
 		this.modcount++;
 		this.size = 0L;
+		this.oldTable = null; // The remaining nodes of the old table do not have to be moved
 		
 		Node[] table = this.table;
 		if (table == null) {
@@ -197,20 +331,9 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	
 	@Override
 	public void forEach(Consumer<? super AbstractEntry<K, V>> action) {
-		Node[] table = this.table;
-		if (table == null) {
-			return; // The map is empty
-		}
-		
-		// Iterate all nodes.
-		int n = table.length;
-		for (int i = 0; i < n; i++) {
-			Node node = table[i];
-			while (node != null) {
-				action.accept(node);
-				node = node.next;
-			}
-		}
+		// If the table is being resized, some nodes are still in the old table.
+		forEachNode(this.oldTable, action);
+		forEachNode(this.table, action);
 	}
 	
 	/**
@@ -226,6 +349,10 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 			return;
 		}
 		
+		// Avoids multiple resizes. If the table is resized incrementally, a single large resize is not desired.
+		if (!this.incrementalResize) {
+			this.ensureCapacity(Math.max(this.size, otherMap.size));
+		}
 		otherMap.forEach(entry -> this.put(entry.getKey(), entry.getValue()));
 	}
 	
@@ -291,7 +418,8 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	
 	
 	private final int indexOf(K key, int mask) {
-		return keyHash(key) & mask;
+		// The hash is finalized, so that clustered keys (e.g. coordinates) are spread over all buckets.
+		return fmix(keyHash(key)) & mask;
 	}
 	
 	private final Node findNode(K key, Node[] table, int mask) {
@@ -309,17 +437,62 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 		return null;
 	}
 	
+	private final Node find(K key) {
+		Node node = findNode(key, this.table, this.mask);
+		if (node == null && this.oldTable != null) {
+			// If the table is being resized, the node might still be in the old table.
+			node = findNode(key, this.oldTable, this.oldTable.length-1);
+		}
+		return node;
+	}
+	
+	private final Node removeNode(K key, Node[] table, int mask) {
+		if (table == null) {
+			return null;
+		}
+		int index = indexOf(key, mask);
+		
+		// Search for the key.
+		Node node = table[index];
+		Node prev = null;
+		while (node != null) {
+			if (keyEquals(node.key, key)) {
+				// Unlink the found node.
+				if (prev != null) {
+					prev.next = node.next;
+				}
+				else {
+					table[index] = node.next;
+				}
+				return node;
+			}
+			prev = node;
+			node = node.next;
+		}
+		return null;
+	}
+	
 	private final Node findOrCreate(K key) {
 		// If the key is already present in the map, it is returned.
-		Node node = findNode(key, table, this.mask);
+		Node node = this.find(key);
 		if (node != null) {
 			return node;
 		}
-		
+		return this.createNode(key);
+	}
+	
+	/**
+	 * Inserts a new node with the specified key.
+	 * <p>
+	 * It is assumed that the key is not present in this map.
+	 * @param key The key of the new node.
+	 * @return The new node.
+	 */
+	private final Node createNode(K key) {
 		// Initialize the table if needed.
 		Node[] table = this.table;
 		if (table == null) {
-			table = this.resize(MIN_TABLE_SIZE);
+			table = this.resize(MIN_TABLE_SIZE, false);
 		}
 		
 		// If the key is not present, a new Node is inserted.
@@ -337,38 +510,106 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	 * @param newSize The amount of elements in the map.
 	 */
 	private void adjustTableSize(long newSize) {
+		// While the nodes of the old table are being moved, the table is not enlarged again.
+		if (this.oldTable != null) {
+			this.migrate(MIGRATE_STEP_BUCKETS);
+			return;
+		}
 		if (newSize >= this.enlargeThreshold) {
 			int tableSize = this.table.length;
 			if (tableSize < MAX_TABLE_SIZE) {
-				this.resize(tableSize << 1); // Double the table size
+				this.resize(tableSize << 1, this.incrementalResize); // Double the table size
 				return;
 			}
 			return; // Do nothing, if the table has reached its maximum size
 		}
 	}
 	
-	private Node[] resize(int newTableSize) {
+	/**
+	 * Calculates the smallest table size that can hold the specified amount of entries without resizing.
+	 * @param capacity The amount of entries.
+	 * @return The table size. A power of 2.
+	 */
+	private int tableSizeFor(long capacity) {
+		int tableSize = MIN_TABLE_SIZE;
+		while (tableSize < MAX_TABLE_SIZE && (long) (tableSize * this.loadFactor) <= capacity) {
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+	
+	/**
+	 * Moves all nodes into a new table at once.
+	 * @param newTableSize The size of the new table. A power of 2.
+	 */
+	private void rebuild(int newTableSize) {
+		this.modcount++;
+		if (this.oldTable != null) {
+			this.migrate(Integer.MAX_VALUE); // Finishes the incremental resize
+		}
+		this.resize(newTableSize, false);
+	}
+	
+	private Node[] resize(int newTableSize, boolean incremental) {
 		int newMask = newTableSize-1; // = 2^n-1 = 0b0..01..1
 		this.mask = newMask;
-		this.enlargeThreshold = (long) (newTableSize * ENLARGE_LOAD_FACTOR);
+		this.enlargeThreshold = (long) (newTableSize * this.loadFactor);
 		
 		Node[] oldTable = this.table;
 		@SuppressWarnings("unchecked")
 		Node[] newTable = new AbstractHashMap.Node[newTableSize];
+		this.table = newTable;
 		
-		// Moves the nodes from the old table to the new one.
 		if (oldTable != null) {
-			for (Node rootNode : oldTable) {
-				Node node = rootNode;
-				while (node != null) {
-					Node next = node.next;
-					insertNode(node, newTable, newMask);
-					node = next;
+			if (incremental) {
+				// The nodes are moved by the following modifications.
+				this.oldTable = oldTable;
+				this.migrateIndex = 0;
+			}
+			else {
+				// Moves the nodes from the old table to the new one.
+				for (Node rootNode : oldTable) {
+					Node node = rootNode;
+					while (node != null) {
+						Node next = node.next;
+						insertNode(node, newTable, newMask);
+						node = next;
+					}
 				}
 			}
 		}
 		
-		return this.table = newTable;
+		return newTable;
+	}
+	
+	/**
+	 * Moves the nodes of some buckets of the old table into the current table.
+	 * If all buckets have been moved, the old table is released.
+	 * <p>
+	 * It is assumed that the old table is not {@code null}.
+	 * @param bucketCount The maximum amount of buckets that should be moved.
+	 */
+	private void migrate(int bucketCount) {
+		Node[] oldTable = this.oldTable;
+		Node[] table = this.table;
+		int mask = this.mask;
+		int n = oldTable.length;
+		int i = this.migrateIndex;
+		int end = n - i > bucketCount ? i + bucketCount : n;
+		for (; i < end; i++) {
+			Node node = oldTable[i];
+			oldTable[i] = null;
+			while (node != null) {
+				Node next = node.next;
+				insertNode(node, table, mask);
+				node = next;
+			}
+		}
+		
+		this.migrateIndex = i;
+		if (i >= n) {
+			this.oldTable = null; // All nodes have been moved
+		}
 	}
 	
 	private final void insertNode(Node node, Node[] table, int mask) {
@@ -377,6 +618,22 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 		table[index] = node;
 	}
 	
+	private final void forEachNode(Node[] table, Consumer<? super AbstractEntry<K, V>> action) {
+		if (table == null) {
+			return; // No nodes
+		}
+		
+		// Iterate all nodes.
+		int n = table.length;
+		for (int i = 0; i < n; i++) {
+			Node node = table[i];
+			while (node != null) {
+				action.accept(node);
+				node = node.next;
+			}
+		}
+	}
+	
 	
 	private class Node implements AbstractEntry<K, V> {
 		private final K key;
@@ -433,14 +690,21 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 	}
 	
 	private final class NodeIterator implements Iterator<AbstractEntry<K, V>> {
-		private Node prevNode, currentNode, nextNode;
+		private Node[] currentTable, nextTable;
+		private int currentIndex, nextIndex;
+		private Node currentNode, nextNode;
 		private int initModCount;
 		
 		private NodeIterator() {
 			this.initModCount = modcount;
-			this.prevNode = null;
+			this.currentTable = null;
+			this.currentIndex = 0;
 			this.currentNode = null;
-			this.nextNode = findNextNode(null);
+			// If the table is being resized, the old table is iterated first.
+			this.nextTable = oldTable != null ? oldTable : table;
+			this.nextIndex = -1;
+			this.nextNode = null;
+			this.findNextNode();
 		}
 		
 		@Override
@@ -454,9 +718,10 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 			if (next == null) {
 				throw new NoSuchElementException();
 			}
-			this.prevNode = this.currentNode;
+			this.currentTable = this.nextTable;
+			this.currentIndex = this.nextIndex;
 			this.currentNode = next;
-			this.nextNode = findNextNode(next);
+			this.findNextNode();
 			return next;
 		}
 		
@@ -471,15 +736,18 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 			}
 			
 			// Unlink the current node.
-			// If the index of the prev node differs from the current node,
-			// the prev node is in another bucket.
-			int currentIndex = indexOf(current.key, mask);
-			Node prev = this.prevNode;
-			if (prev != null && indexOf(prev.key, mask) == currentIndex) {
-				prev.next = current.next;
+			// The previous node in the bucket is searched, because the previously returned node might have been removed.
+			Node[] t = this.currentTable;
+			int index = this.currentIndex;
+			Node node = t[index];
+			if (node == current) {
+				t[index] = current.next;
 			}
 			else {
-				table[currentIndex] = current.next;
+				while (node.next != current) {
+					node = node.next;
+				}
+				node.next = current.next;
 			}
 			size--;
 			this.initModCount = ++modcount;
@@ -488,37 +756,40 @@ public abstract class AbstractHashMap<K, V> implements Iterable<AbstractEntry<K,
 			this.currentNode = null;
 		}
 		
-		private Node findNextNode(Node startNode) {
+		private void findNextNode() {
 			if (this.initModCount != modcount) {
 				throw new ConcurrentModificationException();
 			}
 			
-			// If the current node has a next node, return it.
-			if (startNode != null) {
-				Node next = startNode.next;
-				if (next != null) {
-					return next;
-				}
-			}
-			
-			// If the current node has no next node, the next buckets have to be checked.
-			Node[] t = table;
-			if (t == null) {
-				return null; // The map is empty
+			// If the current node has a next node, it is the next node.
+			Node node = this.nextNode;
+			if (node != null && node.next != null) {
+				this.nextNode = node.next;
+				return;
 			}
 			
-			// Start the search in the bucket after the current node.
-			// If no current node exists, start at the beginning of the table.
-			int n = t.length;
-			int startIndex = startNode != null ? indexOf(startNode.key, mask)+1 : 0;
-			for (int i = startIndex; i < n; i++) {
-				Node el = t[i];
-				if (el != null) {
-					return el;
+			// Otherwise, the next buckets have to be checked.
+			// The search starts in the bucket after the current node.
+			Node[] t = this.nextTable;
+			int i = this.nextIndex + 1;
+			while (t != null) {
+				int n = t.length;
+				for (; i < n; i++) {
+					Node el = t[i];
+					if (el != null) {
+						this.nextTable = t;
+						this.nextIndex = i;
+						this.nextNode = el;
+						return;
+					}
 				}
+				// After the old table, the current table is iterated.
+				t = t == oldTable ? table : null;
+				i = 0;
 			}
 			// If no next node was found.
-			return null;
+			this.nextTable = null;
+			this.nextNode = null;
 		}
 	}
 	
@@ -0,0 +1,837 @@
+package de.tomatengames.util.map;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNegative;
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * An {@link OrderedHashMap}-like data structure that maps keys to values.
+ * Equality of keys is checked by using the {@link Object#equals(Object)} method.
+ * <p>
+ * In contrast to the {@link OrderedHashMap}, this map does not allocate a node per entry.
+ * The keys, values and hash codes are stored in parallel arrays in the order of insertion.
+ * A separate {@code int} table with open addressing maps the hash codes to the positions in these arrays.
+ * This requires about half of the memory of an {@link OrderedHashMap} and iterating is a linear scan.
+ * <p>
+ * Removing an entry leaves a gap in the arrays. The gaps are closed when there are more gaps than entries
+ * and when the arrays are full. Removing the first or the last entry does not leave a gap.
+ * <p>
+ * The {@link Entry} objects provided by the {@link Iterator}, {@link #forEach(Consumer)},
+ * {@link #getFirst()} and {@link #getLast()} are created on demand.
+ * <p>
+ * This map does <b>not</b> allow {@code null} keys and values.
+ * This implementation does <b>not</b> allow concurrent modifications.
+ * 
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public final class CompactOrderedHashMap<K, V> implements Iterable<Entry<K, V>> {
+	// Linear probing degrades quickly for high loads, so the table is kept at most half full by default.
+	private static final double DEFAULT_LOAD_FACTOR = 0.5;
+	private static final int MIN_TABLE_SIZE = 16;
+	private static final int MAX_TABLE_SIZE = 1 << 30;
+	
+	private final double loadFactor;
+	private int mask;
+	private int[] table; // The position of the entry + 1. 0 marks a free slot.
+	
+	// The entries in the order of insertion. A null key marks a removed entry.
+	private Object[] keys;
+	private Object[] values;
+	private int[] hashes;
+	private int start; // The position of the first entry, if this map is not empty.
+	private int end; // The position after the last entry.
+	
+	private long size;
+	private int modcount;
+	
+	/**
+	 * Creates a new and empty {@link CompactOrderedHashMap}.
+	 */
+	public CompactOrderedHashMap() {
+		this(0L, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link CompactOrderedHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @throws IllegalArgumentException If the expected size is negative.
+	 */
+	public CompactOrderedHashMap(long expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link CompactOrderedHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @param loadFactor The maximum ratio of entries to slots of the table. If it is exceeded, the table is enlarged.
+	 * Must be greater than 0 and less than 1. The default load factor is {@code 0.5}.
+	 * @throws IllegalArgumentException If the expected size is negative or the load factor is out of range.
+	 */
+	public CompactOrderedHashMap(long expectedSize, double loadFactor) {
+		requireNotNegative(expectedSize, "The expected size ...");
+		// At least one slot must stay free to terminate the probe sequences.
+		if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+			throw new IllegalArgumentException("The load factor must be greater than 0 and less than 1 (was " + loadFactor + ")");
+		}
+		this.loadFactor = loadFactor;
+		this.mask = 0;
+		this.table = null;
+		this.keys = null;
+		this.values = null;
+		this.hashes = null;
+		this.start = 0;
+		this.end = 0;
+		this.size = 0L;
+		this.modcount = 0;
+		if (expectedSize > 0L) {
+			this.rebuild(this.tableSizeFor(expectedSize));
+		}
+	}
+	
+	/**
+	 * Creates a new {@link CompactOrderedHashMap} that contains all the mappings of the specified map.
+	 * The new map uses the load factor of the specified map.
+	 * @param map The mappings that should be cloned. May be {@code null}.
+	 */
+	public CompactOrderedHashMap(CompactOrderedHashMap<K, V> map) {
+		this(map != null ? map.size : 0L, map != null ? map.loadFactor : DEFAULT_LOAD_FACTOR);
+		this.putAll(map);
+	}
+	
+	
+	/**
+	 * Returns the number of entries in this map.
+	 * @return The number of entries.
+	 */
+	public long size() {
+		return this.size;
+	}
+	
+	/**
+	 * Returns if this map is empty.
+	 * @return If this map has no entries.
+	 */
+	public boolean isEmpty() {
+		return this.size <= 0L;
+	}
+	
+	/**
+	 * Enlarges the table of this map, so that it can hold the specified amount of entries without resizing.
+	 * If the table is already large enough, nothing happens.
+	 * <p>
+	 * This method should be called before many entries are put into this map.
+	 * @param capacity The amount of entries. Must not be negative.
+	 * @throws IllegalArgumentException If the capacity is negative.
+	 */
+	public void ensureCapacity(long capacity) {
+		requireNotNegative(capacity, "The capacity ...");
+		int tableSize = this.tableSizeFor(capacity);
+		int[] table = this.table;
+		if (table == null || table.length < tableSize) {
+			this.modcount++;
+			this.rebuild(tableSize);
+		}
+	}
+	
+	/**
+	 * Closes all gaps and shrinks the table of this map to the smallest size
+	 * that can hold the current entries without resizing.
+	 * If this map is empty, the table is released.
+	 * <p>
+	 * This method can be used to release memory after many entries have been removed.
+	 */
+	public void trimToSize() {
+		int[] table = this.table;
+		if (table == null) {
+			return; // No table to shrink
+		}
+		this.modcount++;
+		if (this.size <= 0L) {
+			this.mask = 0;
+			this.table = null;
+			this.keys = null;
+			this.values = null;
+			this.hashes = null;
+			this.start = this.end = 0;
+			return;
+		}
+		int tableSize = this.tableSizeFor(this.size);
+		if (tableSize < table.length || this.end > this.size) {
+			this.rebuild(Math.min(tableSize, table.length));
+		}
+	}
+	
+	
+	/**
+	 * Associates the specified key with the specified value.
+	 * If the key is not present in this map, a new entry is added to the end.
+	 * If the key is already present in this map, the value of the previous entry is replaced.
+	 * @param key The key of the new mapping. Not {@code null}.
+	 * @param value The value of the new mapping. Not {@code null}.
+	 * @return The value that was previously mapped to the key.
+	 * If the key was not present in this map, {@code null} is returned.
+	 * @throws IllegalArgumentException If the key or the value is {@code null}.
+	 */
+	public V put(K key, V value) {
+		requireNotNull(key, "The key ...");
+		requireNotNull(value, "The value ...");
+		this.modcount++;
+		return this.insert(key, value, true);
+	}
+	
+	/**
+	 * Associates the specified key with the specified value
+	 * and adds the entry to the end.
+	 * If the key is already present in this map, nothing happens.
+	 * @param key The key of the new mapping. Not {@code null}.
+	 * @param value The value of the new mapping. Not {@code null}.
+	 * @return The value that was previously mapped to the key.
+	 * If {@code null}, the new value has been put into the map.
+	 * Otherwise, the previous value is still present.
+	 * @throws IllegalArgumentException If the key or the value is {@code null}.
+	 */
+	public V putIfAbsent(K key, V value) {
+		requireNotNull(key, "The key ...");
+		requireNotNull(value, "The value ...");
+		V prev = this.insert(key, value, false);
+		if (prev == null) {
+			this.modcount++;
+		}
+		return prev;
+	}
+	
+	/**
+	 * Inserts all mappings of the specified map into this map.
+	 * Keys that are present in both maps are replaced in this map.
+	 * If the specified map is {@code null} or this map, nothing happens.
+	 * @param otherMap The map whose mappings should be put into this map. May be {@code null}.
+	 */
+	public void putAll(CompactOrderedHashMap<K, V> otherMap) {
+		// If the other map is null it is considered empty.
+		// If otherMap == this, all entries are already present.
+		if (otherMap == null || otherMap == this) {
+			return;
+		}
+		this.ensureCapacity(Math.max(this.size, otherMap.size)); // Avoids multiple resizes
+		Object[] otherKeys = otherMap.keys;
+		for (int i = otherMap.start; i < otherMap.end; i++) {
+			Object key = otherKeys[i];
+			if (key != null) {
+				@SuppressWarnings("unchecked")
+				K k = (K) key;
+				@SuppressWarnings("unchecked")
+				V v = (V) otherMap.values[i];
+				this.insert(k, v, true);
+			}
+		}
+		this.modcount++;
+	}
+	
+	/**
+	 * Removes the entry with the specified key from this map.
+	 * If the map does not contain the key, nothing happens.
+	 * @param key The key of the entry that should be removed. May be {@code null}.
+	 * @return The value of the entry that was removed.
+	 * If no entry was removed, {@code null} is returned.
+	 */
+	public V remove(Object key) {
+		if (key == null) {
+			return null;
+		}
+		int slot = this.findSlot(key, hash(key));
+		if (slot < 0) {
+			return null;
+		}
+		this.modcount++;
+		int pos = this.table[slot] - 1;
+		V prev = this.valueAt(pos);
+		this.removeSlot(slot);
+		this.removeEntry(pos);
+		this.compactIfSparse();
+		return prev;
+	}
+	
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		this.modcount++;
+		this.size = 0L;
+		
+		int[] table = this.table;
+		if (table == null) {
+			return; // Table is already empty
+		}
+		Arrays.fill(table, 0);
+		Arrays.fill(this.keys, 0, this.end, null);
+		Arrays.fill(this.values, 0, this.end, null);
+		this.start = this.end = 0;
+	}
+	
+	/**
+	 * Returns the value that is mapped to the specified key.
+	 * @param key The key whose value should be returned. May be {@code null}.
+	 * @return The value that the specified key is mapped to.
+	 * If this map does not contain the key, {@code null} is returned.
+	 */
+	public V get(K key) {
+		if (key == null) {
+			return null;
+		}
+		int pos = this.findPos(key);
+		return pos >= 0 ? this.valueAt(pos) : null;
+	}
+	
+	/**
+	 * Returns if the specified key is present in this map.
+	 * This method is semantically equivalent to
+	 * <pre>get(key) != null</pre>
+	 * @param key The key that should be checked. May be {@code null}.
+	 * @return If the specified key is present in this map.
+	 */
+	public boolean containsKey(Object key) {
+		if (key == null) {
+			return false;
+		}
+		return this.findPos(key) >= 0;
+	}
+	
+	@Override
+	public void forEach(Consumer<? super Entry<K, V>> action) {
+		requireNotNull(action, "The action ...");
+		Object[] keys = this.keys;
+		for (int i = this.start; i < this.end; i++) {
+			Object key = keys[i];
+			if (key != null) {
+				action.accept(new PositionEntry(key, i));
+			}
+		}
+	}
+	
+	/**
+	 * Returns an {@link Iterator} that iterates over the entries in this map
+	 * in the order of their first insertion.
+	 */
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return this.new EntryIterator();
+	}
+	
+	/**
+	 * Returns the first entry in this ordered map.
+	 * 
+	 * @return the first entry in this ordered map
+	 * @throws NoSuchElementException if this map is empty
+	 */
+	public Entry<K, V> getFirst() throws NoSuchElementException {
+		if (this.size <= 0L)
+			throw new NoSuchElementException();
+		return new PositionEntry(this.keys[this.start], this.start);
+	}
+	
+	/**
+	 * Returns the last entry in this ordered map.
+	 * 
+	 * @return the last entry in this ordered map
+	 * @throws NoSuchElementException if this map is empty
+	 */
+	public Entry<K, V> getLast() throws NoSuchElementException {
+		if (this.size <= 0L)
+			throw new NoSuchElementException();
+		return new PositionEntry(this.keys[this.end - 1], this.end - 1);
+	}
+	
+	/**
+	 * Removes and returns the first entry in this ordered map.
+	 * 
+	 * @return the removed entry
+	 * @throws NoSuchElementException if this map is empty
+	 */
+	public Entry<K, V> removeFirst() throws NoSuchElementException {
+		if (this.size <= 0L)
+			throw new NoSuchElementException();
+		return this.removeAt(this.start);
+	}
+	
+	/**
+	 * Removes and returns the last entry in this ordered map.
+	 * 
+	 * @return the removed entry
+	 * @throws NoSuchElementException if this map is empty
+	 */
+	public Entry<K, V> removeLast() throws NoSuchElementException {
+		if (this.size <= 0L)
+			throw new NoSuchElementException();
+		return this.removeAt(this.end - 1);
+	}
+	
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != this.getClass()) {
+			return false;
+		}
+		
+		// Checks the sizes.
+		CompactOrderedHashMap<?, ?> other = (CompactOrderedHashMap<?, ?>) obj;
+		if (this.size != other.size) {
+			return false;
+		}
+		
+		// Iterates over both arrays and checks that all entries match (order is relevant).
+		int i = this.start;
+		int j = other.start;
+		for (long n = 0L; n < this.size; n++, i++, j++) {
+			while (this.keys[i] == null) {
+				i++;
+			}
+			while (other.keys[j] == null) {
+				j++;
+			}
+			if (!this.keys[i].equals(other.keys[j]) || !this.values[i].equals(other.values[j])) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	@Override
+	public int hashCode() {
+		// Iterates over all entries in order. Equivalent to the hash code of the OrderedHashMap.
+		int result = 0;
+		int factor = 1;
+		Object[] keys = this.keys;
+		for (int i = this.start; i < this.end; i++) {
+			Object key = keys[i];
+			if (key != null) {
+				result += (key.hashCode() ^ this.values[i].hashCode()) * factor;
+				factor *= 31;
+			}
+		}
+		return result;
+	}
+	
+	
+	private static final int hash(Object key) {
+		// Linear probing requires the low bits to depend on all bits of the hash code.
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private final V valueAt(int pos) {
+		return (V) this.values[pos];
+	}
+	
+	/**
+	 * Returns the slot of the table that refers to the entry with the specified key.
+	 * @param key The key. Not {@code null}.
+	 * @param hash The hash of the key.
+	 * @return The index of the slot. If the key is not present in this map, {@code -1} is returned.
+	 */
+	private final int findSlot(Object key, int hash) {
+		int[] table = this.table;
+		if (table == null) {
+			return -1;
+		}
+		Object[] keys = this.keys;
+		int[] hashes = this.hashes;
+		int mask = this.mask;
+		int slot = hash & mask;
+		
+		// The probe sequence ends at the first free slot.
+		int ref;
+		while ((ref = table[slot]) != 0) {
+			int pos = ref - 1;
+			if (hashes[pos] == hash && keys[pos].equals(key)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the position of the entry with the specified key.
+	 * @param key The key. Not {@code null}.
+	 * @return The position of the entry. If the key is not present in this map, {@code -1} is returned.
+	 */
+	private final int findPos(Object key) {
+		int slot = this.findSlot(key, hash(key));
+		return slot >= 0 ? this.table[slot] - 1 : -1;
+	}
+	
+	/**
+	 * Returns the slot of the table that refers to the specified position.
+	 */
+	private final int slotOf(int pos) {
+		int[] table = this.table;
+		int mask = this.mask;
+		int slot = this.hashes[pos] & mask;
+		while (table[slot] != pos + 1) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	private final V insert(K key, V value, boolean replace) {
+		// Initialize the table if needed.
+		if (this.table == null) {
+			this.rebuild(MIN_TABLE_SIZE);
+		}
+		int hash = hash(key);
+		int slot = this.findSlot(key, hash);
+		
+		// If the key is already present in the map, its value is returned.
+		if (slot >= 0) {
+			int pos = this.table[slot] - 1;
+			V prev = this.valueAt(pos);
+			if (replace) {
+				this.values[pos] = value;
+			}
+			return prev;
+		}
+		
+		// Make room for a new entry at the end.
+		if (this.end >= this.keys.length) {
+			this.makeRoom();
+		}
+		
+		// The new entry refers to the free slot at the end of the probe sequence.
+		int[] table = this.table;
+		int mask = this.mask;
+		slot = hash & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		int pos = this.end++;
+		this.keys[pos] = key;
+		this.values[pos] = value;
+		this.hashes[pos] = hash;
+		table[slot] = pos + 1;
+		this.size++;
+		return null;
+	}
+	
+	/**
+	 * Removes the entry at the specified position and returns it.
+	 * The entry must be present.
+	 */
+	private final Entry<K, V> removeAt(int pos) {
+		this.modcount++;
+		PositionEntry entry = new PositionEntry(this.keys[pos], pos);
+		this.removeSlot(this.slotOf(pos));
+		this.removeEntry(pos);
+		this.compactIfSparse();
+		return entry;
+	}
+	
+	/**
+	 * Frees the specified slot and moves the following slots of the probe sequence
+	 * back to close the gap (backward shift deletion). No tombstones are required in the table.
+	 * @param gap The index of the slot that should be freed.
+	 */
+	private final void removeSlot(int gap) {
+		int[] table = this.table;
+		int[] hashes = this.hashes;
+		int mask = this.mask;
+		
+		int slot = gap;
+		while (true) {
+			slot = (slot + 1) & mask;
+			int ref = table[slot];
+			if (ref == 0) {
+				break; // End of the probe sequence
+			}
+			
+			// The slot can be moved into the gap if its home slot is not between the gap and the slot.
+			int home = hashes[ref - 1] & mask;
+			if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+				table[gap] = ref;
+				gap = slot;
+			}
+		}
+		table[gap] = 0;
+	}
+	
+	/**
+	 * Marks the entry at the specified position as removed.
+	 * Gaps at the beginning and at the end are skipped, so that the first and the last entry are always present.
+	 */
+	private final void removeEntry(int pos) {
+		Object[] keys = this.keys;
+		keys[pos] = null;
+		this.values[pos] = null;
+		if (--this.size <= 0L) {
+			this.start = this.end = 0;
+			return;
+		}
+		while (keys[this.start] == null) {
+			this.start++;
+		}
+		while (keys[this.end - 1] == null) {
+			this.end--;
+		}
+	}
+	
+	/**
+	 * Closes the gaps if there are more gaps than entries.
+	 * Then, iterating the entries is linear in the size of this map.
+	 */
+	private final void compactIfSparse() {
+		long gaps = this.end - this.start - this.size;
+		if (gaps > this.size && gaps >= MIN_TABLE_SIZE) {
+			this.rebuild(this.table.length);
+		}
+	}
+	
+	/**
+	 * Creates space for a new entry at the end of the arrays.
+	 * If many entries have been removed, the gaps are closed.
+	 * Otherwise, the table is enlarged.
+	 */
+	private void makeRoom() {
+		int capacity = this.keys.length;
+		int tableSize = this.table.length;
+		// If at least a quarter of the arrays are gaps, closing the gaps is sufficient.
+		if (this.size < capacity - (capacity >> 2) || tableSize >= MAX_TABLE_SIZE) {
+			if (this.size >= capacity) {
+				throw new OutOfMemoryError("CompactOrderedHashMap size exceeds limit");
+			}
+			this.rebuild(tableSize);
+			return;
+		}
+		this.rebuild(tableSize << 1); // Double the table size
+	}
+	
+	
+	/**
+	 * Calculates the smallest table size that can hold the specified amount of entries without resizing.
+	 * @param capacity The amount of entries.
+	 * @return The table size. A power of 2.
+	 */
+	private int tableSizeFor(long capacity) {
+		int tableSize = MIN_TABLE_SIZE;
+		while (tableSize < MAX_TABLE_SIZE && (long) (tableSize * this.loadFactor) <= capacity) {
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+	
+	/**
+	 * Resizes the table and the arrays and closes all gaps.
+	 * The order of the entries is kept.
+	 * @param newTableSize The new size of the table. A power of 2.
+	 */
+	private void rebuild(int newTableSize) {
+		int newMask = newTableSize-1; // = 2^n-1 = 0b0..01..1
+		int capacity = Math.max(1, (int) (newTableSize * this.loadFactor));
+		
+		Object[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		int[] oldHashes = this.hashes;
+		
+		// The arrays are reused if the capacity does not change. Entries are only moved to lower positions.
+		boolean reuse = oldKeys != null && oldKeys.length == capacity;
+		Object[] newKeys = reuse ? oldKeys : new Object[capacity];
+		Object[] newValues = reuse ? oldValues : new Object[capacity];
+		int[] newHashes = reuse ? oldHashes : new int[capacity];
+		int[] newTable = this.table;
+		if (newTable != null && newTable.length == newTableSize) {
+			Arrays.fill(newTable, 0);
+		}
+		else {
+			newTable = new int[newTableSize];
+		}
+		
+		// Moves the entries to the beginning of the new arrays and inserts them into the new table.
+		int n = 0;
+		if (oldKeys != null) {
+			for (int i = this.start; i < this.end; i++) {
+				Object key = oldKeys[i];
+				if (key == null) {
+					continue;
+				}
+				int hash = oldHashes[i];
+				newKeys[n] = key;
+				newValues[n] = oldValues[i];
+				newHashes[n] = hash;
+				int slot = hash & newMask;
+				while (newTable[slot] != 0) {
+					slot = (slot + 1) & newMask;
+				}
+				newTable[slot] = ++n;
+			}
+			if (reuse) {
+				// Release the references behind the moved entries.
+				Arrays.fill(newKeys, n, Math.max(n, this.end), null);
+				Arrays.fill(newValues, n, Math.max(n, this.end), null);
+			}
+		}
+		
+		this.mask = newMask;
+		this.table = newTable;
+		this.keys = newKeys;
+		this.values = newValues;
+		this.hashes = newHashes;
+		this.start = 0;
+		this.end = n;
+	}
+	
+	
+	/**
+	 * An entry of this map that is created on demand.
+	 * The position of the key is cached, but might change if gaps are closed.
+	 */
+	private final class PositionEntry implements Entry<K, V> {
+		private final K key;
+		private V value;
+		private int pos;
+		
+		@SuppressWarnings("unchecked")
+		private PositionEntry(Object key, int pos) {
+			this.key = (K) key;
+			this.pos = pos;
+			this.value = valueAt(pos);
+		}
+		
+		/**
+		 * Returns the current position of the key.
+		 * @return The position of the entry. If the key has been removed, {@code -1} is returned.
+		 */
+		private int pos() {
+			int i = this.pos;
+			Object[] keys = CompactOrderedHashMap.this.keys;
+			if (keys != null && i >= 0 && i < keys.length && keys[i] == this.key) {
+				return i;
+			}
+			return this.pos = findPos(this.key);
+		}
+		
+		@Override
+		public K getKey() {
+			return this.key;
+		}
+		
+		@Override
+		public V getValue() {
+			// If the entry is still present, the value might have been replaced.
+			int i = this.pos();
+			if (i >= 0) {
+				this.value = valueAt(i);
+			}
+			return this.value;
+		}
+		
+		@Override
+		public V setValue(V value) {
+			requireNotNull(value, "The value ...");
+			V prevValue = this.getValue();
+			this.value = value;
+			int i = this.pos();
+			if (i >= 0) {
+				values[i] = value;
+			}
+			return prevValue;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			
+			Entry<?, ?> other = (Entry<?, ?>) obj;
+			return Objects.equals(this.key, other.getKey()) && Objects.equals(this.getValue(), other.getValue());
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.key.hashCode() ^ Objects.hashCode(this.getValue());
+		}
+		
+		@Override
+		public String toString() {
+			return this.key + "=" + this.getValue();
+		}
+	}
+	
+	
+	/**
+	 * Iterates the positions from the first to the last entry.
+	 * Removing the current entry does not move other entries.
+	 */
+	private final class EntryIterator implements Iterator<Entry<K, V>> {
+		private int expectedModcount;
+		private int pos; // The position of the current entry. -1 if none.
+		private int next; // The position of the next entry.
+		
+		public EntryIterator() {
+			this.expectedModcount = modcount;
+			this.pos = -1;
+			this.next = start;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return this.next < end;
+		}
+		
+		@Override
+		public Entry<K, V> next() {
+			if (this.expectedModcount != modcount) {
+				throw new ConcurrentModificationException();
+			}
+			int next = this.next;
+			if (next >= end) {
+				throw new NoSuchElementException();
+			}
+			
+			// Skip the gaps. The last entry is always present.
+			Object[] keys = CompactOrderedHashMap.this.keys;
+			int following = next + 1;
+			while (following < end && keys[following] == null) {
+				following++;
+			}
+			this.pos = next;
+			this.next = following;
+			return new PositionEntry(keys[next], next);
+		}
+		
+		@Override
+		public void remove() {
+			if (this.expectedModcount != modcount) {
+				throw new ConcurrentModificationException();
+			}
+			int pos = this.pos;
+			if (pos < 0) {
+				throw new IllegalStateException("No current element to remove");
+			}
+			
+			this.expectedModcount = ++modcount;
+			this.pos = -1;
+			
+			// The gaps are not closed, so that the positions stay valid.
+			removeSlot(slotOf(pos));
+			removeEntry(pos);
+		}
+	}
+}
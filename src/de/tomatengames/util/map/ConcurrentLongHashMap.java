@@ -0,0 +1,670 @@
+package de.tomatengames.util.map;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import de.tomatengames.util.function.LongToRefFunction;
+
+/**
+ * A {@link ConcurrentHashMap}-like data structure that maps {@code long} keys to object values.
+ * Equality of keys is checked by using the {@code ==} operator.
+ * <p>
+ * This map does <b>not</b> allow {@code null} values.
+ * This implementation is thread-safe.
+ * The keys are distributed over independent segments.
+ * Read operations do not lock.
+ * Write operations lock only the segment that contains the key,
+ * so threads that modify different segments do not block each other.
+ * <p>
+ * Iterators and {@link #forEach(Consumer)} are weakly consistent.
+ * They never throw a {@link java.util.ConcurrentModificationException}
+ * and reflect the state of each segment at some point during the iteration.
+ * The size of this map is only exact if no modifications happen concurrently.
+ * 
+ * @param <V> The type of the values.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public final class ConcurrentLongHashMap<V> implements Iterable<LongEntry<V>> {
+	private static final double ENLARGE_LOAD_FACTOR = 0.75;
+	private static final int MIN_TABLE_SIZE = 16;
+	private static final int MAX_TABLE_SIZE = 1 << 30;
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	private static final int MAX_CONCURRENCY_LEVEL = 1 << 16;
+	
+	private final Segment<V>[] segments;
+	private final int segmentShift;
+	
+	/**
+	 * Creates a new and empty {@link ConcurrentLongHashMap}.
+	 */
+	public ConcurrentLongHashMap() {
+		this(DEFAULT_CONCURRENCY_LEVEL);
+	}
+	
+	/**
+	 * Creates a new and empty {@link ConcurrentLongHashMap}.
+	 * @param concurrencyLevel The estimated number of threads that modify this map concurrently.
+	 * It is rounded up to the next power of 2. Must be positive.
+	 * @throws IllegalArgumentException If the concurrency level is not positive.
+	 */
+	public ConcurrentLongHashMap(int concurrencyLevel) {
+		if (concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("The concurrency level must be positive!");
+		}
+		int segmentCount = Math.min(MAX_CONCURRENCY_LEVEL, Integer.highestOneBit((concurrencyLevel << 1) - 1));
+		if (segmentCount <= 0) {
+			segmentCount = MAX_CONCURRENCY_LEVEL; // Overflow of the shift above
+		}
+		
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Segment<V>[] segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment<V>();
+		}
+		this.segments = segments;
+		// The segment is selected by the highest bits of the hash.
+		// If there is only one segment, the shift is 32, which is handled in segmentFor.
+		this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+	}
+	
+	/**
+	 * Creates a new {@link ConcurrentLongHashMap} that contains all the mappings of the specified map.
+	 * @param map The mappings that should be cloned.
+	 */
+	public ConcurrentLongHashMap(ConcurrentLongHashMap<V> map) {
+		this();
+		this.putAll(map);
+	}
+	
+	/**
+	 * Returns the number of entries in this map.
+	 * If this map is modified concurrently, the result is an estimate.
+	 * @return The number of entries.
+	 */
+	public long size() {
+		long size = 0L;
+		for (Segment<V> segment : this.segments) {
+			size += segment.size;
+		}
+		return size;
+	}
+	
+	/**
+	 * Returns if this map does not contain any entry.
+	 * If this map is modified concurrently, the result is an estimate.
+	 * @return If this map has no entries.
+	 */
+	public boolean isEmpty() {
+		for (Segment<V> segment : this.segments) {
+			if (segment.size > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Associates the specified key with the specified value.
+	 * If the key is already present in this map, the previous value is replaced.
+	 * @param key The key of the new mapping.
+	 * @param value The value of the new mapping. Must not {@code null}.
+	 * @return The value that was previously mapped to the key.
+	 * If the key was not present in this map, {@code null} is returned.
+	 * @throws IllegalArgumentException If the value is {@code null}.
+	 */
+	public V put(long key, V value) {
+		requireNotNull(value, "The value ...");
+		int hash = hash(key);
+		Segment<V> segment = this.segmentFor(hash);
+		synchronized (segment) {
+			Node<V> node = segment.findOrCreate(key, hash);
+			V prev = node.value;
+			node.value = value; // Might replace the previous value
+			return prev;
+		}
+	}
+	
+	/**
+	 * Associates the specified key with the specified value.
+	 * If the key is already present in this map, nothing happens.
+	 * <p>
+	 * This operation is atomic.
+	 * @param key The key of the new mapping.
+	 * @param value The value of the new mapping. Must not {@code null}.
+	 * @return The value that was previously mapped to the key.
+	 * If {@code null}, the new value has been put into the map.
+	 * Otherwise, the previous value is still present.
+	 * @throws IllegalArgumentException If the value is {@code null}.
+	 */
+	public V putIfAbsent(long key, V value) {
+		requireNotNull(value, "The value ...");
+		int hash = hash(key);
+		Segment<V> segment = this.segmentFor(hash);
+		
+		// Avoid locking if the key is already present.
+		// A node without value is currently being inserted by another thread.
+		Node<V> node = findNode(key, hash, segment.table);
+		if (node != null) {
+			V present = node.value;
+			if (present != null) {
+				return present;
+			}
+		}
+		
+		synchronized (segment) {
+			node = segment.findOrCreate(key, hash);
+			
+			// If the Node did not exist before (value == null), then set the value.
+			V prev = node.value;
+			if (prev == null) {
+				node.value = value;
+				return null;
+			}
+			// If the Node was already present, do nothing and return its value.
+			return prev;
+		}
+	}
+	
+	/**
+	 * Returns the value that is mapped to the specified key.
+	 * If the key is not present in this map, the mapping function is called
+	 * and the key is mapped to its result.
+	 * <p>
+	 * This operation is atomic.
+	 * The mapping function is called at most once per call of this method.
+	 * While it is running, other modifications of the same segment are blocked.
+	 * Therefore, the mapping function should be short and must not modify this map.
+	 * @param key The key whose value should be returned.
+	 * @param mappingFunction The function that computes the value from the key. Not {@code null}.
+	 * If it returns {@code null}, no mapping is created.
+	 * @return The value that is mapped to the key.
+	 * {@code null} if the key is not present and the mapping function returned {@code null}.
+	 * @throws IllegalArgumentException If the mapping function is {@code null}.
+	 */
+	public V computeIfAbsent(long key, LongToRefFunction<? extends V> mappingFunction) {
+		requireNotNull(mappingFunction, "The mapping function ...");
+		int hash = hash(key);
+		Segment<V> segment = this.segmentFor(hash);
+		
+		// Avoid locking if the key is already present.
+		// A node without value is currently being inserted by another thread.
+		Node<V> node = findNode(key, hash, segment.table);
+		if (node != null) {
+			V present = node.value;
+			if (present != null) {
+				return present;
+			}
+		}
+		
+		synchronized (segment) {
+			// Another thread might have inserted the key in the meantime.
+			node = findNode(key, hash, segment.table);
+			if (node != null) {
+				return node.value;
+			}
+			
+			V value = mappingFunction.apply(key);
+			if (value == null) {
+				return null;
+			}
+			segment.createNode(key, hash).value = value;
+			return value;
+		}
+	}
+	
+	/**
+	 * Returns the value that is mapped to the specified key.
+	 * This method does not lock.
+	 * @param key The key whose value should be returned.
+	 * @return The value that the specified key is mapped to.
+	 * If this map does not contain the key, {@code null} is returned.
+	 */
+	public V get(long key) {
+		int hash = hash(key);
+		Node<V> node = findNode(key, hash, this.segmentFor(hash).table);
+		return node != null ? node.value : null;
+	}
+	
+	/**
+	 * Returns if the specified key is present in this map.
+	 * This method is semantically equivalent to
+	 * <pre>get(key) != null</pre>
+	 * @param key The key that should be checked.
+	 * @return If the specified key is present in this map.
+	 */
+	public boolean containsKey(long key) {
+		return this.get(key) != null;
+	}
+	
+	/**
+	 * Removes the entry with the specified key from this map.
+	 * If the map does not contain the key, nothing happens.
+	 * @param key The key of the entry that should be removed.
+	 * @return The value of the entry that was removed.
+	 * If no entry was removed, {@code null} is returned.
+	 */
+	public V remove(long key) {
+		int hash = hash(key);
+		Segment<V> segment = this.segmentFor(hash);
+		
+		// Avoid locking if the key is not present.
+		if (findNode(key, hash, segment.table) == null) {
+			return null;
+		}
+		
+		synchronized (segment) {
+			return segment.remove(key, hash);
+		}
+	}
+	
+	/**
+	 * Removes all entries from this map.
+	 * <p>
+	 * The segments are cleared one after another.
+	 * Entries that are inserted concurrently might still be present afterwards.
+	 */
+	public void clear() {
+		for (Segment<V> segment : this.segments) {
+			synchronized (segment) {
+				segment.table = null;
+				segment.enlargeThreshold = 0L;
+				segment.size = 0L;
+			}
+		}
+	}
+	
+	@Override
+	public void forEach(Consumer<? super LongEntry<V>> action) {
+		for (Segment<V> segment : this.segments) {
+			AtomicReferenceArray<Node<V>> table = segment.table;
+			if (table == null) {
+				continue; // The segment is empty
+			}
+			
+			// Iterate all nodes of the segment.
+			int n = table.length();
+			for (int i = 0; i < n; i++) {
+				Node<V> node = table.get(i);
+				while (node != null) {
+					V value = node.value;
+					if (value != null) {
+						action.accept(new MapEntry(node.key, value));
+					}
+					node = node.next;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Puts all mappings of the specified map into this map.
+	 * Keys that are present in both maps are replaced in this map.
+	 * If the specified map is {@code null} or this map, nothing happens.
+	 * @param otherMap The map whose mappings should be put into this map. May be {@code null}.
+	 */
+	public void putAll(ConcurrentLongHashMap<V> otherMap) {
+		// If the map is null, it is considered empty.
+		// If the other map is this map, all entries are already present.
+		if (otherMap == null || otherMap == this) {
+			return;
+		}
+		
+		otherMap.forEach(entry -> this.put(entry.getKey(), entry.getValue()));
+	}
+	
+	/**
+	 * Puts all mappings of the specified map into this map.
+	 * Keys that are present in both maps are replaced in this map.
+	 * If the specified map is {@code null}, nothing happens.
+	 * @param otherMap The map whose mappings should be put into this map. May be {@code null}.
+	 * It must not be modified concurrently.
+	 */
+	public void putAll(LongHashMap<V> otherMap) {
+		// If the map is null, it is considered empty.
+		if (otherMap == null) {
+			return;
+		}
+		
+		otherMap.forEach(entry -> this.put(entry.getKey(), entry.getValue()));
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != this.getClass()) {
+			return false;
+		}
+		
+		// Checks the sizes.
+		ConcurrentLongHashMap<?> other = (ConcurrentLongHashMap<?>) obj;
+		if (this.size() != other.size()) {
+			return false;
+		}
+		
+		// Checks that the other map is a subset of this map.
+		for (LongEntry<?> entry : other) {
+			V thisValue = this.get(entry.getKey());
+			if (thisValue == null) {
+				return false; // This does not contain the current entry
+			}
+			if (!thisValue.equals(entry.getValue())) {
+				return false; // The values for the current key differ.
+			}
+		}
+		
+		// If this map contains all entries of the other map and the sizes are the same,
+		// the maps are equal.
+		return true;
+	}
+	
+	@Override
+	public int hashCode() {
+		// The order of the loop is undefined, but '+' is commutative.
+		int result = 0;
+		for (LongEntry<V> entry : this) {
+			result += entry.hashCode();
+		}
+		return result;
+	}
+	
+	
+	private static final int hash(long key) {
+		// Mixes all bits of the key into the high bits, which select the segment.
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+	
+	private Segment<V> segmentFor(int hash) {
+		int shift = this.segmentShift;
+		return this.segments[shift >= 32 ? 0 : hash >>> shift];
+	}
+	
+	private static final <V> Node<V> findNode(long key, int hash, AtomicReferenceArray<Node<V>> table) {
+		if (table == null) {
+			return null;
+		}
+		Node<V> node = table.get(hash & (table.length()-1));
+		while (node != null) {
+			if (node.key == key) {
+				return node;
+			}
+			node = node.next;
+		}
+		return null;
+	}
+	
+	/**
+	 * A part of the map that is locked independently.
+	 * <p>
+	 * All modifications must be performed while holding the monitor of the segment.
+	 * The table and the nodes are published in a way that allows reading without locking.
+	 * A table is never restructured after another table replaced it.
+	 */
+	private static final class Segment<V> {
+		private volatile AtomicReferenceArray<Node<V>> table;
+		private volatile long size;
+		private long enlargeThreshold;
+		
+		private Node<V> findOrCreate(long key, int hash) {
+			// If the key is already present in the segment, it is returned.
+			Node<V> node = findNode(key, hash, this.table);
+			if (node != null) {
+				return node;
+			}
+			return this.createNode(key, hash);
+		}
+		
+		/**
+		 * Inserts a new node with the specified key.
+		 * The value of the node is {@code null} until it is set by the caller.
+		 * <p>
+		 * It is assumed that the key is not present in this segment.
+		 * @param key The key of the new node.
+		 * @param hash The hash of the key.
+		 * @return The new node.
+		 */
+		private Node<V> createNode(long key, int hash) {
+			// Resize first, so that the new node is inserted into the table that is published.
+			AtomicReferenceArray<Node<V>> table = this.table;
+			long newSize = this.size + 1;
+			if (table == null) {
+				table = this.resize(null, MIN_TABLE_SIZE);
+			}
+			else if (newSize >= this.enlargeThreshold && table.length() < MAX_TABLE_SIZE) {
+				table = this.resize(table, table.length() << 1); // Double the table size
+			}
+			
+			// The new node is inserted at the head of the bucket.
+			// The nodes behind it are not changed, so concurrent readers are not affected.
+			int index = hash & (table.length()-1);
+			Node<V> newNode = new Node<V>(key, hash, table.get(index));
+			table.set(index, newNode);
+			this.size = newSize;
+			return newNode;
+		}
+		
+		private V remove(long key, int hash) {
+			AtomicReferenceArray<Node<V>> table = this.table;
+			if (table == null) {
+				return null; // No elements in the segment
+			}
+			
+			int index = hash & (table.length()-1);
+			
+			// Search for the key.
+			Node<V> node = table.get(index);
+			Node<V> prev = null;
+			while (node != null) {
+				if (node.key == key) {
+					// Unlink the found node.
+					// Readers that are currently at the removed node can still follow its next node.
+					if (prev != null) {
+						prev.next = node.next;
+					}
+					else {
+						table.set(index, node.next);
+					}
+					this.size--;
+					return node.value;
+				}
+				prev = node;
+				node = node.next;
+			}
+			
+			// If the key was not found.
+			return null;
+		}
+		
+		private AtomicReferenceArray<Node<V>> resize(AtomicReferenceArray<Node<V>> oldTable, int newTableSize) {
+			int newMask = newTableSize-1;
+			AtomicReferenceArray<Node<V>> newTable = new AtomicReferenceArray<>(newTableSize);
+			
+			// Copies the nodes into the new table.
+			// The nodes of the old table are not modified, because readers might still traverse them.
+			if (oldTable != null) {
+				int n = oldTable.length();
+				for (int i = 0; i < n; i++) {
+					Node<V> node = oldTable.get(i);
+					while (node != null) {
+						int index = node.hash & newMask;
+						Node<V> copy = new Node<V>(node.key, node.hash, newTable.get(index));
+						copy.value = node.value;
+						newTable.set(index, copy);
+						node = node.next;
+					}
+				}
+			}
+			
+			this.enlargeThreshold = (long) (newTableSize * ENLARGE_LOAD_FACTOR);
+			this.table = newTable;
+			return newTable;
+		}
+	}
+	
+	
+	private static final class Node<V> {
+		private final long key;
+		private final int hash;
+		private volatile V value;
+		private volatile Node<V> next;
+		
+		private Node(long key, int hash, Node<V> next) {
+			this.key = key;
+			this.hash = hash;
+			this.value = null;
+			this.next = next;
+		}
+	}
+	
+	/**
+	 * An entry that is returned by iterators.
+	 * Setting the value writes through to the map.
+	 */
+	private final class MapEntry implements LongEntry<V> {
+		private final long key;
+		private V value;
+		
+		private MapEntry(long key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+		
+		@Override
+		public long getKey() {
+			return this.key;
+		}
+		
+		@Override
+		public V getValue() {
+			return this.value;
+		}
+		
+		@Override
+		public void setValue(V value) {
+			requireNotNull(value, "The value ...");
+			this.value = value;
+			put(this.key, value);
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != this.getClass()) {
+				return false;
+			}
+			
+			@SuppressWarnings("unchecked")
+			MapEntry other = (MapEntry) obj;
+			return this.key == other.key && Objects.equals(this.value, other.value);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(this.value) + Long.hashCode(key);
+		}
+	}
+	
+	
+	@Override
+	public Iterator<LongEntry<V>> iterator() {
+		return new EntryIterator();
+	}
+	
+	private final class EntryIterator implements Iterator<LongEntry<V>> {
+		private int segmentIndex;
+		private AtomicReferenceArray<Node<V>> table;
+		private int tableIndex;
+		private Node<V> nextNode;
+		private V nextValue;
+		private MapEntry current;
+		
+		private EntryIterator() {
+			this.segmentIndex = 0;
+			this.table = null;
+			this.tableIndex = 0;
+			this.nextNode = null;
+			this.current = null;
+			this.advance();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return this.nextNode != null;
+		}
+		
+		@Override
+		public LongEntry<V> next() {
+			Node<V> next = this.nextNode;
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			MapEntry entry = new MapEntry(next.key, this.nextValue);
+			this.current = entry;
+			this.advance();
+			return entry;
+		}
+		
+		@Override
+		public void remove() {
+			MapEntry current = this.current;
+			if (current == null) {
+				throw new IllegalStateException("No element to remove!");
+			}
+			ConcurrentLongHashMap.this.remove(current.key);
+			this.current = null;
+		}
+		
+		/**
+		 * Moves to the next node that has a value.
+		 */
+		private void advance() {
+			Node<V> node = this.nextNode;
+			if (node != null) {
+				node = node.next;
+			}
+			
+			while (true) {
+				// Skip nodes that have been created but not yet initialized.
+				while (node != null) {
+					V value = node.value;
+					if (value != null) {
+						this.nextNode = node;
+						this.nextValue = value;
+						return;
+					}
+					node = node.next;
+				}
+				
+				// Continue with the next bucket of the current table.
+				AtomicReferenceArray<Node<V>> t = this.table;
+				if (t != null && this.tableIndex < t.length()) {
+					node = t.get(this.tableIndex++);
+					continue;
+				}
+				
+				// Continue with the next segment.
+				if (this.segmentIndex >= segments.length) {
+					this.nextNode = null;
+					this.nextValue = null;
+					return;
+				}
+				this.table = segments[this.segmentIndex++].table;
+				this.tableIndex = 0;
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,720 @@
+package de.tomatengames.util.map;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNegative;
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link HashMap}-like data structure that maps {@code int} keys to object values.
+ * Equality of keys is checked by using the {@code ==} operator.
+ * <p>
+ * In contrast to the {@link IntHashMap}, this map uses open addressing with linear probing.
+ * The keys and values are stored in two parallel arrays, so no node is allocated per entry.
+ * Inserting a new key does not allocate any objects unless the table has to be enlarged.
+ * <p>
+ * The {@link IntEntry} objects provided by the {@link Iterator} and {@link #forEach(Consumer)}
+ * are created on demand.
+ * <p>
+ * This map does <b>not</b> allow {@code null} values.
+ * This implementation does <b>not</b> allow concurrent modifications.
+ * 
+ * @param <V> The type of the values.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public final class IntOpenHashMap<V> implements Iterable<IntEntry<V>> {
+	// Linear probing degrades quickly for high loads, so the table is kept at most half full by default.
+	private static final double DEFAULT_LOAD_FACTOR = 0.5;
+	private static final int MIN_TABLE_SIZE = 16;
+	private static final int MAX_TABLE_SIZE = 1 << 30;
+	
+	private final double loadFactor;
+	private int mask;
+	private long enlargeThreshold;
+	private int[] keys;
+	private Object[] values; // A null value marks a free slot.
+	private long size;
+	private int modcount;
+	
+	/**
+	 * Creates a new and empty {@link IntOpenHashMap}.
+	 */
+	public IntOpenHashMap() {
+		this(0L, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link IntOpenHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @throws IllegalArgumentException If the expected size is negative.
+	 */
+	public IntOpenHashMap(long expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link IntOpenHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @param loadFactor The maximum ratio of entries to slots. If it is exceeded, the table is enlarged.
+	 * Must be greater than 0 and less than 1. The default load factor is {@code 0.5}.
+	 * @throws IllegalArgumentException If the expected size is negative or the load factor is out of range.
+	 */
+	public IntOpenHashMap(long expectedSize, double loadFactor) {
+		requireNotNegative(expectedSize, "The expected size ...");
+		// At least one slot must stay free to terminate the probe sequences.
+		if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+			throw new IllegalArgumentException("The load factor must be greater than 0 and less than 1 (was " + loadFactor + ")");
+		}
+		this.loadFactor = loadFactor;
+		this.size = 0L;
+		this.mask = 0;
+		this.enlargeThreshold = 0;
+		this.modcount = 0;
+		this.keys = null;
+		this.values = null;
+		if (expectedSize > 0L) {
+			this.resize(this.tableSizeFor(expectedSize));
+		}
+	}
+	
+	/**
+	 * Creates a new {@link IntOpenHashMap} that contains all the mappings of the specified map.
+	 * The new map uses the load factor of the specified map.
+	 * @param map The mappings that should be cloned. May be {@code null}.
+	 */
+	public IntOpenHashMap(IntOpenHashMap<V> map) {
+		this(map != null ? map.size : 0L, map != null ? map.loadFactor : DEFAULT_LOAD_FACTOR);
+		this.putAll(map);
+	}
+	
+	/**
+	 * Returns the number of entries in this map.
+	 * @return The number of entries.
+	 */
+	public long size() {
+		return size;
+	}
+	
+	/**
+	 * Returns if this map does not contain any entry.
+	 * @return If this map has no entries.
+	 */
+	public boolean isEmpty() {
+		return this.size <= 0;
+	}
+	
+	/**
+	 * Enlarges the table of this map, so that it can hold the specified amount of entries without resizing.
+	 * If the table is already large enough, nothing happens.
+	 * <p>
+	 * This method should be called before many entries are put into this map.
+	 * @param capacity The amount of entries. Must not be negative.
+	 * @throws IllegalArgumentException If the capacity is negative.
+	 */
+	public void ensureCapacity(long capacity) {
+		requireNotNegative(capacity, "The capacity ...");
+		int tableSize = this.tableSizeFor(capacity);
+		Object[] values = this.values;
+		if (values == null || values.length < tableSize) {
+			this.modcount++;
+			this.resize(tableSize);
+		}
+	}
+	
+	/**
+	 * Shrinks the table of this map to the smallest size that can hold the current entries without resizing.
+	 * If this map is empty, the table is released.
+	 * <p>
+	 * This method can be used to release memory after many entries have been removed.
+	 */
+	public void trimToSize() {
+		Object[] values = this.values;
+		if (values == null) {
+			return; // No table to shrink
+		}
+		if (this.size <= 0L) {
+			this.modcount++;
+			this.keys = null;
+			this.values = null;
+			this.mask = 0;
+			this.enlargeThreshold = 0;
+			return;
+		}
+		int tableSize = this.tableSizeFor(this.size);
+		if (tableSize < values.length) {
+			this.modcount++;
+			this.resize(tableSize);
+		}
+	}
+	
+	/**
+	 * Associates the specified key with the specified value.
+	 * If the key is already present in this map, the previous value is replaced.
+	 * @param key The key of the new mapping.
+	 * @param value The value of the new mapping. Must not {@code null}.
+	 * @return The value that was previously mapped to the key.
+	 * If the key was not present in this map, {@code null} is returned.
+	 * @throws IllegalArgumentException If the value is {@code null}.
+	 */
+	public V put(int key, V value) {
+		requireNotNull(value, "The value ...");
+		this.modcount++;
+		return this.insert(key, value, true);
+	}
+	
+	/**
+	 * Associates the specified key with the specified value.
+	 * If the key is already present in this map, nothing happens.
+	 * @param key The key of the new mapping.
+	 * @param value The value of the new mapping. Must not {@code null}.
+	 * @return The value that was previously mapped to the key.
+	 * If {@code null}, the new value has been put into the map.
+	 * Otherwise, the previous value is still present.
+	 * @throws IllegalArgumentException If the value is {@code null}.
+	 */
+	public V putIfAbsent(int key, V value) {
+		requireNotNull(value, "The value ...");
+		V prev = this.insert(key, value, false);
+		if (prev == null) {
+			this.modcount++;
+		}
+		return prev;
+	}
+	
+	/**
+	 * Returns the value that is mapped to the specified key.
+	 * @param key The key whose value should be returned.
+	 * @return The value that the specified key is mapped to.
+	 * If this map does not contain the key, {@code null} is returned.
+	 */
+	public V get(int key) {
+		int index = this.findIndex(key);
+		return index >= 0 ? this.valueAt(index) : null;
+	}
+	
+	/**
+	 * Returns if the specified key is present in this map.
+	 * This method is semantically equivalent to
+	 * <pre>get(key) != null</pre>
+	 * @param key The key that should be checked.
+	 * @return If the specified key is present in this map.
+	 */
+	public boolean containsKey(int key) {
+		return this.findIndex(key) >= 0;
+	}
+	
+	/**
+	 * Removes the entry with the specified key from this map.
+	 * If the map does not contain the key, nothing happens.
+	 * @param key The key of the entry that should be removed.
+	 * @return The value of the entry that was removed.
+	 * If no entry was removed, {@code null} is returned.
+	 */
+	public V remove(int key) {
+		int index = this.findIndex(key);
+		if (index < 0) {
+			return null; // The key was not found
+		}
+		
+		this.modcount++;
+		V prev = this.valueAt(index);
+		this.removeSlot(index, null);
+		this.size--;
+		return prev;
+	}
+	
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		this.modcount++;
+		this.size = 0L;
+		
+		Object[] values = this.values;
+		if (values == null) {
+			return; // Table is already empty
+		}
+		
+		// Free all slots. The keys of free slots are irrelevant.
+		Arrays.fill(values, null);
+	}
+	
+	@Override
+	public void forEach(Consumer<? super IntEntry<V>> action) {
+		Object[] values = this.values;
+		if (values == null) {
+			return; // The map is empty
+		}
+		
+		// Iterate all occupied slots.
+		int[] keys = this.keys;
+		int n = values.length;
+		for (int i = 0; i < n; i++) {
+			if (values[i] != null) {
+				action.accept(new SlotEntry(keys[i], i));
+			}
+		}
+	}
+	
+	/**
+	 * Puts all mappings of the specified map into this map.
+	 * Keys that are present in both maps are replaced in this map.
+	 * If the specified map is {@code null} or this map, nothing happens.
+	 * @param otherMap The map whose mappings should be put into this map. May be {@code null}.
+	 */
+	public void putAll(IntOpenHashMap<V> otherMap) {
+		// If the map is null, it is considered empty.
+		// If the other map is this map, all entries are already present. Prevents concurrent modification.
+		if (otherMap == null || otherMap == this) {
+			return;
+		}
+		
+		// Avoids multiple resizes.
+		this.ensureCapacity(Math.max(this.size, otherMap.size));
+		
+		Object[] otherValues = otherMap.values;
+		if (otherValues == null) {
+			return;
+		}
+		int[] otherKeys = otherMap.keys;
+		int n = otherValues.length;
+		for (int i = 0; i < n; i++) {
+			Object value = otherValues[i];
+			if (value != null) {
+				@SuppressWarnings("unchecked")
+				V v = (V) value;
+				this.put(otherKeys[i], v);
+			}
+		}
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != this.getClass()) {
+			return false;
+		}
+		
+		// Checks the sizes.
+		IntOpenHashMap<?> other = (IntOpenHashMap<?>) obj;
+		if (this.size != other.size) {
+			return false;
+		}
+		if (other.values == null) {
+			return true; // Both maps are empty
+		}
+		
+		// Checks that the other map is a subset of this map.
+		int[] otherKeys = other.keys;
+		Object[] otherValues = other.values;
+		int n = otherValues.length;
+		for (int i = 0; i < n; i++) {
+			Object otherValue = otherValues[i];
+			if (otherValue == null) {
+				continue;
+			}
+			V thisValue = this.get(otherKeys[i]);
+			if (thisValue == null) {
+				return false; // This does not contain the current entry
+			}
+			if (!thisValue.equals(otherValue)) {
+				return false; // The values for the current key differ.
+			}
+		}
+		
+		// If this map contains all entries of the other map and the sizes are the same,
+		// the maps are equal.
+		return true;
+	}
+	
+	@Override
+	public int hashCode() {
+		Object[] values = this.values;
+		if (values == null) {
+			return 0;
+		}
+		
+		// The order of the loop is undefined, but '+' is commutative.
+		// Equivalent to the hash code of the IntHashMap.
+		int[] keys = this.keys;
+		int result = 0;
+		int n = values.length;
+		for (int i = 0; i < n; i++) {
+			Object value = values[i];
+			if (value != null) {
+				result += value.hashCode() + keys[i];
+			}
+		}
+		return result;
+	}
+	
+	
+	private static final int indexOf(int key, int mask) {
+		// Linear probing requires the low bits to depend on all bits of the key.
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private final V valueAt(int index) {
+		return (V) this.values[index];
+	}
+	
+	/**
+	 * Returns the index of the slot that contains the specified key.
+	 * @param key The key.
+	 * @return The index of the slot. If the key is not present in this map, {@code -1} is returned.
+	 */
+	private final int findIndex(int key) {
+		Object[] values = this.values;
+		if (values == null) {
+			return -1;
+		}
+		int[] keys = this.keys;
+		int mask = this.mask;
+		int index = indexOf(key, mask);
+		
+		// The probe sequence ends at the first free slot.
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+	
+	private final V insert(int key, V value, boolean replace) {
+		// Initialize the table if needed.
+		Object[] values = this.values;
+		if (values == null) {
+			values = this.resize(MIN_TABLE_SIZE);
+		}
+		int[] keys = this.keys;
+		int mask = this.mask;
+		int index = indexOf(key, mask);
+		
+		// If the key is already present in the map, its value is returned.
+		Object current;
+		while ((current = values[index]) != null) {
+			if (keys[index] == key) {
+				if (replace) {
+					values[index] = value;
+				}
+				@SuppressWarnings("unchecked")
+				V prev = (V) current;
+				return prev;
+			}
+			index = (index + 1) & mask;
+		}
+		
+		// If the key is not present, the free slot at the end of the probe sequence is used.
+		// The size increases by 1.
+		// At least one slot must stay free to terminate the probe sequences.
+		// The table is only that full if it cannot be enlarged anymore.
+		if (this.size + 1 >= values.length) {
+			throw new OutOfMemoryError("IntOpenHashMap size exceeds limit");
+		}
+		keys[index] = key;
+		values[index] = value;
+		adjustTableSize(++this.size);
+		return null;
+	}
+	
+	/**
+	 * Frees the specified slot and moves the following entries of the probe sequence
+	 * back to close the gap (backward shift deletion). No tombstones are required.
+	 * @param gap The index of the slot that should be freed.
+	 * @param iterator The iterator that removes the slot. May be {@code null}.
+	 * Entries that are moved across the end of the table are reported to it.
+	 */
+	private final void removeSlot(int gap, EntryIterator iterator) {
+		int[] keys = this.keys;
+		Object[] values = this.values;
+		int mask = this.mask;
+		
+		int index = gap;
+		while (true) {
+			index = (index + 1) & mask;
+			Object value = values[index];
+			if (value == null) {
+				break; // End of the probe sequence
+			}
+			
+			// The entry can be moved into the gap if its home slot is not between the gap and its current slot.
+			int key = keys[index];
+			int home = indexOf(key, mask);
+			if (((index - home) & mask) >= ((index - gap) & mask)) {
+				if (iterator != null && index < gap) {
+					iterator.moved(key, index);
+				}
+				keys[gap] = key;
+				values[gap] = value;
+				gap = index;
+			}
+		}
+		values[gap] = null;
+	}
+	
+	/**
+	 * Adjusts the table size if necessary.
+	 * <p>
+	 * It is assumed that the table has been initialized (not {@code null}).
+	 * @param newSize The amount of elements in the map.
+	 */
+	private void adjustTableSize(long newSize) {
+		if (newSize >= this.enlargeThreshold) {
+			int tableSize = this.values.length;
+			if (tableSize < MAX_TABLE_SIZE) {
+				this.resize(tableSize << 1); // Double the table size
+			}
+		}
+	}
+	
+	/**
+	 * Calculates the smallest table size that can hold the specified amount of entries without resizing.
+	 * @param capacity The amount of entries.
+	 * @return The table size. A power of 2.
+	 */
+	private int tableSizeFor(long capacity) {
+		int tableSize = MIN_TABLE_SIZE;
+		while (tableSize < MAX_TABLE_SIZE && (long) (tableSize * this.loadFactor) <= capacity) {
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+	
+	private Object[] resize(int newTableSize) {
+		int newMask = newTableSize-1; // = 2^n-1 = 0b0..01..1
+		this.mask = newMask;
+		this.enlargeThreshold = (long) (newTableSize * this.loadFactor);
+		
+		int[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		int[] newKeys = new int[newTableSize];
+		Object[] newValues = new Object[newTableSize];
+		
+		// Moves the entries from the old table to the new one.
+		// The keys are known to be distinct, so they are placed into the first free slot.
+		if (oldValues != null) {
+			int n = oldValues.length;
+			for (int i = 0; i < n; i++) {
+				Object value = oldValues[i];
+				if (value == null) {
+					continue;
+				}
+				int key = oldKeys[i];
+				int index = indexOf(key, newMask);
+				while (newValues[index] != null) {
+					index = (index + 1) & newMask;
+				}
+				newKeys[index] = key;
+				newValues[index] = value;
+			}
+		}
+		
+		this.keys = newKeys;
+		return this.values = newValues;
+	}
+	
+	
+	/**
+	 * An entry of this map that is created on demand.
+	 * The slot of the key is cached, but might change if other entries are removed.
+	 */
+	private final class SlotEntry implements IntEntry<V> {
+		private final int key;
+		private V value;
+		private int index;
+		
+		private SlotEntry(int key, int index) {
+			this.key = key;
+			this.index = index;
+			this.value = valueAt(index);
+		}
+		
+		/**
+		 * Returns the current slot of the key.
+		 * @return The index of the slot. If the key has been removed, {@code -1} is returned.
+		 */
+		private int slot() {
+			int i = this.index;
+			Object[] values = IntOpenHashMap.this.values;
+			if (values != null && i >= 0 && i < values.length && values[i] != null && keys[i] == this.key) {
+				return i;
+			}
+			return this.index = findIndex(this.key);
+		}
+		
+		@Override
+		public int getKey() {
+			return this.key;
+		}
+		
+		@Override
+		public V getValue() {
+			// If the entry is still present, the value might have been replaced.
+			int i = this.slot();
+			if (i >= 0) {
+				this.value = valueAt(i);
+			}
+			return this.value;
+		}
+		
+		@Override
+		public void setValue(V value) {
+			requireNotNull(value, "The value ...");
+			this.value = value;
+			int i = this.slot();
+			if (i >= 0) {
+				values[i] = value;
+			}
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != this.getClass()) {
+				return false;
+			}
+			
+			IntOpenHashMap<?>.SlotEntry other = (IntOpenHashMap<?>.SlotEntry) obj;
+			return this.key == other.key && Objects.equals(this.getValue(), other.getValue());
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(this.getValue()) + key;
+		}
+	}
+	
+	
+	@Override
+	public Iterator<IntEntry<V>> iterator() {
+		return new EntryIterator();
+	}
+	
+	/**
+	 * Iterates the slots from the end to the beginning of the table.
+	 * Removing the current entry can only move entries to visited slots.
+	 * Entries that are moved from unvisited slots across the end of the table
+	 * are remembered and returned after the scan.
+	 */
+	private final class EntryIterator implements Iterator<IntEntry<V>> {
+		private int initModCount;
+		private int scanIndex; // All slots >= scanIndex have been visited.
+		private int nextIndex; // The next occupied slot < scanIndex. -1 if none, -2 if unknown.
+		private int[] movedKeys;
+		private int movedCount;
+		private int currentKey;
+		private boolean hasCurrent;
+		
+		private EntryIterator() {
+			this.initModCount = modcount;
+			this.scanIndex = values != null ? values.length : 0;
+			this.nextIndex = -2;
+			this.movedKeys = null;
+			this.movedCount = 0;
+			this.hasCurrent = false;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return this.findNextIndex() >= 0 || this.movedCount > 0;
+		}
+		
+		@Override
+		public IntEntry<V> next() {
+			if (this.initModCount != modcount) {
+				throw new ConcurrentModificationException();
+			}
+			
+			// Scan the table first.
+			int index = this.findNextIndex();
+			if (index >= 0) {
+				this.scanIndex = index;
+				this.nextIndex = -2;
+			}
+			else if (this.movedCount > 0) {
+				index = findIndex(this.movedKeys[--this.movedCount]);
+			}
+			else {
+				throw new NoSuchElementException();
+			}
+			
+			this.currentKey = keys[index];
+			this.hasCurrent = true;
+			return new SlotEntry(this.currentKey, index);
+		}
+		
+		@Override
+		public void remove() {
+			if (this.initModCount != modcount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!this.hasCurrent) {
+				throw new IllegalStateException("No element to remove!");
+			}
+			
+			removeSlot(findIndex(this.currentKey), this);
+			size--;
+			this.initModCount = ++modcount;
+			
+			// The removal might have moved the next entry.
+			this.hasCurrent = false;
+			this.nextIndex = -2;
+		}
+		
+		private int findNextIndex() {
+			int index = this.nextIndex;
+			if (index != -2) {
+				return index;
+			}
+			if (this.initModCount != modcount) {
+				throw new ConcurrentModificationException();
+			}
+			
+			Object[] v = values;
+			index = this.scanIndex;
+			while (--index >= 0) {
+				if (v[index] != null) {
+					break;
+				}
+			}
+			return this.nextIndex = index;
+		}
+		
+		/**
+		 * Called if an entry is moved from the specified slot across the end of the table.
+		 * @param key The key of the moved entry.
+		 * @param fromIndex The slot that contained the entry.
+		 */
+		private void moved(int key, int fromIndex) {
+			if (fromIndex >= this.scanIndex) {
+				return; // The entry has already been visited
+			}
+			int[] movedKeys = this.movedKeys;
+			if (movedKeys == null) {
+				movedKeys = this.movedKeys = new int[4];
+			}
+			else if (this.movedCount >= movedKeys.length) {
+				movedKeys = this.movedKeys = Arrays.copyOf(movedKeys, movedKeys.length * 2);
+			}
+			movedKeys[this.movedCount++] = key;
+		}
+	}
+	
+}
@@ -0,0 +1,845 @@
+package de.tomatengames.util.map;
+
+import static de.tomatengames.util.HashUtil.fmix;
+import static de.tomatengames.util.RequirementUtil.requireNotNegative;
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+import static de.tomatengames.util.RequirementUtil.requirePositive;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import de.tomatengames.util.function.IntToDoubleFunction;
+import de.tomatengames.util.function.DoubleToDoubleFunction;
+
+/**
+ * A {@link HashMap}-like data structure that maps {@code int} keys to {@code double} values.
+ * Equality of keys is checked by using the {@code ==} operator
+ * <p>
+ * The values are stored as primitives and are never boxed.
+ * Methods that return a value return {@code 0.0} if the key is not present.
+ * Use {@link #containsKey(int)} to distinguish absent keys from zero values.
+ * This implementation does <b>not</b> allow concurrent modifications.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+// !!! TextScript generated !!!
+public final class IntToDoubleHashMap implements Iterable<IntToDoubleEntry> {
+	private static final double DEFAULT_LOAD_FACTOR = 0.75;
+	private static final int MIN_TABLE_SIZE = 16;
+	private static final int MAX_TABLE_SIZE = 1 << 30;
+	private static final int MIGRATE_STEP_BUCKETS = 16;
+	
+	private final double loadFactor;
+	private int mask;
+	private long enlargeThreshold;
+	private Node[] table;
+	private long size;
+	private int modcount;
+	private boolean incrementalResize;
+	private Node[] oldTable;
+	private int migrateIndex;
+	
+	/**
+	 * Creates a new and empty {@link IntToDoubleHashMap}.
+	 */
+	public IntToDoubleHashMap() {
+		this(0L, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link IntToDoubleHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @throws IllegalArgumentException If the expected size is negative.
+	 */
+	public IntToDoubleHashMap(long expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link IntToDoubleHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @param loadFactor The maximum ratio of entries to buckets. If it is exceeded, the table is enlarged.
+	 * Must be positive. The default load factor is {@code 0.75}.
+	 * @throws IllegalArgumentException If the expected size is negative or the load factor is not positive.
+	 */
+	public IntToDoubleHashMap(long expectedSize, double loadFactor) {
+		requireNotNegative(expectedSize, "The expected size ...");
+		requirePositive(loadFactor, "The load factor ...");
+		this.loadFactor = loadFactor;
+		this.size = 0L;
+		this.mask = 0;
+		this.enlargeThreshold = 0;
+		this.modcount = 0;
+		this.table = null;
+		this.incrementalResize = false;
+		this.oldTable = null;
+		this.migrateIndex = 0;
+		if (expectedSize > 0L) {
+			this.resize(this.tableSizeFor(expectedSize), false);
+		}
+	}
+	
+	/**
+	 * Creates a new {@link IntToDoubleHashMap} that contains all the mappings of the specified map.
+	 * The new map uses the load factor of the specified map.
+	 * @param map The mappings that should be cloned. May be {@code null}.
+	 */
+	public IntToDoubleHashMap(IntToDoubleHashMap map) {
+		this(map != null ? map.size : 0L, map != null ? map.loadFactor : DEFAULT_LOAD_FACTOR);
+		this.putAll(map);
+	}
+	
+	/**
+	 * Returns the number of entries in this map.
+	 * @return The number of entries.
+	 */
+	public long size() {
+		return size;
+	}
+	
+	/**
+	 * Returns if this map does not contain any entry.
+	 * @return If this map has no entries.
+	 */
+	public boolean isEmpty() {
+		return this.size <= 0;
+	}
+	
+	/**
+	 * Sets if the table of this map should be resized incrementally.
+	 * <p>
+	 * By default, all entries are moved into the new table at once if the table is enlarged.
+	 * For large maps, this causes a single insertion to take considerably longer than the others.
+	 * If incremental resizing is enabled, only the new table is allocated at once.
+	 * The entries are moved in small steps by the following insertions and removals,
+	 * so the time of a single operation stays bounded.
+	 * Until all entries have been moved, the old table is kept and lookups might check both tables.
+	 * <p>
+	 * If incremental resizing is disabled while entries are being moved, the remaining entries are moved immediately.
+	 * @param incrementalResize If the table should be resized incrementally.
+	 */
+	public void setIncrementalResize(boolean incrementalResize) {
+		this.incrementalResize = incrementalResize;
+		if (!incrementalResize && this.oldTable != null) {
+			this.modcount++;
+			this.migrate(Integer.MAX_VALUE);
+		}
+	}
+	
+	/**
+	 * Returns if the table of this map is resized incrementally.
+	 * @return If the table is resized incrementally.
+	 * @see #setIncrementalResize(boolean)
+	 */
+	public boolean isIncrementalResize() {
+		return this.incrementalResize;
+	}
+	
+	/**
+	 * Enlarges the table of this map, so that it can hold the specified amount of entries without resizing.
+	 * If the table is already large enough, nothing happens.
+	 * <p>
+	 * This method should be called before many entries are put into this map.
+	 * @param capacity The amount of entries. Must not be negative.
+	 * @throws IllegalArgumentException If the capacity is negative.
+	 */
+	public void ensureCapacity(long capacity) {
+		requireNotNegative(capacity, "The capacity ...");
+		int tableSize = this.tableSizeFor(capacity);
+		Node[] table = this.table;
+		if (table == null || table.length < tableSize) {
+			this.rebuild(tableSize);
+		}
+	}
+	
+	/**
+	 * Shrinks the table of this map to the smallest size that can hold the current entries without resizing.
+	 * If this map is empty, the table is released.
+	 * <p>
+	 * This method can be used to release memory after many entries have been removed.
+	 */
+	public void trimToSize() {
+		Node[] table = this.table;
+		if (table == null) {
+			return; // No table to shrink
+		}
+		if (this.size <= 0L) {
+			this.modcount++;
+			this.table = null;
+			this.oldTable = null;
+			this.mask = 0;
+			this.enlargeThreshold = 0;
+			return;
+		}
+		int tableSize = this.tableSizeFor(this.size);
+		if (tableSize < table.length) {
+			this.rebuild(tableSize);
+		}
+	}
+	
+	/**
+	 * Returns the distribution of the entries over the buckets of this map.
+	 * The element at index {@code i} of the returned array is the amount of buckets
+	 * that contain exactly {@code i} entries.
+	 * The length of the array is the length of the longest chain plus one.
+	 * <p>
+	 * This method can be used to check whether the actual keys are spread well over the buckets.
+	 * It iterates over the whole table, so it should not be called frequently.
+	 * @return The histogram of the chain lengths. Not {@code null}.
+	 */
+	public int[] chainLengthHistogram() {
+		int[] histogram = countChainLengths(new int[1], this.table, 0);
+		if (this.oldTable != null) {
+			// The buckets before the migrate index have already been moved into the current table.
+			histogram = countChainLengths(histogram, this.oldTable, this.migrateIndex);
+		}
+		return histogram;
+	}
+	
+	private static final int[] countChainLengths(int[] histogram, Node[] table, int start) {
+		if (table == null) {
+			return histogram;
+		}
+		for (int i = start; i < table.length; i++) {
+			int length = 0;
+			for (Node node = table[i]; node != null; node = node.next) {
+				length++;
+			}
+			if (length >= histogram.length) {
+				histogram = Arrays.copyOf(histogram, length+1);
+			}
+			histogram[length]++;
+		}
+		return histogram;
+	}
+	
+	/**
+	 * Associates the specified key with the specified value.
+	 * If the key is already present in this map, the previous value is replaced.
+	 * @param key The key of the new mapping.
+	 * @param value The value of the new mapping.
+	 * @return The value that was previously mapped to the key.
+	 * If the key was not present in this map, {@code 0.0} is returned.
+	 */
+	public double put(int key, double value) {
+		this.modcount++;
+		Node node = this.findOrCreate(key);
+		double prev = node.value;
+		node.value = value; // Might replace the previous value
+		return prev;
+	}
+	
+	/**
+	 * Associates the specified key with the specified value.
+	 * If the key is already present in this map, nothing happens.
+	 * @param key The key of the new mapping.
+	 * @param value The value of the new mapping.
+	 * @return If the new value has been put into the map.
+	 * If {@code false}, the previous value is still present.
+	 */
+	public boolean putIfAbsent(int key, double value) {
+		Node node = this.find(key);
+		if (node != null) {
+			return false; // The key is already present
+		}
+		this.modcount++;
+		this.createNode(key).value = value;
+		return true;
+	}
+	
+	/**
+	 * Returns the value that is mapped to the specified key.
+	 * @param key The key whose value should be returned.
+	 * @return The value that the specified key is mapped to.
+	 * If this map does not contain the key, {@code 0.0} is returned.
+	 */
+	public double get(int key) {
+		Node node = this.find(key);
+		return node != null ? node.value : 0.0;
+	}
+	
+	/**
+	 * Returns the value that is mapped to the specified key
+	 * or the specified default value if the key is not present.
+	 * @param key The key whose value should be returned.
+	 * @param defaultValue The value that is returned if this map does not contain the key.
+	 * @return The value that the specified key is mapped to or the default value.
+	 */
+	public double getOrDefault(int key, double defaultValue) {
+		Node node = this.find(key);
+		return node != null ? node.value : defaultValue;
+	}
+	
+	/**
+	 * Returns if the specified key is present in this map.
+	 * @param key The key that should be checked.
+	 * @return If the specified key is present in this map.
+	 */
+	public boolean containsKey(int key) {
+		return this.find(key) != null;
+	}
+	
+	/**
+	 * Removes the entry with the specified key from this map.
+	 * If the map does not contain the key, nothing happens.
+	 * @param key The key of the entry that should be removed.
+	 * @return The value of the entry that was removed.
+	 * If no entry was removed, {@code 0.0} is returned.
+	 */
+	public double remove(int key) {
+		Node node = removeNode(key, this.table, this.mask);
+		if (node == null && this.oldTable != null) {
+			// If the table is being resized, the node might still be in the old table.
+			node = removeNode(key, this.oldTable, this.oldTable.length-1);
+		}
+		if (node == null) {
+			return 0.0; // If the key was not found.
+		}
+		
+		this.modcount++;
+		this.size--;
+		if (this.oldTable != null) {
+			this.migrate(MIGRATE_STEP_BUCKETS);
+		}
+		return node.value;
+	}
+	
+	/**
+	 * Adds the specified value to the value that is mapped to the specified key.
+	 * If the key is not present in this map, it is mapped to the specified value.
+	 * @param key The key whose value should be increased.
+	 * @param delta The value that should be added.
+	 * @return The new value that is mapped to the key.
+	 */
+	public double addTo(int key, double delta) {
+		this.modcount++;
+		Node node = this.findOrCreate(key);
+		return node.value += delta;
+	}
+	
+	/**
+	 * Increments the value that is mapped to the specified key by {@code 1.0}.
+	 * If the key is not present in this map, it is mapped to {@code 1.0}.
+	 * @param key The key whose value should be incremented.
+	 * @return The new value that is mapped to the key.
+	 */
+	public double increment(int key) {
+		return this.addTo(key, 1.0);
+	}
+	
+	/**
+	 * Returns the value that is mapped to the specified key.
+	 * If the key is not present in this map, the mapping function is called
+	 * and the key is mapped to its result.
+	 * @param key The key whose value should be returned.
+	 * @param mappingFunction The function that computes the value from the key. Not {@code null}.
+	 * It must not modify this map.
+	 * @return The value that is mapped to the key.
+	 * @throws IllegalArgumentException If the mapping function is {@code null}.
+	 */
+	public double computeIfAbsent(int key, IntToDoubleFunction mappingFunction) {
+		requireNotNull(mappingFunction, "The mapping function ...");
+		Node node = this.find(key);
+		if (node != null) {
+			return node.value;
+		}
+		double value = mappingFunction.apply(key);
+		this.modcount++;
+		this.createNode(key).value = value;
+		return value;
+	}
+	
+	/**
+	 * Replaces the value that is mapped to the specified key by the result of the remapping function.
+	 * If the key is not present in this map, the remapping function is applied to the initial value
+	 * and the key is mapped to its result.
+	 * @param key The key whose value should be computed.
+	 * @param initialValue The value that is passed to the remapping function if the key is not present.
+	 * @param remappingFunction The function that computes the new value from the current value. Not {@code null}.
+	 * It must not modify this map.
+	 * @return The new value that is mapped to the key.
+	 * @throws IllegalArgumentException If the remapping function is {@code null}.
+	 */
+	public double compute(int key, double initialValue, DoubleToDoubleFunction remappingFunction) {
+		requireNotNull(remappingFunction, "The remapping function ...");
+		Node node = this.find(key);
+		double value = remappingFunction.apply(node != null ? node.value : initialValue);
+		if (node == null) {
+			node = this.createNode(key);
+		}
+		this.modcount++;
+		node.value = value;
+		return value;
+	}
+	
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		this.modcount++;
+		this.size = 0L;
+		this.oldTable = null; // The remaining nodes of the old table do not have to be moved
+		
+		Node[] table = this.table;
+		if (table == null) {
+			return; // Table is already empty
+		}
+		
+		// Unlink all entries.
+		int n = table.length;
+		for (int i = 0; i < n; i++) {
+			table[i] = null;
+		}
+	}
+	
+	@Override
+	public void forEach(Consumer<? super IntToDoubleEntry> action) {
+		// If the table is being resized, some nodes are still in the old table.
+		forEachNode(this.oldTable, action);
+		forEachNode(this.table, action);
+	}
+	
+	/**
+	 * Puts all mappings of the specified map into this map.
+	 * Keys that are present in both maps are replaced in this map.
+	 * If the specified map is {@code null} or this map, nothing happens.
+	 * @param otherMap The map whose mappings should be put into this map. May be {@code null}.
+	 */
+	public void putAll(IntToDoubleHashMap otherMap) {
+		// If the map is null, it is considered empty.
+		// If the other map is this map, all entries are already present. Prevents concurrent modification.
+		if (otherMap == null || otherMap == this) {
+			return;
+		}
+		
+		// Avoids multiple resizes. If the table is resized incrementally, a single large resize is not desired.
+		if (!this.incrementalResize) {
+			this.ensureCapacity(Math.max(this.size, otherMap.size));
+		}
+		otherMap.forEach(entry -> this.put(entry.getKey(), entry.getValue()));
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != this.getClass()) {
+			return false;
+		}
+		
+		// Checks the sizes.
+		IntToDoubleHashMap other = (IntToDoubleHashMap) obj;
+		if (this.size != other.size) {
+			return false;
+		}
+		
+		// Checks that the other map is a subset of this map.
+		for (IntToDoubleEntry entry : other) {
+			Node thisNode = this.find(entry.getKey());
+			if (thisNode == null) {
+				return false; // This does not contain the current entry
+			}
+			if (!(Double.doubleToLongBits(thisNode.value) == Double.doubleToLongBits(entry.getValue()))) {
+				return false; // The values for the current key differ.
+			}
+		}
+		
+		// If this map contains all entries of the other map and the sizes are the same,
+		// the maps are equal.
+		return true;
+	}
+	
+	@Override
+	public int hashCode() {
+		// The order of the loop is undefined, but '+' is commutative.
+		int result = 0;
+		for (IntToDoubleEntry entry : this) {
+			result += entry.hashCode();
+		}
+		return result;
+	}
+	
+	
+	
+	
+	private static final int indexOf(int key, int mask) {
+		// The hash is finalized, so that clustered keys (e.g. coordinates) are spread over all buckets.
+		return fmix(key) & mask;
+	}
+	
+	private static final Node findNode(int key, Node[] table, int mask) {
+		if (table == null) {
+			return null;
+		}
+		int index = indexOf(key, mask);
+		Node node = table[index];
+		while (node != null) {
+			if (node.key == key) {
+				return node;
+			}
+			node = node.next;
+		}
+		return null;
+	}
+	
+	private final Node find(int key) {
+		Node node = findNode(key, this.table, this.mask);
+		if (node == null && this.oldTable != null) {
+			// If the table is being resized, the node might still be in the old table.
+			node = findNode(key, this.oldTable, this.oldTable.length-1);
+		}
+		return node;
+	}
+	
+	private static final Node removeNode(int key, Node[] table, int mask) {
+		if (table == null) {
+			return null;
+		}
+		int index = indexOf(key, mask);
+		
+		// Search for the key.
+		Node node = table[index];
+		Node prev = null;
+		while (node != null) {
+			if (node.key == key) {
+				// Unlink the found node.
+				if (prev != null) {
+					prev.next = node.next;
+				}
+				else {
+					table[index] = node.next;
+				}
+				return node;
+			}
+			prev = node;
+			node = node.next;
+		}
+		return null;
+	}
+	
+	private final Node findOrCreate(int key) {
+		// If the key is already present in the map, it is returned.
+		Node node = this.find(key);
+		if (node != null) {
+			return node;
+		}
+		return this.createNode(key);
+	}
+	
+	/**
+	 * Inserts a new node with the specified key.
+	 * <p>
+	 * It is assumed that the key is not present in this map.
+	 * @param key The key of the new node.
+	 * @return The new node.
+	 */
+	private final Node createNode(int key) {
+		// Initialize the table if needed.
+		Node[] table = this.table;
+		if (table == null) {
+			table = this.resize(MIN_TABLE_SIZE, false);
+		}
+		
+		// If the key is not present, a new Node is inserted.
+		// The size increases by 1.
+		Node newNode = new Node(key);
+		insertNode(newNode, table, this.mask);
+		adjustTableSize(++this.size);
+		return newNode;
+	}
+	
+	/**
+	 * Adjusts the table size if necessary.
+	 * <p>
+	 * It is assumed that the table has been initialized (not {@code null}).
+	 * @param newSize The amount of elements in the map.
+	 */
+	private void adjustTableSize(long newSize) {
+		// While the nodes of the old table are being moved, the table is not enlarged again.
+		if (this.oldTable != null) {
+			this.migrate(MIGRATE_STEP_BUCKETS);
+			return;
+		}
+		if (newSize >= this.enlargeThreshold) {
+			int tableSize = this.table.length;
+			if (tableSize < MAX_TABLE_SIZE) {
+				this.resize(tableSize << 1, this.incrementalResize); // Double the table size
+				return;
+			}
+			return; // Do nothing, if the table has reached its maximum size
+		}
+	}
+	
+	/**
+	 * Calculates the smallest table size that can hold the specified amount of entries without resizing.
+	 * @param capacity The amount of entries.
+	 * @return The table size. A power of 2.
+	 */
+	private int tableSizeFor(long capacity) {
+		int tableSize = MIN_TABLE_SIZE;
+		while (tableSize < MAX_TABLE_SIZE && (long) (tableSize * this.loadFactor) <= capacity) {
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+	
+	/**
+	 * Moves all nodes into a new table at once.
+	 * @param newTableSize The size of the new table. A power of 2.
+	 */
+	private void rebuild(int newTableSize) {
+		this.modcount++;
+		if (this.oldTable != null) {
+			this.migrate(Integer.MAX_VALUE); // Finishes the incremental resize
+		}
+		this.resize(newTableSize, false);
+	}
+	
+	private Node[] resize(int newTableSize, boolean incremental) {
+		int newMask = newTableSize-1; // = 2^n-1 = 0b0..01..1
+		this.mask = newMask;
+		this.enlargeThreshold = (long) (newTableSize * this.loadFactor);
+		
+		Node[] oldTable = this.table;
+		Node[] newTable = new IntToDoubleHashMap.Node[newTableSize];
+		this.table = newTable;
+		
+		if (oldTable != null) {
+			if (incremental) {
+				// The nodes are moved by the following modifications.
+				this.oldTable = oldTable;
+				this.migrateIndex = 0;
+			}
+			else {
+				// Moves the nodes from the old table to the new one.
+				for (Node rootNode : oldTable) {
+					Node node = rootNode;
+					while (node != null) {
+						Node next = node.next;
+						insertNode(node, newTable, newMask);
+						node = next;
+					}
+				}
+			}
+		}
+		
+		return newTable;
+	}
+	
+	/**
+	 * Moves the nodes of some buckets of the old table into the current table.
+	 * If all buckets have been moved, the old table is released.
+	 * <p>
+	 * It is assumed that the old table is not {@code null}.
+	 * @param bucketCount The maximum amount of buckets that should be moved.
+	 */
+	private void migrate(int bucketCount) {
+		Node[] oldTable = this.oldTable;
+		Node[] table = this.table;
+		int mask = this.mask;
+		int n = oldTable.length;
+		int i = this.migrateIndex;
+		int end = n - i > bucketCount ? i + bucketCount : n;
+		for (; i < end; i++) {
+			Node node = oldTable[i];
+			oldTable[i] = null;
+			while (node != null) {
+				Node next = node.next;
+				insertNode(node, table, mask);
+				node = next;
+			}
+		}
+		
+		this.migrateIndex = i;
+		if (i >= n) {
+			this.oldTable = null; // All nodes have been moved
+		}
+	}
+	
+	private static final void insertNode(Node node, Node[] table, int mask) {
+		int index = indexOf(node.key, mask);
+		node.next = table[index];
+		table[index] = node;
+	}
+	
+	private static final void forEachNode(Node[] table, Consumer<? super IntToDoubleEntry> action) {
+		if (table == null) {
+			return; // No nodes
+		}
+		
+		// Iterate all nodes.
+		int n = table.length;
+		for (int i = 0; i < n; i++) {
+			Node node = table[i];
+			while (node != null) {
+				action.accept(node);
+				node = node.next;
+			}
+		}
+	}
+	
+	
+	private static class Node implements IntToDoubleEntry {
+		private final int key;
+		private double value;
+		private Node next;
+		
+		private Node(int key) {
+			this.key = key;
+			this.value = 0.0;
+			this.next = null;
+		}
+		
+		@Override
+		public int getKey() {
+			return this.key;
+		}
+		
+		
+		@Override
+		public double getValue() {
+			return this.value;
+		}
+		
+		@Override
+		public void setValue(double value) {
+			this.value = value;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != this.getClass()) {
+				return false;
+			}
+			
+			Node other = (Node) obj;
+			return this.key == other.key && Double.doubleToLongBits(this.value) == Double.doubleToLongBits(other.value);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Double.hashCode(this.value) + key;
+		}
+	}
+	
+	
+	@Override
+	public Iterator<IntToDoubleEntry> iterator() {
+		return new NodeIterator();
+	}
+	
+	private final class NodeIterator implements Iterator<IntToDoubleEntry> {
+		private Node[] currentTable, nextTable;
+		private int currentIndex, nextIndex;
+		private Node currentNode, nextNode;
+		private int initModCount;
+		
+		private NodeIterator() {
+			this.initModCount = modcount;
+			this.currentTable = null;
+			this.currentIndex = 0;
+			this.currentNode = null;
+			// If the table is being resized, the old table is iterated first.
+			this.nextTable = oldTable != null ? oldTable : table;
+			this.nextIndex = -1;
+			this.nextNode = null;
+			this.findNextNode();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return this.nextNode != null;
+		}
+		
+		@Override
+		public IntToDoubleEntry next() {
+			Node next = this.nextNode;
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			this.currentTable = this.nextTable;
+			this.currentIndex = this.nextIndex;
+			this.currentNode = next;
+			this.findNextNode();
+			return next;
+		}
+		
+		@Override
+		public void remove() {
+			if (this.initModCount != modcount) {
+				throw new ConcurrentModificationException();
+			}
+			Node current = this.currentNode;
+			if (current == null) {
+				throw new IllegalStateException("No element to remove!");
+			}
+			
+			// Unlink the current node.
+			// The previous node in the bucket is searched, because the previously returned node might have been removed.
+			Node[] t = this.currentTable;
+			int index = this.currentIndex;
+			Node node = t[index];
+			if (node == current) {
+				t[index] = current.next;
+			}
+			else {
+				while (node.next != current) {
+					node = node.next;
+				}
+				node.next = current.next;
+			}
+			size--;
+			this.initModCount = ++modcount;
+			
+			// Mark the current node as removed.
+			this.currentNode = null;
+		}
+		
+		private void findNextNode() {
+			if (this.initModCount != modcount) {
+				throw new ConcurrentModificationException();
+			}
+			
+			// If the current node has a next node, it is the next node.
+			Node node = this.nextNode;
+			if (node != null && node.next != null) {
+				this.nextNode = node.next;
+				return;
+			}
+			
+			// Otherwise, the next buckets have to be checked.
+			// The search starts in the bucket after the current node.
+			Node[] t = this.nextTable;
+			int i = this.nextIndex + 1;
+			while (t != null) {
+				int n = t.length;
+				for (; i < n; i++) {
+					Node el = t[i];
+					if (el != null) {
+						this.nextTable = t;
+						this.nextIndex = i;
+						this.nextNode = el;
+						return;
+					}
+				}
+				// After the old table, the current table is iterated.
+				t = t == oldTable ? table : null;
+				i = 0;
+			}
+			// If no next node was found.
+			this.nextTable = null;
+			this.nextNode = null;
+		}
+	}
+	
+}
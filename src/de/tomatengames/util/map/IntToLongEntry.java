@@ -0,0 +1,38 @@
+package de.tomatengames.util.map;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * Represents a key-value mapping.
+ * This entry type is used by the {@link IntToLongHashMap}.
+ * 
+ * @author Basic7x7
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+// !!! TextScript generated !!!
+public interface IntToLongEntry {
+	
+	/**
+	 * Returns the component 'key' of the key of this mapping.
+	 * @return The key of this mapping.
+	 */
+	public int getKey();
+	
+	
+	/**
+	 * Returns the value of this mapping.
+	 * @return The value.
+	 */
+	public long getValue();
+	
+	/**
+	 * Sets the value of this mapping.
+	 * The previous value is replaced.
+	 * <p>
+	 * This method can be used instead of {@code map.put(key, value)}.
+	 * Iterators do not throw a {@link ConcurrentModificationException} if this method is used.
+	 * @param value The new value of this mapping.
+	 */
+	public void setValue(long value);
+}
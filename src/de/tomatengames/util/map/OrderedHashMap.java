@@ -1,6 +1,8 @@
 package de.tomatengames.util.map;
 
+import static de.tomatengames.util.RequirementUtil.requireNotNegative;
 import static de.tomatengames.util.RequirementUtil.requireNotNull;
+import static de.tomatengames.util.RequirementUtil.requirePositive;
 
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
@@ -26,15 +28,16 @@ import java.util.function.Consumer;
  * @param <V> The type of the values.
  * 
  * @author Basic7x7
- * @version 2025-02-19 last modified
+ * @version 2026-10-18 last modified
  * @version 2024-11-17 created
  * @since 1.7
  */
 public final class OrderedHashMap<K, V> implements Iterable<Entry<K, V>> {
-	private static final double ENLARGE_LOAD_FACTOR = 0.75;
+	private static final double DEFAULT_LOAD_FACTOR = 0.75;
 	private static final int MIN_TABLE_SIZE = 16;
 	private static final int MAX_TABLE_SIZE = 1 << 30;
 	
+	private final double loadFactor;
 	private int mask;
 	private long enlargeThreshold;
 	private long size;
@@ -47,20 +50,49 @@ public final class OrderedHashMap<K, V> implements Iterable<Entry<K, V>> {
 	 * Creates a new and empty {@link OrderedHashMap}.
 	 */
 	public OrderedHashMap() {
+		this(0L, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link OrderedHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @throws IllegalArgumentException If the expected size is negative.
+	 * @since 1.9
+	 */
+	public OrderedHashMap(long expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+	
+	/**
+	 * Creates a new and empty {@link OrderedHashMap} that can hold the specified amount of entries without resizing.
+	 * @param expectedSize The amount of entries that are expected to be put into this map. Must not be negative.
+	 * @param loadFactor The maximum ratio of entries to buckets. If it is exceeded, the table is enlarged.
+	 * Must be positive. The default load factor is {@code 0.75}.
+	 * @throws IllegalArgumentException If the expected size is negative or the load factor is not positive.
+	 * @since 1.9
+	 */
+	public OrderedHashMap(long expectedSize, double loadFactor) {
+		requireNotNegative(expectedSize, "The expected size ...");
+		requirePositive(loadFactor, "The load factor ...");
+		this.loadFactor = loadFactor;
 		this.size = 0L;
 		this.mask = 0;
 		this.enlargeThreshold = 0;
 		this.modcount = 0;
 		this.table = null;
 		this.listFirst = this.listLast = null;
+		if (expectedSize > 0L) {
+			this.resize(this.tableSizeFor(expectedSize));
+		}
 	}
 	
 	/**
 	 * Creates a new {@link OrderedHashMap} that contains all the mappings of the specified map.
+	 * The new map uses the load factor of the specified map.
 	 * @param map The mappings that should be cloned. May be {@code null}.
 	 */
 	public OrderedHashMap(OrderedHashMap<K, V> map) {
-		this();
+		this(map != null ? map.size : 0L, map != null ? map.loadFactor : DEFAULT_LOAD_FACTOR);
 		this.putAll(map);
 	}
 	
@@ -81,6 +113,48 @@ public final class OrderedHashMap<K, V> implements Iterable<Entry<K, V>> {
 		return this.listFirst == null;
 	}
 	
+	/**
+	 * Enlarges the table of this map, so that it can hold the specified amount of entries without resizing.
+	 * If the table is already large enough, nothing happens.
+	 * <p>
+	 * This method should be called before many entries are put into this map.
+	 * @param capacity The amount of entries. Must not be negative.
+	 * @throws IllegalArgumentException If the capacity is negative.
+	 * @since 1.9
+	 */
+	public void ensureCapacity(long capacity) {
+		requireNotNegative(capacity, "The capacity ...");
+		int tableSize = this.tableSizeFor(capacity);
+		Node[] table = this.table;
+		if (table == null || table.length < tableSize) {
+			this.resize(tableSize);
+		}
+	}
+	
+	/**
+	 * Shrinks the table of this map to the smallest size that can hold the current entries without resizing.
+	 * If this map is empty, the table is released.
+	 * <p>
+	 * This method can be used to release memory after many entries have been removed.
+	 * @since 1.9
+	 */
+	public void trimToSize() {
+		Node[] table = this.table;
+		if (table == null) {
+			return; // No table to shrink
+		}
+		if (this.size <= 0L) {
+			this.table = null;
+			this.mask = 0;
+			this.enlargeThreshold = 0;
+			return;
+		}
+		int tableSize = this.tableSizeFor(this.size);
+		if (tableSize < table.length) {
+			this.resize(tableSize);
+		}
+	}
+	
 	
 	/**
 	 * Associates the specified key with the specified value.
@@ -141,6 +215,7 @@ public final class OrderedHashMap<K, V> implements Iterable<Entry<K, V>> {
 		if (otherMap == null || otherMap == this) {
 			return;
 		}
+		this.ensureCapacity(Math.max(this.size, otherMap.size)); // Avoids multiple resizes
 		for (Node node = otherMap.listFirst; node != null; node = node.listNext) {
 			Node newNode = this.findOrCreate(node.key);
 			newNode.value = node.value;
@@ -401,10 +476,23 @@ public final class OrderedHashMap<K, V> implements Iterable<Entry<K, V>> {
 	}
 	
 	
+	/**
+	 * Calculates the smallest table size that can hold the specified amount of entries without resizing.
+	 * @param capacity The amount of entries.
+	 * @return The table size. A power of 2.
+	 */
+	private int tableSizeFor(long capacity) {
+		int tableSize = MIN_TABLE_SIZE;
+		while (tableSize < MAX_TABLE_SIZE && (long) (tableSize * this.loadFactor) <= capacity) {
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+	
 	private Node[] resize(int newTableSize) {
 		int newMask = newTableSize-1; // = 2^n-1 = 0b0..01..1
 		this.mask = newMask;
-		this.enlargeThreshold = (long) (newTableSize * ENLARGE_LOAD_FACTOR);
+		this.enlargeThreshold = (long) (newTableSize * this.loadFactor);
 		
 		Node[] oldTable = this.table;
 		@SuppressWarnings("unchecked")
@@ -4,7 +4,9 @@ package de.tomatengames.util.pool;
  * Represents a pool for byte arrays. It allows to claim byte arrays of at least
  * a specified minimum length.
  *
- * @version 2025-03-29 created
+ * @version
+ * 2026-10-18 last modified<br>
+ * 2025-03-29 created
  * @since 1.8
  */
 public interface BytePool {
@@ -30,4 +32,50 @@ public interface BytePool {
 		return () -> claim(minLength);
 	}
 	
+	/**
+	 * Claims the specified number of byte arrays that are at least as long as the
+	 * specified minimum length and stores them at the beginning of the specified
+	 * array.
+	 *
+	 * <p>
+	 * This is equivalent to calling {@link #claim(int)} {@code count} times, but
+	 * implementations may claim all arrays at once, e.g. with a single lock
+	 * acquisition.
+	 * </p>
+	 *
+	 * @param minLength The minimum required length of the byte arrays.
+	 * @param count     The number of byte arrays to claim.
+	 * @param out       The array that receives the claimed byte arrays at the
+	 *                  indices {@code 0} to {@code count-1}.
+	 * @throws IllegalArgumentException If the count is negative or larger than the
+	 *                                  length of the array.
+	 * @since 1.9
+	 */
+	default void claimAll(int minLength, int count, Pooled<byte[]>[] out) {
+		ofLength(minLength).claimAll(count, out);
+	}
+	
+	/**
+	 * Returns the first {@code count} byte arrays of the specified array to their
+	 * pools and sets these entries of the array to {@code null}. {@code null}
+	 * entries are ignored.
+	 *
+	 * @param pooled The byte arrays to free.
+	 * @param count  The number of array entries to free.
+	 * @throws IllegalArgumentException If the count is negative or larger than the
+	 *                                  length of the array.
+	 * @see Pool#freeAll(Pooled[], int)
+	 * @since 1.9
+	 */
+	default void freeAll(Pooled<byte[]>[] pooled, int count) {
+		if (count < 0 || count > pooled.length)
+			throw new IllegalArgumentException("Invalid count " + count + " for " + pooled.length + " entries");
+		for (int i = 0; i < count; i++) {
+			if (pooled[i] != null) {
+				pooled[i].free();
+				pooled[i] = null;
+			}
+		}
+	}
+	
 }
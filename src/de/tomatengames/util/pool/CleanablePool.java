@@ -0,0 +1,49 @@
+package de.tomatengames.util.pool;
+
+/**
+ * Represents a pool that releases stored objects which have not been used for a
+ * while. A cleanable pool records the minimum number of stored objects between
+ * two clean operations. These objects have not been claimed since the last
+ * clean operation and are released by the next one.
+ *
+ * <p>
+ * Pools can be cleaned regularly by the {@link PoolCleaner}.
+ * </p>
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public interface CleanablePool {
+	
+	/**
+	 * Cleans up the pool by releasing all objects that have not been claimed
+	 * since the last clean operation.
+	 * Equivalent to {@code clean(1.0)}.
+	 *
+	 * <p>
+	 * Call this regularly for active cleaning.
+	 * </p>
+	 */
+	default void clean() {
+		clean(1.0);
+	}
+	
+	/**
+	 * Cleans up the pool by releasing the specified fraction of the objects that
+	 * have not been claimed since the last clean operation. The amount is rounded
+	 * up, so that an idle pool becomes empty after a finite number of clean
+	 * operations.
+	 *
+	 * <p>
+	 * A fraction less than {@code 1.0} lets the pool size decay exponentially
+	 * instead of dropping to the current demand immediately.
+	 * </p>
+	 *
+	 * @param fraction The fraction of the unused objects to release, between
+	 *                 {@code 0.0} and {@code 1.0}.
+	 * @throws IllegalArgumentException If the fraction is not between {@code 0.0}
+	 *                                  and {@code 1.0}.
+	 */
+	void clean(double fraction);
+	
+}
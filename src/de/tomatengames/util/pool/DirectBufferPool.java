@@ -0,0 +1,155 @@
+package de.tomatengames.util.pool;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The {@code DirectBufferPool} class provides a pool of direct {@link ByteBuffer}s
+ * with varying capacities. Like {@link LevelBytePool}, it uses multiple
+ * {@link LinkedPool} instances to manage buffers of power-of-two capacities.
+ *
+ * <p>
+ * Direct buffers can be passed to channels without copying them, but their
+ * native memory is only released when the buffer is garbage collected.
+ * Therefore, the amount of memory each level may store is limited.
+ * Buffers that are freed to a full level are dropped and released by the
+ * garbage collector.
+ * </p>
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class DirectBufferPool implements CleanablePool {
+	
+	private static final int LEFT_OUT_EXPONENTS = 5;
+	private static final int MAX_EXPONENT = 30;
+	private static final int MAX_BUFFER_CAPACITY = 1 << MAX_EXPONENT;
+	private static final long DEFAULT_LEVEL_CAPACITY_BYTES = 16L << 20;
+	
+	private final LinkedPool<ByteBuffer>[] pools;
+	
+	/**
+	 * Constructs a new {@code DirectBufferPool} instance that stores up to 16 MiB
+	 * of buffers per level. Buffers larger than 16 MiB are not stored.
+	 */
+	public DirectBufferPool() {
+		this(DEFAULT_LEVEL_CAPACITY_BYTES);
+	}
+	
+	/**
+	 * Constructs a new {@code DirectBufferPool} instance with a memory limit per
+	 * level. A level stores at most {@code levelCapacityBytes / bufferCapacity}
+	 * buffers. Levels whose buffers are larger than the limit store no buffers,
+	 * so their buffers are dropped when they are freed.
+	 *
+	 * @param levelCapacityBytes The maximum amount of bytes each level stores.
+	 *                           {@code 0} disables storing buffers.
+	 * @throws IllegalArgumentException If the level capacity is negative.
+	 */
+	public DirectBufferPool(long levelCapacityBytes) {
+		if (levelCapacityBytes < 0)
+			throw new IllegalArgumentException("Invalid level capacity " + levelCapacityBytes);
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		LinkedPool<ByteBuffer>[] pools = new LinkedPool[MAX_EXPONENT + 1 - LEFT_OUT_EXPONENTS];
+		for (int i = 0; i < pools.length; i++) {
+			int bufferCapacity = 1 << (i + LEFT_OUT_EXPONENTS);
+			pools[i] = new LinkedPool<>(() -> ByteBuffer.allocateDirect(bufferCapacity),
+					levelCapacityBytes / bufferCapacity);
+		}
+		this.pools = pools;
+	}
+	
+	/**
+	 * Cleans all pools by reducing their sizes to the minimum size recorded since
+	 * the last clean operation.
+	 *
+	 * <p>
+	 * Call this regularly for active cleaning.
+	 * </p>
+	 */
+	@Override
+	public void clean() {
+		for (LinkedPool<ByteBuffer> pool : this.pools)
+			pool.clean();
+	}
+	
+	/**
+	 * Cleans all pools by reducing their sizes by the specified fraction of the
+	 * minimum size recorded since the last clean operation.
+	 *
+	 * @param fraction The fraction of the unused buffers to release, between
+	 *                 {@code 0.0} and {@code 1.0}.
+	 * @throws IllegalArgumentException If the fraction is not between {@code 0.0}
+	 *                                  and {@code 1.0}.
+	 * @see LinkedPool#clean(double)
+	 */
+	@Override
+	public void clean(double fraction) {
+		for (LinkedPool<ByteBuffer> pool : this.pools)
+			pool.clean(fraction);
+	}
+	
+	/**
+	 * Returns the maximum number of buffers that are stored for the specified
+	 * minimum capacity.
+	 *
+	 * @param minCapacity The minimum capacity of the buffers.
+	 * @return The capacity of the level that provides these buffers.
+	 * @throws IllegalArgumentException If the capacity is larger than the largest
+	 *                                  supported buffer.
+	 */
+	public long levelCapacity(int minCapacity) {
+		return this.pools[levelIndex(minCapacity)].capacity();
+	}
+	
+	/**
+	 * Returns the amount of native memory in bytes that is currently held by the
+	 * stored buffers. Claimed buffers are not included.
+	 *
+	 * @return The amount of bytes in all levels.
+	 */
+	public long storedBytes() {
+		long bytes = 0;
+		for (int i = 0; i < this.pools.length; i++)
+			bytes += this.pools[i].size() << (i + LEFT_OUT_EXPONENTS);
+		return bytes;
+	}
+	
+	/**
+	 * Claims a direct buffer whose capacity is at least the specified minimum
+	 * capacity.
+	 *
+	 * <p>
+	 * The buffer is cleared, so its position is {@code 0} and its limit is its
+	 * capacity. Its byte order is {@link ByteOrder#BIG_ENDIAN}. The content is
+	 * not zeroed.
+	 * </p>
+	 *
+	 * @param minCapacity The minimum required capacity of the buffer.
+	 * @return A {@link Pooled} instance wrapping a direct buffer of at least the
+	 *         specified capacity.
+	 * @throws IllegalArgumentException If the capacity is larger than the largest
+	 *                                  supported buffer.
+	 */
+	public Pooled<ByteBuffer> claim(int minCapacity) {
+		Pooled<ByteBuffer> pooled = this.pools[levelIndex(minCapacity)].claim();
+		ByteBuffer buffer = pooled.get();
+		buffer.clear();
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		return pooled;
+	}
+	
+	private static int levelIndex(int minCapacity) {
+		if (minCapacity > MAX_BUFFER_CAPACITY)
+			throw new IllegalArgumentException("Unsupported buffer size " + minCapacity);
+		if (minCapacity <= 0)
+			return 0;
+		int poolIndex = log2(minCapacity) - LEFT_OUT_EXPONENTS;
+		return poolIndex < 0 ? 0 : poolIndex;
+	}
+	
+	private static int log2(int i) {
+		return 32 - Integer.numberOfLeadingZeros(i - 1);
+	}
+	
+}
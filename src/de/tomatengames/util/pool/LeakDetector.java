@@ -0,0 +1,150 @@
+package de.tomatengames.util.pool;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The {@code LeakDetector} class detects {@link Pooled} objects that are
+ * garbage collected without being freed.
+ *
+ * <p>
+ * A sample of the claims is tracked. For each tracked claim, the stack trace of
+ * the claim is recorded. If the {@link Pooled} object becomes unreachable
+ * before it is freed, the recorded stack trace is passed to the reporter.
+ * Leaks are reported by later claims or by {@link #poll()}, after the garbage
+ * collector has found them.
+ * </p>
+ *
+ * <p>
+ * A detector is enabled with {@link LinkedPool#setLeakDetector(LeakDetector)}
+ * or {@link LevelBytePool#setLeakDetector(LeakDetector)}. A pool without a
+ * detector only checks for {@code null} per claim and free.
+ * </p>
+ *
+ * <p>
+ * Stealing a claimed object is valid (see {@link Pool#claim()}), but is
+ * reported as a leak.
+ * </p>
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class LeakDetector {
+	
+	private final int samplingInterval;
+	private final Consumer<? super Throwable> reporter;
+	private final ReferenceQueue<Object> queue;
+	private final Set<Record> records;
+	private final AtomicLong leakCount;
+	
+	/**
+	 * Constructs a new {@code LeakDetector} that tracks a sample of the claims
+	 * and prints the leaks to {@link System#err}.
+	 *
+	 * @param samplingInterval On average, one of this many claims is tracked.
+	 *                         {@code 1} tracks all claims.
+	 * @throws IllegalArgumentException If the sampling interval is not positive.
+	 */
+	public LeakDetector(int samplingInterval) {
+		this(samplingInterval, Throwable::printStackTrace);
+	}
+	
+	/**
+	 * Constructs a new {@code LeakDetector} that tracks a sample of the claims.
+	 *
+	 * @param samplingInterval On average, one of this many claims is tracked.
+	 *                         {@code 1} tracks all claims.
+	 * @param reporter         Receives a {@link Throwable} for each leak whose
+	 *                         stack trace is the stack trace of the claim.
+	 * @throws IllegalArgumentException If the sampling interval is not positive.
+	 */
+	public LeakDetector(int samplingInterval, Consumer<? super Throwable> reporter) {
+		if (samplingInterval <= 0)
+			throw new IllegalArgumentException("Invalid sampling interval " + samplingInterval);
+		this.samplingInterval = samplingInterval;
+		this.reporter = reporter;
+		this.queue = new ReferenceQueue<>();
+		this.records = ConcurrentHashMap.newKeySet();
+		this.leakCount = new AtomicLong(0);
+	}
+	
+	/**
+	 * Returns the sampling interval.
+	 *
+	 * @return On average, one of this many claims is tracked.
+	 */
+	public int samplingInterval() {
+		return samplingInterval;
+	}
+	
+	/**
+	 * Returns the number of tracked claims that are not freed yet.
+	 *
+	 * @return The number of tracked outstanding claims.
+	 */
+	public int trackedCount() {
+		return this.records.size();
+	}
+	
+	/**
+	 * Returns the number of leaks that have been reported.
+	 *
+	 * @return The number of reported leaks.
+	 */
+	public long leakCount() {
+		return this.leakCount.get();
+	}
+	
+	/**
+	 * Reports all leaks that have been found by the garbage collector.
+	 */
+	public void poll() {
+		Object ref;
+		while ((ref = this.queue.poll()) != null) {
+			Record record = (Record) ref;
+			if (this.records.remove(record)) {
+				this.leakCount.incrementAndGet();
+				this.reporter.accept(record.claimSite);
+			}
+		}
+	}
+	
+	/**
+	 * Starts tracking the specified claimed object, if it is sampled.
+	 * Returns the record that must be closed when the object is freed, or
+	 * {@code null} if the object is not tracked.
+	 */
+	Record track(Object pooled) {
+		poll();
+		if (this.samplingInterval > 1 && ThreadLocalRandom.current().nextInt(this.samplingInterval) != 0)
+			return null;
+		Record record = new Record(this, pooled);
+		this.records.add(record);
+		return record;
+	}
+	
+	static final class Record extends WeakReference<Object> {
+		private final LeakDetector detector;
+		private final Throwable claimSite;
+		
+		private Record(LeakDetector detector, Object pooled) {
+			super(pooled, detector.queue);
+			this.detector = detector;
+			this.claimSite = new Throwable("Pooled object was claimed here but never freed");
+		}
+		
+		/**
+		 * Stops tracking, because the object has been freed.
+		 */
+		void close() {
+			clear();
+			this.detector.records.remove(this);
+		}
+	}
+	
+}
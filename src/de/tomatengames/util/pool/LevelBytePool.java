@@ -5,10 +5,12 @@ package de.tomatengames.util.pool;
  * management and reuse of byte arrays with varying lengths. It uses multiple
  * {@link LinkedPool} instances to manage arrays of different sizes.
  *
- * @version 2025-03-26 created
+ * @version
+ * 2026-10-18 last modified<br>
+ * 2025-03-26 created
  * @since 1.8
  */
-public class LevelBytePool implements BytePool {
+public class LevelBytePool implements BytePool, CleanablePool {
 	
 	private static final int LEFT_OUT_EXPONENTS = 5;
 	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
@@ -38,13 +40,99 @@ public class LevelBytePool implements BytePool {
 	 * Call this regularly for active cleaning.
 	 * </p>
 	 */
+	@Override
 	public void clean() {
 		for (LinkedPool<byte[]> pool : this.pools)
 			pool.clean();
 	}
 	
+	/**
+	 * Cleans all pools by reducing their sizes by the specified fraction of the
+	 * minimum size recorded since the last clean operation.
+	 *
+	 * @param fraction The fraction of the unused arrays to release, between
+	 *                 {@code 0.0} and {@code 1.0}.
+	 * @throws IllegalArgumentException If the fraction is not between {@code 0.0}
+	 *                                  and {@code 1.0}.
+	 * @see LinkedPool#clean(double)
+	 * @since 1.9
+	 */
+	@Override
+	public void clean(double fraction) {
+		for (LinkedPool<byte[]> pool : this.pools)
+			pool.clean(fraction);
+	}
+	
+	/**
+	 * Returns a snapshot of the usage counters of all levels combined.
+	 * The peak of outstanding arrays is the sum of the peaks of the levels.
+	 *
+	 * @return The current statistics. Not {@code null}.
+	 * @since 1.9
+	 */
+	public PoolStats stats() {
+		PoolStats stats = new PoolStats(0, 0, 0, 0, 0, 0);
+		for (LinkedPool<byte[]> pool : this.pools)
+			stats = stats.plus(pool.stats());
+		return stats;
+	}
+	
+	/**
+	 * Returns a snapshot of the usage counters of the level that provides byte
+	 * arrays of the specified minimum length.
+	 *
+	 * @param minLength The minimum length of the byte arrays.
+	 * @return The current statistics of the level. Not {@code null}.
+	 * @throws IllegalArgumentException If the length is larger than the largest
+	 *                                  supported array.
+	 * @since 1.9
+	 */
+	public PoolStats levelStats(int minLength) {
+		return level(minLength).stats();
+	}
+	
+	/**
+	 * Sets the leak detector that tracks the claims of all levels.
+	 *
+	 * @param leakDetector The leak detector or {@code null} to disable leak
+	 *                     detection.
+	 * @see LinkedPool#setLeakDetector(LeakDetector)
+	 * @since 1.9
+	 */
+	public void setLeakDetector(LeakDetector leakDetector) {
+		for (LinkedPool<byte[]> pool : this.pools)
+			pool.setLeakDetector(leakDetector);
+	}
+	
 	@Override
 	public Pool<byte[]> ofLength(int minLength) {
+		return level(minLength);
+	}
+	
+	/**
+	 * Frees the arrays of each level with a single lock acquisition.
+	 *
+	 * @since 1.9
+	 */
+	@Override
+	public void freeAll(Pooled<byte[]>[] pooled, int count) {
+		if (count < 0 || count > pooled.length)
+			throw new IllegalArgumentException("Invalid count " + count + " for " + pooled.length + " entries");
+		for (int i = 0; i < count; i++) {
+			Pooled<byte[]> p = pooled[i];
+			if (p == null)
+				continue;
+			// Frees all arrays of the level of this array, so each level is locked once.
+			level(p.get().length).freeOwned(pooled, i, count);
+			if (pooled[i] != null) {
+				// Not created by this pool
+				pooled[i].free();
+				pooled[i] = null;
+			}
+		}
+	}
+	
+	private LinkedPool<byte[]> level(int minLength) {
 		if (minLength > MAX_ARRAY_LENGTH)
 			throw new IllegalArgumentException("Unsupported array size " + minLength);
 		int poolIndex;
@@ -7,18 +7,32 @@ import java.util.function.Supplier;
  * manages a pool of objects by linking them together. It allows to specify a
  * capacity for the pool and provides cleaning utilities.
  *
+ * <p>
+ * The pool counts its claims and frees, see {@link #stats()}. Optionally, a
+ * {@link LeakDetector} finds claimed objects that are never freed.
+ * </p>
+ *
  * @param <E> The type of object managed by this pool.
  *
- * @version 2025-03-26 created
+ * @version
+ * 2026-10-18 last modified<br>
+ * 2025-03-26 created
  * @since 1.8
  */
-public class LinkedPool<E> implements Pool<E> {
+public class LinkedPool<E> implements Pool<E>, CleanablePool {
 	
 	private final Supplier<E> factory;
 	private final long capacity;
 	private long size;
 	private long intervalMinSize;
 	private LinkedPooled poolTop;
+	private long hits;
+	private long misses;
+	private long frees;
+	private long drops;
+	private long outstanding;
+	private long peakOutstanding;
+	private volatile LeakDetector leakDetector;
 	
 	/**
 	 * Constructs a new {@code LinkedPool} with the specified supplier for creating
@@ -44,6 +58,7 @@ public class LinkedPool<E> implements Pool<E> {
 		this.size = 0;
 		this.intervalMinSize = 0;
 		this.poolTop = null;
+		this.leakDetector = null;
 	}
 	
 	/**
@@ -65,6 +80,38 @@ public class LinkedPool<E> implements Pool<E> {
 		return size;
 	}
 	
+	/**
+	 * Returns a snapshot of the usage counters of this pool.
+	 *
+	 * @return The current statistics. Not {@code null}.
+	 * @since 1.9
+	 */
+	public synchronized PoolStats stats() {
+		return new PoolStats(this.hits, this.misses, this.frees, this.drops, this.peakOutstanding, this.size);
+	}
+	
+	/**
+	 * Sets the leak detector that tracks the claims of this pool.
+	 * Objects that are claimed while no detector is set are not tracked.
+	 *
+	 * @param leakDetector The leak detector or {@code null} to disable leak
+	 *                     detection.
+	 * @since 1.9
+	 */
+	public void setLeakDetector(LeakDetector leakDetector) {
+		this.leakDetector = leakDetector;
+	}
+	
+	/**
+	 * Returns the leak detector that tracks the claims of this pool.
+	 *
+	 * @return The leak detector or {@code null} if leak detection is disabled.
+	 * @since 1.9
+	 */
+	public LeakDetector getLeakDetector() {
+		return leakDetector;
+	}
+	
 	/**
 	 * Cleans up the pool by reducing its size to the minimum size recorded since
 	 * the last clean operation.
@@ -73,11 +120,30 @@ public class LinkedPool<E> implements Pool<E> {
 	 * Call this regularly for active cleaning.
 	 * </p>
 	 */
+	@Override
 	public synchronized void clean() {
 		reduce(this.size - this.intervalMinSize);
 		this.intervalMinSize = this.size;
 	}
 	
+	/**
+	 * Cleans up the pool by reducing its size by the specified fraction of the
+	 * minimum size recorded since the last clean operation.
+	 *
+	 * @param fraction The fraction of the unused objects to release, between
+	 *                 {@code 0.0} and {@code 1.0}.
+	 * @throws IllegalArgumentException If the fraction is not between {@code 0.0}
+	 *                                  and {@code 1.0}.
+	 * @since 1.9
+	 */
+	@Override
+	public synchronized void clean(double fraction) {
+		if (!(fraction >= 0.0 && fraction <= 1.0))
+			throw new IllegalArgumentException("Invalid clean fraction " + fraction);
+		reduce(this.size - (long) Math.ceil(this.intervalMinSize * fraction));
+		this.intervalMinSize = this.size;
+	}
+	
 	/**
 	 * Reduces the size of the pool to a specified new size. If the given new size
 	 * is larger than the current amount of stored objects in the pool, nothing
@@ -95,10 +161,120 @@ public class LinkedPool<E> implements Pool<E> {
 	
 	@Override
 	public Pooled<E> claim() {
-		Pooled<E> pooled = take();
-		return pooled == null ? new LinkedPooled(this.factory.get()) : pooled;
+		LinkedPooled pooled = claimStored();
+		if (pooled == null) {
+			// The miss has already been counted. It is only undone if the factory fails.
+			try {
+				pooled = new LinkedPooled(this.factory.get());
+			} catch (RuntimeException | Error e) {
+				notCreated(1);
+				throw e;
+			}
+		}
+		LeakDetector leakDetector = this.leakDetector;
+		if (leakDetector != null)
+			pooled.leakRecord = leakDetector.track(pooled);
+		return pooled;
+	}
+	/**
+	 * Claims the specified number of objects with a single lock acquisition.
+	 * Missing objects are created afterwards.
+	 * If the factory throws an exception, the objects that have been claimed
+	 * before remain in the array.
+	 *
+	 * @since 1.9
+	 */
+	@Override
+	public void claimAll(int count, Pooled<E>[] out) {
+		if (count < 0 || count > out.length)
+			throw new IllegalArgumentException("Invalid count " + count + " for " + out.length + " entries");
+		int next = claimStored(count, out);
+		try {
+			for (; next < count; next++)
+				out[next] = new LinkedPooled(this.factory.get());
+		} catch (RuntimeException | Error e) {
+			notCreated(count - next);
+			throw e;
+		}
+		LeakDetector leakDetector = this.leakDetector;
+		if (leakDetector != null) {
+			for (int i = 0; i < count; i++) {
+				LinkedPooled pooled = (LinkedPooled) out[i];
+				pooled.leakRecord = leakDetector.track(pooled);
+			}
+		}
+	}
+	
+	/**
+	 * Frees the objects of this pool with a single lock acquisition.
+	 * Objects of other pools are freed separately.
+	 *
+	 * @since 1.9
+	 */
+	@Override
+	public void freeAll(Pooled<E>[] pooled, int count) {
+		if (count < 0 || count > pooled.length)
+			throw new IllegalArgumentException("Invalid count " + count + " for " + pooled.length + " entries");
+		if (freeOwned(pooled, 0, count)) {
+			for (int i = 0; i < count; i++) {
+				if (pooled[i] != null) {
+					pooled[i].free();
+					pooled[i] = null;
+				}
+			}
+		}
 	}
-	private synchronized Pooled<E> take() {
+	
+	/**
+	 * Frees the objects of this pool in the specified range of the array and sets
+	 * them to {@code null}. Returns whether the range contains objects of other
+	 * pools.
+	 */
+	synchronized boolean freeOwned(Pooled<?>[] pooled, int from, int to) {
+		boolean foreign = false;
+		for (int i = from; i < to; i++) {
+			Pooled<?> p = pooled[i];
+			if (p instanceof LinkedPool<?>.LinkedPooled && ((LinkedPool<?>.LinkedPooled) p).pool() == this) {
+				@SuppressWarnings("unchecked")
+				LinkedPooled owned = (LinkedPooled) p;
+				free(owned);
+				pooled[i] = null;
+			} else if (p != null) {
+				foreign = true;
+			}
+		}
+		return foreign;
+	}
+	
+	private synchronized int claimStored(int count, Pooled<E>[] out) {
+		int stored = 0;
+		LinkedPooled pooled;
+		while (stored < count && (pooled = take()) != null)
+			out[stored++] = pooled;
+		this.hits += stored;
+		this.misses += count - stored;
+		this.outstanding += count;
+		if (this.outstanding > this.peakOutstanding)
+			this.peakOutstanding = this.outstanding;
+		return stored;
+	}
+	private synchronized LinkedPooled claimStored() {
+		LinkedPooled pooled = take();
+		if (pooled == null)
+			this.misses++;
+		else
+			this.hits++;
+		if (++this.outstanding > this.peakOutstanding)
+			this.peakOutstanding = this.outstanding;
+		return pooled;
+	}
+	// Undoes the misses of objects that the factory has failed to create.
+	// The peak is kept, because the claims have been outstanding while the factory ran.
+	private synchronized void notCreated(int count) {
+		this.misses -= count;
+		this.outstanding -= count;
+	}
+	private synchronized LinkedPooled take() {
 		if (this.size <= 0)
 			return null;
 		this.size--;
@@ -112,8 +288,17 @@ public class LinkedPool<E> implements Pool<E> {
 	private synchronized void free(LinkedPooled pooled) {
 		if (pooled.next != pooled)
 			throw new IllegalStateException("Pooled double free detected, use either free or close, not both");
-		if (this.size >= this.capacity)
+		if (pooled.leakRecord != null) {
+			pooled.leakRecord.close();
+			pooled.leakRecord = null;
+		}
+		this.frees++;
+		this.outstanding--;
+		if (this.size >= this.capacity) {
+			this.drops++;
+			pooled.next = null; // dropped, detect double free
 			return;
+		}
 		pooled.next = this.poolTop;
 		this.poolTop = pooled;
 		this.size++;
@@ -124,10 +309,17 @@ public class LinkedPool<E> implements Pool<E> {
 		
 		// this: claimed / not in pool, null: pool tail, other: next in pool
 		private LinkedPooled next;
+		// The record of the leak detector, if this claim is tracked.
+		private LeakDetector.Record leakRecord;
 		
 		private LinkedPooled(E element) {
 			this.element = element;
 			this.next = this;
+			this.leakRecord = null;
+		}
+		
+		private LinkedPool<E> pool() {
+			return LinkedPool.this;
 		}
 		
 		@Override
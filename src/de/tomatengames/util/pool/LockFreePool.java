@@ -0,0 +1,200 @@
+package de.tomatengames.util.pool;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The {@code LockFreePool} class implements the {@link Pool} interface like
+ * {@link LinkedPool}, but stores the objects in a lock-free stack (Treiber
+ * stack). Threads that claim and free objects concurrently never block each
+ * other.
+ *
+ * <p>
+ * Each free pushes a new stack node. A node is never pushed twice, so a stack
+ * operation cannot succeed based on an outdated view of the stack (ABA
+ * problem).
+ * </p>
+ *
+ * @param <E> The type of object managed by this pool.
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class LockFreePool<E> implements Pool<E>, CleanablePool {
+	
+	private final Supplier<E> factory;
+	private final long capacity;
+	private final AtomicLong size;
+	private final AtomicLong intervalMinSize;
+	private final AtomicReference<Node<E>> poolTop;
+	
+	/**
+	 * Constructs a new {@code LockFreePool} with the specified supplier for
+	 * creating objects and an unlimited capacity.
+	 *
+	 * @param factory A supplier function that provides instances of type {@code E}.
+	 */
+	public LockFreePool(Supplier<E> factory) {
+		this(factory, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Constructs a new {@code LockFreePool} with the specified supplier for
+	 * creating objects and a given capacity.
+	 *
+	 * @param factory  A supplier function that provides instances of type
+	 *                 {@code E}.
+	 * @param capacity The maximum number of objects that will be stored in the pool.
+	 */
+	public LockFreePool(Supplier<E> factory, long capacity) {
+		this.factory = factory;
+		this.capacity = capacity;
+		this.size = new AtomicLong(0);
+		this.intervalMinSize = new AtomicLong(0);
+		this.poolTop = new AtomicReference<>(null);
+	}
+	
+	/**
+	 * Returns the maximum capacity of the pool.
+	 * The capacity limits the amount of stored objects in the pool.
+	 *
+	 * @return The maximum number of objects that will be stored in the pool.
+	 */
+	public long capacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Returns the amount of stored objects currently in the pool.
+	 * While other threads claim or free objects, the value is only a snapshot.
+	 *
+	 * @return The current number of objects in the pool.
+	 */
+	public long size() {
+		return size.get();
+	}
+	
+	/**
+	 * Cleans up the pool by reducing its size to the minimum size recorded since
+	 * the last clean operation.
+	 *
+	 * <p>
+	 * Call this regularly for active cleaning.
+	 * </p>
+	 */
+	@Override
+	public void clean() {
+		reduce(Math.max(this.size.get() - this.intervalMinSize.get(), 0));
+		this.intervalMinSize.set(this.size.get());
+	}
+	
+	/**
+	 * Cleans up the pool by reducing its size by the specified fraction of the
+	 * minimum size recorded since the last clean operation.
+	 *
+	 * @param fraction The fraction of the unused objects to release, between
+	 *                 {@code 0.0} and {@code 1.0}.
+	 * @throws IllegalArgumentException If the fraction is not between {@code 0.0}
+	 *                                  and {@code 1.0}.
+	 */
+	@Override
+	public void clean(double fraction) {
+		if (!(fraction >= 0.0 && fraction <= 1.0))
+			throw new IllegalArgumentException("Invalid clean fraction " + fraction);
+		reduce(Math.max(this.size.get() - (long) Math.ceil(this.intervalMinSize.get() * fraction), 0));
+		this.intervalMinSize.set(this.size.get());
+	}
+	
+	/**
+	 * Reduces the size of the pool to a specified new size. If the given new size
+	 * is larger than the current amount of stored objects in the pool, nothing
+	 * happens.
+	 *
+	 * @param newSize The desired new size of the pool.
+	 * @throws IllegalArgumentException If the new size is negative.
+	 */
+	public void reduce(long newSize) {
+		if (newSize < 0)
+			throw new IllegalArgumentException("Cannot reduce to negative size " + newSize);
+		while (this.size.get() > newSize) {
+			if (take() == null)
+				break;
+		}
+	}
+	
+	@Override
+	public Pooled<E> claim() {
+		Pooled<E> pooled = take();
+		return pooled == null ? new LockFreePooled<>(this, this.factory.get()) : pooled;
+	}
+	private LockFreePooled<E> take() {
+		Node<E> top;
+		do {
+			top = this.poolTop.get();
+			if (top == null)
+				return null;
+		} while (!this.poolTop.compareAndSet(top, top.next));
+		
+		long newSize = this.size.decrementAndGet();
+		if (this.intervalMinSize.get() > newSize)
+			this.intervalMinSize.accumulateAndGet(newSize, Math::min);
+		LockFreePooled<E> pooled = top.pooled;
+		pooled.claimed.set(true);
+		return pooled;
+	}
+	private void free(LockFreePooled<E> pooled) {
+		if (!pooled.claimed.compareAndSet(true, false))
+			throw new IllegalStateException("Pooled double free detected, use either free or close, not both");
+		
+		// Reserve a place in the pool before the object becomes visible to other threads.
+		long currentSize;
+		do {
+			currentSize = this.size.get();
+			if (currentSize >= this.capacity)
+				return;
+		} while (!this.size.compareAndSet(currentSize, currentSize + 1));
+		
+		Node<E> node = new Node<>(pooled);
+		Node<E> top;
+		do {
+			top = this.poolTop.get();
+			node.next = top;
+		} while (!this.poolTop.compareAndSet(top, node));
+	}
+	
+	private static class Node<E> {
+		private final LockFreePooled<E> pooled;
+		private Node<E> next;
+		
+		private Node(LockFreePooled<E> pooled) {
+			this.pooled = pooled;
+			this.next = null;
+		}
+	}
+	
+	private static class LockFreePooled<E> implements Pooled<E> {
+		private final LockFreePool<E> pool;
+		private final E element;
+		
+		// true: claimed / not in pool, false: in pool or dropped
+		private final AtomicBoolean claimed;
+		
+		private LockFreePooled(LockFreePool<E> pool, E element) {
+			this.pool = pool;
+			this.element = element;
+			this.claimed = new AtomicBoolean(true);
+		}
+		
+		@Override
+		public E get() {
+			return element;
+		}
+		@Override
+		public void free() {
+			this.pool.free(this);
+		}
+	}
+	
+}
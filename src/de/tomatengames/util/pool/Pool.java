@@ -11,7 +11,9 @@ package de.tomatengames.util.pool;
  *
  * @param <E> The type of object managed by this pool.
  *
- * @version 2025-03-26 created
+ * @version
+ * 2026-10-18 last modified<br>
+ * 2025-03-26 created
  * @since 1.8
  */
 public interface Pool<E> {
@@ -34,4 +36,56 @@ public interface Pool<E> {
 	 */
 	Pooled<E> claim();
 	
+	/**
+	 * Claims the specified number of {@code Pooled} instances from the pool and
+	 * stores them at the beginning of the specified array.
+	 *
+	 * <p>
+	 * This is equivalent to calling {@link #claim()} {@code count} times, but
+	 * implementations may claim all objects at once, e.g. with a single lock
+	 * acquisition.
+	 * </p>
+	 *
+	 * @param count The number of objects to claim.
+	 * @param out   The array that receives the claimed objects at the indices
+	 *              {@code 0} to {@code count-1}.
+	 * @throws IllegalArgumentException If the count is negative or larger than the
+	 *                                  length of the array.
+	 * @since 1.9
+	 */
+	default void claimAll(int count, Pooled<E>[] out) {
+		if (count < 0 || count > out.length)
+			throw new IllegalArgumentException("Invalid count " + count + " for " + out.length + " entries");
+		for (int i = 0; i < count; i++)
+			out[i] = claim();
+	}
+	
+	/**
+	 * Returns the first {@code count} objects of the specified array to their
+	 * pools and sets these entries of the array to {@code null}. {@code null}
+	 * entries are ignored.
+	 *
+	 * <p>
+	 * This is equivalent to calling {@link Pooled#free()} on each object, but
+	 * implementations may free the objects that belong to this pool at once.
+	 * Objects of other pools are freed separately.
+	 * </p>
+	 *
+	 * @param pooled The objects to free.
+	 * @param count  The number of array entries to free.
+	 * @throws IllegalArgumentException If the count is negative or larger than the
+	 *                                  length of the array.
+	 * @since 1.9
+	 */
+	default void freeAll(Pooled<E>[] pooled, int count) {
+		if (count < 0 || count > pooled.length)
+			throw new IllegalArgumentException("Invalid count " + count + " for " + pooled.length + " entries");
+		for (int i = 0; i < count; i++) {
+			if (pooled[i] != null) {
+				pooled[i].free();
+				pooled[i] = null;
+			}
+		}
+	}
+	
 }
@@ -0,0 +1,207 @@
+package de.tomatengames.util.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cleans {@link CleanablePool}s regularly in the background, so that the
+ * memory held by idle pools is released over time.
+ *
+ * <p>
+ * All pools are cleaned by a single shared daemon thread, which is started
+ * when the first pool is scheduled. A pool is cleaned until its
+ * {@link Registration} is cancelled or the pool is garbage collected. The
+ * cleaner does not prevent a pool from being garbage collected.
+ * </p>
+ *
+ * <p>
+ * Each clean operation releases the objects that have not been claimed since
+ * the previous one, see {@link CleanablePool#clean(double)}. With a fraction
+ * less than {@code 1.0}, the size of an idle pool decays exponentially.
+ * </p>
+ *
+ * <p>
+ * If a clean operation throws an exception, the pool is no longer cleaned. The
+ * exception is passed to the reporter of the registration and is available from
+ * {@link Registration#failure()}.
+ * </p>
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public final class PoolCleaner {
+	
+	private PoolCleaner() {
+	}
+	
+	/**
+	 * Cleans the specified pool regularly. Each clean operation releases all
+	 * objects that have not been claimed since the previous one.
+	 *
+	 * @param pool   The pool to clean. Not {@code null}.
+	 * @param period The delay between two clean operations. Must be positive.
+	 * @param unit   The time unit of the period. Not {@code null}.
+	 * @return The registration that stops the cleaning when cancelled.
+	 * @throws IllegalArgumentException If the pool or the unit is {@code null} or
+	 *                                  the period is not positive.
+	 */
+	public static Registration schedule(CleanablePool pool, long period, TimeUnit unit) {
+		return schedule(pool, period, unit, 1.0);
+	}
+	
+	/**
+	 * Cleans the specified pool regularly. Each clean operation releases the
+	 * specified fraction of the objects that have not been claimed since the
+	 * previous one.
+	 *
+	 * @param pool     The pool to clean. Not {@code null}.
+	 * @param period   The delay between two clean operations. Must be positive.
+	 * @param unit     The time unit of the period. Not {@code null}.
+	 * @param fraction The fraction of the unused objects to release per clean
+	 *                 operation, between {@code 0.0} and {@code 1.0}.
+	 * @return The registration that stops the cleaning when cancelled.
+	 * @throws IllegalArgumentException If the pool or the unit is {@code null},
+	 *                                  the period is not positive or the fraction
+	 *                                  is not between {@code 0.0} and {@code 1.0}.
+	 */
+	public static Registration schedule(CleanablePool pool, long period, TimeUnit unit, double fraction) {
+		return schedule(pool, period, unit, fraction, Throwable::printStackTrace);
+	}
+	
+	/**
+	 * Cleans the specified pool regularly. Each clean operation releases the
+	 * specified fraction of the objects that have not been claimed since the
+	 * previous one.
+	 *
+	 * @param pool     The pool to clean. Not {@code null}.
+	 * @param period   The delay between two clean operations. Must be positive.
+	 * @param unit     The time unit of the period. Not {@code null}.
+	 * @param fraction The fraction of the unused objects to release per clean
+	 *                 operation, between {@code 0.0} and {@code 1.0}.
+	 * @param reporter Receives the exception if a clean operation fails. Not
+	 *                 {@code null}. Called by the cleaner thread.
+	 * @return The registration that stops the cleaning when cancelled.
+	 * @throws IllegalArgumentException If the pool, the unit or the reporter is
+	 *                                  {@code null}, the period is not positive or
+	 *                                  the fraction is not between {@code 0.0} and
+	 *                                  {@code 1.0}.
+	 */
+	public static Registration schedule(CleanablePool pool, long period, TimeUnit unit, double fraction,
+			Consumer<? super Throwable> reporter) {
+		if (pool == null)
+			throw new IllegalArgumentException("Invalid pool " + pool);
+		if (unit == null)
+			throw new IllegalArgumentException("Invalid time unit " + unit);
+		if (reporter == null)
+			throw new IllegalArgumentException("Invalid reporter " + reporter);
+		if (period <= 0)
+			throw new IllegalArgumentException("Invalid clean period " + period);
+		if (!(fraction >= 0.0 && fraction <= 1.0))
+			throw new IllegalArgumentException("Invalid clean fraction " + fraction);
+		Registration registration = new Registration(pool, fraction, reporter);
+		registration.future = Scheduler.EXECUTOR.scheduleWithFixedDelay(registration::run, period, period, unit);
+		if (registration.cancelled) {
+			// Cancelled by the first run before the future was known.
+			registration.future.cancel(false);
+		}
+		return registration;
+	}
+	
+	// Creates the thread on first use.
+	private static class Scheduler {
+		private static final ScheduledThreadPoolExecutor EXECUTOR;
+		
+		static {
+			EXECUTOR = new ScheduledThreadPoolExecutor(1, runnable -> {
+				Thread thread = new Thread(runnable, "PoolCleaner");
+				thread.setDaemon(true);
+				return thread;
+			});
+			EXECUTOR.setRemoveOnCancelPolicy(true);
+		}
+	}
+	
+	/**
+	 * The registration of a pool at the {@link PoolCleaner}.
+	 * Closing the registration is equivalent to {@link #cancel()}.
+	 */
+	public static final class Registration implements AutoCloseable {
+		private final WeakReference<CleanablePool> pool;
+		private final double fraction;
+		private final Consumer<? super Throwable> reporter;
+		private volatile ScheduledFuture<?> future;
+		private volatile boolean cancelled;
+		private volatile RuntimeException failure;
+		
+		private Registration(CleanablePool pool, double fraction, Consumer<? super Throwable> reporter) {
+			this.pool = new WeakReference<>(pool);
+			this.fraction = fraction;
+			this.reporter = reporter;
+			this.future = null;
+			this.cancelled = false;
+			this.failure = null;
+		}
+		
+		private void run() {
+			if (this.cancelled)
+				return;
+			CleanablePool pool = this.pool.get();
+			if (pool == null) {
+				cancel();
+				return;
+			}
+			try {
+				pool.clean(this.fraction);
+			} catch (RuntimeException e) {
+				// The executor would cancel the schedule silently, so the state is made visible here.
+				this.failure = e;
+				try {
+					this.reporter.accept(e);
+				} finally {
+					cancel();
+				}
+			}
+		}
+		
+		/**
+		 * Stops cleaning the pool. A clean operation that is currently running is
+		 * completed.
+		 */
+		public void cancel() {
+			this.cancelled = true;
+			ScheduledFuture<?> future = this.future;
+			if (future != null)
+				future.cancel(false);
+		}
+		
+		/**
+		 * Returns whether the pool is no longer cleaned, either because the
+		 * registration has been cancelled, because the pool has been garbage
+		 * collected or because a clean operation has failed.
+		 *
+		 * @return {@code true} if the pool is no longer cleaned.
+		 */
+		public boolean isCancelled() {
+			return cancelled;
+		}
+		
+		/**
+		 * Returns the exception that has been thrown by a clean operation.
+		 *
+		 * @return The exception that stopped the cleaning, or {@code null} if no
+		 *         clean operation has failed.
+		 */
+		public RuntimeException failure() {
+			return failure;
+		}
+		
+		@Override
+		public void close() {
+			cancel();
+		}
+	}
+	
+}
@@ -0,0 +1,135 @@
+package de.tomatengames.util.pool;
+
+/**
+ * A snapshot of the usage counters of a pool.
+ *
+ * <p>
+ * A claim is either a hit, if a stored object is reused, or a miss, if a new
+ * object is created. Objects that are claimed but not freed are outstanding.
+ * If the number of outstanding objects grows steadily, objects are probably
+ * stolen or leaked. See {@link LeakDetector} to find the code that claims them.
+ * </p>
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public final class PoolStats {
+	
+	private final long hits;
+	private final long misses;
+	private final long frees;
+	private final long drops;
+	private final long peakOutstanding;
+	private final long size;
+	
+	PoolStats(long hits, long misses, long frees, long drops, long peakOutstanding, long size) {
+		this.hits = hits;
+		this.misses = misses;
+		this.frees = frees;
+		this.drops = drops;
+		this.peakOutstanding = peakOutstanding;
+		this.size = size;
+	}
+	
+	/**
+	 * Returns the sum of this and the specified statistics.
+	 * The peak of the sum is the sum of both peaks.
+	 */
+	PoolStats plus(PoolStats other) {
+		return new PoolStats(this.hits + other.hits, this.misses + other.misses, this.frees + other.frees,
+				this.drops + other.drops, this.peakOutstanding + other.peakOutstanding, this.size + other.size);
+	}
+	
+	/**
+	 * Returns the number of claims.
+	 *
+	 * @return The number of hits and misses.
+	 */
+	public long claims() {
+		return hits + misses;
+	}
+	
+	/**
+	 * Returns the number of claims that reused a stored object.
+	 *
+	 * @return The number of hits.
+	 */
+	public long hits() {
+		return hits;
+	}
+	
+	/**
+	 * Returns the number of claims that created a new object, because the pool
+	 * was empty.
+	 *
+	 * @return The number of misses.
+	 */
+	public long misses() {
+		return misses;
+	}
+	
+	/**
+	 * Returns the fraction of claims that reused a stored object.
+	 *
+	 * @return The hit rate between {@code 0.0} and {@code 1.0}, or {@code 0.0} if
+	 *         nothing was claimed.
+	 */
+	public double hitRate() {
+		long claims = claims();
+		return claims == 0 ? 0.0 : (double) hits / claims;
+	}
+	
+	/**
+	 * Returns the number of objects that were freed.
+	 * This includes objects that were dropped.
+	 *
+	 * @return The number of frees.
+	 */
+	public long frees() {
+		return frees;
+	}
+	
+	/**
+	 * Returns the number of freed objects that were not stored, because the pool
+	 * was full.
+	 *
+	 * @return The number of drops.
+	 */
+	public long drops() {
+		return drops;
+	}
+	
+	/**
+	 * Returns the number of objects that are claimed and not freed.
+	 *
+	 * @return The number of claims minus the number of frees.
+	 */
+	public long outstanding() {
+		return hits + misses - frees;
+	}
+	
+	/**
+	 * Returns the largest number of outstanding objects so far.
+	 *
+	 * @return The peak of {@link #outstanding()}.
+	 */
+	public long peakOutstanding() {
+		return peakOutstanding;
+	}
+	
+	/**
+	 * Returns the number of objects that were stored in the pool.
+	 *
+	 * @return The size of the pool.
+	 */
+	public long size() {
+		return size;
+	}
+	
+	@Override
+	public String toString() {
+		return "PoolStats[hits=" + hits + ", misses=" + misses + ", frees=" + frees + ", drops=" + drops +
+				", outstanding=" + outstanding() + ", peakOutstanding=" + peakOutstanding + ", size=" + size + "]";
+	}
+	
+}
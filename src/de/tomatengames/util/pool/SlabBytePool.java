@@ -0,0 +1,340 @@
+package de.tomatengames.util.pool;
+
+/**
+ * The {@code SlabBytePool} class provides a pool of byte array slices. Like
+ * {@link LevelBytePool}, it manages slices of power-of-two lengths in separate
+ * size classes. However, small slices are not separate arrays. They are carved
+ * from large shared arrays (slabs), so pooling many small buffers needs only a
+ * few arrays.
+ *
+ * <p>
+ * Each size class allocates slabs that contain as many slices as fit into the
+ * slab size. Slices that are longer than the slab size are carved from their own
+ * array.
+ * </p>
+ *
+ * <p>
+ * Each slab keeps its own free slices. Claims prefer slabs that are partially
+ * claimed, so that other slabs become completely free. Only completely free
+ * slabs are released by {@link #clean()}.
+ * </p>
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class SlabBytePool implements CleanablePool {
+	
+	private static final int LEFT_OUT_EXPONENTS = 5;
+	private static final int MAX_EXPONENT = 30;
+	private static final int MAX_SLICE_LENGTH = 1 << MAX_EXPONENT;
+	private static final int DEFAULT_SLAB_SIZE = 1 << 16;
+	
+	private final SizeClass[] classes;
+	
+	/**
+	 * Constructs a new {@code SlabBytePool} instance with slabs of 64 KiB.
+	 */
+	public SlabBytePool() {
+		this(DEFAULT_SLAB_SIZE);
+	}
+	
+	/**
+	 * Constructs a new {@code SlabBytePool} instance with the specified slab size.
+	 *
+	 * @param slabSize The length of the arrays that are split into slices.
+	 * @throws IllegalArgumentException If the slab size is not positive.
+	 */
+	public SlabBytePool(int slabSize) {
+		if (slabSize <= 0)
+			throw new IllegalArgumentException("Invalid slab size " + slabSize);
+		SizeClass[] classes = new SizeClass[MAX_EXPONENT + 1 - LEFT_OUT_EXPONENTS];
+		for (int i = 0; i < classes.length; i++) {
+			int sliceLength = 1 << (i + LEFT_OUT_EXPONENTS);
+			classes[i] = new SizeClass(sliceLength, Math.max(slabSize / sliceLength, 1));
+		}
+		this.classes = classes;
+	}
+	
+	/**
+	 * Returns the amount of stored slices currently in the pool.
+	 *
+	 * @return The current number of slices in all size classes.
+	 */
+	public long size() {
+		long size = 0;
+		for (SizeClass c : this.classes)
+			size += c.size();
+		return size;
+	}
+	
+	/**
+	 * Cleans all size classes by reducing their sizes to the minimum size recorded
+	 * since the last clean operation.
+	 *
+	 * <p>
+	 * The slices are released in whole slabs. Only slabs whose slices are all
+	 * stored in the pool are released, starting with the slab that became free
+	 * first. The released amount is rounded up to whole slabs. A slab that still
+	 * has a claimed slice is kept with all of its slices.
+	 * </p>
+	 *
+	 * <p>
+	 * Call this regularly for active cleaning.
+	 * </p>
+	 */
+	@Override
+	public void clean() {
+		clean(1.0);
+	}
+	
+	/**
+	 * Cleans all size classes by reducing their sizes by the specified fraction
+	 * of the minimum size recorded since the last clean operation. Like
+	 * {@link #clean()}, the slices are released in whole free slabs and the
+	 * amount is rounded up to whole slabs.
+	 *
+	 * @param fraction The fraction of the unused slices to release, between
+	 *                 {@code 0.0} and {@code 1.0}.
+	 * @throws IllegalArgumentException If the fraction is not between {@code 0.0}
+	 *                                  and {@code 1.0}.
+	 */
+	@Override
+	public void clean(double fraction) {
+		if (!(fraction >= 0.0 && fraction <= 1.0))
+			throw new IllegalArgumentException("Invalid clean fraction " + fraction);
+		for (SizeClass c : this.classes)
+			c.clean(fraction);
+	}
+	
+	/**
+	 * Claims a slice that is at least as long as the specified minimum length.
+	 *
+	 * @param minLength The minimum required length of the slice.
+	 * @return A {@link Pooled} instance wrapping a slice of at least the specified
+	 *         minimum length.
+	 * @throws IllegalArgumentException If the length is larger than the largest
+	 *                                  supported slice.
+	 */
+	public Pooled<Slice> claim(int minLength) {
+		return this.classes[classIndex(minLength)].take();
+	}
+	
+	private static int classIndex(int minLength) {
+		if (minLength > MAX_SLICE_LENGTH)
+			throw new IllegalArgumentException("Unsupported slice size " + minLength);
+		if (minLength <= 0)
+			return 0;
+		int classIndex = log2(minLength) - LEFT_OUT_EXPONENTS;
+		return classIndex < 0 ? 0 : classIndex;
+	}
+	
+	private static int log2(int i) {
+		return 32 - Integer.numberOfLeadingZeros(i - 1);
+	}
+	
+	private static class SizeClass {
+		private final int sliceLength;
+		private final int slicesPerSlab;
+		private long size;
+		private long intervalMinSize;
+		// Slabs with claimed and free slices. Claims use the first one.
+		private final SlabList partial;
+		// Slabs without claimed slices, in the order in which they became free.
+		private final SlabList free;
+		
+		private SizeClass(int sliceLength, int slicesPerSlab) {
+			this.sliceLength = sliceLength;
+			this.slicesPerSlab = slicesPerSlab;
+			this.size = 0;
+			this.intervalMinSize = 0;
+			this.partial = new SlabList();
+			this.free = new SlabList();
+		}
+		
+		private synchronized long size() {
+			return this.size;
+		}
+		
+		private synchronized void clean(double fraction) {
+			// Releases the slabs that have been free for the longest time.
+			long amount = (long) Math.ceil(this.intervalMinSize * fraction);
+			while (amount > 0 && this.free.first != null) {
+				this.free.unlink(this.free.first);
+				this.size -= this.slicesPerSlab;
+				amount -= this.slicesPerSlab;
+			}
+			this.intervalMinSize = this.size;
+		}
+		
+		private synchronized Slice take() {
+			Slab slab = this.partial.first;
+			if (slab == null) {
+				// The most recently freed slab is most likely still in the cache.
+				slab = this.free.last;
+				if (slab == null) {
+					slab = new Slab(this, new byte[this.sliceLength * this.slicesPerSlab]);
+					this.size += this.slicesPerSlab;
+				}
+				else {
+					this.free.unlink(slab);
+				}
+				this.partial.linkFirst(slab);
+			}
+			this.size--;
+			if (this.intervalMinSize > this.size)
+				this.intervalMinSize = this.size;
+			Slice slice = slab.freeTop;
+			slab.freeTop = slice.next;
+			slab.freeCount--;
+			slice.next = slice; // claimed / not in pool
+			if (slab.freeCount == 0)
+				this.partial.unlink(slab);
+			return slice;
+		}
+		
+		private synchronized void free(Slice slice) {
+			if (slice.next != slice)
+				throw new IllegalStateException("Pooled double free detected, use either free or close, not both");
+			Slab slab = slice.slab;
+			slice.next = slab.freeTop;
+			slab.freeTop = slice;
+			slab.freeCount++;
+			this.size++;
+			if (slab.freeCount == this.slicesPerSlab) {
+				if (slab.list != null)
+					slab.list.unlink(slab);
+				this.free.linkLast(slab);
+			}
+			else if (slab.freeCount == 1) {
+				this.partial.linkFirst(slab);
+			}
+		}
+	}
+	
+	/**
+	 * An array that is split into the slices of a size class. The free slices
+	 * of the slab are linked. While a slab has free slices, it is in one of the
+	 * lists of its size class.
+	 */
+	private static class Slab {
+		private final SizeClass owner;
+		private Slice freeTop;
+		private int freeCount;
+		private SlabList list;
+		private Slab prev, next;
+		
+		private Slab(SizeClass owner, byte[] array) {
+			this.owner = owner;
+			// The first slice is on top.
+			for (int i = owner.slicesPerSlab - 1; i >= 0; i--) {
+				Slice slice = new Slice(this, array, i * owner.sliceLength, owner.sliceLength);
+				slice.next = this.freeTop;
+				this.freeTop = slice;
+			}
+			this.freeCount = owner.slicesPerSlab;
+		}
+	}
+	
+	private static class SlabList {
+		private Slab first, last;
+		
+		private void linkFirst(Slab slab) {
+			slab.list = this;
+			slab.prev = null;
+			slab.next = this.first;
+			if (this.first != null)
+				this.first.prev = slab;
+			else
+				this.last = slab;
+			this.first = slab;
+		}
+		private void linkLast(Slab slab) {
+			slab.list = this;
+			slab.next = null;
+			slab.prev = this.last;
+			if (this.last != null)
+				this.last.next = slab;
+			else
+				this.first = slab;
+			this.last = slab;
+		}
+		private void unlink(Slab slab) {
+			if (slab.prev != null)
+				slab.prev.next = slab.next;
+			else
+				this.first = slab.next;
+			if (slab.next != null)
+				slab.next.prev = slab.prev;
+			else
+				this.last = slab.prev;
+			slab.list = null;
+			slab.prev = null;
+			slab.next = null;
+		}
+	}
+	
+	/**
+	 * A slice of a shared byte array. The slice covers the indices from
+	 * {@link #offset()} (inclusive) to {@code offset() + length()} (exclusive).
+	 * Other indices of the array belong to other slices and must not be accessed.
+	 *
+	 * <p>
+	 * A slice is its own {@link Pooled} handle, so {@link #get()} returns the
+	 * slice itself.
+	 * </p>
+	 */
+	public static final class Slice implements Pooled<Slice> {
+		private final Slab slab;
+		private final byte[] array;
+		private final int offset;
+		private final int length;
+		
+		// this: claimed / not in pool, null: last free slice of the slab, other: next free slice of the slab
+		private Slice next;
+		
+		private Slice(Slab slab, byte[] array, int offset, int length) {
+			this.slab = slab;
+			this.array = array;
+			this.offset = offset;
+			this.length = length;
+			this.next = this;
+		}
+		
+		/**
+		 * Returns the shared array that contains this slice.
+		 *
+		 * @return The array. Not {@code null}.
+		 */
+		public byte[] array() {
+			return array;
+		}
+		
+		/**
+		 * Returns the index of the first byte of this slice in the shared array.
+		 *
+		 * @return The offset of this slice.
+		 */
+		public int offset() {
+			return offset;
+		}
+		
+		/**
+		 * Returns the length of this slice.
+		 *
+		 * @return The number of bytes in this slice.
+		 */
+		public int length() {
+			return length;
+		}
+		
+		@Override
+		public Slice get() {
+			return this;
+		}
+		@Override
+		public void free() {
+			this.slab.owner.free(this);
+		}
+	}
+	
+}
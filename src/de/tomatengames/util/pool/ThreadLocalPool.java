@@ -0,0 +1,219 @@
+package de.tomatengames.util.pool;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The {@code ThreadLocalPool} class implements the {@link Pool} interface and
+ * keeps a small magazine of objects for each thread in front of a shared
+ * {@link LinkedPool}. Most claims and frees are served by the magazine of the
+ * current thread without any synchronization. The shared pool is only used if
+ * the magazine is empty or full.
+ *
+ * <p>
+ * An object may be freed by another thread than the one that claimed it. It
+ * is put into the magazine of the freeing thread.
+ * </p>
+ *
+ * @param <E> The type of object managed by this pool.
+ *
+ * @version 2026-10-18 created
+ * @since 1.9
+ */
+public class ThreadLocalPool<E> implements Pool<E>, CleanablePool {
+	
+	private static final int DEFAULT_MAGAZINE_SIZE = 32;
+	
+	private final LinkedPool<CachedPooled> shared;
+	private final int magazineSize;
+	private final ThreadLocal<Magazine> magazines;
+	
+	/**
+	 * Constructs a new {@code ThreadLocalPool} with the specified supplier for
+	 * creating objects, the default magazine size and an unlimited capacity of
+	 * the shared pool.
+	 *
+	 * @param factory A supplier function that provides instances of type {@code E}.
+	 */
+	public ThreadLocalPool(Supplier<E> factory) {
+		this(factory, DEFAULT_MAGAZINE_SIZE, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Constructs a new {@code ThreadLocalPool} with the specified supplier for
+	 * creating objects, magazine size and capacity of the shared pool.
+	 *
+	 * @param factory        A supplier function that provides instances of type
+	 *                       {@code E}.
+	 * @param magazineSize   The maximum number of objects that are cached by a
+	 *                       single thread. Must be positive.
+	 * @param sharedCapacity The maximum number of objects that will be stored in
+	 *                       the shared pool.
+	 * @throws IllegalArgumentException If the magazine size is not positive.
+	 */
+	public ThreadLocalPool(Supplier<E> factory, int magazineSize, long sharedCapacity) {
+		if (magazineSize <= 0)
+			throw new IllegalArgumentException("Invalid magazine size " + magazineSize);
+		this.shared = new LinkedPool<>(() -> new CachedPooled(factory.get()), sharedCapacity);
+		this.magazineSize = magazineSize;
+		this.magazines = ThreadLocal.withInitial(() -> new Magazine(magazineSize));
+	}
+	
+	/**
+	 * Returns the maximum number of objects that are cached by a single thread.
+	 *
+	 * @return The magazine size.
+	 */
+	public int magazineSize() {
+		return magazineSize;
+	}
+	
+	/**
+	 * Returns the amount of objects that are cached by the current thread.
+	 *
+	 * @return The current number of objects in the magazine of the current thread.
+	 */
+	public int localSize() {
+		return this.magazines.get().size;
+	}
+	
+	/**
+	 * Returns the amount of stored objects currently in the shared pool. Objects
+	 * in the magazines of the threads are not included.
+	 *
+	 * @return The current number of objects in the shared pool.
+	 */
+	public long sharedSize() {
+		return this.shared.size();
+	}
+	
+	/**
+	 * Moves all objects of the magazine of the current thread to the shared pool.
+	 *
+	 * <p>
+	 * Call this before a thread stops using the pool for a longer time, so that
+	 * other threads can claim its objects.
+	 * </p>
+	 */
+	public void flush() {
+		this.magazines.get().release(Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Cleans up the shared pool by reducing its size to the minimum size
+	 * recorded since the last clean operation. The magazines of the threads are
+	 * not affected.
+	 *
+	 * <p>
+	 * Call this regularly for active cleaning.
+	 * </p>
+	 *
+	 * @see LinkedPool#clean()
+	 */
+	@Override
+	public void clean() {
+		this.shared.clean();
+	}
+	
+	/**
+	 * Cleans up the shared pool by reducing its size by the specified fraction
+	 * of the minimum size recorded since the last clean operation. The magazines
+	 * of the threads are not affected.
+	 *
+	 * @param fraction The fraction of the unused objects to release, between
+	 *                 {@code 0.0} and {@code 1.0}.
+	 * @throws IllegalArgumentException If the fraction is not between {@code 0.0}
+	 *                                  and {@code 1.0}.
+	 * @see LinkedPool#clean(double)
+	 */
+	@Override
+	public void clean(double fraction) {
+		this.shared.clean(fraction);
+	}
+	
+	@Override
+	public Pooled<E> claim() {
+		Magazine magazine = this.magazines.get();
+		CachedPooled pooled;
+		if (magazine.size > 0) {
+			pooled = magazine.pop();
+		} else {
+			Pooled<CachedPooled> handle = this.shared.claim();
+			pooled = handle.get();
+			pooled.handle = handle;
+		}
+		pooled.claimed.set(true);
+		return pooled;
+	}
+	private void free(CachedPooled pooled) {
+		// Only one of several concurrent frees of the same object succeeds.
+		if (!pooled.claimed.compareAndSet(true, false))
+			throw new IllegalStateException("Pooled double free detected, use either free or close, not both");
+		Magazine magazine = this.magazines.get();
+		if (magazine.size >= this.magazineSize) {
+			// Keep the recently used half, so that the next claims and frees stay local.
+			magazine.release((this.magazineSize + 1) / 2);
+		}
+		magazine.push(pooled);
+	}
+	
+	private class Magazine {
+		private final CachedPooled[] items;
+		private int size;
+		
+		@SuppressWarnings("unchecked")
+		private Magazine(int magazineSize) {
+			this.items = (CachedPooled[]) new ThreadLocalPool<?>.CachedPooled[magazineSize];
+			this.size = 0;
+		}
+		
+		private CachedPooled pop() {
+			CachedPooled pooled = this.items[--this.size];
+			this.items[this.size] = null;
+			return pooled;
+		}
+		private void push(CachedPooled pooled) {
+			this.items[this.size++] = pooled;
+		}
+		
+		/**
+		 * Returns the oldest objects of this magazine to the shared pool.
+		 */
+		private void release(int amount) {
+			int n = Math.min(amount, this.size);
+			for (int i = 0; i < n; i++) {
+				this.items[i].handle.free();
+			}
+			System.arraycopy(this.items, n, this.items, 0, this.size - n);
+			for (int i = this.size - n; i < this.size; i++) {
+				this.items[i] = null;
+			}
+			this.size -= n;
+		}
+	}
+	
+	private class CachedPooled implements Pooled<E> {
+		private final E element;
+		
+		// The pooled object of the shared pool that contains this object.
+		private Pooled<CachedPooled> handle;
+		// Whether this object is currently claimed and not in a magazine or the shared pool.
+		private final AtomicBoolean claimed;
+		
+		private CachedPooled(E element) {
+			this.element = element;
+			this.handle = null;
+			this.claimed = new AtomicBoolean(false);
+		}
+		
+		@Override
+		public E get() {
+			return element;
+		}
+		@Override
+		public void free() {
+			ThreadLocalPool.this.free(this);
+		}
+	}
+	
+}
@@ -19,8 +19,21 @@ package de.tomatengames.util.pool;
  * Unfortunately, clearing is a significant performance overhead, worsened by
  * the lack of a standard accelerated way to do such clearing in Java. So, the
  * decision to use this wrapper involves weighing security against efficiency.
+ * <p>
+ * The overhead can be reduced in two ways:
+ * <ul>
+ * <li>Callers that only write a prefix of a large array can report it with
+ * {@link ZeroPooled#markDirty(int)}. Then only that prefix is cleared on
+ * free.</li>
+ * <li>In zero-on-claim mode, the arrays are cleared on claim instead of free,
+ * and only the first {@code minLength} bytes are cleared. This keeps the
+ * fail-safety for callers that stay within their requested length, but gives
+ * up the data protection, because caller data remains in the pool.</li>
+ * </ul>
  *
- * @version 2025-03-29 created
+ * @version
+ * 2026-10-18 last modified<br>
+ * 2025-03-29 created
  * @since 1.8
  */
 public class ZeroBytePool implements BytePool {
@@ -54,26 +67,82 @@ public class ZeroBytePool implements BytePool {
 	
 	
 	private final BytePool source;
+	private final boolean zeroOnClaim;
 	
 	/**
 	 * Constructs a new ZeroBytePool that wraps the specified source BytePool.
+	 * The byte arrays are cleared on free.
 	 *
 	 * @param source the underlying BytePool to wrap
 	 */
 	public ZeroBytePool(BytePool source) {
+		this(source, false);
+	}
+	
+	/**
+	 * Constructs a new ZeroBytePool that wraps the specified source BytePool.
+	 *
+	 * @param source      the underlying BytePool to wrap
+	 * @param zeroOnClaim whether the first {@code minLength} bytes are cleared on
+	 *                    claim instead of clearing the arrays on free
+	 * @since 1.9
+	 */
+	public ZeroBytePool(BytePool source, boolean zeroOnClaim) {
 		this.source = source;
+		this.zeroOnClaim = zeroOnClaim;
+	}
+	
+	/**
+	 * Returns whether the byte arrays are cleared on claim instead of free.
+	 *
+	 * @return {@code true} if this pool is in zero-on-claim mode
+	 * @since 1.9
+	 */
+	public boolean isZeroOnClaim() {
+		return zeroOnClaim;
 	}
 	
 	@Override
-	public Pooled<byte[]> claim(int minLength) {
-		return new ZeroPooled(this.source.claim(minLength));
+	public ZeroPooled claim(int minLength) {
+		Pooled<byte[]> base = this.source.claim(minLength);
+		if (this.zeroOnClaim) {
+			byte[] array = base.get();
+			zero(array, 0, Math.min(minLength, array.length));
+		}
+		return new ZeroPooled(base, !this.zeroOnClaim);
 	}
 	
-	private static class ZeroPooled implements Pooled<byte[]> {
+	/**
+	 * A byte array claimed from a {@link ZeroBytePool}.
+	 *
+	 * @since 1.9
+	 */
+	public static final class ZeroPooled implements Pooled<byte[]> {
 		private final Pooled<byte[]> base;
+		private final boolean zeroOnFree;
+		private int dirtyLength; // -1: whole array
 		
-		public ZeroPooled(Pooled<byte[]> base) {
+		private ZeroPooled(Pooled<byte[]> base, boolean zeroOnFree) {
 			this.base = base;
+			this.zeroOnFree = zeroOnFree;
+			this.dirtyLength = -1;
+		}
+		
+		/**
+		 * Reports that the caller may have written to the first {@code length}
+		 * bytes of the array, but not to the bytes behind them.
+		 * If this method is called multiple times, the largest length applies.
+		 * <p>
+		 * If this method is called at least once, only the dirty prefix is cleared
+		 * on free. Otherwise, the whole array is cleared. In zero-on-claim mode,
+		 * this method has no effect.
+		 *
+		 * @param length the number of bytes at the beginning of the array that
+		 *               may have been written
+		 */
+		public void markDirty(int length) {
+			if (length > this.dirtyLength)
+				this.dirtyLength = length;
 		}
 		
 		@Override
@@ -83,7 +152,10 @@ public class ZeroBytePool implements BytePool {
 		
 		@Override
 		public void free() {
-			zero(this.base.get());
+			if (this.zeroOnFree) {
+				byte[] array = this.base.get();
+				zero(array, 0, this.dirtyLength < 0 ? array.length : Math.min(this.dirtyLength, array.length));
+			}
 			this.base.free();
 		}
 	}
@@ -0,0 +1,85 @@
+package de.tomatengames.util.test;
+
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * A minimal benchmark harness for the benchmark classes of this package.
+ * <p>
+ * Each benchmark consists of an untimed setup and a timed body that performs a fixed amount of operations.
+ * The body is invoked repeatedly during several warmup and measurement iterations.
+ * The result of the body is consumed, so that the JIT compiler cannot eliminate the measured code.
+ * <p>
+ * The first program argument is an optional regular expression.
+ * Only benchmarks whose name contains a match are executed.
+ */
+final class BenchmarkRunner {
+	private static final int WARMUP_ITERATIONS = 3;
+	private static final int MEASURE_ITERATIONS = 5;
+	private static final long WARMUP_NANOS = 200_000_000L;
+	private static final long MEASURE_NANOS = 300_000_000L;
+	
+	private static volatile long sink;
+	
+	private final Pattern filter;
+	
+	BenchmarkRunner(String[] args) {
+		this.filter = args.length > 0 ? Pattern.compile(args[0]) : null;
+	}
+	
+	/**
+	 * Runs the specified benchmark and prints the average time per operation.
+	 * @param name The name of the benchmark.
+	 * @param ops The amount of operations that a single invocation of the body performs.
+	 * @param setup Prepares the state for the next invocation of the body. Not timed. May be {@code null}.
+	 * @param body The measured code. Its result is consumed.
+	 */
+	void run(String name, int ops, Runnable setup, LongSupplier body) {
+		if (this.filter != null && !this.filter.matcher(name).find()) {
+			return;
+		}
+		System.gc();
+		
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			iteration(ops, setup, body, WARMUP_NANOS);
+		}
+		double[] results = new double[MEASURE_ITERATIONS];
+		for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+			results[i] = iteration(ops, setup, body, MEASURE_NANOS);
+		}
+		
+		double mean = 0.0;
+		for (double r : results) {
+			mean += r;
+		}
+		mean /= results.length;
+		double variance = 0.0;
+		for (double r : results) {
+			variance += (r - mean) * (r - mean);
+		}
+		double deviation = Math.sqrt(variance / results.length);
+		System.out.printf("%-40s %12.2f ns/op  +- %.2f%n", name, mean, deviation);
+	}
+	
+	/**
+	 * Invokes the body until the specified time has been spent in it.
+	 * @return The average time per operation in nanoseconds.
+	 */
+	private static double iteration(int ops, Runnable setup, LongSupplier body, long nanos) {
+		long time = 0L;
+		long count = 0L;
+		long result = 0L;
+		while (time < nanos) {
+			if (setup != null) {
+				setup.run();
+			}
+			long t0 = System.nanoTime();
+			result += body.getAsLong();
+			time += System.nanoTime() - t0;
+			count += ops;
+		}
+		sink += result;
+		return (double) time / count;
+	}
+	
+}
@@ -0,0 +1,261 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.map.CompactOrderedHashMap;
+import de.tomatengames.util.map.OrderedHashMap;
+
+class CompactOrderedHashMapTest {
+	
+	@Test
+	void testPutAndGet() {
+		CompactOrderedHashMap<Integer, String> map = new CompactOrderedHashMap<>(); assertEquals(0, map.size());
+		assertEquals(null, map.put(0, "n0")); assertEquals(1, map.size());
+		assertEquals(null, map.put(5, "n5")); assertEquals(2, map.size());
+		assertEquals(null, map.put(-100, "100")); assertEquals(3, map.size());
+		assertEquals(null, map.put(1347856348, "1")); assertEquals(4, map.size());
+		assertEquals("n5", map.put(5, "N5")); assertEquals(4, map.size());
+		assertEquals("N5", map.putIfAbsent(5, "x")); assertEquals(4, map.size());
+		assertThrows(IllegalArgumentException.class, () -> map.put(null, "a"));
+		assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+		
+		assertEquals(null, map.get(-1));
+		assertEquals("n0", map.get(0));
+		assertEquals("1", map.get(1347856348));
+		assertEquals("N5", map.get(5));
+		assertEquals(null, map.get(null));
+		assertEquals(true, map.containsKey(-100));
+		assertEquals(false, map.containsKey(100));
+		
+		Iterator<Entry<Integer, String>> it = map.iterator();
+		assertEquals(true, it.hasNext()); assertEntry(0, "n0", it.next());
+		assertEquals(true, it.hasNext()); assertEntry(5, "N5", it.next());
+		assertEquals(true, it.hasNext()); assertEntry(-100, "100", it.next());
+		assertEquals(true, it.hasNext()); assertEntry(1347856348, "1", it.next());
+		assertEquals(false, it.hasNext());
+		assertThrows(NoSuchElementException.class, () -> it.next());
+	}
+	
+	@Test
+	void testFirstLast() {
+		CompactOrderedHashMap<String, Integer> map = new CompactOrderedHashMap<>();
+		assertThrows(NoSuchElementException.class, () -> map.getFirst());
+		assertThrows(NoSuchElementException.class, () -> map.getLast());
+		assertThrows(NoSuchElementException.class, () -> map.removeFirst());
+		assertThrows(NoSuchElementException.class, () -> map.removeLast());
+		
+		map.put("one", 1);
+		map.put("two", 2);
+		map.put("three", 3);
+		map.put("four", 4);
+		assertEntry("one", 1, map.getFirst());
+		assertEntry("four", 4, map.getLast());
+		
+		// Gaps at the beginning and the end are skipped.
+		assertEquals(1, map.remove("one"));
+		assertEquals(4, map.remove("four"));
+		assertEntry("two", 2, map.getFirst());
+		assertEntry("three", 3, map.getLast());
+		
+		assertEntry("three", 3, map.removeLast());
+		assertEntry("two", 2, map.removeFirst());
+		assertEquals(0, map.size());
+		assertEquals(true, map.isEmpty());
+		
+		// An entry is a view of the map while its key is present.
+		map.put("five", 5);
+		Entry<String, Integer> entry = map.getFirst();
+		map.put("five", 55);
+		assertEquals(55, entry.getValue());
+		assertEquals(55, entry.setValue(555));
+		assertEquals(555, map.get("five"));
+		Entry<String, Integer> removed = map.removeLast();
+		assertEntry("five", 555, removed);
+		assertEquals(555, removed.setValue(6));
+		assertEquals(null, map.get("five"));
+	}
+	
+	@Test
+	void testIteratorRemove() {
+		CompactOrderedHashMap<Integer, String> map = new CompactOrderedHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			map.put(i, "v" + i);
+		}
+		Iterator<Entry<Integer, String>> it = map.iterator();
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		while (it.hasNext()) {
+			Entry<Integer, String> entry = it.next();
+			if (entry.getKey() % 3 != 1) {
+				it.remove();
+			}
+		}
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		assertEquals(33, map.size());
+		
+		int expected = 1;
+		for (Entry<Integer, String> entry : map) {
+			assertEntry(expected, "v" + expected, entry);
+			expected += 3;
+		}
+		assertEquals(100, expected);
+		
+		assertThrows(ConcurrentModificationException.class, () -> {
+			for (Entry<Integer, String> entry : map) {
+				map.put(-entry.getKey(), entry.getValue());
+			}
+		});
+		
+		map.clear();
+		assertEquals(0, map.size());
+		assertEquals(null, map.get(1));
+		map.forEach(entry -> fail(entry));
+	}
+	
+	@Test
+	void testRandom() {
+		Random random = new Random(42);
+		CompactOrderedHashMap<Integer, Integer> map = new CompactOrderedHashMap<>();
+		LinkedHashMap<Integer, Integer> expected = new LinkedHashMap<>();
+		for (int round = 0; round < 200; round++) {
+			int keyRange = 1 + random.nextInt(2000);
+			for (int i = 0; i < 500; i++) {
+				int key = random.nextInt(keyRange);
+				switch (random.nextInt(6)) {
+				case 0:
+				case 1:
+					assertEquals(expected.putIfAbsent(key, i), map.putIfAbsent(key, i));
+					break;
+				case 2:
+					assertEquals(expected.remove(key), map.remove(key));
+					break;
+				case 3:
+					if (!expected.isEmpty()) {
+						// Like a queue
+						Entry<Integer, Integer> first = expected.entrySet().iterator().next();
+						assertEntry(first.getKey(), first.getValue(), map.removeFirst());
+						expected.remove(first.getKey());
+					}
+					break;
+				case 4:
+					if (!expected.isEmpty()) {
+						Entry<Integer, Integer> last = map.removeLast();
+						assertEquals(last.getValue(), expected.remove(last.getKey()));
+						// The last entry of the reference is the removed entry.
+						expected.put(last.getKey(), last.getValue());
+						assertEquals(last.getValue(), expected.remove(last.getKey()));
+					}
+					break;
+				default:
+					assertEquals(expected.get(key), map.get(key));
+					break;
+				}
+			}
+			if (round % 50 == 49) {
+				map.trimToSize();
+			}
+			
+			assertEquals(expected.size(), map.size());
+			Iterator<Entry<Integer, Integer>> it = map.iterator();
+			for (Entry<Integer, Integer> entry : expected.entrySet()) {
+				assertEntry(entry.getKey(), entry.getValue(), it.next());
+			}
+			assertFalse(it.hasNext());
+		}
+	}
+	
+	@Test
+	void testEquals() {
+		CompactOrderedHashMap<Integer, String> map1 = new CompactOrderedHashMap<>();
+		CompactOrderedHashMap<Integer, String> map2 = new CompactOrderedHashMap<>(100);
+		OrderedHashMap<Integer, String> ordered = new OrderedHashMap<>();
+		for (int i = 0; i < 50; i++) {
+			map1.put(i, "v" + i);
+			map2.put(-i, "x");
+			ordered.put(i, "v" + i);
+		}
+		for (int i = 0; i < 50; i++) {
+			map2.remove(-i);
+			map2.put(i, "v" + i);
+		}
+		
+		assertTrue(map1.equals(map2));
+		assertEquals(map1.hashCode(), map2.hashCode());
+		assertEquals(ordered.hashCode(), map1.hashCode());
+		assertEquals(map1, new CompactOrderedHashMap<>(map2));
+		
+		map2.put(0, "a");
+		assertNotEquals(map1, map2);
+		map2.put(0, "v0");
+		assertEquals(map1, map2);
+		map2.put(0, map2.removeFirst().getValue());
+		assertNotEquals(map1, map2); // Different order
+		assertFalse(map1.equals(null));
+		
+		CompactOrderedHashMap<Integer, String> map3 = new CompactOrderedHashMap<>();
+		map3.putAll(map2);
+		map3.putAll(map3);
+		map3.putAll(null);
+		assertEquals(map2, map3);
+	}
+	
+	@Test
+	void testCapacity() {
+		CompactOrderedHashMap<Integer, String> map = new CompactOrderedHashMap<>(1000);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, "v" + i);
+		}
+		// Removes the first and the last entries.
+		for (int i = 0; i < 990; i++) {
+			int key = i < 500 ? i : 1499 - i;
+			assertEquals("v" + key, map.remove(key));
+		}
+		map.trimToSize();
+		map.ensureCapacity(100);
+		assertEquals(10, map.size());
+		int expected = 500;
+		for (Entry<Integer, String> entry : map) {
+			assertEntry(expected, "v" + expected, entry);
+			expected++;
+		}
+		assertEquals(510, expected);
+		
+		map.clear();
+		map.trimToSize();
+		assertEquals(null, map.put(1, "a"));
+		assertEquals("a", map.get(1));
+		
+		CompactOrderedHashMap<Integer, String> dense = new CompactOrderedHashMap<>(0, 0.95);
+		for (int i = 0; i < 100; i++) {
+			dense.put(i, "d" + i);
+		}
+		assertEquals("d42", dense.get(42));
+		
+		assertThrows(IllegalArgumentException.class, () -> new CompactOrderedHashMap<>(-1));
+		assertThrows(IllegalArgumentException.class, () -> new CompactOrderedHashMap<>(10, 0.0));
+		assertThrows(IllegalArgumentException.class, () -> new CompactOrderedHashMap<>(10, 1.0));
+		assertThrows(IllegalArgumentException.class, () -> map.ensureCapacity(-1));
+	}
+	
+	
+	private static void fail(Object unexpected) {
+		throw new AssertionError("Unexpected entry " + unexpected);
+	}
+	
+	private static <K, V> void assertEntry(K expKey, V expValue, Entry<K, V> actualEntry) {
+		assertEquals(expKey, actualEntry.getKey());
+		assertEquals(expValue, actualEntry.getValue());
+	}
+}
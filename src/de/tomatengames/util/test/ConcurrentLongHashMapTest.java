@@ -0,0 +1,218 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.map.ConcurrentLongHashMap;
+import de.tomatengames.util.map.LongEntry;
+import de.tomatengames.util.map.LongHashMap;
+
+class ConcurrentLongHashMapTest {
+	
+	@Test
+	void testPutAndGet() {
+		ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>(); assertEquals(0, map.size());
+		assertEquals(true, map.isEmpty());
+		assertEquals(null, map.put(0L, "n0")); assertEquals(1, map.size());
+		assertEquals(null, map.put(5L, "n5")); assertEquals(2, map.size());
+		assertEquals(null, map.put(-100L, "100")); assertEquals(3, map.size());
+		assertEquals(null, map.put(1L << 50, "1")); assertEquals(4, map.size());
+		assertEquals("n5", map.put(5L, "N5")); assertEquals(4, map.size());
+		assertEquals(false, map.isEmpty());
+		
+		assertEquals("n0", map.get(0L));
+		assertEquals("1", map.get(1L << 50));
+		assertEquals(null, map.get(1L << 51));
+		assertEquals("100", map.get(-100L));
+		assertEquals("N5", map.get(5L));
+		assertEquals(true, map.containsKey(0L));
+		assertEquals(false, map.containsKey(4L));
+		
+		assertEquals("N5", map.remove(5L)); assertEquals(3, map.size());
+		assertEquals(null, map.remove(5L)); assertEquals(3, map.size());
+		assertThrows(IllegalArgumentException.class, () -> map.put(5L, null));
+		assertThrows(IllegalArgumentException.class, () -> map.putIfAbsent(5L, null));
+		assertThrows(IllegalArgumentException.class, () -> map.computeIfAbsent(5L, null));
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongHashMap<String>(0));
+	}
+	
+	@Test
+	void testPutIfAbsentAndCompute() {
+		ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>(1);
+		assertEquals(null, map.putIfAbsent(4L, "test")); assertEquals(1, map.size());
+		assertEquals("test", map.putIfAbsent(4L, "abc")); assertEquals(1, map.size());
+		assertEquals("test", map.computeIfAbsent(4L, k -> "xyz"));
+		assertEquals("7", map.computeIfAbsent(7L, k -> String.valueOf(k))); assertEquals(2, map.size());
+		assertEquals(null, map.computeIfAbsent(8L, k -> null)); assertEquals(2, map.size());
+		assertEquals(false, map.containsKey(8L));
+	}
+	
+	@Test
+	void testRandomOperations() {
+		Random random = new Random(42);
+		ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>(4);
+		HashMap<Long, Long> compareMap = new HashMap<>();
+		for (int i = 0; i < 200000; i++) {
+			long key = (random.nextInt(5000) - 2500) * 0x100000001L;
+			long value = random.nextLong();
+			switch (random.nextInt(4)) {
+			case 0:
+				assertEquals(compareMap.put(key, value), map.put(key, value));
+				break;
+			case 1:
+				assertEquals(compareMap.putIfAbsent(key, value), map.putIfAbsent(key, value));
+				break;
+			case 2:
+				assertEquals(compareMap.computeIfAbsent(key, k -> value), map.computeIfAbsent(key, k -> value));
+				break;
+			default:
+				assertEquals(compareMap.remove(key), map.remove(key));
+				break;
+			}
+			assertEquals(compareMap.get(key), map.get(key));
+			assertEquals(compareMap.size(), map.size());
+		}
+		
+		HashMap<Long, Long> comp = new HashMap<>(compareMap);
+		for (LongEntry<Long> entry : map) {
+			assertEquals(comp.remove(entry.getKey()), entry.getValue());
+		}
+		assertTrue(comp.isEmpty());
+	}
+	
+	@Test
+	void testIterator() {
+		ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>();
+		for (long i = -500; i < 500; i++) {
+			map.put(i * 7, i);
+		}
+		
+		for (LongEntry<Long> entry : map) {
+			entry.setValue(entry.getValue() * 2);
+		}
+		for (long i = -500; i < 500; i++) {
+			assertEquals(i * 2, map.get(i * 7));
+		}
+		
+		Iterator<LongEntry<Long>> it = map.iterator();
+		while (it.hasNext()) {
+			if (it.next().getValue() < 0) {
+				it.remove();
+				assertThrows(IllegalStateException.class, () -> it.remove());
+			}
+		}
+		assertEquals(500, map.size());
+		
+		// Modifications during the iteration are allowed.
+		for (LongEntry<Long> entry : map) {
+			map.remove(entry.getKey());
+			map.put(-1L - entry.getKey(), 0L);
+		}
+		
+		ConcurrentLongHashMap<Long> clone = new ConcurrentLongHashMap<>(map);
+		assertEquals(map, clone);
+		assertEquals(map.hashCode(), clone.hashCode());
+		clone.put(1L, 1L);
+		assertNotEquals(map, clone);
+		
+		LongHashMap<Long> source = new LongHashMap<>();
+		source.put(3L, 9L);
+		map.clear();
+		assertEquals(0, map.size());
+		map.putAll(source);
+		assertEquals(9L, map.get(3L));
+	}
+	
+	@Test
+	void testConcurrentComputeIfAbsent() throws InterruptedException {
+		int threadCount = 8;
+		int keyCount = 20000;
+		ConcurrentLongHashMap<Object> map = new ConcurrentLongHashMap<>();
+		AtomicInteger calls = new AtomicInteger();
+		ConcurrentHashMap<Long, Object> seen = new ConcurrentHashMap<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Throwable> errors = new ArrayList<>();
+		
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < threadCount; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					for (long k = 0; k < keyCount; k++) {
+						long key = k * 0x9E3779B97F4A7C15L;
+						Object value = map.computeIfAbsent(key, x -> {
+							calls.incrementAndGet();
+							return new Object();
+						});
+						// All threads must observe the same value for a key.
+						Object prev = seen.putIfAbsent(key, value);
+						if (prev != null && prev != value) {
+							throw new AssertionError("Different values for key " + key);
+						}
+						if (map.putIfAbsent(key, new Object()) != value) {
+							throw new AssertionError("putIfAbsent replaced the value of key " + key);
+						}
+					}
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		assertEquals(new ArrayList<>(), errors);
+		assertEquals(keyCount, calls.get());
+		assertEquals(keyCount, map.size());
+	}
+	
+	@Test
+	void testConcurrentPutAndRemove() throws InterruptedException {
+		int threadCount = 8;
+		ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>(threadCount);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < threadCount; t++) {
+			long offset = (long) t << 40;
+			Thread thread = new Thread(() -> {
+				// Each thread uses its own keys, but they share the segments.
+				for (long k = 0; k < 10000; k++) {
+					map.put(offset + k, k);
+				}
+				for (long k = 0; k < 10000; k += 2) {
+					map.remove(offset + k);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		assertEquals(threadCount * 5000L, map.size());
+		HashSet<Long> keys = new HashSet<>();
+		map.forEach(entry -> {
+			assertEquals(1L, entry.getValue() % 2);
+			assertTrue(keys.add(entry.getKey()));
+		});
+		assertEquals(threadCount * 5000, keys.size());
+	}
+	
+}
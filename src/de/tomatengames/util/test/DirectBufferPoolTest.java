@@ -0,0 +1,97 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.pool.DirectBufferPool;
+import de.tomatengames.util.pool.Pooled;
+
+class DirectBufferPoolTest {
+	
+	@Test
+	void testClaim() {
+		DirectBufferPool pool = new DirectBufferPool();
+		assertEquals(32, pool.claim(Integer.MIN_VALUE).get().capacity());
+		assertEquals(32, pool.claim(0).get().capacity());
+		assertEquals(32, pool.claim(32).get().capacity());
+		assertEquals(64, pool.claim(33).get().capacity());
+		assertEquals(256, pool.claim(129).get().capacity());
+		assertEquals(8192, pool.claim(8192).get().capacity());
+		assertTrue(pool.claim(100).get().isDirect());
+		assertThrows(IllegalArgumentException.class, () -> pool.claim((1 << 30) + 1));
+	}
+	
+	@Test
+	void testReuse() {
+		DirectBufferPool pool = new DirectBufferPool();
+		Pooled<ByteBuffer> pooled = pool.claim(1000);
+		ByteBuffer buffer = pooled.get();
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(42).flip();
+		pooled.free();
+		assertEquals(1024, pool.storedBytes());
+		
+		// The same buffer is returned in its initial state.
+		pooled = pool.claim(600);
+		assertSame(buffer, pooled.get());
+		assertEquals(0, buffer.position());
+		assertEquals(1024, buffer.limit());
+		assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+		assertEquals(0, pool.storedBytes());
+		pooled.free();
+		assertThrows(IllegalStateException.class, pooled::free);
+	}
+	
+	@Test
+	void testLevelCapacity() {
+		DirectBufferPool pool = new DirectBufferPool(4096);
+		assertEquals(128, pool.levelCapacity(32));
+		assertEquals(4, pool.levelCapacity(1024));
+		assertEquals(1, pool.levelCapacity(4096));
+		assertEquals(0, pool.levelCapacity(8192));
+		assertEquals(0, pool.levelCapacity(1 << 20));
+		
+		// Buffers larger than the limit are dropped.
+		pool.claim(8192).free();
+		assertEquals(0, pool.storedBytes());
+		
+		List<Pooled<ByteBuffer>> claims = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			claims.add(pool.claim(1024));
+		}
+		claims.forEach(Pooled::free);
+		assertEquals(4096, pool.storedBytes());
+		
+		pool.clean();
+		assertEquals(4096, pool.storedBytes());
+		pool.clean();
+		assertEquals(0, pool.storedBytes());
+		assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(-1));
+	}
+	
+	@Test
+	void testNoRetention() {
+		DirectBufferPool pool = new DirectBufferPool(0);
+		assertEquals(0, pool.levelCapacity(32));
+		Pooled<ByteBuffer> pooled = pool.claim(100);
+		ByteBuffer buffer = pooled.get();
+		pooled.free();
+		assertEquals(0, pool.storedBytes());
+		assertNotSame(buffer, pool.claim(100).get());
+		
+		// The default limit does not store the large levels.
+		assertEquals(0, new DirectBufferPool().levelCapacity(32 << 20));
+		assertEquals(1, new DirectBufferPool().levelCapacity(16 << 20));
+	}
+	
+}
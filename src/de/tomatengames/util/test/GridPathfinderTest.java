@@ -0,0 +1,277 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.GridPathfinder;
+import de.tomatengames.util.PathfinderUtil;
+import de.tomatengames.util.test.PathfinderTest.Maze;
+import de.tomatengames.util.test.PathfinderTest.MazePoint;
+import de.tomatengames.util.test.PathfinderTest.MazeWorld;
+
+class GridPathfinderTest {
+	
+	@Test
+	void testFind() throws IOException {
+		checkPathCost("line1.png", 50);
+		checkPathCost("line2.png", 58);
+		checkPathCost("diagonal1.png", 98);
+		checkPathCost("diagonal2.png", 122);
+		checkPathCost("choosediagonal.png", 104);
+		checkPathCost("chooseline.png", 120);
+		checkPathCost("mini1.png", 180);
+		checkPathCost("mini2.png", 300);
+	}
+	
+	private static void checkPathCost(String filename, double cost) throws IOException {
+		Maze maze = PathfinderTest.readMazeImageFile("testdata/pathfinderutil/" + filename);
+		GridPathfinder pathfinder = new GridPathfinder(new MazeGrid(maze), true, 10, 14);
+		assertEquals(cost, pathfinder.find(maze.startx, maze.starty, maze.goalx, maze.goaly));
+		checkPath(pathfinder, maze, cost);
+		assertEquals(cost, pathfinder.findJump(maze.startx, maze.starty, maze.goalx, maze.goaly));
+		checkPath(pathfinder, maze, cost);
+		pathfinder.precomputeJumps();
+		assertEquals(cost, pathfinder.findJump(maze.startx, maze.starty, maze.goalx, maze.goaly));
+		checkPath(pathfinder, maze, cost);
+	}
+	
+	@Test
+	void testRandom() {
+		Random random = new Random(42);
+		for (int round = 0; round < 50; round++) {
+			int size = 2 + random.nextInt(40);
+			Maze maze = PathfinderBenchmark.createMaze(size, random);
+			GridPathfinder pathfinder = new GridPathfinder(new MazeGrid(maze), true, 10, 14);
+			
+			// The same pathfinder is reused for different starts and goals.
+			for (int i = 0; i < 10; i++) {
+				maze.startx = random.nextInt(size);
+				maze.starty = random.nextInt(size);
+				maze.goalx = random.nextInt(size);
+				maze.goaly = random.nextInt(size);
+				double cost = pathfinder.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+				
+				if (!maze.passable(maze.startx, maze.starty) || !maze.passable(maze.goalx, maze.goaly)) {
+					assertEquals(Double.POSITIVE_INFINITY, cost);
+					assertEquals(0, pathfinder.pathLength());
+					continue;
+				}
+				MazePoint goal = PathfinderUtil.find(new MazePoint(null, 0, maze.startx, maze.starty), new ReferenceWorld(maze));
+				assertEquals(goal != null ? goal.getCost() : Double.POSITIVE_INFINITY, cost);
+				checkPath(pathfinder, maze, cost);
+			}
+		}
+	}
+	
+	@Test
+	void testJump() {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			int size = 2 + random.nextInt(40);
+			double ratio = random.nextDouble() * 0.4;
+			Maze maze = PathfinderBenchmark.createMaze(size, ratio, random);
+			boolean diagonal = random.nextBoolean();
+			GridPathfinder pathfinder = new GridPathfinder(new MazeGrid(maze), diagonal, 10, 14);
+			GridPathfinder precomputed = new GridPathfinder(new MazeGrid(maze), diagonal, 10, 14);
+			precomputed.precomputeJumps();
+			
+			// Jump point search finds paths with the same cost as A*.
+			for (int i = 0; i < 10; i++) {
+				maze.startx = random.nextInt(size);
+				maze.starty = random.nextInt(size);
+				maze.goalx = random.nextInt(size);
+				maze.goaly = random.nextInt(size);
+				double cost = pathfinder.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+				assertEquals(cost, pathfinder.findJump(maze.startx, maze.starty, maze.goalx, maze.goaly));
+				checkPath(pathfinder, maze, cost);
+				assertEquals(cost, precomputed.findJump(maze.startx, maze.starty, maze.goalx, maze.goaly));
+				checkPath(precomputed, maze, cost);
+			}
+		}
+		
+		// On an open field, only few cells are expanded.
+		Maze maze = PathfinderBenchmark.createMaze(200, 0.0, random);
+		maze.passable[50][120] = false;
+		GridPathfinder pathfinder = new GridPathfinder(new MazeGrid(maze), true, 10, 14);
+		assertEquals(199 * 14, pathfinder.find(0, 0, 199, 199));
+		int expanded = pathfinder.expandedCount();
+		assertEquals(199 * 14, pathfinder.findJump(0, 0, 199, 199));
+		assertTrue(pathfinder.expandedCount() * 20 < expanded);
+		assertEquals(200, pathfinder.pathLength());
+		pathfinder.precomputeJumps();
+		assertEquals(199 * 14, pathfinder.findJump(0, 0, 199, 199));
+		assertTrue(pathfinder.expandedCount() * 20 < expanded);
+		
+		// The precomputed jumps are only valid for the grid that existed at that time.
+		maze.passable[100][100] = false;
+		pathfinder.discardJumps();
+		double cost = pathfinder.find(0, 0, 199, 199);
+		assertTrue(cost > 199 * 14);
+		assertEquals(cost, pathfinder.findJump(0, 0, 199, 199));
+		pathfinder.precomputeJumps();
+		assertEquals(cost, pathfinder.findJump(0, 0, 199, 199));
+		
+		GridPathfinder voxels = new GridPathfinder(new GridPathfinder.Grid() {
+			@Override
+			public int sizeX() {
+				return 2;
+			}
+			@Override
+			public int sizeY() {
+				return 2;
+			}
+			@Override
+			public int sizeZ() {
+				return 2;
+			}
+			@Override
+			public boolean isPassable(int x, int y, int z) {
+				return true;
+			}
+		});
+		assertThrows(IllegalStateException.class, () -> voxels.findJump(0, 0, 1, 1));
+		assertThrows(IllegalStateException.class, () -> voxels.precomputeJumps());
+	}
+	
+	@Test
+	void testOrthogonal() {
+		// A wall with a single gap
+		Maze maze = PathfinderBenchmark.createMaze(10, new Random(1));
+		for (int x = 0; x < 10; x++) {
+			for (int y = 0; y < 10; y++) {
+				maze.passable[x][y] = x != 5 || y == 9;
+			}
+		}
+		GridPathfinder pathfinder = new GridPathfinder(new MazeGrid(maze), false, 1, 1);
+		assertEquals(27, pathfinder.find(0, 0, 9, 0));
+		assertEquals(28, pathfinder.pathLength());
+		assertEquals(GridPathfinder.pack(5, 9, 0), pathfinder.pathNode(14));
+		assertEquals(28, pathfinder.getPath().length);
+		assertTrue(pathfinder.expandedCount() > 0);
+		assertEquals(0, pathfinder.find(3, 3, 3, 3));
+		assertEquals(1, pathfinder.pathLength());
+		
+		// The goal cannot be reached without the gap.
+		maze.passable[5][9] = false;
+		assertEquals(Double.POSITIVE_INFINITY, pathfinder.find(0, 0, 9, 0));
+		assertEquals(0, pathfinder.pathLength());
+		assertEquals(0, pathfinder.getPath().length);
+		assertThrows(IndexOutOfBoundsException.class, () -> pathfinder.pathNode(0));
+		assertThrows(IllegalArgumentException.class, () -> pathfinder.find(0, 0, 10, 0));
+		assertThrows(IllegalArgumentException.class, () -> pathfinder.find(-1, 0, 0, 0));
+		
+		assertThrows(IllegalArgumentException.class, () -> new GridPathfinder(new MazeGrid(maze), true, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new GridPathfinder(new MazeGrid(maze), true, 10, 9));
+		assertThrows(IllegalArgumentException.class, () -> new GridPathfinder(new MazeGrid(maze), true, 10, 21));
+	}
+	
+	@Test
+	void testVoxels() {
+		// Two floors that are connected by a single hole
+		int size = 8;
+		GridPathfinder.Grid grid = new GridPathfinder.Grid() {
+			@Override
+			public int sizeX() {
+				return size;
+			}
+			@Override
+			public int sizeY() {
+				return size;
+			}
+			@Override
+			public int sizeZ() {
+				return 3;
+			}
+			@Override
+			public boolean isPassable(int x, int y, int z) {
+				return z != 1 || (x == 6 && y == 1);
+			}
+		};
+		GridPathfinder orthogonal = new GridPathfinder(grid, false, 1, 1);
+		assertEquals(6 + 1 + 2 + 6 + 1, orthogonal.find(0, 0, 0, 0, 0, 2));
+		assertEquals(17, orthogonal.pathLength());
+		long hole = GridPathfinder.pack(6, 1, 1);
+		assertEquals(6, GridPathfinder.unpackX(hole));
+		assertEquals(1, GridPathfinder.unpackY(hole));
+		assertEquals(1, GridPathfinder.unpackZ(hole));
+		assertEquals(hole, orthogonal.pathNode(8));
+		
+		// Diagonal moves in the xy plane cut the floors. Diagonal moves through the hole are blocked by the ceiling.
+		GridPathfinder diagonal = new GridPathfinder(grid, true, 2, 3);
+		assertEquals(3 + 5 * 2 + 2 * 2 + 3 + 5 * 2, diagonal.find(0, 0, 0, 0, 0, 2));
+		assertEquals(Double.POSITIVE_INFINITY, diagonal.find(0, 0, 0, 0, 0, 1));
+		assertEquals(6 * 3, diagonal.find(7, 7, 2, 1, 1, 2));
+		assertEquals(7, diagonal.pathLength());
+	}
+	
+	private static void checkPath(GridPathfinder pathfinder, Maze maze, double cost) {
+		if (cost == Double.POSITIVE_INFINITY) {
+			assertEquals(0, pathfinder.pathLength());
+			return;
+		}
+		assertEquals(GridPathfinder.pack(maze.startx, maze.starty, 0), pathfinder.pathNode(0));
+		assertEquals(GridPathfinder.pack(maze.goalx, maze.goaly, 0), pathfinder.pathNode(pathfinder.pathLength() - 1));
+		double sum = 0;
+		for (int i = 1; i < pathfinder.pathLength(); i++) {
+			long from = pathfinder.pathNode(i - 1);
+			long to = pathfinder.pathNode(i);
+			int x = GridPathfinder.unpackX(to);
+			int y = GridPathfinder.unpackY(to);
+			int dx = x - GridPathfinder.unpackX(from);
+			int dy = y - GridPathfinder.unpackY(from);
+			assertTrue(maze.passable(x, y));
+			assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0));
+			if (dx != 0 && dy != 0) {
+				assertTrue(maze.passable(x - dx, y) && maze.passable(x, y - dy));
+				sum += 14;
+			}
+			else {
+				sum += 10;
+			}
+		}
+		assertEquals(cost, sum);
+	}
+	
+	static class MazeGrid implements GridPathfinder.Grid {
+		private final Maze maze;
+		
+		public MazeGrid(Maze maze) {
+			this.maze = maze;
+		}
+		
+		@Override
+		public int sizeX() {
+			return this.maze.width;
+		}
+		
+		@Override
+		public int sizeY() {
+			return this.maze.height;
+		}
+		
+		@Override
+		public boolean isPassable(int x, int y, int z) {
+			return this.maze.passable[x][y];
+		}
+	}
+	
+	/**
+	 * Keeps the present node without the assertions of the test world.
+	 */
+	private static class ReferenceWorld extends MazeWorld {
+		public ReferenceWorld(Maze maze) {
+			super(maze);
+		}
+		@Override
+		public boolean preferOrigin(MazePoint present, MazePoint proposal) {
+			return false;
+		}
+	}
+	
+}
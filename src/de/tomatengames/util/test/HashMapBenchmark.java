@@ -0,0 +1,83 @@
+package de.tomatengames.util.test;
+
+import java.util.HashMap;
+
+import de.tomatengames.util.map.Int2HashMap;
+import de.tomatengames.util.map.Int3HashMap;
+import de.tomatengames.util.map.LongHashMap;
+
+/**
+ * Measures the lookup time of the hash maps for clustered coordinate keys.
+ * The keys are the coordinates of a square area of chunks around the origin,
+ * so they are sequential in each component.
+ * @see BenchmarkRunner
+ */
+class HashMapBenchmark {
+	
+	private static final int RADIUS = 256;
+	
+	private static long packed(int x, int z) {
+		return ((long) x << 32) | (z & 0xFFFFFFFFL);
+	}
+	
+	public static void main(String[] args) {
+		LongHashMap<String> packedMap = new LongHashMap<>();
+		Int2HashMap<String> map2 = new Int2HashMap<>();
+		Int3HashMap<String> map3 = new Int3HashMap<>();
+		HashMap<Long, String> javaMap = new HashMap<>();
+		for (int x = -RADIUS; x < RADIUS; x++) {
+			for (int z = -RADIUS; z < RADIUS; z++) {
+				String value = x + "," + z;
+				packedMap.put(packed(x, z), value);
+				map2.put(x, z, value);
+				map3.put(x, z & 15, z >> 4, value);
+				javaMap.put(packed(x, z), value);
+			}
+		}
+		
+		System.out.println("Entries: " + packedMap.size());
+		System.out.println("Longest chain: LongHashMap " + (packedMap.chainLengthHistogram().length-1) +
+				", Int2HashMap " + (map2.chainLengthHistogram().length-1) +
+				", Int3HashMap " + (map3.chainLengthHistogram().length-1));
+		
+		int n = (int) packedMap.size();
+		BenchmarkRunner runner = new BenchmarkRunner(args);
+		runner.run("LongHashMap.getClustered", n, null, () -> {
+			long result = 0L;
+			for (int x = -RADIUS; x < RADIUS; x++) {
+				for (int z = -RADIUS; z < RADIUS; z++) {
+					result += packedMap.get(packed(x, z)).length();
+				}
+			}
+			return result;
+		});
+		runner.run("Int2HashMap.getClustered", n, null, () -> {
+			long result = 0L;
+			for (int x = -RADIUS; x < RADIUS; x++) {
+				for (int z = -RADIUS; z < RADIUS; z++) {
+					result += map2.get(x, z).length();
+				}
+			}
+			return result;
+		});
+		runner.run("Int3HashMap.getClustered", n, null, () -> {
+			long result = 0L;
+			for (int x = -RADIUS; x < RADIUS; x++) {
+				for (int z = -RADIUS; z < RADIUS; z++) {
+					result += map3.get(x, z & 15, z >> 4).length();
+				}
+			}
+			return result;
+		});
+		runner.run("HashMap<Long>.getClustered", n, null, () -> {
+			long result = 0L;
+			for (int x = -RADIUS; x < RADIUS; x++) {
+				for (int z = -RADIUS; z < RADIUS; z++) {
+					result += javaMap.get(packed(x, z)).length();
+				}
+			}
+			return result;
+		});
+	}
+	
+}
@@ -274,6 +274,181 @@ class HashMapTest {
 		assertEquals(4, map.size());
 	}
 	
+	@Test
+	void testFilterIteratorSameBucket() {
+		// All keys are in the same bucket. Removing consecutive nodes must not unlink the others.
+		IntHashMap<String> map = new IntHashMap<>();
+		for (int i = 0; i < 6; i++) {
+			map.put(i << 16, String.valueOf(i));
+		}
+		
+		Iterator<IntEntry<String>> it = map.iterator();
+		while (it.hasNext()) {
+			IntEntry<String> entry = it.next();
+			if ((entry.getKey() >> 16) % 3 != 0) {
+				it.remove();
+			}
+		}
+		
+		assertEquals(2, map.size());
+		assertEquals("0", map.get(0));
+		assertEquals("3", map.get(3 << 16));
+		int count = 0;
+		for (IntEntry<String> entry : map) {
+			assertEquals(0, (entry.getKey() >> 16) % 3);
+			count++;
+		}
+		assertEquals(2, count);
+	}
+	
+	@Test
+	void testIncrementalResize() {
+		Random random = new Random(42);
+		LongHashMap<Long> map = new LongHashMap<>();
+		map.setIncrementalResize(true);
+		assertEquals(true, map.isIncrementalResize());
+		HashMap<Long, Long> compareMap = new HashMap<>();
+		for (int i = 0; i < 100000; i++) {
+			long key = random.nextInt(50000);
+			long value = random.nextLong();
+			if (random.nextInt(4) != 0) {
+				assertEquals(compareMap.put(key, value), map.put(key, value));
+			}
+			else {
+				assertEquals(compareMap.remove(key), map.remove(key));
+			}
+			assertEquals(compareMap.get(key), map.get(key));
+			assertEquals(compareMap.size(), map.size());
+			
+			// Iterate while nodes might be distributed over both tables.
+			if (i % 9973 == 0) {
+				HashMap<Long, Long> comp = new HashMap<>(compareMap);
+				map.forEach(entry -> assertEquals(comp.remove(entry.getKey()), entry.getValue()));
+				assertTrue(comp.isEmpty());
+				
+				HashMap<Long, Long> comp2 = new HashMap<>(compareMap);
+				for (LongEntry<Long> entry : map) {
+					assertEquals(comp2.remove(entry.getKey()), entry.getValue());
+				}
+				assertTrue(comp2.isEmpty());
+			}
+		}
+		
+		// Removes entries with the iterator while the table might be resized.
+		for (int i = 0; i < 100; i++) {
+			map.put(100000L + i, 0L);
+			compareMap.put(100000L + i, 0L);
+		}
+		Iterator<LongEntry<Long>> it = map.iterator();
+		while (it.hasNext()) {
+			LongEntry<Long> entry = it.next();
+			if (entry.getKey() % 2 == 0) {
+				it.remove();
+				compareMap.remove(entry.getKey());
+			}
+		}
+		assertEquals(compareMap.size(), map.size());
+		
+		// Disabling the incremental resize moves all remaining nodes.
+		map.setIncrementalResize(false);
+		assertEquals(false, map.isIncrementalResize());
+		for (long key = 0; key < 100100; key++) {
+			assertEquals(compareMap.get(key), map.get(key));
+		}
+		
+		map.clear();
+		assertEquals(0, map.size());
+		assertEquals(null, map.get(1L));
+		map.put(1L, 1L);
+		assertEquals(1L, map.get(1L));
+	}
+	
+	@Test
+	void testCapacity() {
+		Int2HashMap<String> map = new Int2HashMap<>(1000);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, -i, "v" + i);
+		}
+		for (int i = 0; i < 1000; i++) {
+			if (i % 10 != 0) {
+				assertEquals("v" + i, map.remove(i, -i));
+			}
+		}
+		map.trimToSize();
+		assertEquals(100, map.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i % 10 == 0 ? "v" + i : null, map.get(i, -i));
+		}
+		
+		// Trimming and enlarging while the table is resized incrementally.
+		map.setIncrementalResize(true);
+		for (int i = 1000; i < 1100; i++) {
+			map.put(i, -i, "v" + i);
+		}
+		map.trimToSize();
+		map.ensureCapacity(10000);
+		assertEquals(200, map.size());
+		assertEquals("v1050", map.get(1050, -1050));
+		assertEquals("v990", map.get(990, -990));
+		
+		Int2HashMap<String> clone = new Int2HashMap<>(map);
+		assertEquals(map, clone);
+		clone.clear();
+		clone.trimToSize();
+		assertEquals(0, clone.size());
+		assertEquals(null, clone.put(1, 2, "a"));
+		assertEquals("a", clone.get(1, 2));
+		
+		LongToIntHashMap counts = new LongToIntHashMap(0, 8.0);
+		for (int i = 0; i < 1000; i++) {
+			counts.increment(i % 100);
+		}
+		assertEquals(100, counts.size());
+		assertEquals(10, counts.get(42));
+		
+		assertThrows(IllegalArgumentException.class, () -> new IntHashMap<String>(-1));
+		assertThrows(IllegalArgumentException.class, () -> new IntHashMap<String>(10, 0.0));
+		assertThrows(IllegalArgumentException.class, () -> map.ensureCapacity(-1));
+	}
+	
+	@Test
+	void testChainLengthHistogram() {
+		LongHashMap<String> map = new LongHashMap<>();
+		assertArrayEquals(new int[] {0}, map.chainLengthHistogram());
+		
+		// Packed chunk coordinates. Without a hash finalizer, these keys collide into a few buckets.
+		Int2HashMap<String> map2 = new Int2HashMap<>();
+		Long3HashMap<String> map3 = new Long3HashMap<>();
+		for (int x = -32; x < 32; x++) {
+			for (int z = -32; z < 32; z++) {
+				map.put(((long) x << 32) | (z & 0xFFFFFFFFL), "v");
+				map2.put(x, z, "v");
+				map3.put(x, z & 7, z >> 3, "v");
+			}
+		}
+		assertChainLengths(4096, map.chainLengthHistogram());
+		assertChainLengths(4096, map2.chainLengthHistogram());
+		assertChainLengths(4096, map3.chainLengthHistogram());
+		
+		// The histogram includes the nodes that have not been moved by an incremental resize yet.
+		map.setIncrementalResize(true);
+		for (long i = 0; i < 4000; i++) {
+			map.put((1L << 40) + i, "w");
+		}
+		assertChainLengths(8096, map.chainLengthHistogram());
+		map.trimToSize();
+		assertChainLengths(8096, map.chainLengthHistogram());
+	}
+	
+	private static void assertChainLengths(int expectedSize, int[] histogram) {
+		long size = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			size += (long) i * histogram[i];
+		}
+		assertEquals(expectedSize, size);
+		assertTrue(histogram.length <= 10, "Longest chain: " + (histogram.length-1));
+	}
+	
 	@Test
 	void testModifyIterator() {
 		IntHashMap<Integer> map = new IntHashMap<>(); assertEquals(0, map.size());
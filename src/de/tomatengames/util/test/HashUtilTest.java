@@ -87,4 +87,25 @@ class HashUtilTest {
 				HashUtil.hashUTF8(sha256, str.toCharArray()));
 	}
 	
+	@Test
+	void testFmix() {
+		// Reference values of the MurmurHash3 finalizers.
+		assertEquals(0, HashUtil.fmix(0));
+		assertEquals(0x514E28B7, HashUtil.fmix(1));
+		assertEquals(0x087FCD5C, HashUtil.fmix(42));
+		assertEquals(0x81F16F39, HashUtil.fmix(-1));
+		assertEquals(0L, HashUtil.fmix(0L));
+		assertEquals(0xB456BCFC34C2CB2CL, HashUtil.fmix(1L));
+		assertEquals(0x810879608E4259CCL, HashUtil.fmix(42L));
+		assertEquals(0x64B5720B4B825F21L, HashUtil.fmix(-1L));
+		
+		// Neighboring inputs should differ in about half of the output bits.
+		for (int i = 0; i < 1000; i++) {
+			int diff32 = Integer.bitCount(HashUtil.fmix(i) ^ HashUtil.fmix(i+1));
+			assertTrue(diff32 >= 4 && diff32 <= 28, "fmix(int) at " + i);
+			int diff64 = Long.bitCount(HashUtil.fmix((long) i) ^ HashUtil.fmix((long) i+1));
+			assertTrue(diff64 >= 12 && diff64 <= 52, "fmix(long) at " + i);
+		}
+	}
+	
 }
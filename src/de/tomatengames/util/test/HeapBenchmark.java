@@ -0,0 +1,226 @@
+package de.tomatengames.util.test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import de.tomatengames.util.data.DoubleTrackedHeap;
+import de.tomatengames.util.data.LongTrackedHeap;
+import de.tomatengames.util.data.TimingWheel;
+import de.tomatengames.util.data.TrackedHeap;
+
+/**
+ * Measures insert, insertAll and removeFirst of the {@link TrackedHeap} and its primitive variants
+ * and compares them to {@link PriorityQueue}.
+ * The priorities are random.
+ * <p>
+ * The timer benchmarks compare the arities of the heaps for a large heap of timers.
+ * Each operation removes the first timer, reschedules it and reschedules another timer to an earlier time.
+ * The {@link TimingWheel} benchmarks do the same by advancing the wheel,
+ * and additionally measure postponing a timer, which is the typical idle timeout reset.
+ * @see BenchmarkRunner
+ */
+class HeapBenchmark {
+	
+	private static final int SIZE = 1 << 12;
+	
+	private static final Element[] ELEMENTS = new Element[SIZE];
+	
+	private static final int TIMERS = 1 << 20;
+	private static final int TIMER_OPS = 10000;
+	private static final int[] ARITIES = { 2, 4, 8 };
+	
+	static {
+		Random random = new Random(42);
+		for (int i = 0; i < SIZE; i++) {
+			ELEMENTS[i] = new Element(random.nextInt());
+		}
+	}
+	
+	public static void main(String[] args) {
+		BenchmarkRunner runner = new BenchmarkRunner(args);
+		
+		TrackedHeap<Element> heap = new TrackedHeap<>((e1, e2) -> Integer.compare(e1.priority, e2.priority));
+		runner.run("TrackedHeap.insert", SIZE, heap::clear, () -> {
+			for (Element element : ELEMENTS) {
+				heap.insert(element);
+			}
+			return heap.size();
+		});
+		List<Element> elementList = Arrays.asList(ELEMENTS);
+		runner.run("TrackedHeap.insertAll", SIZE, heap::clear, () -> {
+			heap.insertAll(elementList);
+			return heap.size();
+		});
+		runner.run("TrackedHeap.removeFirst", SIZE, () -> {
+			heap.clear();
+			for (Element element : ELEMENTS) {
+				heap.insert(element);
+			}
+		}, () -> {
+			long result = 0L;
+			while (!heap.isEmpty()) {
+				result += heap.removeFirst().priority;
+			}
+			return result;
+		});
+		heap.clear();
+		
+		LongTrackedHeap<Element> longHeap = new LongTrackedHeap<>();
+		runner.run("LongTrackedHeap.insert", SIZE, longHeap::clear, () -> {
+			for (Element element : ELEMENTS) {
+				longHeap.insert(element, element.priority);
+			}
+			return longHeap.size();
+		});
+		runner.run("LongTrackedHeap.removeFirst", SIZE, () -> {
+			longHeap.clear();
+			for (Element element : ELEMENTS) {
+				longHeap.insert(element, element.priority);
+			}
+		}, () -> {
+			long result = 0L;
+			while (!longHeap.isEmpty()) {
+				result += longHeap.removeFirst().priority;
+			}
+			return result;
+		});
+		longHeap.clear();
+		
+		DoubleTrackedHeap<Element> doubleHeap = new DoubleTrackedHeap<>();
+		runner.run("DoubleTrackedHeap.removeFirst", SIZE, () -> {
+			doubleHeap.clear();
+			for (Element element : ELEMENTS) {
+				doubleHeap.insert(element, element.priority);
+			}
+		}, () -> {
+			long result = 0L;
+			while (!doubleHeap.isEmpty()) {
+				result += doubleHeap.removeFirst().priority;
+			}
+			return result;
+		});
+		doubleHeap.clear();
+		
+		PriorityQueue<Element> queue = new PriorityQueue<>((e1, e2) -> Integer.compare(e1.priority, e2.priority));
+		runner.run("PriorityQueue.insert", SIZE, queue::clear, () -> {
+			for (Element element : ELEMENTS) {
+				queue.add(element);
+			}
+			return queue.size();
+		});
+		runner.run("PriorityQueue.removeFirst", SIZE, () -> {
+			queue.clear();
+			for (Element element : ELEMENTS) {
+				queue.add(element);
+			}
+		}, () -> {
+			long result = 0L;
+			while (!queue.isEmpty()) {
+				result += queue.poll().priority;
+			}
+			return result;
+		});
+		queue.clear();
+		
+		for (int arity : ARITIES) {
+			benchmarkTimers(runner, arity);
+		}
+		benchmarkTimingWheel(runner);
+	}
+	
+	private static void benchmarkTimers(BenchmarkRunner runner, int arity) {
+		Random random = new Random(42);
+		Timer[] timers = new Timer[TIMERS];
+		TrackedHeap<Timer> heap = new TrackedHeap<>((t1, t2) -> Long.compare(t1.time, t2.time), arity);
+		for (int i = 0; i < TIMERS; i++) {
+			timers[i] = new Timer(random.nextInt(1 << 24));
+			heap.insert(timers[i]);
+		}
+		runner.run("TrackedHeap[" + arity + "].timers", TIMER_OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < TIMER_OPS; i++) {
+				Timer first = heap.removeFirst();
+				first.time += random.nextInt(1 << 24);
+				heap.insert(first);
+				Timer other = timers[random.nextInt(TIMERS)];
+				other.time -= random.nextInt(1 << 10);
+				heap.decrease(other);
+				result += first.time;
+			}
+			return result;
+		});
+		heap.clear();
+		
+		LongTrackedHeap<Timer> longHeap = new LongTrackedHeap<>(arity);
+		for (int i = 0; i < TIMERS; i++) {
+			longHeap.insert(timers[i], random.nextInt(1 << 24));
+		}
+		runner.run("LongTrackedHeap[" + arity + "].timers", TIMER_OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < TIMER_OPS; i++) {
+				long time = longHeap.getFirstPriority();
+				Timer first = longHeap.removeFirst();
+				longHeap.insert(first, time + random.nextInt(1 << 24));
+				Timer other = timers[random.nextInt(TIMERS)];
+				longHeap.decrease(other, longHeap.getPriority(other) - random.nextInt(1 << 10));
+				result += time;
+			}
+			return result;
+		});
+		longHeap.clear();
+	}
+	
+	private static void benchmarkTimingWheel(BenchmarkRunner runner) {
+		Random random = new Random(42);
+		WheelTimer[] timers = new WheelTimer[TIMERS];
+		TimingWheel<WheelTimer> wheel = new TimingWheel<>(1, 0);
+		for (int i = 0; i < TIMERS; i++) {
+			timers[i] = new WheelTimer();
+			wheel.schedule(timers[i], random.nextInt(1 << 24));
+		}
+		// On average, one timer is due every 16 ticks.
+		long[] now = { 0L };
+		runner.run("TimingWheel.timers", TIMER_OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < TIMER_OPS; i++) {
+				now[0] += 16;
+				result += wheel.advance(now[0], timer -> wheel.schedule(timer, now[0] + random.nextInt(1 << 24)));
+				WheelTimer other = timers[random.nextInt(TIMERS)];
+				wheel.schedule(other, wheel.getDeadline(other) - random.nextInt(1 << 10));
+			}
+			return result;
+		});
+		runner.run("TimingWheel.postpone", TIMER_OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < TIMER_OPS; i++) {
+				WheelTimer timer = timers[random.nextInt(TIMERS)];
+				long deadline = wheel.getDeadline(timer) + random.nextInt(1 << 10);
+				wheel.schedule(timer, deadline);
+				result += deadline;
+			}
+			return result;
+		});
+	}
+	
+	private static class Element extends TrackedHeap.Element {
+		private final int priority;
+		
+		public Element(int priority) {
+			this.priority = priority;
+		}
+	}
+	
+	private static class Timer extends TrackedHeap.Element {
+		private long time;
+		
+		public Timer(long time) {
+			this.time = time;
+		}
+	}
+	
+	private static class WheelTimer extends TimingWheel.Element {
+	}
+	
+}
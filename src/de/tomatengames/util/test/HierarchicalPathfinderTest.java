@@ -0,0 +1,126 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.GridPathfinder;
+import de.tomatengames.util.HierarchicalPathfinder;
+import de.tomatengames.util.test.GridPathfinderTest.MazeGrid;
+import de.tomatengames.util.test.PathfinderTest.Maze;
+
+class HierarchicalPathfinderTest {
+	
+	@Test
+	void testRandom() {
+		Random random = new Random(42);
+		for (int round = 0; round < 100; round++) {
+			int size = 2 + random.nextInt(60);
+			Maze maze = PathfinderBenchmark.createMaze(size, random.nextDouble() * 0.4, random);
+			boolean diagonal = random.nextBoolean();
+			GridPathfinder optimal = new GridPathfinder(new MazeGrid(maze), diagonal, 10, 14);
+			HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new MazeGrid(maze), 2 + random.nextInt(12), diagonal, 10, 14);
+			
+			for (int i = 0; i < 10; i++) {
+				maze.startx = random.nextInt(size);
+				maze.starty = random.nextInt(size);
+				maze.goalx = random.nextInt(size);
+				maze.goaly = random.nextInt(size);
+				double expected = optimal.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+				double cost = pathfinder.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+				checkPath(pathfinder, maze, expected, cost);
+			}
+		}
+	}
+	
+	@Test
+	void testInvalidate() {
+		// A wall with a gap at the bottom
+		Maze maze = PathfinderBenchmark.createMaze(40, 0.0, new Random(1));
+		for (int y = 0; y < 39; y++) {
+			maze.passable[20][y] = false;
+		}
+		maze.startx = 19;
+		maze.starty = 0;
+		maze.goalx = 21;
+		maze.goaly = 0;
+		GridPathfinder optimal = new GridPathfinder(new MazeGrid(maze), false, 10, 10);
+		HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new MazeGrid(maze), 8, false, 10, 10);
+		checkPath(pathfinder, maze, optimal.find(19, 0, 21, 0), pathfinder.find(19, 0, 21, 0));
+		assertTrue(pathfinder.pathLength() >= 2 * 39 + 3);
+		assertTrue(pathfinder.abstractNodeCount() > 0);
+		
+		// Closes the gap.
+		maze.passable[20][39] = false;
+		pathfinder.invalidate(20, 39);
+		assertEquals(Double.POSITIVE_INFINITY, pathfinder.find(19, 0, 21, 0));
+		assertEquals(0, pathfinder.pathLength());
+		assertEquals(0, pathfinder.getPath().length);
+		
+		// Opens the wall in the middle of a cluster.
+		maze.passable[20][20] = true;
+		pathfinder.invalidate(20, 20);
+		checkPath(pathfinder, maze, optimal.find(19, 0, 21, 0), pathfinder.find(19, 0, 21, 0));
+		assertEquals(20, pathfinder.find(19, 20, 21, 20));
+		assertEquals(GridPathfinder.pack(20, 20, 0), pathfinder.pathNode(1));
+		
+		maze.passable[20][20] = false;
+		pathfinder.invalidateAll();
+		pathfinder.update();
+		assertEquals(Double.POSITIVE_INFINITY, pathfinder.find(19, 0, 21, 0));
+		
+		assertEquals(0, pathfinder.find(5, 5, 5, 5));
+		assertEquals(1, pathfinder.pathLength());
+		assertThrows(IndexOutOfBoundsException.class, () -> pathfinder.pathNode(1));
+		assertThrows(IllegalArgumentException.class, () -> pathfinder.find(0, 0, 40, 0));
+		assertThrows(IllegalArgumentException.class, () -> pathfinder.invalidate(0, -1));
+		assertThrows(IllegalArgumentException.class, () -> new HierarchicalPathfinder(new MazeGrid(maze), 1));
+	}
+	
+	@Test
+	void testLongPath() {
+		Maze maze = PathfinderBenchmark.createMaze(300, new Random(7));
+		GridPathfinder optimal = new GridPathfinder(new MazeGrid(maze), true, 10, 14);
+		HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new MazeGrid(maze), 16, true, 10, 14);
+		double expected = optimal.find(0, 0, 299, 299);
+		double cost = pathfinder.find(0, 0, 299, 299);
+		checkPath(pathfinder, maze, expected, cost);
+		// Near-optimal
+		assertTrue(cost <= expected * 1.1);
+	}
+	
+	private static void checkPath(HierarchicalPathfinder pathfinder, Maze maze, double expected, double cost) {
+		if (expected == Double.POSITIVE_INFINITY) {
+			assertEquals(Double.POSITIVE_INFINITY, cost);
+			assertEquals(0, pathfinder.pathLength());
+			return;
+		}
+		assertTrue(cost >= expected);
+		assertEquals(GridPathfinder.pack(maze.startx, maze.starty, 0), pathfinder.pathNode(0));
+		assertEquals(GridPathfinder.pack(maze.goalx, maze.goaly, 0), pathfinder.pathNode(pathfinder.pathLength() - 1));
+		double sum = 0;
+		for (int i = 1; i < pathfinder.pathLength(); i++) {
+			long from = pathfinder.pathNode(i - 1);
+			long to = pathfinder.pathNode(i);
+			int x = GridPathfinder.unpackX(to);
+			int y = GridPathfinder.unpackY(to);
+			int dx = x - GridPathfinder.unpackX(from);
+			int dy = y - GridPathfinder.unpackY(from);
+			assertTrue(maze.passable(x, y));
+			assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0));
+			if (dx != 0 && dy != 0) {
+				assertTrue(maze.passable(x - dx, y) && maze.passable(x, y - dy));
+				sum += 14;
+			}
+			else {
+				sum += 10;
+			}
+		}
+		assertEquals(cost, sum);
+	}
+	
+}
@@ -0,0 +1,233 @@
+package de.tomatengames.util.test;
+
+import de.tomatengames.util.map.IntEntry;
+import de.tomatengames.util.map.IntOpenHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntOpenHashMapTest {
+	
+	@Test
+	void testPutAndGet() {
+		IntOpenHashMap<String> map = new IntOpenHashMap<>(); assertEquals(0, map.size());
+		assertEquals(null, map.put(0, "n0")); assertEquals(1, map.size());
+		assertEquals(null, map.put(5, "n5")); assertEquals(2, map.size());
+		assertEquals(null, map.put(-100, "100")); assertEquals(3, map.size());
+		assertEquals(null, map.put(1347856348, "1")); assertEquals(4, map.size());
+		assertEquals("n5", map.put(5, "N5")); assertEquals(4, map.size());
+		
+		assertEquals(null, map.get(-1));
+		assertEquals("n0", map.get(0));
+		assertEquals(null, map.get(1347856349));
+		assertEquals("1", map.get(1347856348));
+		assertEquals("100", map.get(-100));
+		assertEquals(null, map.get(6));
+		assertEquals("N5", map.get(5));
+		assertEquals(null, map.get(4));
+		assertEquals(true, map.containsKey(0));
+		assertEquals(false, map.containsKey(4));
+		assertEquals(4, map.size());
+	}
+	
+	@Test
+	void testPutIfAbsent() {
+		IntOpenHashMap<String> map = new IntOpenHashMap<>(); assertEquals(0, map.size());
+		assertEquals(null, map.putIfAbsent(4, "test")); assertEquals(1, map.size());
+		assertEquals("test", map.putIfAbsent(4, "abc")); assertEquals(1, map.size());
+		assertEquals(null, map.putIfAbsent(7, "ABC")); assertEquals(2, map.size());
+		assertEquals("test", map.remove(4)); assertEquals(1, map.size());
+		assertEquals(null, map.putIfAbsent(4, "ABC")); assertEquals(2, map.size());
+		assertEquals("ABC", map.get(4));
+		assertThrows(IllegalArgumentException.class, () -> map.putIfAbsent(5, null));
+		assertThrows(IllegalArgumentException.class, () -> map.put(5, null));
+	}
+	
+	@Test
+	void testManyElementsInSameBucket() {
+		IntOpenHashMap<String> map = new IntOpenHashMap<>();
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(i, map.size());
+			map.put(i << 16, String.valueOf(i));
+		}
+		
+		assertEquals("4352", map.get(4352 << 16));
+		assertEquals("42", map.get(42 << 16));
+		assertEquals("0", map.get(0));
+		assertEquals(null, map.get(-10));
+		assertEquals(null, map.get(10000));
+		
+		for (int i = 0; i < 10000; i += 2) {
+			assertEquals(String.valueOf(i), map.remove(i << 16));
+		}
+		assertEquals(5000, map.size());
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(i % 2 == 0 ? null : String.valueOf(i), map.get(i << 16));
+		}
+	}
+	
+	@Test
+	void testRandomOperations() {
+		Random random = new Random(42);
+		IntOpenHashMap<Integer> map = new IntOpenHashMap<>();
+		HashMap<Integer, Integer> compareMap = new HashMap<>();
+		for (int i = 0; i < 200000; i++) {
+			int key = random.nextInt(2000) - 1000;
+			int value = random.nextInt();
+			switch (random.nextInt(4)) {
+			case 0:
+			case 1:
+				assertEquals(compareMap.put(key, value), map.put(key, value));
+				break;
+			case 2:
+				assertEquals(compareMap.putIfAbsent(key, value), map.putIfAbsent(key, value));
+				break;
+			default:
+				assertEquals(compareMap.remove(key), map.remove(key));
+				break;
+			}
+			assertEquals(compareMap.get(key), map.get(key));
+			assertEquals(compareMap.size(), map.size());
+		}
+		for (int key = -1000; key < 1000; key++) {
+			assertEquals(compareMap.get(key), map.get(key));
+		}
+	}
+	
+	@Test
+	void testIterator() {
+		IntOpenHashMap<String> map = new IntOpenHashMap<>();
+		HashMap<Integer, String> compareMap = new HashMap<>();
+		for (int i = -50; i < 50; i++) {
+			map.put(i * 7, "v" + i);
+			compareMap.put(i * 7, "v" + i);
+		}
+		
+		HashMap<Integer, String> comp1 = new HashMap<>(compareMap);
+		for (IntEntry<String> entry : map) {
+			String val = comp1.remove(entry.getKey());
+			assertEquals(val, entry.getValue(), "Mismatch at key '" + entry.getKey() + "'");
+		}
+		assertTrue(comp1.isEmpty());
+		
+		HashMap<Integer, String> comp2 = new HashMap<>(compareMap);
+		map.forEach(entry -> {
+			String val = comp2.remove(entry.getKey());
+			assertEquals(val, entry.getValue(), "Mismatch at key '" + entry.getKey() + "'");
+		});
+		assertTrue(comp2.isEmpty());
+		
+		Iterator<IntEntry<String>> it = new IntOpenHashMap<String>().iterator();
+		assertEquals(false, it.hasNext());
+		assertThrows(NoSuchElementException.class, () -> it.next());
+	}
+	
+	@Test
+	void testFilterIterator() {
+		// Removing entries with the iterator moves other entries, also across the end of the table.
+		// Each entry must still be visited exactly once.
+		Random random = new Random(7);
+		for (int round = 0; round < 200; round++) {
+			IntOpenHashMap<Integer> map = new IntOpenHashMap<>();
+			HashSet<Integer> keys = new HashSet<>();
+			int n = random.nextInt(100);
+			for (int i = 0; i < n; i++) {
+				int key = random.nextInt(1 << 20);
+				map.put(key, key);
+				keys.add(key);
+			}
+			
+			HashSet<Integer> visited = new HashSet<>();
+			Iterator<IntEntry<Integer>> it = map.iterator();
+			while (it.hasNext()) {
+				IntEntry<Integer> entry = it.next();
+				assertTrue(visited.add(entry.getKey()), "Visited twice: " + entry.getKey());
+				if (entry.getKey() % 3 != 0) {
+					it.remove();
+					assertThrows(IllegalStateException.class, () -> it.remove());
+				}
+			}
+			assertEquals(keys, visited);
+			
+			for (int key : keys) {
+				assertEquals(key % 3 == 0 ? Integer.valueOf(key) : null, map.get(key));
+			}
+			assertEquals(keys.stream().filter(k -> k % 3 == 0).count(), map.size());
+		}
+	}
+	
+	@Test
+	void testModifyIterator() {
+		IntOpenHashMap<Integer> map = new IntOpenHashMap<>();
+		assertEquals(null, map.put(2, 2));
+		assertEquals(null, map.put(4, 4));
+		assertEquals(null, map.put(42, 42));
+		assertEquals(null, map.put(-7, -7));
+		
+		for (IntEntry<Integer> entry : map) {
+			entry.setValue(entry.getKey()*2);
+		}
+		
+		assertEquals(4, map.get(2));
+		assertEquals(8, map.get(4));
+		assertEquals(84, map.get(42));
+		assertEquals(-14, map.get(-7));
+		assertEquals(4, map.size());
+		
+		assertThrows(ConcurrentModificationException.class, () -> {
+			for (IntEntry<Integer> entry : map) {
+				map.put(24, entry.getValue());
+			}
+		});
+	}
+	
+	@Test
+	void testCapacity() {
+		IntOpenHashMap<String> map = new IntOpenHashMap<>(1000, 0.75);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i * 31, "v" + i);
+		}
+		for (int i = 0; i < 1000; i += 2) {
+			assertEquals("v" + i, map.remove(i * 31));
+		}
+		map.trimToSize();
+		map.ensureCapacity(2000);
+		assertEquals(500, map.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i % 2 == 0 ? null : "v" + i, map.get(i * 31));
+		}
+		
+		IntOpenHashMap<String> clone = new IntOpenHashMap<>(map);
+		assertEquals(map, clone);
+		map.clear();
+		map.trimToSize();
+		assertEquals(null, map.put(5, "a"));
+		assertEquals("a", map.get(5));
+		
+		assertThrows(IllegalArgumentException.class, () -> new IntOpenHashMap<String>(-1));
+		assertThrows(IllegalArgumentException.class, () -> new IntOpenHashMap<String>(10, 1.0));
+		assertThrows(IllegalArgumentException.class, () -> new IntOpenHashMap<String>(10, 0.0));
+	}
+	
+	@Test
+	void testClearAndClone() {
+		IntOpenHashMap<String> map = new IntOpenHashMap<>();
+		assertEquals(null, map.put(4, "test"));
+		assertEquals(null, map.put(2, "abc"));
+		
+		IntOpenHashMap<String> clone = new IntOpenHashMap<>(map);
+		assertEquals(map, clone);
+		assertEquals(map.hashCode(), clone.hashCode());
+		assertEquals(null, clone.put(0, "clone"));
+		assertNotEquals(map, clone);
+		
+		map.clear();
+		assertEquals(0, map.size());
+		assertEquals(null, map.get(2));
+		assertEquals("abc", clone.get(2));
+		assertEquals(new IntOpenHashMap<String>(), map);
+	}
+	
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 
 import de.tomatengames.util.pool.BytePool;
 import de.tomatengames.util.pool.LevelBytePool;
+import de.tomatengames.util.pool.PoolStats;
+import de.tomatengames.util.pool.Pooled;
 
 class LevelBytePoolTest {
 	
@@ -33,6 +35,46 @@ class LevelBytePoolTest {
 		assertEquals(Integer.MAX_VALUE - 8, pool.claim(Integer.MAX_VALUE - 8).get().length);
 	}
 	
+	@Test
+	void testStats() {
+		LevelBytePool pool = new LevelBytePool();
+		pool.claim(100).free();
+		pool.claim(100).free();
+		Pooled<byte[]> pooled = pool.claim(1000);
+		
+		PoolStats level = pool.levelStats(128);
+		assertEquals(2, level.claims());
+		assertEquals(1, level.hits());
+		assertEquals(1, level.size());
+		assertEquals(1, pool.levelStats(1024).outstanding());
+		
+		PoolStats stats = pool.stats();
+		assertEquals(3, stats.claims());
+		assertEquals(2, stats.misses());
+		assertEquals(1, stats.outstanding());
+		pooled.free();
+		assertEquals(2, pool.stats().size());
+	}
+	
+	@Test
+	void testClaimAllFreeAll() {
+		LevelBytePool pool = new LevelBytePool();
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Pooled<byte[]>[] batch = new Pooled[10];
+		pool.claimAll(100, 6, batch);
+		for (int i = 0; i < 6; i++)
+			assertEquals(128, batch[i].get().length);
+		batch[6] = pool.claim(1000);
+		batch[7] = new LevelBytePool().claim(100);
+		
+		pool.freeAll(batch, 9);
+		assertEquals(6, pool.levelStats(128).size());
+		assertEquals(1, pool.levelStats(1024).size());
+		assertEquals(0, pool.stats().outstanding());
+		for (int i = 0; i < batch.length; i++)
+			assertEquals(null, batch[i]);
+	}
+	
 	@Test
 	void testClaimTooLarge() {
 		BytePool pool = new LevelBytePool();
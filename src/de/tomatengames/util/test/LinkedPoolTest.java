@@ -2,16 +2,20 @@ package de.tomatengames.util.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import de.tomatengames.util.pool.LeakDetector;
 import de.tomatengames.util.pool.LinkedPool;
 import de.tomatengames.util.pool.Pool;
+import de.tomatengames.util.pool.PoolStats;
 import de.tomatengames.util.pool.Pooled;
 
 class LinkedPoolTest {
@@ -85,6 +89,141 @@ class LinkedPoolTest {
 		assertEquals(0, pool.size());
 	}
 	
+	@Test
+	void testCleanFraction() {
+		LinkedPool<Element> pool = Element.pool();
+		claimAmount(pool, 100).free();
+		pool.clean();
+		claimAmount(pool, 10).free();
+		pool.clean(0.5);
+		assertEquals(55, pool.size());
+		pool.clean(0.5);
+		assertEquals(27, pool.size());
+		pool.clean(0.0);
+		assertEquals(27, pool.size());
+		pool.clean(0.1);
+		assertEquals(24, pool.size());
+		for (int i = 0; i < 100; i++)
+			pool.clean(0.1);
+		assertEquals(0, pool.size());
+		assertThrows(IllegalArgumentException.class, () -> pool.clean(1.5));
+		assertThrows(IllegalArgumentException.class, () -> pool.clean(Double.NaN));
+	}
+	
+	@Test
+	void testClaimAllFreeAll() {
+		LinkedPool<Element> pool = Element.pool();
+		claimAmount(pool, 3).free();
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Pooled<Element>[] batch = new Pooled[8];
+		pool.claimAll(5, batch);
+		assertEquals(0, pool.size());
+		assertEquals(3, batch[0].get().id);
+		assertEquals(1, batch[2].get().id);
+		assertEquals(5, batch[4].get().id);
+		assertEquals(null, batch[5]);
+		assertEquals(3, pool.stats().hits());
+		assertEquals(5, pool.stats().misses());
+		
+		// Objects of other pools are freed to their own pool.
+		LinkedPool<Element> other = Element.pool();
+		batch[5] = other.claim();
+		pool.freeAll(batch, 6);
+		assertEquals(5, pool.size());
+		assertEquals(1, other.size());
+		for (int i = 0; i < batch.length; i++)
+			assertEquals(null, batch[i]);
+		
+		assertThrows(IllegalArgumentException.class, () -> pool.claimAll(9, batch));
+		assertThrows(IllegalArgumentException.class, () -> pool.freeAll(batch, -1));
+		assertEquals(0, pool.stats().outstanding());
+	}
+	
+	@Test
+	void testStats() {
+		LinkedPool<Element> pool = new LinkedPool<>(Element.factory(), 2);
+		LargeClaim claim = claimAmount(pool, 3);
+		claim.free();
+		Pooled<Element> pooled = pool.claim();
+		pool.claim().free();
+		
+		PoolStats stats = pool.stats();
+		assertEquals(5, stats.claims());
+		assertEquals(2, stats.hits());
+		assertEquals(3, stats.misses());
+		assertEquals(0.4, stats.hitRate());
+		assertEquals(4, stats.frees());
+		assertEquals(1, stats.drops());
+		assertEquals(1, stats.outstanding());
+		assertEquals(3, stats.peakOutstanding());
+		assertEquals(1, stats.size());
+		
+		// A dropped object is not stored, but can still not be freed twice.
+		assertThrows(IllegalStateException.class, () -> claim.claims.get(2).free());
+		pooled.free();
+		assertEquals(0, pool.stats().outstanding());
+	}
+	
+	@Test
+	void testFailingFactory() {
+		AtomicInteger remaining = new AtomicInteger(2);
+		LinkedPool<Object> pool = new LinkedPool<>(() -> {
+			if (remaining.getAndDecrement() <= 0)
+				throw new IllegalStateException("Factory failed");
+			return new Object();
+		});
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Pooled<Object>[] batch = new Pooled[3];
+		Pooled<Object> pooled = pool.claim();
+		assertThrows(IllegalStateException.class, () -> pool.claimAll(3, batch));
+		assertThrows(IllegalStateException.class, () -> pool.claim());
+		
+		// Only the created objects are counted.
+		// The peak includes the failed claims, because they were outstanding while the factory ran.
+		PoolStats stats = pool.stats();
+		assertEquals(2, stats.claims());
+		assertEquals(2, stats.misses());
+		assertEquals(2, stats.outstanding());
+		assertEquals(4, stats.peakOutstanding());
+		
+		// Objects that were claimed before the failure can be freed.
+		pooled.free();
+		pool.claimAll(1, batch);
+		assertThrows(IllegalStateException.class, () -> pool.claimAll(2, batch));
+		assertEquals(1, pool.stats().hits());
+		assertEquals(2, pool.stats().outstanding());
+	}
+	
+	@Test
+	void testLeakDetector() throws InterruptedException {
+		List<Throwable> leaks = new ArrayList<>();
+		LeakDetector detector = new LeakDetector(1, leaks::add);
+		LinkedPool<Element> pool = Element.pool();
+		pool.setLeakDetector(detector);
+		
+		pool.claim().free();
+		assertEquals(0, detector.trackedCount());
+		pool.claim(); // leaked
+		assertEquals(1, detector.trackedCount());
+		
+		for (int i = 0; i < 100 && leaks.isEmpty(); i++) {
+			System.gc();
+			Thread.sleep(10);
+			detector.poll();
+		}
+		assertEquals(1, leaks.size());
+		assertEquals(1, detector.leakCount());
+		assertEquals(0, detector.trackedCount());
+		assertTrue(Arrays.stream(leaks.get(0).getStackTrace())
+				.anyMatch(e -> e.getMethodName().equals("testLeakDetector")));
+		
+		pool.setLeakDetector(null);
+		pool.claim();
+		assertEquals(0, detector.trackedCount());
+		assertEquals(2, pool.stats().outstanding());
+		assertThrows(IllegalArgumentException.class, () -> new LeakDetector(0));
+	}
+	
 	static class Element {
 		public final int id;
 		public Element(int id) {
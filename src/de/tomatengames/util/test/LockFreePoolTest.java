@@ -0,0 +1,154 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.pool.LockFreePool;
+import de.tomatengames.util.pool.Pooled;
+import de.tomatengames.util.test.LinkedPoolTest.Element;
+
+class LockFreePoolTest {
+	
+	private static void claimAndFree(LockFreePool<?> pool, int amount) {
+		List<Pooled<?>> claims = new ArrayList<>();
+		for (int i = 0; i < amount; i++)
+			claims.add(pool.claim());
+		claims.forEach(Pooled::free);
+	}
+	
+	@Test
+	void testClaimFree() {
+		LockFreePool<Element> pool = new LockFreePool<>(Element.factory());
+		assertEquals(0, pool.size());
+		Pooled<Element> p1 = pool.claim(), p2 = pool.claim();
+		assertEquals(1, p1.get().id);
+		assertEquals(2, p2.get().id);
+		p1.free();
+		p2.free();
+		assertEquals(2, pool.size());
+		// 1 and 2 swap because 2 is now on top
+		p1 = pool.claim();
+		p2 = pool.claim();
+		assertEquals(2, p1.get().id);
+		assertEquals(1, p2.get().id);
+		assertEquals(0, pool.size());
+	}
+	
+	@Test
+	void testDoubleFree() {
+		LockFreePool<?> pool = new LockFreePool<>(() -> null);
+		Pooled<?> pooled = pool.claim();
+		pooled.free();
+		assertThrows(IllegalStateException.class, () -> pooled.free());
+	}
+	
+	@Test
+	void testCapacity() {
+		LockFreePool<Element> pool = new LockFreePool<>(Element.factory(), 3);
+		assertEquals(3, pool.capacity());
+		claimAndFree(pool, 10);
+		assertEquals(3, pool.size());
+		pool.reduce(1);
+		assertEquals(1, pool.size());
+		pool.reduce(5);
+		assertEquals(1, pool.size());
+		assertThrows(IllegalArgumentException.class, () -> pool.reduce(-1));
+	}
+	
+	@Test
+	void testClean() {
+		LockFreePool<Element> pool = new LockFreePool<>(Element.factory());
+		claimAndFree(pool, 100);
+		assertEquals(100, pool.size());
+		pool.clean();
+		assertEquals(100, pool.size());
+		claimAndFree(pool, 30);
+		pool.clean();
+		assertEquals(30, pool.size());
+		pool.claim().free();
+		pool.clean();
+		assertEquals(1, pool.size());
+		pool.clean();
+		assertEquals(0, pool.size());
+		pool.clean();
+		assertEquals(0, pool.size());
+	}
+	
+	@Test
+	void testCleanFraction() {
+		LockFreePool<Element> pool = new LockFreePool<>(Element.factory());
+		claimAndFree(pool, 100);
+		pool.clean();
+		claimAndFree(pool, 10);
+		pool.clean(0.5);
+		assertEquals(55, pool.size());
+		pool.clean(0.5);
+		assertEquals(27, pool.size());
+		pool.clean(0.0);
+		assertEquals(27, pool.size());
+		pool.clean(0.1);
+		assertEquals(24, pool.size());
+		for (int i = 0; i < 100; i++)
+			pool.clean(0.1);
+		assertEquals(0, pool.size());
+		assertThrows(IllegalArgumentException.class, () -> pool.clean(1.5));
+		assertThrows(IllegalArgumentException.class, () -> pool.clean(Double.NaN));
+	}
+	
+	@Test
+	void testConcurrent() throws InterruptedException {
+		LockFreePool<AtomicBoolean> pool = new LockFreePool<>(AtomicBoolean::new, 16);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			threads.add(new Thread(() -> {
+				try {
+					List<Pooled<AtomicBoolean>> claims = new ArrayList<>();
+					for (int i = 0; i < 50000; i++) {
+						if (claims.size() < 4 && (i % 3 != 0 || claims.isEmpty())) {
+							Pooled<AtomicBoolean> pooled = pool.claim();
+							assertTrue(pooled.get().compareAndSet(false, true), "Element already claimed");
+							claims.add(pooled);
+						}
+						else {
+							Pooled<AtomicBoolean> pooled = claims.remove(claims.size()-1);
+							pooled.get().set(false);
+							pooled.free();
+						}
+					}
+					for (Pooled<AtomicBoolean> pooled : claims) {
+						pooled.get().set(false);
+						pooled.free();
+					}
+				} catch (Throwable e) {
+					error.set(e);
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(null, error.get());
+		assertTrue(pool.size() <= 16);
+		
+		// All stored objects are distinct and free.
+		List<Pooled<AtomicBoolean>> claims = new ArrayList<>();
+		long size = pool.size();
+		for (int i = 0; i < size; i++) {
+			Pooled<AtomicBoolean> pooled = pool.claim();
+			assertTrue(pooled.get().compareAndSet(false, true), "Element already claimed");
+			claims.add(pooled);
+		}
+		assertEquals(0, pool.size());
+	}
+	
+}
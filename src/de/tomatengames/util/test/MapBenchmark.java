@@ -0,0 +1,406 @@
+package de.tomatengames.util.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import de.tomatengames.util.map.AbstractEntry;
+import de.tomatengames.util.map.AbstractHashMap;
+import de.tomatengames.util.map.CompactOrderedHashMap;
+import de.tomatengames.util.map.ConcurrentLongHashMap;
+import de.tomatengames.util.map.Int2Entry;
+import de.tomatengames.util.map.Int2HashMap;
+import de.tomatengames.util.map.Int3Entry;
+import de.tomatengames.util.map.Int3HashMap;
+import de.tomatengames.util.map.IntEntry;
+import de.tomatengames.util.map.IntHashMap;
+import de.tomatengames.util.map.IntOpenHashMap;
+import de.tomatengames.util.map.IntToDoubleEntry;
+import de.tomatengames.util.map.IntToDoubleHashMap;
+import de.tomatengames.util.map.IntToIntEntry;
+import de.tomatengames.util.map.IntToIntHashMap;
+import de.tomatengames.util.map.IntToLongEntry;
+import de.tomatengames.util.map.IntToLongHashMap;
+import de.tomatengames.util.map.Long2Entry;
+import de.tomatengames.util.map.Long2HashMap;
+import de.tomatengames.util.map.Long3Entry;
+import de.tomatengames.util.map.Long3HashMap;
+import de.tomatengames.util.map.LongEntry;
+import de.tomatengames.util.map.LongHashMap;
+import de.tomatengames.util.map.LongToDoubleEntry;
+import de.tomatengames.util.map.LongToDoubleHashMap;
+import de.tomatengames.util.map.LongToIntEntry;
+import de.tomatengames.util.map.LongToIntHashMap;
+import de.tomatengames.util.map.LongToLongEntry;
+import de.tomatengames.util.map.LongToLongHashMap;
+import de.tomatengames.util.map.OrderedHashMap;
+
+/**
+ * Measures get, put, remove and iteration of all maps of this library
+ * and compares them to {@link HashMap}.
+ * The keys are random and distinct.
+ * @see BenchmarkRunner
+ */
+class MapBenchmark {
+	
+	private static final int SIZE = 1 << 16;
+	private static final String VALUE = "v";
+	
+	private static final int[] KEYS = new int[SIZE];
+	private static final int[] KEYS2 = new int[SIZE];
+	private static final int[] KEYS3 = new int[SIZE];
+	private static final long[] LONG_KEYS = new long[SIZE];
+	private static final Integer[] BOXED_KEYS = new Integer[SIZE];
+	private static final Long[] BOXED_LONG_KEYS = new Long[SIZE];
+	
+	static {
+		Random random = new Random(42);
+		LinkedHashSet<Integer> keys = new LinkedHashSet<>();
+		while (keys.size() < SIZE) {
+			keys.add(random.nextInt());
+		}
+		int i = 0;
+		for (int key : keys) {
+			KEYS[i] = key;
+			KEYS2[i] = random.nextInt();
+			KEYS3[i] = random.nextInt();
+			LONG_KEYS[i] = ((long) key << 32) ^ random.nextInt();
+			BOXED_KEYS[i] = key;
+			BOXED_LONG_KEYS[i] = LONG_KEYS[i];
+			i++;
+		}
+	}
+	
+	public static void main(String[] args) {
+		BenchmarkRunner runner = new BenchmarkRunner(args);
+		for (MapCase c : cases()) {
+			runner.run(c.name + ".put", SIZE, c::clear, () -> {
+				for (int i = 0; i < SIZE; i++) {
+					c.put(i);
+				}
+				return 0L;
+			});
+			runner.run(c.name + ".get", SIZE, null, () -> {
+				long result = 0L;
+				for (int i = 0; i < SIZE; i++) {
+					result += c.get(i);
+				}
+				return result;
+			});
+			runner.run(c.name + ".iterate", SIZE, null, c::iterate);
+			runner.run(c.name + ".remove", SIZE, () -> {
+				for (int i = 0; i < SIZE; i++) {
+					c.put(i);
+				}
+			}, () -> {
+				for (int i = 0; i < SIZE; i++) {
+					c.remove(i);
+				}
+				return 0L;
+			});
+			c.clear();
+		}
+	}
+	
+	/**
+	 * The operations of a map. The key and value are selected by an index.
+	 */
+	private static abstract class MapCase {
+		private final String name;
+		
+		MapCase(String name) {
+			this.name = name;
+		}
+		
+		abstract void clear();
+		abstract void put(int i);
+		abstract long get(int i);
+		abstract void remove(int i);
+		abstract long iterate();
+	}
+	
+	private static List<MapCase> cases() {
+		List<MapCase> cases = new ArrayList<>();
+		
+		cases.add(new MapCase("IntHashMap") {
+			private final IntHashMap<String> map = new IntHashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (IntEntry<String> entry : map) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("IntOpenHashMap") {
+			private final IntOpenHashMap<String> map = new IntOpenHashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (IntEntry<String> entry : map) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("IntToIntHashMap") {
+			private final IntToIntHashMap map = new IntToIntHashMap();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(KEYS[i], i); }
+			@Override long get(int i) { return map.get(KEYS[i]); }
+			@Override void remove(int i) { map.remove(KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (IntToIntEntry entry : map) {
+					result += entry.getValue();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("IntToLongHashMap") {
+			private final IntToLongHashMap map = new IntToLongHashMap();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(KEYS[i], i); }
+			@Override long get(int i) { return map.get(KEYS[i]); }
+			@Override void remove(int i) { map.remove(KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (IntToLongEntry entry : map) {
+					result += entry.getValue();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("IntToDoubleHashMap") {
+			private final IntToDoubleHashMap map = new IntToDoubleHashMap();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(KEYS[i], i); }
+			@Override long get(int i) { return (long) map.get(KEYS[i]); }
+			@Override void remove(int i) { map.remove(KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (IntToDoubleEntry entry : map) {
+					result += (long) entry.getValue();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("Int2HashMap") {
+			private final Int2HashMap<String> map = new Int2HashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(KEYS[i], KEYS2[i], VALUE); }
+			@Override long get(int i) { return map.get(KEYS[i], KEYS2[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(KEYS[i], KEYS2[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Int2Entry<String> entry : map) {
+					result += entry.getKey1();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("Int3HashMap") {
+			private final Int3HashMap<String> map = new Int3HashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(KEYS[i], KEYS2[i], KEYS3[i], VALUE); }
+			@Override long get(int i) { return map.get(KEYS[i], KEYS2[i], KEYS3[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(KEYS[i], KEYS2[i], KEYS3[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Int3Entry<String> entry : map) {
+					result += entry.getKey1();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("LongHashMap") {
+			private final LongHashMap<String> map = new LongHashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(LONG_KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(LONG_KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(LONG_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (LongEntry<String> entry : map) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("LongToIntHashMap") {
+			private final LongToIntHashMap map = new LongToIntHashMap();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(LONG_KEYS[i], i); }
+			@Override long get(int i) { return map.get(LONG_KEYS[i]); }
+			@Override void remove(int i) { map.remove(LONG_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (LongToIntEntry entry : map) {
+					result += entry.getValue();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("LongToLongHashMap") {
+			private final LongToLongHashMap map = new LongToLongHashMap();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(LONG_KEYS[i], i); }
+			@Override long get(int i) { return map.get(LONG_KEYS[i]); }
+			@Override void remove(int i) { map.remove(LONG_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (LongToLongEntry entry : map) {
+					result += entry.getValue();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("LongToDoubleHashMap") {
+			private final LongToDoubleHashMap map = new LongToDoubleHashMap();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(LONG_KEYS[i], i); }
+			@Override long get(int i) { return (long) map.get(LONG_KEYS[i]); }
+			@Override void remove(int i) { map.remove(LONG_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (LongToDoubleEntry entry : map) {
+					result += (long) entry.getValue();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("Long2HashMap") {
+			private final Long2HashMap<String> map = new Long2HashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(LONG_KEYS[i], KEYS2[i], VALUE); }
+			@Override long get(int i) { return map.get(LONG_KEYS[i], KEYS2[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(LONG_KEYS[i], KEYS2[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Long2Entry<String> entry : map) {
+					result += entry.getKey1();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("Long3HashMap") {
+			private final Long3HashMap<String> map = new Long3HashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(LONG_KEYS[i], KEYS2[i], KEYS3[i], VALUE); }
+			@Override long get(int i) { return map.get(LONG_KEYS[i], KEYS2[i], KEYS3[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(LONG_KEYS[i], KEYS2[i], KEYS3[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Long3Entry<String> entry : map) {
+					result += entry.getKey1();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("ConcurrentLongHashMap") {
+			private final ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(LONG_KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(LONG_KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(LONG_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (LongEntry<String> entry : map) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("AbstractHashMap") {
+			private final AbstractHashMap<Integer, String> map = new AbstractHashMap<Integer, String>() {
+				@Override
+				public int keyHash(Integer key) {
+					return key.hashCode();
+				}
+				@Override
+				public boolean keyEquals(Integer key1, Integer key2) {
+					return key1.equals(key2);
+				}
+			};
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(BOXED_KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(BOXED_KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(BOXED_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (AbstractEntry<Integer, String> entry : map) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("OrderedHashMap") {
+			private final OrderedHashMap<Integer, String> map = new OrderedHashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(BOXED_KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(BOXED_KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(BOXED_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Map.Entry<Integer, String> entry : map) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("CompactOrderedHashMap") {
+			private final CompactOrderedHashMap<Integer, String> map = new CompactOrderedHashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(BOXED_KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(BOXED_KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(BOXED_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Map.Entry<Integer, String> entry : map) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("HashMap<Integer>") {
+			private final HashMap<Integer, String> map = new HashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(BOXED_KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(BOXED_KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(BOXED_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Map.Entry<Integer, String> entry : map.entrySet()) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		cases.add(new MapCase("HashMap<Long>") {
+			private final HashMap<Long, String> map = new HashMap<>();
+			@Override void clear() { map.clear(); }
+			@Override void put(int i) { map.put(BOXED_LONG_KEYS[i], VALUE); }
+			@Override long get(int i) { return map.get(BOXED_LONG_KEYS[i]) != null ? 1 : 0; }
+			@Override void remove(int i) { map.remove(BOXED_LONG_KEYS[i]); }
+			@Override long iterate() {
+				long result = 0L;
+				for (Map.Entry<Long, String> entry : map.entrySet()) {
+					result += entry.getKey();
+				}
+				return result;
+			}
+		});
+		return cases;
+	}
+	
+}
@@ -412,6 +412,46 @@ class OrderedHashMapTest {
 		assertFalse(map1.equals(null));
 	}
 	
+	@Test
+	void testCapacity() {
+		OrderedHashMap<Integer, String> map = new OrderedHashMap<>(1000);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, "v" + i);
+		}
+		for (int i = 0; i < 990; i++) {
+			assertEquals("v" + i, map.remove(i));
+		}
+		map.trimToSize();
+		map.ensureCapacity(100);
+		assertEquals(10, map.size());
+		int expected = 990;
+		for (Entry<Integer, String> entry : map) {
+			assertEntry(expected, "v" + expected, entry);
+			expected++;
+		}
+		assertEquals(1000, expected);
+		
+		OrderedHashMap<Integer, String> clone = new OrderedHashMap<>(map);
+		assertEquals(map, clone);
+		for (int i = 0; i < 10; i++) {
+			clone.remove(990 + i);
+		}
+		clone.trimToSize();
+		assertEquals(0, clone.size());
+		assertEquals(null, clone.put(1, "a"));
+		assertEquals("a", clone.get(1));
+		
+		OrderedHashMap<Integer, String> dense = new OrderedHashMap<>(0, 4.0);
+		for (int i = 0; i < 100; i++) {
+			dense.put(i, "d" + i);
+		}
+		assertEquals("d42", dense.get(42));
+		
+		assertThrows(IllegalArgumentException.class, () -> new OrderedHashMap<>(-1));
+		assertThrows(IllegalArgumentException.class, () -> new OrderedHashMap<>(10, 0.0));
+		assertThrows(IllegalArgumentException.class, () -> map.ensureCapacity(-1));
+	}
+	
 	
 	private static <K, V> void assertEntry(K expKey, V expValue, Entry<K, V> actualEntry) {
 		assertEquals(expKey, actualEntry.getKey());
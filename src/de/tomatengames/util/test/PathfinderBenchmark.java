@@ -0,0 +1,222 @@
+package de.tomatengames.util.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.tomatengames.util.GridPathfinder;
+import de.tomatengames.util.HierarchicalPathfinder;
+import de.tomatengames.util.PathfinderContext;
+import de.tomatengames.util.PathfinderUtil;
+import de.tomatengames.util.PathfinderUtil.SearchLimits;
+import de.tomatengames.util.PathfinderUtil.SearchResult;
+import de.tomatengames.util.test.PathfinderTest.Maze;
+import de.tomatengames.util.test.PathfinderTest.MazePoint;
+import de.tomatengames.util.test.PathfinderTest.MazeWorld;
+
+/**
+ * Measures the searches of {@link PathfinderUtil}, {@link GridPathfinder} and {@link HierarchicalPathfinder} on random grids.
+ * The grids contain scattered obstacles. The path leads from one corner to the opposite corner.
+ * The batches consist of short searches between random cells.
+ * The unreachable goals are enclosed by walls.
+ * @see BenchmarkRunner
+ */
+class PathfinderBenchmark {
+	
+	private static final int[] SIZES = { 64, 256 };
+	private static final double OBSTACLE_RATIO = 0.25;
+	private static final double OPEN_OBSTACLE_RATIO = 0.005;
+	private static final int LARGE_SIZE = 1024;
+	private static final int CLUSTER_SIZE = 16;
+	private static final int BATCH_SIZE = 1000;
+	
+	public static void main(String[] args) {
+		BenchmarkRunner runner = new BenchmarkRunner(args);
+		for (int size : SIZES) {
+			Maze maze = createMaze(size, new Random(42));
+			benchmarkUtil(runner, maze);
+			benchmarkGrid(runner, "", maze);
+		}
+		benchmarkBatch(runner, createMaze(SIZES[0], new Random(42)));
+		benchmarkUnreachable(runner, createMaze(SIZES[1], new Random(42)));
+		for (int size : SIZES) {
+			// Jump point search is most effective on open areas.
+			benchmarkGrid(runner, ",open", createMaze(size, OPEN_OBSTACLE_RATIO, new Random(42)));
+		}
+		
+		// Hierarchical pathfinding is intended for long distances on large grids.
+		Maze large = createMaze(LARGE_SIZE, new Random(42));
+		benchmarkUtil(runner, large);
+		benchmarkHierarchical(runner, large);
+	}
+	
+	private static void benchmarkUtil(BenchmarkRunner runner, Maze maze) {
+		MazeWorld world = new BenchmarkWorld(maze);
+		runner.run("PathfinderUtil.find[" + maze.width + "x" + maze.height + "]", 1, null, () -> {
+			MazePoint goal = PathfinderUtil.find(new MazePoint(null, 0, maze.startx, maze.starty), world);
+			return goal != null ? (long) goal.getCost() : -1L;
+		});
+		PathfinderContext<MazePoint> context = new PathfinderContext<>();
+		runner.run("PathfinderContext.find[" + maze.width + "x" + maze.height + "]", 1, null, () -> {
+			MazePoint goal = context.find(new MazePoint(null, 0, maze.startx, maze.starty), world);
+			return goal != null ? (long) goal.getCost() : -1L;
+		});
+	}
+	
+	private static void benchmarkBatch(BenchmarkRunner runner, Maze maze) {
+		String name = "[" + maze.width + "x" + maze.height + ",batch]";
+		Random random = new Random(42);
+		int[] starts = new int[BATCH_SIZE];
+		List<MazeWorld> worlds = new ArrayList<>();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			Maze query = new Maze();
+			query.width = maze.width;
+			query.height = maze.height;
+			query.passable = maze.passable;
+			query.goalx = random.nextInt(maze.width);
+			query.goaly = random.nextInt(maze.height);
+			starts[i] = random.nextInt(maze.width * maze.height);
+			worlds.add(new BenchmarkWorld(query));
+		}
+		
+		runner.run("PathfinderUtil.find" + name, BATCH_SIZE, null, () -> {
+			long sum = 0;
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				MazePoint goal = PathfinderUtil.find(createStart(maze, starts[i]), worlds.get(i));
+				sum += goal != null ? (long) goal.getCost() : -1L;
+			}
+			return sum;
+		});
+		PathfinderContext<MazePoint> context = new PathfinderContext<>();
+		runner.run("PathfinderContext.find" + name, BATCH_SIZE, null, () -> {
+			long sum = 0;
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				MazePoint goal = context.find(createStart(maze, starts[i]), worlds.get(i));
+				sum += goal != null ? (long) goal.getCost() : -1L;
+			}
+			return sum;
+		});
+		runner.run("PathfinderUtil.findAll" + name, BATCH_SIZE, null, () -> {
+			List<MazePoint> startNodes = new ArrayList<>(BATCH_SIZE);
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				startNodes.add(createStart(maze, starts[i]));
+			}
+			long sum = 0;
+			for (MazePoint goal : PathfinderUtil.findAll(startNodes, worlds)) {
+				sum += goal != null ? (long) goal.getCost() : -1L;
+			}
+			return sum;
+		});
+	}
+	
+	private static void benchmarkUnreachable(BenchmarkRunner runner, Maze maze) {
+		String name = "[" + maze.width + "x" + maze.height + ",unreachable]";
+		for (int x = maze.goalx - 1; x <= maze.goalx; x++) {
+			for (int y = maze.goaly - 1; y <= maze.goaly; y++) {
+				maze.passable[x][y] = x == maze.goalx && y == maze.goaly;
+			}
+		}
+		MazeWorld world = new BenchmarkWorld(maze);
+		Maze reverse = new Maze();
+		reverse.width = maze.width;
+		reverse.height = maze.height;
+		reverse.passable = maze.passable;
+		reverse.goalx = maze.startx;
+		reverse.goaly = maze.starty;
+		MazeWorld backward = new BenchmarkWorld(reverse);
+		
+		runner.run("PathfinderUtil.find" + name, 1, null, () -> {
+			MazePoint goal = PathfinderUtil.find(new MazePoint(null, 0, maze.startx, maze.starty), world);
+			return goal != null ? (long) goal.getCost() : -1L;
+		});
+		SearchLimits limits = new SearchLimits(1000, Double.POSITIVE_INFINITY);
+		runner.run("PathfinderUtil.find,limit" + name, 1, null, () -> {
+			SearchResult<MazePoint> result = PathfinderUtil.find(new MazePoint(null, 0, maze.startx, maze.starty), world, limits);
+			return (long) result.cost();
+		});
+		runner.run("PathfinderUtil.findBidirectional" + name, 1, null, () -> {
+			SearchResult<MazePoint> result = PathfinderUtil.findBidirectional(new MazePoint(null, 0, maze.startx, maze.starty),
+					new MazePoint(null, 0, maze.goalx, maze.goaly), world, backward);
+			return (long) result.cost();
+		});
+	}
+	
+	private static MazePoint createStart(Maze maze, int cell) {
+		return new MazePoint(null, 0, cell % maze.width, cell / maze.width);
+	}
+	
+	private static void benchmarkGrid(BenchmarkRunner runner, String suffix, Maze maze) {
+		String name = "[" + maze.width + "x" + maze.height + suffix + "]";
+		GridPathfinder pathfinder = new GridPathfinder(new GridPathfinderTest.MazeGrid(maze), true, 10, 14);
+		runner.run("GridPathfinder.find" + name, 1, null, () -> {
+			return (long) pathfinder.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+		});
+		runner.run("GridPathfinder.findJump" + name, 1, null, () -> {
+			return (long) pathfinder.findJump(maze.startx, maze.starty, maze.goalx, maze.goaly);
+		});
+		
+		GridPathfinder precomputed = new GridPathfinder(new GridPathfinderTest.MazeGrid(maze), true, 10, 14);
+		precomputed.precomputeJumps();
+		runner.run("GridPathfinder.findJump+" + name, 1, null, () -> {
+			return (long) precomputed.findJump(maze.startx, maze.starty, maze.goalx, maze.goaly);
+		});
+	}
+	
+	private static void benchmarkHierarchical(BenchmarkRunner runner, Maze maze) {
+		String name = "[" + maze.width + "x" + maze.height + "]";
+		GridPathfinder pathfinder = new GridPathfinder(new GridPathfinderTest.MazeGrid(maze), true, 10, 14);
+		runner.run("GridPathfinder.find" + name, 1, null, () -> {
+			return (long) pathfinder.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+		});
+		
+		HierarchicalPathfinder hierarchical = new HierarchicalPathfinder(new GridPathfinderTest.MazeGrid(maze), CLUSTER_SIZE, true, 10, 14);
+		runner.run("HierarchicalPathfinder.update" + name, 1, hierarchical::invalidateAll, () -> {
+			hierarchical.update();
+			return hierarchical.abstractNodeCount();
+		});
+		runner.run("HierarchicalPathfinder.find" + name, 1, null, () -> {
+			return (long) hierarchical.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+		});
+		// Rebuilds a single cluster in the middle of the grid.
+		runner.run("HierarchicalPathfinder.invalidate+find" + name, 1, () -> hierarchical.invalidate(maze.width / 2, maze.height / 2), () -> {
+			return (long) hierarchical.find(maze.startx, maze.starty, maze.goalx, maze.goaly);
+		});
+	}
+	
+	static Maze createMaze(int size, Random random) {
+		return createMaze(size, OBSTACLE_RATIO, random);
+	}
+	
+	static Maze createMaze(int size, double obstacleRatio, Random random) {
+		Maze maze = new Maze();
+		maze.width = size;
+		maze.height = size;
+		maze.passable = new boolean[size][size];
+		for (int x = 0; x < size; x++) {
+			for (int y = 0; y < size; y++) {
+				maze.passable[x][y] = random.nextDouble() >= obstacleRatio;
+			}
+		}
+		maze.startx = 0;
+		maze.starty = 0;
+		maze.goalx = size-1;
+		maze.goaly = size-1;
+		maze.passable[maze.startx][maze.starty] = true;
+		maze.passable[maze.goalx][maze.goaly] = true;
+		return maze;
+	}
+	
+	/**
+	 * Keeps the present node without the assertions of the test world.
+	 */
+	private static class BenchmarkWorld extends MazeWorld {
+		public BenchmarkWorld(Maze maze) {
+			super(maze);
+		}
+		@Override
+		public boolean preferOrigin(MazePoint present, MazePoint proposal) {
+			return false;
+		}
+	}
+	
+}
@@ -7,12 +7,20 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.imageio.ImageIO;
 
 import org.junit.jupiter.api.Test;
 
+import de.tomatengames.util.PathfinderContext;
 import de.tomatengames.util.PathfinderUtil;
+import de.tomatengames.util.PathfinderUtil.SearchLimits;
+import de.tomatengames.util.PathfinderUtil.SearchResult;
+import de.tomatengames.util.PathfinderUtil.SearchStatus;
 import de.tomatengames.util.map.Int2HashMap;
 
 class PathfinderTest {
@@ -35,6 +43,225 @@ class PathfinderTest {
 		assertEquals(cost, goal.getCost());
 	}
 	
+	@Test
+	void testContext() throws IOException {
+		PathfinderContext<MazePoint> context = new PathfinderContext<>();
+		Maze mini = readMazeImageFile("testdata/pathfinderutil/mini2.png");
+		assertEquals(300, context.find(new MazePoint(null, 0, mini.startx, mini.starty), new MazeWorld(mini)).getCost());
+		int found = context.positionMap().size();
+		assertTrue(found > 0);
+		
+		// The same context is reused for smaller and larger searches.
+		Random random = new Random(42);
+		for (int i = 0; i < 50; i++) {
+			Maze maze = PathfinderBenchmark.createMaze(2 + random.nextInt(60), random);
+			maze.startx = random.nextInt(maze.width);
+			maze.starty = random.nextInt(maze.height);
+			maze.passable[maze.startx][maze.starty] = true;
+			MazePoint expected = PathfinderUtil.find(new MazePoint(null, 0, maze.startx, maze.starty), new MazeWorld(maze));
+			MazePoint goal = context.find(new MazePoint(null, 0, maze.startx, maze.starty), true, new MazeWorld(maze));
+			if (expected == null) {
+				assertNull(goal);
+				continue;
+			}
+			assertEquals(expected.getCost(), goal.getCost());
+			assertEquals(maze.goalx, goal.x);
+			assertEquals(maze.goaly, goal.y);
+			assertSame(goal, context.positionMap().get(goal));
+		}
+		
+		assertEquals(300, context.find(new MazePoint(null, 0, mini.startx, mini.starty), new MazeWorld(mini)).getCost());
+		assertEquals(found, context.positionMap().size());
+		context.positionMap().clear();
+		assertEquals(0, context.positionMap().size());
+		context.positionMap().forEach(p -> fail("Unexpected node " + p));
+	}
+	
+	@Test
+	void testFindAll() {
+		Random random = new Random(42);
+		Maze maze = PathfinderBenchmark.createMaze(40, random);
+		List<MazePoint> starts = new ArrayList<>();
+		List<MazeWorld> worlds = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			// The queries share the cells, but not the goals.
+			Maze query = new Maze();
+			query.width = maze.width;
+			query.height = maze.height;
+			query.passable = maze.passable;
+			query.goalx = random.nextInt(maze.width);
+			query.goaly = random.nextInt(maze.height);
+			starts.add(new MazePoint(null, 0, random.nextInt(maze.width), random.nextInt(maze.height)));
+			worlds.add(new MazeWorld(query));
+		}
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<MazePoint> goals = PathfinderUtil.findAll(starts, worlds, pool);
+			assertEquals(200, goals.size());
+			for (int i = 0; i < 200; i++) {
+				MazePoint start = starts.get(i);
+				MazePoint expected = PathfinderUtil.find(new MazePoint(null, 0, start.x, start.y), worlds.get(i));
+				MazePoint goal = goals.get(i);
+				if (expected == null) {
+					assertNull(goal);
+				}
+				else {
+					assertEquals(expected.getCost(), goal.getCost());
+					assertTrue(worlds.get(i).isGoal(goal));
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		assertEquals(0, PathfinderUtil.findAll(Collections.<MazePoint>emptyList(), Collections.<MazeWorld>emptyList()).size());
+		assertThrows(IllegalArgumentException.class, () -> PathfinderUtil.findAll(starts, worlds.subList(1, 200)));
+	}
+	
+	@Test
+	void testLimits() {
+		Maze maze = PathfinderBenchmark.createMaze(100, 0.0, new Random(1));
+		MazePoint expected = PathfinderUtil.find(new MazePoint(null, 0, 0, 0), new MazeWorld(maze));
+		SearchResult<MazePoint> result = PathfinderUtil.find(new MazePoint(null, 0, 0, 0), new MazeWorld(maze), SearchLimits.NONE);
+		assertEquals(SearchStatus.FOUND, result.status());
+		assertTrue(result.isComplete());
+		assertEquals(expected.getCost(), result.cost());
+		assertEquals(99, result.node().x);
+		assertEquals(99, result.node().y);
+		assertNull(result.backwardNode());
+		
+		// The partial path leads to the node that is closest to the goal.
+		result = PathfinderUtil.find(new MazePoint(null, 0, 0, 0), new MazeWorld(maze), new SearchLimits(10, Double.POSITIVE_INFINITY));
+		assertEquals(SearchStatus.EXPANDED_LIMIT, result.status());
+		assertFalse(result.isComplete());
+		assertEquals(10, result.expandedCount());
+		assertEquals(9 * 14, result.cost());
+		assertEquals(9, result.node().x);
+		assertEquals(9, result.node().y);
+		
+		result = PathfinderUtil.find(new MazePoint(null, 0, 0, 0), new MazeWorld(maze), new SearchLimits(Integer.MAX_VALUE, 500));
+		assertEquals(SearchStatus.COST_LIMIT, result.status());
+		assertFalse(result.isComplete());
+		assertTrue(result.cost() <= 500);
+		
+		result = PathfinderUtil.find(new MazePoint(null, 0, 0, 0), new MazeWorld(maze), new SearchLimits(Integer.MAX_VALUE, Double.POSITIVE_INFINITY, System.nanoTime()));
+		assertEquals(SearchStatus.DEADLINE, result.status());
+		assertEquals(0, result.expandedCount());
+		assertEquals(0, result.cost());
+		
+		// The goal is enclosed. The whole maze is searched.
+		enclose(maze, 99, 99);
+		result = PathfinderUtil.find(new MazePoint(null, 0, 0, 0), new MazeWorld(maze), SearchLimits.NONE);
+		assertEquals(SearchStatus.UNREACHABLE, result.status());
+		assertTrue(result.expandedCount() > 9000);
+		// (97, 99) or (99, 97)
+		assertEquals(2, 198 - result.node().x - result.node().y);
+		assertEquals(20, new MazeWorld(maze).estimateRemainingCost(result.node()));
+		
+		assertThrows(IllegalArgumentException.class, () -> new SearchLimits(-1, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SearchLimits(0, -1));
+		assertThrows(IllegalArgumentException.class, () -> new SearchLimits(0, Double.NaN));
+	}
+	
+	@Test
+	void testBidirectional() {
+		PathfinderContext<MazePoint> context = new PathfinderContext<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 100; i++) {
+			int size = 2 + random.nextInt(60);
+			Maze maze = PathfinderBenchmark.createMaze(size, random.nextDouble() * 0.4, random);
+			maze.startx = random.nextInt(size);
+			maze.starty = random.nextInt(size);
+			maze.goalx = random.nextInt(size);
+			maze.goaly = random.nextInt(size);
+			maze.passable[maze.startx][maze.starty] = true;
+			maze.passable[maze.goalx][maze.goaly] = true;
+			
+			MazePoint expected = PathfinderUtil.find(new MazePoint(null, 0, maze.startx, maze.starty), new MazeWorld(maze));
+			SearchResult<MazePoint> result = context.findBidirectional(new MazePoint(null, 0, maze.startx, maze.starty),
+					new MazePoint(null, 0, maze.goalx, maze.goaly), new MazeWorld(maze), new MazeWorld(reverse(maze)), SearchLimits.NONE);
+			if (expected == null) {
+				assertEquals(SearchStatus.UNREACHABLE, result.status());
+				assertFalse(result.isComplete());
+				continue;
+			}
+			assertEquals(SearchStatus.FOUND, result.status());
+			assertEquals(expected.getCost(), result.cost());
+			
+			// Both halves meet at the same position and lead to the start and the goal.
+			MazePoint forward = result.node();
+			MazePoint backward = result.backwardNode();
+			assertEquals(forward.x, backward.x);
+			assertEquals(forward.y, backward.y);
+			assertEquals(result.cost(), forward.getCost() + backward.getCost());
+			while (!forward.previous.isEmpty()) {
+				forward = forward.previous.get(0);
+			}
+			while (!backward.previous.isEmpty()) {
+				backward = backward.previous.get(0);
+			}
+			assertEquals(maze.startx, forward.x);
+			assertEquals(maze.starty, forward.y);
+			assertEquals(maze.goalx, backward.x);
+			assertEquals(maze.goaly, backward.y);
+		}
+		
+		// The goal is enclosed. Only the enclosed area is searched.
+		Maze maze = PathfinderBenchmark.createMaze(100, 0.0, random);
+		enclose(maze, 99, 99);
+		SearchResult<MazePoint> result = PathfinderUtil.findBidirectional(new MazePoint(null, 0, 0, 0), new MazePoint(null, 0, 99, 99),
+				new MazeWorld(maze), new MazeWorld(reverse(maze)));
+		assertEquals(SearchStatus.UNREACHABLE, result.status());
+		assertTrue(result.expandedCount() < 10);
+		
+		// A path that is more expensive than the maximum cost is not returned.
+		maze = PathfinderBenchmark.createMaze(100, 0.0, random);
+		result = PathfinderUtil.findBidirectional(new MazePoint(null, 0, 0, 0), new MazePoint(null, 0, 99, 99),
+				new MazeWorld(maze), new MazeWorld(reverse(maze)), new SearchLimits(Integer.MAX_VALUE, 99 * 14 - 1));
+		assertEquals(SearchStatus.COST_LIMIT, result.status());
+		assertFalse(result.isComplete());
+		result = PathfinderUtil.findBidirectional(new MazePoint(null, 0, 0, 0), new MazePoint(null, 0, 99, 99),
+				new MazeWorld(maze), new MazeWorld(reverse(maze)), new SearchLimits(Integer.MAX_VALUE, 99 * 14));
+		assertEquals(SearchStatus.FOUND, result.status());
+		assertEquals(99 * 14, result.cost());
+		
+		result = PathfinderUtil.findBidirectional(new MazePoint(null, 0, 5, 5), new MazePoint(null, 0, 5, 5),
+				new MazeWorld(maze), new MazeWorld(reverse(maze)));
+		assertEquals(SearchStatus.FOUND, result.status());
+		assertEquals(0, result.cost());
+		assertEquals(0, result.expandedCount());
+	}
+	
+	/**
+	 * Surrounds the specified cell with walls.
+	 */
+	private static void enclose(Maze maze, int x, int y) {
+		for (int dx = -1; dx <= 1; dx++) {
+			for (int dy = -1; dy <= 1; dy++) {
+				if ((dx != 0 || dy != 0) && maze.passable(x + dx, y + dy)) {
+					maze.passable[x + dx][y + dy] = false;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns a maze with the same cells that leads from the goal to the start.
+	 */
+	private static Maze reverse(Maze maze) {
+		Maze reverse = new Maze();
+		reverse.width = maze.width;
+		reverse.height = maze.height;
+		reverse.passable = maze.passable;
+		reverse.startx = maze.goalx;
+		reverse.starty = maze.goaly;
+		reverse.goalx = maze.startx;
+		reverse.goaly = maze.starty;
+		return reverse;
+	}
+	
 	public static Maze readMazeImageFile(String file) throws IOException {
 		BufferedImage img = ImageIO.read(new File(file));
 		Maze maze = new Maze();
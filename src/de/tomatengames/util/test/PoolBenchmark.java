@@ -0,0 +1,170 @@
+package de.tomatengames.util.test;
+
+import java.nio.ByteBuffer;
+
+import de.tomatengames.util.pool.BytePool;
+import de.tomatengames.util.pool.ByteUnpool;
+import de.tomatengames.util.pool.DirectBufferPool;
+import de.tomatengames.util.pool.LevelBytePool;
+import de.tomatengames.util.pool.LinkedPool;
+import de.tomatengames.util.pool.LockFreePool;
+import de.tomatengames.util.pool.Pool;
+import de.tomatengames.util.pool.Pooled;
+import de.tomatengames.util.pool.SlabBytePool;
+import de.tomatengames.util.pool.SlabBytePool.Slice;
+import de.tomatengames.util.pool.ThreadLocalPool;
+import de.tomatengames.util.pool.Unpool;
+import de.tomatengames.util.pool.ZeroBytePool;
+import de.tomatengames.util.pool.ZeroBytePool.ZeroPooled;
+
+/**
+ * Measures claim and free of the pools and compares them to plain allocation ({@link Unpool}, {@link ByteUnpool}).
+ * Each operation claims an element, writes to it and frees it.
+ * @see BenchmarkRunner
+ */
+class PoolBenchmark {
+	
+	private static final int OPS = 1000;
+	private static final int[] LENGTHS = { 64, 1024, 65536 };
+	private static final int BATCH = 100;
+	
+	public static void main(String[] args) {
+		BenchmarkRunner runner = new BenchmarkRunner(args);
+		
+		benchmarkPool(runner, "LinkedPool", new LinkedPool<>(() -> new long[16]));
+		benchmarkPool(runner, "LockFreePool", new LockFreePool<>(() -> new long[16]));
+		benchmarkPool(runner, "ThreadLocalPool", new ThreadLocalPool<>(() -> new long[16]));
+		benchmarkPool(runner, "Unpool", new Unpool<>(() -> new long[16]));
+		
+		for (int length : LENGTHS) {
+			benchmarkBytePool(runner, "LevelBytePool[" + length + "]", new LevelBytePool(), length);
+			benchmarkBytePool(runner, "ByteUnpool[" + length + "]", new ByteUnpool(), length);
+			benchmarkSlabPool(runner, "SlabBytePool[" + length + "]", new SlabBytePool(), length);
+			benchmarkBufferPool(runner, "DirectBufferPool[" + length + "]", new DirectBufferPool(), length);
+			benchmarkBufferAllocation(runner, "ByteBuffer.allocateDirect[" + length + "]", length);
+		}
+		
+		benchmarkBatch(runner, "LevelBytePool.claimFreeSingle", new LevelBytePool(), false);
+		benchmarkBatch(runner, "LevelBytePool.claimFreeAll", new LevelBytePool(), true);
+		
+		// A buffer that is sized for the largest message, but receives a small one
+		benchmarkZeroPool(runner, "ZeroBytePool.zeroOnFree[1M]", new ZeroBytePool(new LevelBytePool()), 1 << 20, false);
+		benchmarkZeroPool(runner, "ZeroBytePool.markDirty[1M]", new ZeroBytePool(new LevelBytePool()), 1 << 20, true);
+		// A length that is rounded up to the next level
+		benchmarkZeroPool(runner, "ZeroBytePool.zeroOnFree[600K]", new ZeroBytePool(new LevelBytePool()), 600 << 10, false);
+		benchmarkZeroPool(runner, "ZeroBytePool.zeroOnClaim[600K]", new ZeroBytePool(new LevelBytePool(), true), 600 << 10, false);
+	}
+	
+	private static void benchmarkPool(BenchmarkRunner runner, String name, Pool<long[]> pool) {
+		runner.run(name + ".claimFree", OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < OPS; i++) {
+				try (Pooled<long[]> pooled = pool.claim()) {
+					long[] array = pooled.get();
+					array[i & 15] += i;
+					result += array[0];
+				}
+			}
+			return result;
+		});
+	}
+	
+	private static void benchmarkSlabPool(BenchmarkRunner runner, String name, SlabBytePool pool, int length) {
+		runner.run(name + ".claimFree", OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < OPS; i++) {
+				try (Pooled<Slice> pooled = pool.claim(length)) {
+					Slice slice = pooled.get();
+					slice.array()[slice.offset() + i % length] = (byte) i;
+					result += slice.length();
+				}
+			}
+			return result;
+		});
+	}
+	
+	private static void benchmarkBufferPool(BenchmarkRunner runner, String name, DirectBufferPool pool, int length) {
+		runner.run(name + ".claimFree", OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < OPS; i++) {
+				try (Pooled<ByteBuffer> pooled = pool.claim(length)) {
+					ByteBuffer buffer = pooled.get();
+					buffer.put(i % length, (byte) i);
+					result += buffer.capacity();
+				}
+			}
+			return result;
+		});
+	}
+	
+	private static void benchmarkBufferAllocation(BenchmarkRunner runner, String name, int length) {
+		runner.run(name, OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < OPS; i++) {
+				ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+				buffer.put(i % length, (byte) i);
+				result += buffer.capacity();
+			}
+			return result;
+		});
+	}
+	
+	private static void benchmarkBatch(BenchmarkRunner runner, String name, BytePool pool, boolean bulk) {
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Pooled<byte[]>[] batch = new Pooled[BATCH];
+		runner.run(name + "[" + BATCH + "x1024]", OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < OPS; i += BATCH) {
+				if (bulk) {
+					pool.claimAll(1024, BATCH, batch);
+				} else {
+					for (int j = 0; j < BATCH; j++)
+						batch[j] = pool.claim(1024);
+				}
+				for (int j = 0; j < BATCH; j++) {
+					byte[] array = batch[j].get();
+					array[j] = (byte) i;
+					result += array.length;
+				}
+				if (bulk) {
+					pool.freeAll(batch, BATCH);
+				} else {
+					for (int j = 0; j < BATCH; j++)
+						batch[j].free();
+				}
+			}
+			return result;
+		});
+	}
+	
+	private static void benchmarkZeroPool(BenchmarkRunner runner, String name, ZeroBytePool pool, int length, boolean markDirty) {
+		runner.run(name, OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < OPS; i++) {
+				try (ZeroPooled pooled = pool.claim(length)) {
+					byte[] array = pooled.get();
+					array[i & 63] = (byte) i;
+					if (markDirty)
+						pooled.markDirty(64);
+					result += array.length;
+				}
+			}
+			return result;
+		});
+	}
+	
+	private static void benchmarkBytePool(BenchmarkRunner runner, String name, BytePool pool, int length) {
+		runner.run(name + ".claimFree", OPS, null, () -> {
+			long result = 0L;
+			for (int i = 0; i < OPS; i++) {
+				try (Pooled<byte[]> pooled = pool.claim(length)) {
+					byte[] array = pooled.get();
+					array[i % length] = (byte) i;
+					result += array.length;
+				}
+			}
+			return result;
+		});
+	}
+	
+}
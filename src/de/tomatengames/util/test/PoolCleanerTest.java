@@ -0,0 +1,116 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.pool.CleanablePool;
+import de.tomatengames.util.pool.LevelBytePool;
+import de.tomatengames.util.pool.LinkedPool;
+import de.tomatengames.util.pool.LockFreePool;
+import de.tomatengames.util.pool.PoolCleaner;
+import de.tomatengames.util.pool.PoolCleaner.Registration;
+import de.tomatengames.util.pool.Pooled;
+import de.tomatengames.util.pool.SlabBytePool;
+
+class PoolCleanerTest {
+	
+	@Test
+	void testSchedule() throws InterruptedException {
+		LinkedPool<Object> pool = new LinkedPool<>(Object::new);
+		Pooled<Object> p1 = pool.claim(), p2 = pool.claim();
+		p1.free();
+		p2.free();
+		assertEquals(2, pool.size());
+		
+		try (Registration registration = PoolCleaner.schedule(pool, 1, TimeUnit.MILLISECONDS)) {
+			for (int i = 0; i < 500 && pool.size() > 0; i++)
+				Thread.sleep(2);
+			assertEquals(0, pool.size());
+			assertFalse(registration.isCancelled());
+			assertNull(registration.failure());
+		}
+	}
+	
+	@Test
+	void testScheduleOtherPools() throws InterruptedException {
+		LockFreePool<Object> lockFree = new LockFreePool<>(Object::new);
+		lockFree.claim().free();
+		SlabBytePool slab = new SlabBytePool();
+		slab.claim(100).free();
+		
+		try (Registration r1 = PoolCleaner.schedule(lockFree, 1, TimeUnit.MILLISECONDS);
+				Registration r2 = PoolCleaner.schedule(slab, 1, TimeUnit.MILLISECONDS, 0.5)) {
+			for (int i = 0; i < 500 && (lockFree.size() > 0 || slab.size() > 0); i++)
+				Thread.sleep(2);
+			assertEquals(0, lockFree.size());
+			assertEquals(0, slab.size());
+			assertFalse(r1.isCancelled());
+			assertFalse(r2.isCancelled());
+		}
+	}
+	
+	@Test
+	void testFailure() throws InterruptedException {
+		RuntimeException exception = new IllegalStateException("Clean failed");
+		AtomicInteger calls = new AtomicInteger();
+		AtomicReference<Throwable> reported = new AtomicReference<>();
+		CleanablePool pool = fraction -> {
+			calls.incrementAndGet();
+			throw exception;
+		};
+		
+		// The failure stops the cleaning and is visible in the registration.
+		Registration registration = PoolCleaner.schedule(pool, 1, TimeUnit.MILLISECONDS, 1.0, reported::set);
+		for (int i = 0; i < 500 && !registration.isCancelled(); i++)
+			Thread.sleep(2);
+		assertTrue(registration.isCancelled());
+		assertSame(exception, registration.failure());
+		assertSame(exception, reported.get());
+		Thread.sleep(20);
+		assertEquals(1, calls.get());
+		assertNotNull(pool);
+	}
+	
+	@Test
+	void testCancel() throws InterruptedException {
+		LevelBytePool pool = new LevelBytePool();
+		Registration registration = PoolCleaner.schedule(pool, 1, TimeUnit.MILLISECONDS, 0.5);
+		registration.cancel();
+		assertTrue(registration.isCancelled());
+		Thread.sleep(20);
+		
+		pool.claim(100).free();
+		Thread.sleep(20);
+		assertEquals(1, pool.stats().size());
+		
+		assertThrows(IllegalArgumentException.class, () -> PoolCleaner.schedule(pool, 0, TimeUnit.SECONDS));
+		assertThrows(IllegalArgumentException.class, () -> PoolCleaner.schedule(pool, 1, TimeUnit.SECONDS, -0.5));
+		assertThrows(IllegalArgumentException.class, () -> PoolCleaner.schedule(null, 1, TimeUnit.SECONDS));
+		assertThrows(IllegalArgumentException.class, () -> PoolCleaner.schedule(pool, 1, null));
+		assertThrows(IllegalArgumentException.class, () -> PoolCleaner.schedule(pool, 1, TimeUnit.SECONDS, 0.5, null));
+	}
+	
+	@Test
+	void testGarbageCollected() throws InterruptedException {
+		CleanablePool pool = new LinkedPool<>(Object::new);
+		Registration registration = PoolCleaner.schedule(pool, 1, TimeUnit.MILLISECONDS);
+		pool = null;
+		for (int i = 0; i < 100 && !registration.isCancelled(); i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertTrue(registration.isCancelled());
+	}
+	
+}
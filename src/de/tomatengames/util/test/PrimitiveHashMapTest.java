@@ -0,0 +1,163 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.map.IntToDoubleHashMap;
+import de.tomatengames.util.map.IntToIntEntry;
+import de.tomatengames.util.map.IntToIntHashMap;
+import de.tomatengames.util.map.LongToLongEntry;
+import de.tomatengames.util.map.LongToLongHashMap;
+
+class PrimitiveHashMapTest {
+	
+	@Test
+	void testPutAndGet() {
+		IntToIntHashMap map = new IntToIntHashMap(); assertEquals(0, map.size());
+		assertEquals(0, map.put(0, 10)); assertEquals(1, map.size());
+		assertEquals(0, map.put(5, 55)); assertEquals(2, map.size());
+		assertEquals(0, map.put(-100, 0)); assertEquals(3, map.size());
+		assertEquals(55, map.put(5, 56)); assertEquals(3, map.size());
+		
+		assertEquals(10, map.get(0));
+		assertEquals(56, map.get(5));
+		assertEquals(0, map.get(-100));
+		assertEquals(true, map.containsKey(-100));
+		assertEquals(0, map.get(4));
+		assertEquals(false, map.containsKey(4));
+		assertEquals(-1, map.getOrDefault(4, -1));
+		assertEquals(0, map.getOrDefault(-100, -1));
+		
+		assertEquals(56, map.remove(5)); assertEquals(2, map.size());
+		assertEquals(0, map.remove(5)); assertEquals(2, map.size());
+	}
+	
+	@Test
+	void testPutIfAbsent() {
+		LongToLongHashMap map = new LongToLongHashMap();
+		assertEquals(true, map.putIfAbsent(1L << 40, 7L)); assertEquals(1, map.size());
+		assertEquals(false, map.putIfAbsent(1L << 40, 8L)); assertEquals(1, map.size());
+		assertEquals(7L, map.get(1L << 40));
+		assertEquals(true, map.putIfAbsent(-3L, 0L)); assertEquals(2, map.size());
+		assertEquals(true, map.containsKey(-3L));
+	}
+	
+	@Test
+	void testCounting() {
+		IntToIntHashMap map = new IntToIntHashMap();
+		assertEquals(1, map.increment(3));
+		assertEquals(2, map.increment(3));
+		assertEquals(-8, map.addTo(3, -10));
+		assertEquals(5, map.addTo(4, 5));
+		assertEquals(2, map.size());
+		
+		IntToDoubleHashMap sums = new IntToDoubleHashMap();
+		assertEquals(0.5, sums.addTo(1, 0.5));
+		assertEquals(1.0, sums.increment(1) - 0.5);
+		assertEquals(1.5, sums.get(1));
+	}
+	
+	@Test
+	void testCompute() {
+		IntToIntHashMap map = new IntToIntHashMap();
+		assertEquals(6, map.computeIfAbsent(3, k -> k * 2));
+		assertEquals(6, map.computeIfAbsent(3, k -> k * 3));
+		assertEquals(1, map.size());
+		assertEquals(11, map.compute(4, 10, v -> v + 1));
+		assertEquals(12, map.compute(4, 10, v -> v + 1));
+		assertEquals(2, map.size());
+		assertThrows(IllegalArgumentException.class, () -> map.computeIfAbsent(5, null));
+		assertThrows(IllegalArgumentException.class, () -> map.compute(5, 0, null));
+		assertEquals(false, map.containsKey(5));
+	}
+	
+	@Test
+	void testRandomOperations() {
+		Random random = new Random(42);
+		LongToLongHashMap map = new LongToLongHashMap();
+		HashMap<Long, Long> compareMap = new HashMap<>();
+		for (int i = 0; i < 200000; i++) {
+			long key = (random.nextInt(2000) - 1000) * 0x100000001L;
+			long value = random.nextLong();
+			switch (random.nextInt(4)) {
+			case 0:
+				assertEquals(orZero(compareMap.put(key, value)), map.put(key, value));
+				break;
+			case 1:
+				assertEquals(compareMap.merge(key, value, Long::sum), map.addTo(key, value));
+				break;
+			case 2:
+				assertEquals(!compareMap.containsKey(key), map.putIfAbsent(key, value));
+				compareMap.putIfAbsent(key, value);
+				break;
+			default:
+				assertEquals(orZero(compareMap.remove(key)), map.remove(key));
+				break;
+			}
+			assertEquals(orZero(compareMap.get(key)), map.get(key));
+			assertEquals(compareMap.containsKey(key), map.containsKey(key));
+			assertEquals(compareMap.size(), map.size());
+		}
+	}
+	
+	private static long orZero(Long value) {
+		return value != null ? value : 0L;
+	}
+	
+	@Test
+	void testIterator() {
+		IntToIntHashMap map = new IntToIntHashMap();
+		for (int i = -50; i < 50; i++) {
+			map.put(i * 7, i);
+		}
+		
+		for (IntToIntEntry entry : map) {
+			entry.setValue(entry.getValue() * 2);
+		}
+		for (int i = -50; i < 50; i++) {
+			assertEquals(i * 2, map.get(i * 7));
+		}
+		
+		Iterator<IntToIntEntry> it = map.iterator();
+		while (it.hasNext()) {
+			if (it.next().getValue() < 0) {
+				it.remove();
+			}
+		}
+		assertEquals(50, map.size());
+		
+		assertThrows(ConcurrentModificationException.class, () -> {
+			for (IntToIntEntry entry : map) {
+				map.increment(entry.getKey() + 1);
+			}
+		});
+	}
+	
+	@Test
+	void testEqualsAndClone() {
+		LongToLongHashMap map = new LongToLongHashMap();
+		map.put(4L, 0L);
+		map.put(2L, 3L);
+		
+		LongToLongHashMap clone = new LongToLongHashMap(map);
+		assertEquals(map, clone);
+		assertEquals(map.hashCode(), clone.hashCode());
+		clone.put(4L, 1L);
+		assertNotEquals(map, clone);
+		for (LongToLongEntry entry : clone) {
+			entry.setValue(map.get(entry.getKey()));
+		}
+		assertEquals(map, clone);
+		
+		map.clear();
+		assertEquals(0, map.size());
+		assertEquals(new LongToLongHashMap(), map);
+	}
+	
+}
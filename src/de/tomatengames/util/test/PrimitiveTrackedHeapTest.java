@@ -0,0 +1,307 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.OptionalDouble;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.tomatengames.util.data.DoubleTrackedHeap;
+import de.tomatengames.util.data.IntTrackedHeap;
+import de.tomatengames.util.data.LongTrackedHeap;
+import de.tomatengames.util.data.TrackedHeap;
+
+// Tests the generated IntTrackedHeap, LongTrackedHeap and DoubleTrackedHeap.
+// The priorities of the shared tests are small integers, so that they are exact in each type.
+class PrimitiveTrackedHeapTest {
+	
+	@ParameterizedTest
+	@ValueSource(strings = {"Int", "Long", "Double"})
+	void testBase(String type) {
+		Heap heap = heap(type, 2);
+		E[] e = createElements(20);
+		assertEquals(true, heap.isEmpty());
+		assertEquals(null, heap.getFirst());
+		assertEquals(heap.empty(), heap.getFirstPriority());
+		
+		double[] priorities = { 5, 3, 8, -12, 7, 1, 10, -20 };
+		for (int i = 0; i < priorities.length; i++) {
+			assertEquals(true, heap.insert(e[i], priorities[i]));
+		}
+		assertEquals(8, heap.size());
+		assertEquals(true, heap.contains(e[3]));
+		assertEquals(false, heap.contains(e[10]));
+		assertEquals(7, heap.getPriority(e[4]));
+		assertEquals(heap.empty(), heap.getPriority(e[10]));
+		assertEquals(e[7], heap.getFirst());
+		assertEquals(-20, heap.getFirstPriority());
+		
+		assertEquals(true, heap.remove(e[7]));
+		assertEquals(false, heap.remove(e[7]));
+		assertEquals(false, heap.remove(null));
+		
+		// Sorted [-12, 1, 3, 5, 7, 8, 10]
+		int[] order = { 3, 5, 1, 0, 4, 2, 6 };
+		for (int i : order) {
+			assertEquals(priorities[i], heap.getFirstPriority());
+			assertEquals(e[i], heap.removeFirst());
+			assertEquals(false, heap.contains(e[i]));
+		}
+		assertEquals(null, heap.removeFirst());
+		assertEquals(0, heap.size());
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = {"Int", "Long", "Double"})
+	void testMove(String type) {
+		Heap heap = heap(type, 2);
+		E[] e = createElements(5);
+		for (int i = 0; i < e.length; i++) {
+			heap.insert(e[i], i + 1);
+		}
+		
+		heap.decrease(e[4], -1);
+		assertEquals(e[4], heap.getFirst());
+		heap.decrease(e[4], 100); // not a decrease
+		assertEquals(-1, heap.getPriority(e[4]));
+		heap.increase(e[4], -5); // not an increase
+		assertEquals(-1, heap.getPriority(e[4]));
+		heap.increase(e[4], 100);
+		assertEquals(e[0], heap.getFirst());
+		
+		heap.move(e[2], 0);
+		assertEquals(e[2], heap.getFirst());
+		heap.move(e[2], 50);
+		assertEquals(e[0], heap.getFirst());
+		assertEquals(false, heap.insert(e[3], -3)); // reinsert
+		assertEquals(e[3], heap.getFirst());
+		
+		heap.move(null, 1);
+		heap.increase(null, 1);
+		heap.decrease(null, 1);
+		assertEquals(5, heap.size());
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = {"Int", "Long", "Double"})
+	void testOtherHeaps(String type) {
+		Heap heap = heap(type, 2);
+		TrackedHeap<E> comparatorHeap = new TrackedHeap<>((e1, e2) -> 0);
+		E[] e = createElements(2);
+		heap.insert(e[0], 1);
+		comparatorHeap.insert(e[1]);
+		assertThrows(IllegalArgumentException.class, () -> heap.insert(e[1], 2));
+		assertThrows(IllegalArgumentException.class, () -> comparatorHeap.insert(e[0]));
+		assertEquals(false, comparatorHeap.contains(e[0]));
+		
+		// Transfer an element.
+		heap.insert(comparatorHeap.removeFirst(), 0);
+		assertEquals(e[1], heap.getFirst());
+		heap.clear();
+		assertEquals(true, comparatorHeap.insert(e[0]));
+		
+		// The primitive heaps share the elements too.
+		Heap other = heap(type.equals("Int") ? "Long" : "Int", 2);
+		other.insert(e[1], 1);
+		assertThrows(IllegalArgumentException.class, () -> heap.insert(e[1], 2));
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = {"Int", "Long", "Double"})
+	void testRandomized(String type) {
+		for (int arity : new int[] { 2, 4, 8 }) {
+			Heap heap = heap(type, arity);
+			assertEquals(arity, heap.arity());
+			HashMap<E, Double> control = new HashMap<>();
+			E[] elements = createElements(100);
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			
+			for (int i = 0; i < 10000; i++) {
+				E e = elements[random.nextInt(elements.length)];
+				double priority = random.nextInt(64) - 32;
+				int op = random.nextInt(100);
+				if (op < 40) {
+					assertEquals(!control.containsKey(e), heap.insert(e, priority));
+					control.put(e, priority);
+				}
+				else if (op < 60) {
+					assertEquals(control.remove(e) != null, heap.remove(e));
+				}
+				else if (op < 75) {
+					E removed = heap.removeFirst();
+					OptionalDouble expectedMin = control.values().stream().mapToDouble(d -> d).min();
+					if (expectedMin.isPresent()) {
+						assertEquals(expectedMin.getAsDouble(), control.remove(removed));
+					}
+					else {
+						assertEquals(null, removed);
+					}
+				}
+				else if (control.containsKey(e)) {
+					double old = control.get(e);
+					if (op < 85) {
+						heap.move(e, priority);
+						control.put(e, priority);
+					}
+					else if (op < 93) {
+						heap.increase(e, priority);
+						control.put(e, Math.max(old, priority));
+					}
+					else {
+						heap.decrease(e, priority);
+						control.put(e, Math.min(old, priority));
+					}
+				}
+				
+				assertEquals(control.size(), heap.size());
+				OptionalDouble expectedMin = control.values().stream().mapToDouble(d -> d).min();
+				assertEquals(expectedMin.orElse(heap.empty()), heap.getFirstPriority());
+				if (expectedMin.isPresent()) {
+					assertEquals(expectedMin.getAsDouble(), control.get(heap.getFirst()));
+				}
+				for (E element : elements) {
+					assertEquals(control.getOrDefault(element, heap.empty()), heap.getPriority(element));
+				}
+			}
+		}
+	}
+	
+	@Test
+	void testExtremePriorities() {
+		IntTrackedHeap<E> intHeap = new IntTrackedHeap<>();
+		LongTrackedHeap<E> longHeap = new LongTrackedHeap<>();
+		E[] e = createElements(6);
+		intHeap.insert(e[0], Integer.MAX_VALUE);
+		intHeap.insert(e[1], Integer.MIN_VALUE);
+		intHeap.insert(e[2], 0);
+		assertEquals(Integer.MIN_VALUE, intHeap.getFirstPriority());
+		intHeap.removeFirst();
+		intHeap.removeFirst();
+		assertEquals(e[0], intHeap.getFirst());
+		
+		longHeap.insert(e[3], Long.MAX_VALUE);
+		longHeap.insert(e[4], Long.MIN_VALUE);
+		longHeap.insert(e[5], 1L << 40);
+		assertEquals(Long.MIN_VALUE, longHeap.getFirstPriority());
+		longHeap.removeFirst();
+		assertEquals(1L << 40, longHeap.getFirstPriority());
+	}
+	
+	@Test
+	void testNaN() {
+		DoubleTrackedHeap<E> heap = new DoubleTrackedHeap<>();
+		E[] e = createElements(2);
+		heap.insert(e[0], 0.25);
+		heap.insert(e[1], -0.5);
+		assertEquals(e[1], heap.getFirst());
+		assertThrows(IllegalArgumentException.class, () -> heap.insert(createElements(1)[0], Double.NaN));
+		assertThrows(IllegalArgumentException.class, () -> heap.move(e[0], Double.NaN));
+		assertThrows(IllegalArgumentException.class, () -> heap.increase(e[0], Double.NaN));
+		assertThrows(IllegalArgumentException.class, () -> heap.decrease(e[0], Double.NaN));
+		assertEquals(0.25, heap.getPriority(e[0]));
+		assertEquals(2, heap.size());
+	}
+	
+	private static E[] createElements(int n) {
+		E[] elements = new E[n];
+		for (int i = 0; i < n; i++) {
+			elements[i] = new E();
+		}
+		return elements;
+	}
+	
+	private static class E extends TrackedHeap.Element {
+	}
+	
+	// The operations of the primitive heaps with double priorities.
+	private interface Heap {
+		double empty();
+		boolean insert(E element, double priority);
+		boolean remove(E element);
+		E getFirst();
+		double getFirstPriority();
+		E removeFirst();
+		double getPriority(E element);
+		void move(E element, double priority);
+		void increase(E element, double priority);
+		void decrease(E element, double priority);
+		void clear();
+		int arity();
+		boolean isEmpty();
+		int size();
+		boolean contains(E element);
+	}
+	
+	private static Heap heap(String type, int arity) {
+		switch (type) {
+		case "Int": {
+			IntTrackedHeap<E> heap = new IntTrackedHeap<>(arity);
+			return new Heap() {
+				public double empty() { return Integer.MAX_VALUE; }
+				public boolean insert(E element, double priority) { return heap.insert(element, (int) priority); }
+				public boolean remove(E element) { return heap.remove(element); }
+				public E getFirst() { return heap.getFirst(); }
+				public double getFirstPriority() { return heap.getFirstPriority(); }
+				public E removeFirst() { return heap.removeFirst(); }
+				public double getPriority(E element) { return heap.getPriority(element); }
+				public void move(E element, double priority) { heap.move(element, (int) priority); }
+				public void increase(E element, double priority) { heap.increase(element, (int) priority); }
+				public void decrease(E element, double priority) { heap.decrease(element, (int) priority); }
+				public void clear() { heap.clear(); }
+				public int arity() { return heap.arity(); }
+				public boolean isEmpty() { return heap.isEmpty(); }
+				public int size() { return heap.size(); }
+				public boolean contains(E element) { return heap.contains(element); }
+			};
+		}
+		case "Long": {
+			LongTrackedHeap<E> heap = new LongTrackedHeap<>(arity);
+			return new Heap() {
+				public double empty() { return Long.MAX_VALUE; }
+				public boolean insert(E element, double priority) { return heap.insert(element, (long) priority); }
+				public boolean remove(E element) { return heap.remove(element); }
+				public E getFirst() { return heap.getFirst(); }
+				public double getFirstPriority() { return heap.getFirstPriority(); }
+				public E removeFirst() { return heap.removeFirst(); }
+				public double getPriority(E element) { return heap.getPriority(element); }
+				public void move(E element, double priority) { heap.move(element, (long) priority); }
+				public void increase(E element, double priority) { heap.increase(element, (long) priority); }
+				public void decrease(E element, double priority) { heap.decrease(element, (long) priority); }
+				public void clear() { heap.clear(); }
+				public int arity() { return heap.arity(); }
+				public boolean isEmpty() { return heap.isEmpty(); }
+				public int size() { return heap.size(); }
+				public boolean contains(E element) { return heap.contains(element); }
+			};
+		}
+		case "Double": {
+			DoubleTrackedHeap<E> heap = new DoubleTrackedHeap<>(arity);
+			return new Heap() {
+				public double empty() { return Double.NaN; }
+				public boolean insert(E element, double priority) { return heap.insert(element, priority); }
+				public boolean remove(E element) { return heap.remove(element); }
+				public E getFirst() { return heap.getFirst(); }
+				public double getFirstPriority() { return heap.getFirstPriority(); }
+				public E removeFirst() { return heap.removeFirst(); }
+				public double getPriority(E element) { return heap.getPriority(element); }
+				public void move(E element, double priority) { heap.move(element, priority); }
+				public void increase(E element, double priority) { heap.increase(element, priority); }
+				public void decrease(E element, double priority) { heap.decrease(element, priority); }
+				public void clear() { heap.clear(); }
+				public int arity() { return heap.arity(); }
+				public boolean isEmpty() { return heap.isEmpty(); }
+				public int size() { return heap.size(); }
+				public boolean contains(E element) { return heap.contains(element); }
+			};
+		}
+		default:
+			throw new IllegalArgumentException("Unknown heap type " + type);
+		}
+	}
+	
+}
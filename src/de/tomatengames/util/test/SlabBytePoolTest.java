@@ -0,0 +1,165 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.pool.Pooled;
+import de.tomatengames.util.pool.SlabBytePool;
+import de.tomatengames.util.pool.SlabBytePool.Slice;
+
+class SlabBytePoolTest {
+	
+	@Test
+	void testClaim() {
+		SlabBytePool pool = new SlabBytePool();
+		assertEquals(32, pool.claim(Integer.MIN_VALUE).get().length());
+		assertEquals(32, pool.claim(0).get().length());
+		assertEquals(32, pool.claim(32).get().length());
+		assertEquals(64, pool.claim(33).get().length());
+		assertEquals(256, pool.claim(129).get().length());
+		assertEquals(1 << 20, pool.claim(1 << 20).get().length());
+		assertThrows(IllegalArgumentException.class, () -> pool.claim((1 << 30) + 1));
+		assertThrows(IllegalArgumentException.class, () -> new SlabBytePool(0));
+	}
+	
+	@Test
+	void testSlab() {
+		SlabBytePool pool = new SlabBytePool(4096);
+		List<Slice> slices = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			slices.add(pool.claim(64).get());
+		}
+		// 64 slices of 64 bytes fill exactly one slab without overlapping.
+		byte[] slab = slices.get(0).array();
+		assertEquals(4096, slab.length);
+		boolean[] used = new boolean[slab.length / 64];
+		for (Slice slice : slices) {
+			assertSame(slab, slice.array());
+			assertEquals(0, slice.offset() % 64);
+			int index = slice.offset() / 64;
+			assertTrue(!used[index]);
+			used[index] = true;
+		}
+		assertNotSame(slab, pool.claim(64).get().array());
+		
+		// Slices longer than the slab size have their own array.
+		Slice large = pool.claim(5000).get();
+		assertEquals(0, large.offset());
+		assertEquals(8192, large.array().length);
+	}
+	
+	@Test
+	void testReuse() {
+		SlabBytePool pool = new SlabBytePool(1024);
+		Pooled<Slice> pooled = pool.claim(100);
+		Slice slice = pooled.get();
+		assertSame(slice, pooled);
+		assertEquals(7, pool.size());
+		
+		pooled.free();
+		assertEquals(8, pool.size());
+		assertThrows(IllegalStateException.class, pooled::free);
+		
+		assertSame(slice, pool.claim(128).get());
+		assertEquals(7, pool.size());
+	}
+	
+	@Test
+	void testClean() {
+		// 4 slices per slab
+		SlabBytePool pool = new SlabBytePool(1024);
+		List<Pooled<Slice>> claims = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			claims.add(pool.claim(256));
+		}
+		Pooled<Slice> kept = claims.remove(0);
+		claims.forEach(Pooled::free);
+		assertEquals(11, pool.size());
+		
+		// All slices were used since the pool was created.
+		pool.clean();
+		assertEquals(11, pool.size());
+		
+		// The two free slabs are released. The slab of the kept slice stays with its free slices.
+		pool.clean();
+		assertEquals(3, pool.size());
+		
+		// Now the last slab is free.
+		kept.free();
+		assertEquals(4, pool.size());
+		pool.clean();
+		assertEquals(0, pool.size());
+	}
+	
+	@Test
+	void testCleanFraction() {
+		// 4 slices per slab
+		SlabBytePool pool = new SlabBytePool(1024);
+		List<Pooled<Slice>> claims = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			claims.add(pool.claim(256));
+		}
+		claims.forEach(Pooled::free);
+		pool.clean();
+		assertEquals(16, pool.size());
+		
+		pool.clean(0.5);
+		assertEquals(8, pool.size());
+		pool.clean(0.0);
+		assertEquals(8, pool.size());
+		// Rounded up to a whole slab
+		pool.clean(0.1);
+		assertEquals(4, pool.size());
+		pool.clean(0.1);
+		assertEquals(0, pool.size());
+		assertThrows(IllegalArgumentException.class, () -> pool.clean(-0.1));
+		assertThrows(IllegalArgumentException.class, () -> pool.clean(Double.NaN));
+	}
+	
+	@Test
+	void testReleaseSlab() throws InterruptedException {
+		SlabBytePool pool = new SlabBytePool(1024);
+		Pooled<Slice> kept = pool.claim(256);
+		List<Pooled<Slice>> claims = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			claims.add(pool.claim(256));
+		}
+		// The kept slice and the first 3 claims share the first slab. The other 4 claims fill the second slab.
+		WeakReference<byte[]> first = new WeakReference<>(kept.get().array());
+		WeakReference<byte[]> second = new WeakReference<>(claims.get(6).get().array());
+		assertNotSame(first.get(), second.get());
+		
+		// Frees the slices in an order that mixes both slabs.
+		for (int i = 0; i < 7; i++) {
+			claims.get((i * 3) % 7).free();
+		}
+		claims.clear();
+		pool.clean();
+		pool.clean();
+		assertEquals(3, pool.size());
+		
+		for (int i = 0; i < 100 && second.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(second.get());
+		assertSame(kept.get().array(), first.get());
+		
+		// The free slices of the first slab are used before a new slab is created.
+		for (int i = 0; i < 3; i++) {
+			assertSame(kept.get().array(), pool.claim(256).get().array());
+		}
+		assertEquals(0, pool.size());
+	}
+	
+}
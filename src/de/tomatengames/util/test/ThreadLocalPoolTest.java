@@ -0,0 +1,198 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.pool.Pooled;
+import de.tomatengames.util.pool.ThreadLocalPool;
+import de.tomatengames.util.test.LinkedPoolTest.Element;
+
+class ThreadLocalPoolTest {
+	
+	private static ThreadLocalPool<Element> pool(int magazineSize) {
+		return new ThreadLocalPool<>(Element.factory(), magazineSize, Long.MAX_VALUE);
+	}
+	
+	@Test
+	void testClaimFree() {
+		ThreadLocalPool<Element> pool = pool(4);
+		assertEquals(4, pool.magazineSize());
+		Pooled<Element> p1 = pool.claim(), p2 = pool.claim();
+		assertEquals(1, p1.get().id);
+		assertEquals(2, p2.get().id);
+		p1.free();
+		p2.free();
+		assertEquals(2, pool.localSize());
+		assertEquals(0, pool.sharedSize());
+		// 1 and 2 swap because 2 is now on top
+		p1 = pool.claim();
+		p2 = pool.claim();
+		assertEquals(2, p1.get().id);
+		assertEquals(1, p2.get().id);
+		assertEquals(0, pool.localSize());
+	}
+	
+	@Test
+	void testDoubleFree() {
+		ThreadLocalPool<Element> pool = pool(4);
+		Pooled<Element> pooled = pool.claim();
+		pooled.free();
+		assertThrows(IllegalStateException.class, () -> pooled.free());
+		
+		// Also detected after the object has been moved to the shared pool.
+		pool.flush();
+		assertThrows(IllegalStateException.class, () -> pooled.free());
+		assertEquals(1, pool.sharedSize());
+	}
+	
+	@Test
+	void testConcurrentDoubleFree() throws Exception {
+		ThreadLocalPool<Element> pool = pool(4);
+		int rounds = 2000;
+		// The main thread claims an object in each round. Both other threads free it at the same time.
+		CyclicBarrier barrier = new CyclicBarrier(3);
+		AtomicReference<Pooled<Element>> current = new AtomicReference<>();
+		AtomicInteger frees = new AtomicInteger();
+		AtomicInteger detected = new AtomicInteger();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Runnable freeing = () -> {
+			try {
+				for (int i = 0; i < rounds; i++) {
+					barrier.await();
+					try {
+						current.get().free();
+						frees.incrementAndGet();
+					} catch (IllegalStateException e) {
+						detected.incrementAndGet();
+					}
+					barrier.await();
+				}
+				pool.flush();
+			} catch (Throwable t) {
+				error.set(t);
+			}
+		};
+		Thread thread1 = new Thread(freeing), thread2 = new Thread(freeing);
+		thread1.start();
+		thread2.start();
+		for (int i = 0; i < rounds; i++) {
+			current.set(pool.claim());
+			barrier.await();
+			barrier.await();
+		}
+		thread1.join();
+		thread2.join();
+		assertEquals(null, error.get());
+		
+		// Exactly one of the frees succeeds, so no object is stored twice.
+		assertEquals(rounds, frees.get());
+		assertEquals(rounds, detected.get());
+		long size = pool.sharedSize();
+		Set<Element> claimed = new HashSet<>();
+		for (long i = 0; i < size; i++) {
+			assertTrue(claimed.add(pool.claim().get()), "Element stored twice");
+		}
+	}
+	
+	@Test
+	void testOverflow() {
+		ThreadLocalPool<Element> pool = pool(4);
+		List<Pooled<Element>> claims = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			claims.add(pool.claim());
+		}
+		claims.forEach(Pooled::free);
+		// Each full magazine moves its older half to the shared pool.
+		assertEquals(10, pool.localSize() + pool.sharedSize());
+		assertTrue(pool.localSize() <= 4);
+		
+		// Claims take from the magazine first and then from the shared pool. No new objects are created.
+		claims.clear();
+		for (int i = 0; i < 10; i++) {
+			Pooled<Element> pooled = pool.claim();
+			assertTrue(pooled.get().id <= 10);
+			claims.add(pooled);
+		}
+		assertEquals(0, pool.localSize());
+		assertEquals(0, pool.sharedSize());
+		assertEquals(11, pool.claim().get().id);
+		
+		claims.forEach(Pooled::free);
+		pool.flush();
+		assertEquals(0, pool.localSize());
+		assertEquals(10, pool.sharedSize());
+		pool.clean();
+		pool.clean();
+		assertEquals(0, pool.sharedSize());
+	}
+	
+	@Test
+	void testOtherThread() throws InterruptedException {
+		ThreadLocalPool<Element> pool = pool(4);
+		Pooled<Element> pooled = pool.claim();
+		
+		// The freeing thread caches the object and releases it to the shared pool.
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			try {
+				pooled.free();
+				assertEquals(1, pool.localSize());
+				pool.flush();
+			} catch (Throwable t) {
+				error.set(t);
+			}
+		});
+		thread.start();
+		thread.join();
+		assertEquals(null, error.get());
+		assertEquals(0, pool.localSize());
+		assertEquals(1, pool.sharedSize());
+		assertEquals(1, pool.claim().get().id);
+	}
+	
+	@Test
+	void testConcurrent() throws InterruptedException {
+		ThreadLocalPool<AtomicBoolean> pool = new ThreadLocalPool<>(AtomicBoolean::new, 8, Long.MAX_VALUE);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			threads.add(new Thread(() -> {
+				try {
+					List<Pooled<AtomicBoolean>> claims = new ArrayList<>();
+					for (int i = 0; i < 20000; i++) {
+						if (claims.size() < 20 && (i % 7 != 0 || claims.isEmpty())) {
+							Pooled<AtomicBoolean> pooled = pool.claim();
+							assertTrue(pooled.get().compareAndSet(false, true), "Element already claimed");
+							claims.add(pooled);
+						}
+						else {
+							Pooled<AtomicBoolean> pooled = claims.remove(claims.size()-1);
+							pooled.get().set(false);
+							pooled.free();
+						}
+					}
+				} catch (Throwable e) {
+					error.set(e);
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(null, error.get());
+	}
+	
+}
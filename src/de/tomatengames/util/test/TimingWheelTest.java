@@ -0,0 +1,263 @@
+package de.tomatengames.util.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import de.tomatengames.util.data.TimingWheel;
+
+class TimingWheelTest {
+	
+	@Test
+	void testBase() {
+		TimingWheel<E> wheel = new TimingWheel<>(10, 1000);
+		E[] e = createElements(5);
+		List<E> fired = new ArrayList<>();
+		assertEquals(true, wheel.isEmpty());
+		assertEquals(10, wheel.tickDuration());
+		
+		assertEquals(true, wheel.schedule(e[0], 1005));
+		assertEquals(true, wheel.schedule(e[1], 1010));
+		assertEquals(true, wheel.schedule(e[2], 1100));
+		assertEquals(true, wheel.schedule(e[3], 999));
+		assertEquals(false, wheel.schedule(null, 0));
+		assertEquals(4, wheel.size());
+		assertEquals(true, wheel.contains(e[2]));
+		assertEquals(false, wheel.contains(e[4]));
+		assertEquals(1100, wheel.getDeadline(e[2]));
+		assertEquals(Long.MAX_VALUE, wheel.getDeadline(e[4]));
+		
+		assertEquals(1, wheel.advance(1000, fired::add));
+		assertEquals(e[3], fired.get(0));
+		assertEquals(false, wheel.contains(e[3]));
+		
+		// Elements never fire before their deadline.
+		assertEquals(0, wheel.advance(1009, fired::add));
+		assertEquals(2, wheel.advance(1010, fired::add));
+		assertEquals(3, fired.size());
+		assertEquals(0, wheel.advance(1099, fired::add));
+		assertEquals(1, wheel.advance(5000, fired::add));
+		assertEquals(e[2], fired.get(3));
+		assertEquals(true, wheel.isEmpty());
+		
+		// Deadlines in the past fire immediately.
+		assertEquals(true, wheel.schedule(e[0], 4000));
+		assertEquals(1, wheel.advance(5000, fired::add));
+		assertEquals(0, wheel.advance(Long.MAX_VALUE, fired::add));
+	}
+	
+	@Test
+	void testReschedule() {
+		TimingWheel<E> wheel = new TimingWheel<>(1, 0);
+		E[] e = createElements(4);
+		List<E> fired = new ArrayList<>();
+		for (int i = 0; i < e.length; i++) {
+			wheel.schedule(e[i], 100);
+		}
+		wheel.advance(50, fired::add);
+		
+		// Postpone, move forward and cancel elements that are in the wheel.
+		assertEquals(false, wheel.schedule(e[0], 200));
+		assertEquals(false, wheel.schedule(e[1], 60));
+		assertEquals(true, wheel.cancel(e[2]));
+		assertEquals(false, wheel.cancel(e[2]));
+		assertEquals(false, wheel.cancel(null));
+		assertEquals(3, wheel.size());
+		assertEquals(200, wheel.getDeadline(e[0]));
+		assertEquals(Long.MAX_VALUE, wheel.getDeadline(e[2]));
+		
+		assertEquals(1, wheel.advance(60, fired::add));
+		assertEquals(e[1], fired.get(0));
+		assertEquals(1, wheel.advance(199, fired::add));
+		assertEquals(e[3], fired.get(1));
+		assertEquals(1, wheel.advance(200, fired::add));
+		assertEquals(e[0], fired.get(2));
+		assertEquals(0, wheel.size());
+		
+		// An action can schedule the fired element again.
+		wheel.schedule(e[0], 210);
+		AtomicInteger count = new AtomicInteger();
+		wheel.advance(300, element -> {
+			if (count.incrementAndGet() < 5) {
+				wheel.schedule(element, wheel.getDeadline(element) + 20);
+			}
+		});
+		assertEquals(5, count.get());
+		
+		TimingWheel<E> wheel2 = new TimingWheel<>(1, 0);
+		assertThrows(IllegalArgumentException.class, () -> wheel2.schedule(e[0], 0));
+		assertEquals(false, wheel2.cancel(e[0]));
+		assertThrows(IllegalArgumentException.class, () -> new TimingWheel<E>(0, 0));
+	}
+	
+	@Test
+	void testThrowingAction() {
+		TimingWheel<E> wheel = new TimingWheel<>(1, 0);
+		E[] e = createElements(6);
+		// e[0..2] share a slot of level 0, e[3..5] share a slot of level 1 and fire when it is reached.
+		for (int i = 0; i < 3; i++) {
+			wheel.schedule(e[i], 10);
+			wheel.schedule(e[i + 3], 64);
+		}
+		wheel.advance(0, element -> {});
+		
+		List<E> fired = new ArrayList<>();
+		AtomicInteger calls = new AtomicInteger();
+		RuntimeException exception = new IllegalStateException("Action failed");
+		assertEquals(exception, assertThrows(IllegalStateException.class, () -> wheel.advance(10, element -> {
+			calls.incrementAndGet();
+			throw exception;
+		})));
+		// Only the element for which the action has thrown is fired.
+		assertEquals(1, calls.get());
+		assertEquals(5, wheel.size());
+		
+		// The remaining elements of the slot are still scheduled and can be cancelled.
+		E cancelled = null;
+		for (int i = 0; i < 3 && cancelled == null; i++) {
+			if (wheel.contains(e[i])) {
+				cancelled = e[i];
+			}
+		}
+		assertEquals(true, wheel.cancel(cancelled));
+		assertEquals(1, wheel.advance(10, fired::add));
+		assertEquals(3, wheel.size());
+		
+		// The same applies while the elements of a higher level are moved down.
+		calls.set(0);
+		assertThrows(IllegalStateException.class, () -> wheel.advance(64, element -> {
+			if (calls.incrementAndGet() == 2) {
+				throw exception;
+			}
+			fired.add(element);
+		}));
+		assertEquals(1, wheel.size());
+		assertEquals(1, wheel.advance(64, fired::add));
+		assertEquals(true, wheel.isEmpty());
+		assertEquals(3, fired.size());
+		assertEquals(0, wheel.advance(Long.MAX_VALUE, fired::add));
+		
+		// The wheel is still consistent.
+		wheel.schedule(e[0], 200);
+		wheel.schedule(e[1], 200);
+		wheel.cancel(e[0]);
+		assertEquals(1, wheel.advance(Long.MAX_VALUE, fired::add));
+		assertEquals(e[1], fired.get(3));
+	}
+	
+	@Test
+	void testRandom() {
+		Random random = new Random(42);
+		TimingWheel<E> wheel = new TimingWheel<>(1, -1000);
+		E[] e = createElements(1000);
+		long[] deadlines = new long[e.length];
+		boolean[] scheduled = new boolean[e.length];
+		long now = -1000;
+		
+		for (int round = 0; round < 2000; round++) {
+			for (int j = 0; j < 20; j++) {
+				int i = random.nextInt(e.length);
+				if (random.nextInt(5) == 0) {
+					assertEquals(scheduled[i], wheel.cancel(e[i]));
+					scheduled[i] = false;
+				}
+				else {
+					// Deadlines from the near future up to many levels of the wheel
+					long deadline = now - 10 + (random.nextLong() >>> (1 + random.nextInt(63)));
+					assertEquals(!scheduled[i], wheel.schedule(e[i], deadline));
+					deadlines[i] = deadline;
+					scheduled[i] = true;
+				}
+			}
+			
+			long time = now + (random.nextLong() >>> (40 + random.nextInt(24)));
+			wheel.advance(time, element -> {
+				assertEquals(true, scheduled[element.id]);
+				assertEquals(true, deadlines[element.id] <= time);
+				scheduled[element.id] = false;
+			});
+			now = time;
+			for (int i = 0; i < e.length; i++) {
+				// All due elements must have fired.
+				assertEquals(false, scheduled[i] && deadlines[i] <= now);
+			}
+		}
+		
+		int count = 0;
+		for (int i = 0; i < e.length; i++) {
+			count += scheduled[i] ? 1 : 0;
+		}
+		assertEquals(count, wheel.size());
+		assertEquals(count, wheel.advance(Long.MAX_VALUE, element -> scheduled[element.id] = false));
+		assertEquals(true, wheel.isEmpty());
+	}
+	
+	@Test
+	void testConcurrent() throws InterruptedException {
+		TimingWheel<E> wheel = new TimingWheel<>(1, 0);
+		AtomicLong now = new AtomicLong(0);
+		AtomicInteger fired = new AtomicInteger();
+		AtomicInteger expected = new AtomicInteger();
+		
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			E[] e = createElements(100);
+			Random random = new Random(t);
+			threads[t] = new Thread(() -> {
+				int count = 0;
+				for (int j = 0; j < 100000; j++) {
+					E element = e[random.nextInt(e.length)];
+					if (random.nextInt(10) == 0) {
+						count -= wheel.cancel(element) ? 1 : 0;
+					}
+					else {
+						// Mostly reset idle timeouts
+						count += wheel.schedule(element, now.get() + random.nextInt(100)) ? 1 : 0;
+					}
+				}
+				expected.addAndGet(count);
+			});
+			threads[t].start();
+		}
+		
+		boolean running = true;
+		while (running) {
+			running = false;
+			for (Thread thread : threads) {
+				running |= thread.isAlive();
+			}
+			wheel.advance(now.incrementAndGet(), element -> fired.incrementAndGet());
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		fired.addAndGet(wheel.advance(Long.MAX_VALUE, element -> {}));
+		assertEquals(expected.get(), fired.get());
+		assertEquals(true, wheel.isEmpty());
+	}
+	
+	private static E[] createElements(int n) {
+		E[] array = new E[n];
+		for (int i = 0; i < n; i++) {
+			array[i] = new E(i);
+		}
+		return array;
+	}
+	
+	private static class E extends TimingWheel.Element {
+		private final int id;
+		
+		public E(int id) {
+			this.id = id;
+		}
+	}
+	
+}
@@ -6,13 +6,17 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.OptionalInt;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import de.tomatengames.util.data.TrackedHeap;
 
@@ -296,9 +300,77 @@ class TrackedHeapTest {
 	}
 	
 	
+	@ParameterizedTest
+	@ValueSource(ints = {2, 4, 8})
+	void testInsertAll(int arity) {
+		TrackedHeap<A> heap = new TrackedHeap<>((a1, a2) -> Integer.compare(a1.value, a2.value), arity);
+		int[] values = new int[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = ThreadLocalRandom.current().nextInt(500);
+		}
+		A[] a = createElements(values);
+		
+		// Floyd construction
+		assertEquals(600, heap.insertAll(Arrays.copyOf(a, 600)));
+		// Insertion of a few elements, including null and an element that is already in the heap
+		List<A> more = new ArrayList<>(Arrays.asList(a).subList(600, 700));
+		more.add(null);
+		more.add(a[0]);
+		assertEquals(100, heap.insertAll(more));
+		// Floyd construction with existing elements, which may have changed
+		a[1].value = -1;
+		values[1] = -1;
+		assertEquals(300, heap.insertAll(a));
+		assertEquals(1000, heap.size());
+		
+		Arrays.sort(values);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(values[i], heap.removeFirst().value);
+		}
+		assertEquals(0, heap.insertAll(new ArrayList<>()));
+		assertEquals(true, heap.isEmpty());
+	}
+	
 	@Test
-	void testRandomized() {
-		TrackedHeap<A> heap = new TrackedHeap<>((a1, a2) -> Integer.compare(a1.value, a2.value));
+	void testInsertAllOtherHeap() {
+		TrackedHeap<A> heap2 = new TrackedHeap<>((a1, a2) -> Integer.compare(a1.value, a2.value));
+		A[] a2 = createElements(4, 2, 9);
+		heap2.insert(a2[1]);
+		
+		// Nothing is inserted if an element is in another heap.
+		assertThrows(IllegalArgumentException.class, () -> heap.insertAll(a2));
+		assertEquals(7, heap.size());
+		assertEquals(false, heap.contains(a2[0]));
+		assertEquals(true, heap2.contains(a2[1]));
+		
+		heap2.clear();
+		assertEquals(3, heap.insertAll(a2));
+		// Removing an element uses the indices set by insertAll.
+		assertEquals(true, heap.remove(a2[0]));
+		assertEquals(true, heap.remove(a2[1]));
+		assertEquals(1, heap.removeFirst().value);
+		assertEquals(3, heap.removeFirst().value);
+		assertEquals(5, heap.removeFirst().value);
+	}
+	
+	@Test
+	void testArity() {
+		assertEquals(2, heap.arity());
+		TrackedHeap<A> heap8 = new TrackedHeap<>((a1, a2) -> Integer.compare(a1.value, a2.value), 8);
+		assertEquals(8, heap8.arity());
+		insertElements(heap8, createCountingArray(100));
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, heap8.removeFirst().value);
+		}
+		assertThrows(IllegalArgumentException.class, () -> new TrackedHeap<A>((a1, a2) -> 0, 3));
+		assertThrows(IllegalArgumentException.class, () -> new TrackedHeap<A>((a1, a2) -> 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new TrackedHeap<A>((a1, a2) -> 0, 128));
+	}
+	
+	@ParameterizedTest
+	@ValueSource(ints = {2, 4, 8})
+	void testRandomized(int arity) {
+		TrackedHeap<A> heap = new TrackedHeap<>((a1, a2) -> Integer.compare(a1.value, a2.value), arity);
 		HashSet<A> controlSet = new HashSet<>();
 		StringBuilder opScript = new StringBuilder();
 		
@@ -33,6 +33,48 @@ class ZeroBytePoolTest {
 		check(pool, 5000);
 	}
 	
+	@Test
+	void testMarkDirty() {
+		LevelBytePool source = new LevelBytePool();
+		ZeroBytePool pool = new ZeroBytePool(source);
+		byte[] array;
+		try (ZeroBytePool.ZeroPooled pooled = pool.claim(5000)) {
+			array = pooled.get();
+			Arrays.fill(array, 0, 100, (byte)1);
+			array[3000] = 1; // not reported, stays
+			pooled.markDirty(50);
+			pooled.markDirty(100);
+			pooled.markDirty(10);
+		}
+		assertZero(Arrays.copyOf(array, 3000));
+		assertEquals(1, array[3000]);
+		
+		// Without a report, the whole array is cleared.
+		try (Pooled<byte[]> pooled = pool.claim(5000)) {
+			assertEquals(array, pooled.get());
+		}
+		assertZero(array);
+	}
+	
+	@Test
+	void testZeroOnClaim() {
+		ZeroBytePool pool = new ZeroBytePool(new LevelBytePool(), true);
+		assertEquals(true, pool.isZeroOnClaim());
+		byte[] array;
+		try (Pooled<byte[]> pooled = pool.claim(5000)) {
+			array = pooled.get();
+			assertZero(array);
+			Arrays.fill(array, (byte)1);
+		}
+		assertEquals(1, array[0]); // not cleared on free
+		
+		try (Pooled<byte[]> pooled = pool.claim(4100)) {
+			assertEquals(array, pooled.get());
+			assertZero(Arrays.copyOf(array, 4100));
+			assertEquals(1, array[4100]);
+		}
+	}
+	
 	@Test
 	void testZero() {
 		byte[] b = new byte[5000];